@@ -0,0 +1,64 @@
+package com.github.lotashinski.collections.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Element access: {@code get}, {@code set} and appending with {@code add}.
+ * 
+ * @author Alexander Lotashinsky
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = { "-Xms4g", "-Xmx4g" })
+public class AccessBenchmark {
+
+	@Benchmark
+	public Integer get(ListState state) {
+		return state.list.get(state.nextIndex());
+	}
+
+	@Benchmark
+	public Integer set(ListState state) {
+		int index = state.nextIndex();
+
+		return state.list.set(index, state.values[index]);
+	}
+
+	/**
+	 * Appends one element and removes it again, so the list size stays constant
+	 * between invocations.
+	 */
+	@Benchmark
+	public Integer addAndRemoveLast(ListState state) {
+		List<Integer> list = state.list;
+		list.add(state.values[0]);
+
+		return list.remove(list.size() - 1);
+	}
+
+	/**
+	 * Fills an empty list with {@code size} elements, including every resize of
+	 * the backing storage.
+	 */
+	@Benchmark
+	@OutputTimeUnit(TimeUnit.MICROSECONDS)
+	public List<Integer> fill(ListState state) {
+		List<Integer> list = state.implementation.create();
+		for (Integer value : state.values)
+			list.add(value);
+
+		return list;
+	}
+
+}
@@ -0,0 +1,35 @@
+package com.github.lotashinski.collections.benchmark;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Entry point of {@code benchmarks.jar}. Accepts the usual JMH command line
+ * options and always attaches the GC profiler, so every result is reported
+ * together with its allocation rate ({@code gc.alloc.rate.norm}) and GC
+ * activity.
+ * 
+ * <pre>{@code
+ * java -jar target/benchmarks.jar                       # everything
+ * java -jar target/benchmarks.jar Access -p size=1000   # one class, one size
+ * }</pre>
+ * 
+ * @author Alexander Lotashinsky
+ */
+public class BenchmarkRunner {
+
+	public static void main(String[] args) throws RunnerException, CommandLineOptionException {
+		Options options = new OptionsBuilder()
+				.parent(new CommandLineOptions(args))
+				.addProfiler(GCProfiler.class)
+				.build();
+
+		new Runner(options).run();
+	}
+
+}
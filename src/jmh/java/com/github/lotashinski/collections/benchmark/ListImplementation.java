@@ -0,0 +1,59 @@
+package com.github.lotashinski.collections.benchmark;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedList;
+import java.util.List;
+
+import com.github.lotashinski.collections.CustomList;
+
+/**
+ * List implementations compared by the benchmarks. {@code ArrayList} and
+ * {@code LinkedList} are used as baselines for {@link CustomList}.
+ * 
+ * @author Alexander Lotashinsky
+ */
+public enum ListImplementation {
+
+	CUSTOM_LIST {
+		@Override
+		<T> List<T> create(Collection<? extends T> source) {
+			return new CustomList<>(source);
+		}
+	},
+
+	ARRAY_LIST {
+		@Override
+		<T> List<T> create(Collection<? extends T> source) {
+			return new ArrayList<>(source);
+		}
+	},
+
+	LINKED_LIST {
+		@Override
+		<T> List<T> create(Collection<? extends T> source) {
+			return new LinkedList<>(source);
+		}
+	};
+
+	/**
+	 * Creates a list of this implementation filled with the elements of
+	 * {@code source}, preserving their order.
+	 * 
+	 * @param <T>    the type of elements in the list
+	 * @param source source collection
+	 * @return new list
+	 */
+	abstract <T> List<T> create(Collection<? extends T> source);
+
+	/**
+	 * Creates an empty list of this implementation.
+	 * 
+	 * @param <T> the type of elements in the list
+	 * @return new empty list
+	 */
+	<T> List<T> create() {
+		return create(List.of());
+	}
+
+}
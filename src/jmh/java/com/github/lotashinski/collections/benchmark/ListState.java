@@ -0,0 +1,75 @@
+package com.github.lotashinski.collections.benchmark;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Shared benchmark state: a list of {@code size} distinct {@code Integer}
+ * values in random order, plus a pre-generated sequence of random indexes so
+ * that index generation is not part of the measured code.
+ * 
+ * @author Alexander Lotashinsky
+ */
+@State(Scope.Thread)
+public class ListState {
+
+	/**
+	 * Mask for {@link #indexes}, the length of which is a power of two.
+	 */
+	private static final int INDEX_MASK = 1023;
+
+	@Param({ "10", "1000", "100000", "10000000" })
+	public int size;
+
+	@Param({ "CUSTOM_LIST", "ARRAY_LIST", "LINKED_LIST" })
+	public ListImplementation implementation;
+
+	/**
+	 * Values stored in {@link #list}, in the same order.
+	 */
+	Integer[] values;
+
+	List<Integer> list;
+
+	private int[] indexes;
+
+	private int cursor;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		Random random = new Random(42);
+
+		values = new Integer[size];
+		for (int i = 0; i < size; ++i)
+			values[i] = i;
+		for (int i = size - 1; i > 0; --i) {
+			int j = random.nextInt(i + 1);
+			Integer tmp = values[i];
+			values[i] = values[j];
+			values[j] = tmp;
+		}
+
+		list = implementation.create(Arrays.asList(values));
+
+		indexes = new int[INDEX_MASK + 1];
+		for (int i = 0; i < indexes.length; ++i)
+			indexes[i] = random.nextInt(size);
+	}
+
+	/**
+	 * Returns the next pseudo-random index in {@code [0, size)}.
+	 * 
+	 * @return index of an existing element
+	 */
+	int nextIndex() {
+		return indexes[cursor++ & INDEX_MASK];
+	}
+
+}
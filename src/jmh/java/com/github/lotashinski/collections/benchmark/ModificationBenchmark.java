@@ -0,0 +1,84 @@
+package com.github.lotashinski.collections.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Positional insertion and removal: {@code add(int, T)}, {@code remove(int)}
+ * and {@code remove(Object)} at the head, in the middle and at the tail of the
+ * list. Every benchmark restores the original contents, so the list size stays
+ * constant between invocations.
+ * 
+ * @author Alexander Lotashinsky
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = { "-Xms4g", "-Xmx4g" })
+public class ModificationBenchmark {
+
+	@State(Scope.Thread)
+	public static class PositionState {
+
+		@Param({ "HEAD", "MIDDLE", "TAIL" })
+		public Position position;
+
+		int index;
+
+		@Setup(Level.Trial)
+		public void setUp(ListState list) {
+			index = position.indexIn(list.size);
+		}
+
+	}
+
+	public enum Position {
+
+		HEAD, MIDDLE, TAIL;
+
+		int indexIn(int size) {
+			switch (this) {
+			case HEAD:
+				return 0;
+			case MIDDLE:
+				return size / 2;
+			default:
+				return size - 1;
+			}
+		}
+
+	}
+
+	@Benchmark
+	public Integer addAndRemoveAt(ListState state, PositionState position) {
+		List<Integer> list = state.list;
+		list.add(position.index, state.values[position.index]);
+
+		return list.remove(position.index);
+	}
+
+	@Benchmark
+	public boolean removeObjectAndAddBack(ListState state, PositionState position) {
+		List<Integer> list = state.list;
+		Integer value = state.values[position.index];
+		boolean removed = list.remove(value);
+		list.add(position.index, value);
+
+		return removed;
+	}
+
+}
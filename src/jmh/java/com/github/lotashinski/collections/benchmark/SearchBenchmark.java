@@ -0,0 +1,40 @@
+package com.github.lotashinski.collections.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Linear search with {@code indexOf}.
+ * 
+ * @author Alexander Lotashinsky
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = { "-Xms4g", "-Xmx4g" })
+public class SearchBenchmark {
+
+	/**
+	 * A value that is never stored in the list: every call scans it completely.
+	 */
+	private static final Integer MISSING = -1;
+
+	@Benchmark
+	public int indexOfPresent(ListState state) {
+		return state.list.indexOf(state.values[state.nextIndex()]);
+	}
+
+	@Benchmark
+	public int indexOfMissing(ListState state) {
+		return state.list.indexOf(MISSING);
+	}
+
+}
@@ -0,0 +1,88 @@
+package com.github.lotashinski.collections.benchmark;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.github.lotashinski.collections.CustomList;
+
+/**
+ * Sorting of a shuffled list. {@code CustomList} is sorted with its own
+ * {@code sort()}, the baselines with {@code List.sort(null)}. The
+ * {@code sortByIntKey} benchmark compares the radix sort of {@code CustomList}
+ * with sorting the baselines by a key comparator.
+ * 
+ * <p>
+ * The list is rebuilt before every invocation, which is why the measurement
+ * uses {@link Mode#SingleShotTime} with many shots instead of a timed loop.
+ * 
+ * @author Alexander Lotashinsky
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 10, batchSize = 1)
+@Measurement(iterations = 20, batchSize = 1)
+@Fork(value = 1, jvmArgsAppend = { "-Xms4g", "-Xmx4g" })
+@State(Scope.Thread)
+public class SortBenchmark {
+
+	@Param({ "10", "1000", "100000", "10000000" })
+	public int size;
+
+	@Param({ "CUSTOM_LIST", "ARRAY_LIST", "LINKED_LIST" })
+	public ListImplementation implementation;
+
+	private Integer[] shuffled;
+
+	private List<Integer> list;
+
+	@Setup(Level.Trial)
+	public void setUpValues() {
+		ListState state = new ListState();
+		state.size = size;
+		state.implementation = ListImplementation.ARRAY_LIST;
+		state.setUp();
+
+		shuffled = state.values;
+	}
+
+	@Setup(Level.Iteration)
+	public void setUpList() {
+		list = implementation.create(Arrays.asList(shuffled));
+	}
+
+	@Benchmark
+	public List<Integer> sort() {
+		if (list instanceof CustomList<Integer> customList)
+			customList.sort();
+		else
+			list.sort(null);
+
+		return list;
+	}
+
+	@Benchmark
+	public List<Integer> sortByIntKey() {
+		if (list instanceof CustomList<Integer> customList)
+			customList.sortByIntKey(Integer::intValue);
+		else
+			list.sort(Comparator.comparingInt(Integer::intValue));
+
+		return list;
+	}
+
+}
@@ -0,0 +1,147 @@
+package com.github.lotashinski.collections.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Traversal of the whole list with its iterator and {@code forEach}, and of a
+ * {@code subList} view with both the iterator and {@code get}. A loop over an
+ * array of the same values is the baseline.
+ * 
+ * <p>
+ * {@code get} of a {@code LinkedList} walks the list, so traversing it with
+ * {@code get} is quadratic. That traversal is measured separately, by
+ * {@link #getSubListLinkedList}, and only up to 100,000 elements.
+ * 
+ * @author Alexander Lotashinsky
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = { "-Xms4g", "-Xmx4g" })
+public class TraversalBenchmark {
+
+	@Benchmark
+	public long iterate(ListState state) {
+		long sum = 0;
+		for (Integer value : state.list)
+			sum += value;
+
+		return sum;
+	}
+
+	@Benchmark
+	public long forEach(ListState state) {
+		long[] sum = new long[1];
+		state.list.forEach(value -> sum[0] += value);
+
+		return sum[0];
+	}
+
+	@Benchmark
+	public long arrayBaseline(ListState state) {
+		long sum = 0;
+		for (Integer value : state.values)
+			sum += value;
+
+		return sum;
+	}
+
+	@Benchmark
+	public long iterateSubList(ListState state) {
+		List<Integer> view = middleHalf(state.list);
+
+		long sum = 0;
+		for (Integer value : view)
+			sum += value;
+
+		return sum;
+	}
+
+	@Benchmark
+	public long getSubList(RandomAccessState state) {
+		return sumByIndex(middleHalf(state.list));
+	}
+
+	@Benchmark
+	public long getSubListLinkedList(LinkedListState state) {
+		return sumByIndex(middleHalf(state.list));
+	}
+
+	private static long sumByIndex(List<Integer> view) {
+		long sum = 0;
+		for (int i = 0; i < view.size(); ++i)
+			sum += view.get(i);
+
+		return sum;
+	}
+
+	private static List<Integer> middleHalf(List<Integer> list) {
+		int quarter = list.size() / 4;
+
+		return list.subList(quarter, list.size() - quarter);
+	}
+
+	private static List<Integer> createList(int size, ListImplementation implementation) {
+		ListState state = new ListState();
+		state.size = size;
+		state.implementation = implementation;
+		state.setUp();
+
+		return state.list;
+	}
+
+	/**
+	 * Lists with constant time {@code get}.
+	 */
+	@State(Scope.Thread)
+	public static class RandomAccessState {
+
+		@Param({ "10", "1000", "100000", "10000000" })
+		public int size;
+
+		@Param({ "CUSTOM_LIST", "ARRAY_LIST" })
+		public ListImplementation implementation;
+
+		List<Integer> list;
+
+		@Setup(Level.Trial)
+		public void setUp() {
+			list = createList(size, implementation);
+		}
+
+	}
+
+	/**
+	 * {@code LinkedList} of the sizes at which a quadratic traversal finishes.
+	 */
+	@State(Scope.Thread)
+	public static class LinkedListState {
+
+		@Param({ "10", "1000", "100000" })
+		public int size;
+
+		List<Integer> list;
+
+		@Setup(Level.Trial)
+		public void setUp() {
+			list = createList(size, ListImplementation.LINKED_LIST);
+		}
+
+	}
+
+}
@@ -2,9 +2,13 @@ package com.github.lotashinski.collections;
 
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.ListIterator;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Predicate;
 
 /**
  * Intended to generalize the SubList and CustomList functionality.
@@ -19,6 +23,12 @@ import java.util.ListIterator;
  */
 abstract class AbstractList<T> implements List<T> {
 
+	/**
+	 * Collections with more elements than this, that are not sets, are copied to a
+	 * {@code HashSet} before being used for lookups in bulk operations.
+	 */
+	private static final int HASH_LOOKUP_THRESHOLD = 16;
+
 	/**
 	 * Returns {@code true} if this list contains no elements.
 	 *
@@ -126,53 +136,63 @@ abstract class AbstractList<T> implements List<T> {
 	/**
 	 * Removes from this list all of its elements that are contained in the
 	 * specified collection (optional operation).
+	 * 
+	 * <p>
+	 * Implemented with {@link #removeIf(Predicate)}. A large collection which is not
+	 * a {@code Set} is copied to a {@code HashSet} first, so that every element of
+	 * this list is looked up in constant time.
 	 *
 	 * @param c collection containing elements to be removed from this list
 	 * @return {@code true} if this list changed as a result of the call
-	 * @throws ClassCastException if the class of an element of this list is
-	 *                            incompatible with the specified collection
-	 *                            (<a href=
-	 *                            "Collection.html#optional-restrictions">optional</a>)
+	 * @throws ClassCastException   if the class of an element of this list is
+	 *                              incompatible with the specified collection
+	 *                              (<a href=
+	 *                              "Collection.html#optional-restrictions">optional</a>)
+	 * @throws NullPointerException if the specified collection is null
 	 * @see #remove(Object)
 	 * @see #contains(Object)
 	 */
 	@Override
 	public boolean removeAll(Collection<?> c) {
-		boolean ret = false;
-		for (Object object : c) {
-			while (remove(object))
-				ret = true;
+		Objects.requireNonNull(c);
+
+		if (c == this) {
+			boolean changed = !isEmpty();
+			clear();
+
+			return changed;
 		}
 
-		return ret;
+		return removeIf(lookup(c));
 	}
 
 	/**
 	 * Retains only the elements in this list that are contained in the specified
 	 * collection (optional operation). In other words, removes from this list all
 	 * of its elements that are not contained in the specified collection.
+	 * 
+	 * <p>
+	 * Implemented with {@link #removeIf(Predicate)}, the same way as
+	 * {@link #removeAll(Collection)}.
 	 *
 	 * @param c collection containing elements to be retained in this list
 	 * @return {@code true} if this list changed as a result of the call
-	 * @throws ClassCastException if the class of an element of this list is
-	 *                            incompatible with the specified collection
-	 *                            (<a href=
-	 *                            "Collection.html#optional-restrictions">optional</a>)
+	 * @throws ClassCastException   if the class of an element of this list is
+	 *                              incompatible with the specified collection
+	 *                              (<a href=
+	 *                              "Collection.html#optional-restrictions">optional</a>)
+	 * @throws NullPointerException if the specified collection is null
 	 * @see #remove(Object)
 	 * @see #contains(Object)
 	 */
 	@Override
 	public boolean retainAll(Collection<?> c) {
-		CustomList<T> garbage = new CustomList<>();
-
-		for (T o : this) {
-			if (!c.contains(o))
-				garbage.add(o);
-		}
+		Objects.requireNonNull(c);
 
-		removeAll(garbage);
+		if (c == this)
+			return false;
 
-		return !garbage.isEmpty();
+		return removeIf(lookup(c).negate());
 	}
 
 	/**
@@ -343,4 +363,19 @@ abstract class AbstractList<T> implements List<T> {
 		return true;
 	}
 
+	/**
+	 * Returns the membership test for bulk operations with the specified
+	 * collection.
+	 * 
+	 * @param c collection to look up elements in
+	 * @return predicate which is {@code true} for the elements contained in
+	 *         {@code c}
+	 */
+	static Predicate<Object> lookup(Collection<?> c) {
+		if (c instanceof Set<?> || c.size() <= HASH_LOOKUP_THRESHOLD)
+			return c::contains;
+
+		return new HashSet<>(c)::contains;
+	}
+
 }
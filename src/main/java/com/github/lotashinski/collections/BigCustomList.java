@@ -0,0 +1,936 @@
+package com.github.lotashinski.collections;
+
+import java.lang.reflect.Array;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.ListIterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.Consumer;
+
+/**
+ * Long-indexed list which can hold more than {@code Integer.MAX_VALUE}
+ * elements.
+ *
+ * <p>
+ * The elements are stored in segments of the same power-of-two length,
+ * referenced from a segment directory; the segment and the offset of an element
+ * are its index shifted and masked. The list grows by allocating one more
+ * segment, the stored elements are never copied. The {@code size64},
+ * {@code get}, {@code set} and {@code add} operations run in constant time.
+ *
+ * <p>
+ * The list supports appending, replacing and clearing, but not inserting or
+ * removing in the middle. {@link #subList(long, long)} returns a long-indexed
+ * view of a range, which can be read, replaced and sorted. {@link #asList()}
+ * adapts the list or a view to the {@code List} interface, as long as its size
+ * fits an {@code int}.
+ *
+ * @param <T> the type of elements in this list
+ *
+ * @author Alexander Lotashinsky
+ * @see CustomList
+ */
+public class BigCustomList<T> implements Iterable<T> {
+
+	/**
+	 * Default number of elements in a segment.
+	 */
+	public static final int DEFAULT_SEGMENT_SIZE = 1 << 20;
+
+	/**
+	 * Initial length of the segment directory.
+	 */
+	private static final int INIT_DIRECTORY_CAPACITY = 4;
+
+	/**
+	 * Ranges not longer than this are merged sequentially.
+	 */
+	private static final int MIN_PARALLEL_MERGE = ParallelMergeSort.MIN_PARALLEL_SORT;
+
+	/**
+	 * {@code log2(segmentSize)}
+	 */
+	private final int segmentShift;
+
+	private final long segmentMask;
+
+	/**
+	 * Segment directory. The first {@code segmentCount} entries are allocated
+	 */
+	private Object[][] segments;
+
+	private int segmentCount;
+
+	/**
+	 * The size of the BigCustomList
+	 */
+	private long size;
+
+	/**
+	 * Counter of structural changes (add, clear).
+	 *
+	 * Necessary for SubList and iterators
+	 */
+	private int version = 0;
+
+	/**
+	 * Creates an empty collection with segments of
+	 * {@link #DEFAULT_SEGMENT_SIZE} elements
+	 */
+	public BigCustomList() {
+		this(DEFAULT_SEGMENT_SIZE);
+	}
+
+	/**
+	 * Creates an empty collection.
+	 *
+	 * @param segmentSize number of elements in a segment, a power of two not
+	 *                    greater than {@code 1 << 30}
+	 * @throws IllegalArgumentException if the segment size is not a positive power
+	 *                                  of two or is too large
+	 */
+	public BigCustomList(int segmentSize) {
+		if (segmentSize <= 0 || segmentSize > 1 << 30 || Integer.bitCount(segmentSize) != 1)
+			throw new IllegalArgumentException("Illegal segment size: " + segmentSize);
+
+		segmentShift = Integer.numberOfTrailingZeros(segmentSize);
+		segmentMask = segmentSize - 1;
+		segments = new Object[INIT_DIRECTORY_CAPACITY][];
+	}
+
+	/**
+	 * Used by the views, which have no storage of their own.
+	 */
+	private BigCustomList(BigCustomList<?> main) {
+		segmentShift = main.segmentShift;
+		segmentMask = main.segmentMask;
+	}
+
+	/**
+	 * Returns the number of elements in this list.
+	 *
+	 * @return the number of elements in this list
+	 */
+	public long size64() {
+		return size;
+	}
+
+	/**
+	 * Returns {@code true} if this list contains no elements.
+	 *
+	 * @return {@code true} if this list contains no elements
+	 */
+	public boolean isEmpty() {
+		return size64() == 0;
+	}
+
+	/**
+	 * Returns the element at the specified position in this list.
+	 *
+	 * @param index index of the element to return
+	 * @return the element at the specified position in this list
+	 * @throws IndexOutOfBoundsException if the index is out of range
+	 *                                   ({@code index < 0 || index >= size64()})
+	 */
+	@SuppressWarnings("unchecked")
+	public T get(long index) {
+		checkIndexAndThrowIfNeed(index, size);
+
+		return (T) element(segments, segmentShift, index);
+	}
+
+	/**
+	 * Replaces the element at the specified position in this list with the
+	 * specified element.
+	 *
+	 * @param index   index of the element to replace
+	 * @param element element to be stored at the specified position
+	 * @return the element previously at the specified position
+	 * @throws IndexOutOfBoundsException if the index is out of range
+	 *                                   ({@code index < 0 || index >= size64()})
+	 */
+	@SuppressWarnings("unchecked")
+	public T set(long index, T element) {
+		checkIndexAndThrowIfNeed(index, size);
+
+		Object[] segment = segments[(int) (index >>> segmentShift)];
+		int offset = (int) (index & segmentMask);
+		Object previous = segment[offset];
+		segment[offset] = element;
+
+		return (T) previous;
+	}
+
+	/**
+	 * Appends the specified element to the end of this list.
+	 *
+	 * @param element element to be appended to this list
+	 * @return {@code true}
+	 * @throws OutOfMemoryError if the segment directory can not grow
+	 */
+	public boolean add(T element) {
+		if ((size >>> segmentShift) == segmentCount)
+			addSegment();
+
+		segments[(int) (size >>> segmentShift)][(int) (size & segmentMask)] = element;
+		size++;
+		incVersion();
+
+		return true;
+	}
+
+	/**
+	 * Appends all of the elements in the specified collection to the end of this
+	 * list, in the order that they are returned by the collection's iterator.
+	 *
+	 * @param c collection containing elements to be added to this list
+	 * @return {@code true} if this list changed as a result of the call
+	 */
+	public boolean addAll(Collection<? extends T> c) {
+		for (T element : c)
+			add(element);
+
+		return !c.isEmpty();
+	}
+
+	/**
+	 * Removes all of the elements from this list and releases the segments.
+	 */
+	public void clear() {
+		segments = new Object[INIT_DIRECTORY_CAPACITY][];
+		segmentCount = 0;
+		size = 0;
+		incVersion();
+	}
+
+	/**
+	 * Returns a view of the portion of this list between the specified
+	 * {@code fromIndex}, inclusive, and {@code toIndex}, exclusive. The view
+	 * supports {@code get}, {@code set} and sorting, and becomes invalid when this
+	 * list is structurally modified.
+	 *
+	 * @param fromIndex low endpoint (inclusive) of the subList
+	 * @param toIndex   high endpoint (exclusive) of the subList
+	 * @return a view of the specified range within this list
+	 * @throws IndexOutOfBoundsException for an illegal endpoint index value
+	 *                                   ({@code fromIndex < 0 || toIndex > size64() ||
+	 *         fromIndex > toIndex}   )
+	 */
+	public BigCustomList<T> subList(long fromIndex, long toIndex) {
+		checkSubListAndThrowIfNeed(fromIndex, toIndex, size);
+
+		return new SubList<>(this, fromIndex, toIndex - fromIndex);
+	}
+
+	/**
+	 * Sorts a collection using merge sort. When comparing, the type cast to
+	 * Comparable will be used if possible. Otherwise, the type cast to string will
+	 * be used.
+	 */
+	public void sort() {
+		sort(null);
+	}
+
+	/**
+	 * Sorts this list according to the order induced by the specified comparator.
+	 * Equal elements are not reordered.
+	 *
+	 * <p>
+	 * Every segment is sorted in place, then the sorted segments are merged
+	 * pairwise through a workspace of the length of the list.
+	 *
+	 * @param comparator will be used for comparison. If {@code null}, the order of
+	 *                   {@link #sort()} will be used
+	 */
+	public void sort(Comparator<? super T> comparator) {
+		sortRange(0, size, comparator, false);
+	}
+
+	/**
+	 * Sorts a collection using parallel merge sort. When comparing, the type cast
+	 * to Comparable will be used if possible. Otherwise, the type cast to string
+	 * will be used.
+	 *
+	 * @see #parallelSort(Comparator)
+	 */
+	public void parallelSort() {
+		parallelSort(null);
+	}
+
+	/**
+	 * Sorts this list using parallel merge sort in the common
+	 * {@code ForkJoinPool}. The result is the same as the result of
+	 * {@link #sort(Comparator)}: the sort is stable. The segments are sorted in
+	 * parallel, each with {@link CustomList#parallelSort(Comparator)}'s algorithm,
+	 * and the sorted halves are merged in parallel.
+	 *
+	 * @param comparator will be used for comparison. If {@code null}, the order of
+	 *                   {@link #sort()} will be used
+	 */
+	public void parallelSort(Comparator<? super T> comparator) {
+		sortRange(0, size, comparator, ForkJoinPool.getCommonPoolParallelism() > 1);
+	}
+
+	/**
+	 * Performs the given action for each element of this list, in order, segment by
+	 * segment.
+	 *
+	 * @param action the action to be performed for each element
+	 * @throws NullPointerException            if the specified action is null
+	 * @throws ConcurrentModificationException if the list has been structurally
+	 *                                         modified by the action
+	 */
+	@Override
+	public void forEach(Consumer<? super T> action) {
+		forEachInRange(0, size, action);
+	}
+
+	@Override
+	public Iterator<T> iterator() {
+		return new BigIterator<>(this, 0, size);
+	}
+
+	/**
+	 * Returns a {@code List} view of this list. The view is backed by this list, so
+	 * changes in either are visible in the other.
+	 *
+	 * <p>
+	 * Every operation of the view which depends on the size, including
+	 * {@code size()} itself and the index-based operations, throws
+	 * {@code IllegalStateException} while this list holds more than
+	 * {@code Integer.MAX_VALUE} elements. The view supports appending only if this
+	 * list does.
+	 *
+	 * @return {@code List} view of this list
+	 */
+	public List<T> asList() {
+		return new ListAdapter<>(this);
+	}
+
+	/**
+	 * Sorts {@code [from, to)} of this list.
+	 */
+	private void sortRange(long from, long to, Comparator<? super T> comparator, boolean parallel) {
+		if (comparator == null)
+			comparator = new OrderingComparator<T>();
+		if (to - from < 2)
+			return;
+
+		Object[][] workspace = null;
+		int firstSegment = (int) (from >>> segmentShift);
+		int lastSegment = (int) ((to - 1) >>> segmentShift);
+		if (firstSegment != lastSegment) {
+			workspace = new Object[lastSegment + 1][];
+			for (int i = firstSegment; i <= lastSegment; ++i)
+				workspace[i] = new Object[(int) segmentMask + 1];
+		}
+
+		Sorter<T> sorter = new Sorter<>(segments, workspace, segmentShift, from, to, parallel, comparator);
+		if (parallel)
+			ForkJoinPool.commonPool().invoke(sorter);
+		else
+			sorter.compute();
+	}
+
+	@SuppressWarnings("unchecked")
+	private void forEachInRange(long from, long to, Consumer<? super T> action) {
+		Objects.requireNonNull(action);
+
+		int expectedVersion = version;
+		Object[][] segments = this.segments;
+		while (from < to) {
+			Object[] segment = segments[(int) (from >>> segmentShift)];
+			int offset = (int) (from & segmentMask);
+			int end = (int) Math.min(segment.length, offset + to - from);
+			for (int i = offset; i < end; ++i)
+				action.accept((T) segment[i]);
+
+			from += end - offset;
+		}
+
+		if (version != expectedVersion)
+			throw new ConcurrentModificationException();
+	}
+
+	private void addSegment() {
+		if (segmentCount == segments.length) {
+			if (segmentCount == GrowthPolicy.MAX_CAPACITY)
+				throw new OutOfMemoryError("Required list size too large");
+
+			segments = Arrays.copyOf(segments, (int) Math.min((long) segmentCount << 1, GrowthPolicy.MAX_CAPACITY));
+		}
+
+		segments[segmentCount++] = new Object[(int) segmentMask + 1];
+	}
+
+	private void incVersion() {
+		version++;
+	}
+
+	private int getVersion() {
+		return version;
+	}
+
+	/**
+	 * Returns {@code size} if it fits an {@code int}.
+	 *
+	 * @throws IllegalStateException if {@code size > Integer.MAX_VALUE}
+	 */
+	static int checkedSize(long size) {
+		if (size > Integer.MAX_VALUE)
+			throw new IllegalStateException("List size exceeds Integer.MAX_VALUE: " + size);
+
+		return (int) size;
+	}
+
+	private static Object element(Object[][] directory, int shift, long index) {
+		return directory[(int) (index >>> shift)][(int) (index & ((1L << shift) - 1))];
+	}
+
+	/**
+	 * Copies {@code count} elements from {@code source} starting at {@code from}
+	 * to {@code target} starting at {@code to}, one segment part at a time.
+	 */
+	private static void copy(Object[][] source, long from, Object[][] target, long to, long count, int shift) {
+		long mask = (1L << shift) - 1;
+		while (count > 0) {
+			int fromOffset = (int) (from & mask);
+			int toOffset = (int) (to & mask);
+			int length = (int) Math.min(count, (mask + 1) - Math.max(fromOffset, toOffset));
+
+			System.arraycopy(source[(int) (from >>> shift)], fromOffset, target[(int) (to >>> shift)], toOffset,
+					length);
+			from += length;
+			to += length;
+			count -= length;
+		}
+	}
+
+	private static void checkIndexAndThrowIfNeed(long index, long size) {
+		if (index < 0 || index >= size)
+			throw new IndexOutOfBoundsException(index);
+	}
+
+	private static void checkSubListAndThrowIfNeed(long fromIndex, long toIndex, long size) {
+		if (fromIndex < 0 || toIndex > size || fromIndex > toIndex)
+			throw new IndexOutOfBoundsException("fromIndex: " + fromIndex + ", toIndex: " + toIndex);
+	}
+
+	/**
+	 * Sorts {@code [lo, hi)} of the segments. A range within one segment is sorted
+	 * in place; a longer range is split at a segment boundary near its middle, and
+	 * the sorted halves are merged into the workspace and copied back.
+	 */
+	private static final class Sorter<T> extends RecursiveAction {
+
+		private static final long serialVersionUID = 1L;
+
+		private final transient Object[][] segments;
+
+		private final transient Object[][] workspace;
+
+		private final int shift;
+
+		private final long lo;
+
+		private final long hi;
+
+		private final boolean parallel;
+
+		private final transient Comparator<? super T> comparator;
+
+		Sorter(Object[][] segments, Object[][] workspace, int shift, long lo, long hi, boolean parallel,
+				Comparator<? super T> comparator) {
+			this.segments = segments;
+			this.workspace = workspace;
+			this.shift = shift;
+			this.lo = lo;
+			this.hi = hi;
+			this.parallel = parallel;
+			this.comparator = comparator;
+		}
+
+		@SuppressWarnings("unchecked")
+		@Override
+		protected void compute() {
+			if ((lo >>> shift) == ((hi - 1) >>> shift)) {
+				Object[] segment = segments[(int) (lo >>> shift)];
+				int from = (int) (lo & ((1L << shift) - 1));
+				int to = from + (int) (hi - lo);
+				if (parallel)
+					ParallelMergeSort.sort(segment, from, to, comparator);
+				else
+					MergeSort.sort(segment, from, to, comparator);
+				return;
+			}
+
+			long mid = ((lo + hi) >>> 1) >>> shift << shift;
+			if (mid <= lo)
+				mid = ((lo >>> shift) + 1) << shift;
+
+			Sorter<T> left = new Sorter<>(segments, workspace, shift, lo, mid, parallel, comparator);
+			Sorter<T> right = new Sorter<>(segments, workspace, shift, mid, hi, parallel, comparator);
+			if (parallel) {
+				invokeAll(left, right);
+			} else {
+				left.compute();
+				right.compute();
+			}
+
+			if (comparator.compare((T) element(segments, shift, mid - 1), (T) element(segments, shift, mid)) <= 0)
+				return;
+
+			Merger<T> merger = new Merger<>(segments, workspace, shift, lo, mid, mid, hi, lo, parallel, comparator);
+			if (parallel)
+				merger.invoke();
+			else
+				merger.compute();
+
+			copy(workspace, lo, segments, lo, hi - lo, shift);
+		}
+
+	}
+
+	/**
+	 * Merges the sorted ranges {@code source[lo1, hi1)} and
+	 * {@code source[lo2, hi2)} into {@code target} starting at {@code to}.
+	 * Elements of the first range go first when equal.
+	 */
+	private static final class Merger<T> extends RecursiveAction {
+
+		private static final long serialVersionUID = 1L;
+
+		private final transient Object[][] source;
+
+		private final transient Object[][] target;
+
+		private final int shift;
+
+		private final long lo1;
+
+		private final long hi1;
+
+		private final long lo2;
+
+		private final long hi2;
+
+		private final long to;
+
+		private final boolean parallel;
+
+		private final transient Comparator<? super T> comparator;
+
+		Merger(Object[][] source, Object[][] target, int shift, long lo1, long hi1, long lo2, long hi2, long to,
+				boolean parallel, Comparator<? super T> comparator) {
+			this.source = source;
+			this.target = target;
+			this.shift = shift;
+			this.lo1 = lo1;
+			this.hi1 = hi1;
+			this.lo2 = lo2;
+			this.hi2 = hi2;
+			this.to = to;
+			this.parallel = parallel;
+			this.comparator = comparator;
+		}
+
+		@Override
+		protected void compute() {
+			long length1 = hi1 - lo1;
+			long length2 = hi2 - lo2;
+
+			if (length1 == 0 || length2 == 0 || compare(hi1 - 1, lo2) <= 0) {
+				copy(source, lo1, target, to, length1, shift);
+				copy(source, lo2, target, to + length1, length2, shift);
+				return;
+			}
+
+			if (!parallel || length1 + length2 <= MIN_PARALLEL_MERGE) {
+				merge();
+				return;
+			}
+
+			long split1;
+			long split2;
+			if (length1 >= length2) {
+				split1 = (lo1 + hi1) >>> 1;
+				split2 = lowerBound(lo2, hi2, split1);
+			} else {
+				split2 = (lo2 + hi2) >>> 1;
+				split1 = upperBound(lo1, hi1, split2);
+			}
+
+			long toRight = to + (split1 - lo1) + (split2 - lo2);
+			invokeAll(new Merger<>(source, target, shift, lo1, split1, lo2, split2, to, parallel, comparator),
+					new Merger<>(source, target, shift, split1, hi1, split2, hi2, toRight, parallel, comparator));
+		}
+
+		private void merge() {
+			long mask = (1L << shift) - 1;
+			long left = lo1;
+			long right = lo2;
+			long position = to;
+
+			while (left < hi1 && right < hi2) {
+				Object[] segment = target[(int) (position >>> shift)];
+				if (compare(right, left) < 0)
+					segment[(int) (position++ & mask)] = element(source, shift, right++);
+				else
+					segment[(int) (position++ & mask)] = element(source, shift, left++);
+			}
+
+			copy(source, left, target, position, hi1 - left, shift);
+			copy(source, right, target, position + hi1 - left, hi2 - right, shift);
+		}
+
+		/**
+		 * Returns the first index of {@code [lo, hi)} whose element is not less than
+		 * the element at {@code key}.
+		 */
+		private long lowerBound(long lo, long hi, long key) {
+			while (lo < hi) {
+				long mid = (lo + hi) >>> 1;
+				if (compare(mid, key) < 0)
+					lo = mid + 1;
+				else
+					hi = mid;
+			}
+
+			return lo;
+		}
+
+		/**
+		 * Returns the first index of {@code [lo, hi)} whose element is greater than
+		 * the element at {@code key}.
+		 */
+		private long upperBound(long lo, long hi, long key) {
+			while (lo < hi) {
+				long mid = (lo + hi) >>> 1;
+				if (compare(mid, key) <= 0)
+					lo = mid + 1;
+				else
+					hi = mid;
+			}
+
+			return lo;
+		}
+
+		@SuppressWarnings("unchecked")
+		private int compare(long index1, long index2) {
+			return comparator.compare((T) element(source, shift, index1), (T) element(source, shift, index2));
+		}
+
+	}
+
+	/**
+	 * Used to create subList via {@link BigCustomList#subList(long, long)} or
+	 * {@link #subList(long, long)}
+	 *
+	 * @param <E> the type of elements in this list
+	 */
+	private static class SubList<E> extends BigCustomList<E> {
+
+		/**
+		 * Offset from the main collection
+		 */
+		private final long offset;
+
+		/**
+		 * View size
+		 */
+		private final long size;
+
+		/**
+		 * Main collection
+		 */
+		private final BigCustomList<E> main;
+
+		private final int mainVersion;
+
+		SubList(BigCustomList<E> main, long offset, long size) {
+			super(main);
+			this.offset = offset;
+			this.size = size;
+			this.main = main;
+			mainVersion = main.getVersion();
+		}
+
+		@Override
+		public long size64() {
+			checkMainVersion();
+
+			return size;
+		}
+
+		@Override
+		public E get(long index) {
+			checkMainVersion();
+			checkIndexAndThrowIfNeed(index, size);
+
+			return main.get(offset + index);
+		}
+
+		@Override
+		public E set(long index, E element) {
+			checkMainVersion();
+			checkIndexAndThrowIfNeed(index, size);
+
+			return main.set(offset + index, element);
+		}
+
+		/**
+		 * @throws UnsupportedOperationException always
+		 */
+		@Override
+		public boolean add(E element) {
+			throw new UnsupportedOperationException();
+		}
+
+		/**
+		 * @throws UnsupportedOperationException always
+		 */
+		@Override
+		public boolean addAll(Collection<? extends E> c) {
+			throw new UnsupportedOperationException();
+		}
+
+		/**
+		 * @throws UnsupportedOperationException always
+		 */
+		@Override
+		public void clear() {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public BigCustomList<E> subList(long fromIndex, long toIndex) {
+			checkMainVersion();
+			checkSubListAndThrowIfNeed(fromIndex, toIndex, size);
+
+			return new SubList<>(main, offset + fromIndex, toIndex - fromIndex);
+		}
+
+		@Override
+		public void sort(Comparator<? super E> comparator) {
+			checkMainVersion();
+
+			main.sortRange(offset, offset + size, comparator, false);
+		}
+
+		@Override
+		public void parallelSort(Comparator<? super E> comparator) {
+			checkMainVersion();
+
+			main.sortRange(offset, offset + size, comparator, ForkJoinPool.getCommonPoolParallelism() > 1);
+		}
+
+		@Override
+		public void forEach(Consumer<? super E> action) {
+			checkMainVersion();
+
+			main.forEachInRange(offset, offset + size, action);
+		}
+
+		@Override
+		public Iterator<E> iterator() {
+			checkMainVersion();
+
+			return new BigIterator<>(main, offset, offset + size);
+		}
+
+		private void checkMainVersion() {
+			if (main.getVersion() != mainVersion)
+				throw new ConcurrentModificationException();
+		}
+
+	}
+
+	/**
+	 * Fail-fast iterator over {@code [from, to)} of the main list.
+	 *
+	 * @param <E> the type of elements in this list
+	 */
+	private static class BigIterator<E> implements Iterator<E> {
+
+		private final BigCustomList<E> main;
+
+		private final long to;
+
+		private long ref;
+
+		private final int expectedVersion;
+
+		BigIterator(BigCustomList<E> main, long from, long to) {
+			this.main = main;
+			this.ref = from;
+			this.to = to;
+			expectedVersion = main.getVersion();
+		}
+
+		@Override
+		public boolean hasNext() {
+			return ref < to;
+		}
+
+		@SuppressWarnings("unchecked")
+		@Override
+		public E next() {
+			if (main.getVersion() != expectedVersion)
+				throw new ConcurrentModificationException();
+			if (ref == to)
+				throw new NoSuchElementException();
+
+			return (E) element(main.segments, main.segmentShift, ref++);
+		}
+
+	}
+
+	/**
+	 * {@code List} view of a big list returned by {@link BigCustomList#asList()}.
+	 *
+	 * @param <E> the type of elements in this list
+	 */
+	private static class ListAdapter<E> extends AbstractList<E> implements List<E> {
+
+		private final BigCustomList<E> big;
+
+		ListAdapter(BigCustomList<E> big) {
+			this.big = big;
+		}
+
+		/**
+		 * @throws IllegalStateException if the list holds more than
+		 *                               {@code Integer.MAX_VALUE} elements
+		 */
+		@Override
+		public int size() {
+			return checkedSize(big.size64());
+		}
+
+		@Override
+		public boolean isEmpty() {
+			return big.isEmpty();
+		}
+
+		@SuppressWarnings({ "hiding", "unchecked" })
+		@Override
+		public <T> T[] toArray(T[] a) {
+			int size = size();
+			if (a.length < size)
+				a = (T[]) Array.newInstance(a.getClass().componentType(), size);
+			if (a.length > size)
+				a[size] = null;
+
+			int[] position = { 0 };
+			T[] target = a;
+			big.forEach(element -> target[position[0]++] = (T) element);
+
+			return a;
+		}
+
+		/**
+		 * @throws IllegalStateException if the list holds more than
+		 *                               {@code Integer.MAX_VALUE} elements
+		 */
+		@Override
+		public E get(int index) {
+			checkedSize(big.size64());
+
+			return big.get(index);
+		}
+
+		/**
+		 * @throws IllegalStateException if the list holds more than
+		 *                               {@code Integer.MAX_VALUE} elements
+		 */
+		@Override
+		public E set(int index, E element) {
+			checkedSize(big.size64());
+
+			return big.set(index, element);
+		}
+
+		@Override
+		public boolean add(E element) {
+			return big.add(element);
+		}
+
+		/**
+		 * Supported only at the end of the list.
+		 *
+		 * @throws UnsupportedOperationException if {@code index != size()}
+		 */
+		@Override
+		public void add(int index, E element) {
+			if (index != size())
+				throw new UnsupportedOperationException();
+
+			big.add(element);
+		}
+
+		/**
+		 * Supported only at the end of the list.
+		 *
+		 * @throws UnsupportedOperationException if {@code index != size()}
+		 */
+		@Override
+		public boolean addAll(int index, Collection<? extends E> c) {
+			if (index != size())
+				throw new UnsupportedOperationException();
+
+			return big.addAll(c);
+		}
+
+		/**
+		 * @throws UnsupportedOperationException always
+		 */
+		@Override
+		public E remove(int index) {
+			throw new UnsupportedOperationException();
+		}
+
+		/**
+		 * @throws UnsupportedOperationException always
+		 */
+		@Override
+		public boolean remove(Object o) {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public void clear() {
+			big.clear();
+		}
+
+		@Override
+		public void sort(Comparator<? super E> comparator) {
+			big.sort(comparator);
+		}
+
+		@Override
+		public void forEach(Consumer<? super E> action) {
+			big.forEach(action);
+		}
+
+		@Override
+		public List<E> subList(int fromIndex, int toIndex) {
+			checkSubListAndThrowIfNeed(fromIndex, toIndex, size());
+
+			return big.subList(fromIndex, toIndex).asList();
+		}
+
+		@Override
+		public ListIterator<E> listIterator(int index) {
+			return new IndexListIterator<>(this, index, 0, size());
+		}
+
+	}
+
+}
@@ -0,0 +1,473 @@
+package com.github.lotashinski.collections;
+
+import java.lang.reflect.Array;
+import java.util.Collection;
+import java.util.List;
+import java.util.ListIterator;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Consumer;
+
+/**
+ * Thread-safe, lock-free, append-only implementation of the {@code List}
+ * interface for many concurrent producers.
+ *
+ * <p>
+ * A producer reserves the slots for its elements with a compare-and-set on the
+ * reservation counter, stores the elements, and then publishes them. The list
+ * consists of the <i>published prefix</i>: an element becomes visible, and
+ * {@link #size()} grows, only when all the elements reserved before it have
+ * been stored as well. Each producer advances the prefix as far as it can, so
+ * no producer waits for another one.
+ *
+ * <p>
+ * The elements are stored in chunks; chunk {@code k} holds
+ * {@code 32 * 2^k} elements, except for the last chunk, which is cut at
+ * {@code Integer.MAX_VALUE} elements in the list. A new chunk is linked into the chunk directory
+ * with a compare-and-set when the first element is stored into it; the stored
+ * elements are never copied.
+ *
+ * <p>
+ * The {@code size}, {@code get} and {@code add} operations run in constant
+ * time and never block. The published prefix never changes, so iterators,
+ * {@code forEach}, {@code toArray} and {@code subList} work on the prefix
+ * published at the time of their call, without locks and without
+ * {@code ConcurrentModificationException}. The list does not permit
+ * {@code null} elements and supports no operation other than appending.
+ *
+ * @param <T> the type of elements in this list
+ *
+ * @author Alexander Lotashinsky
+ * @see CustomList
+ * @see List
+ */
+public class ConcurrentAppendList<T> extends AbstractList<T> implements List<T> {
+
+	/**
+	 * {@code log2} of the length of the first chunk.
+	 */
+	private static final int FIRST_CHUNK_SHIFT = 5;
+
+	/**
+	 * Number of chunks enough for {@code Integer.MAX_VALUE} elements.
+	 */
+	private static final int MAX_CHUNKS = 32 - FIRST_CHUNK_SHIFT;
+
+	/**
+	 * Chunk directory, chunk {@code k} has {@link #chunkLength(int)} slots
+	 */
+	private final AtomicReferenceArray<AtomicReferenceArray<Object>> chunks = new AtomicReferenceArray<>(
+			MAX_CHUNKS);
+
+	/**
+	 * Number of reserved slots
+	 */
+	private final AtomicInteger reserved = new AtomicInteger();
+
+	/**
+	 * Length of the published prefix, the size of the list
+	 */
+	private final AtomicInteger published = new AtomicInteger();
+
+	/**
+	 * Creates an empty collection
+	 */
+	public ConcurrentAppendList() {
+	}
+
+	/**
+	 * Creates a collection based on producer, preserving the order of elements from
+	 * {@code producer.toArray()}.
+	 *
+	 * @param producer source collection
+	 * @throws NullPointerException if the collection contains {@code null}
+	 */
+	public ConcurrentAppendList(Collection<? extends T> producer) {
+		appendAll(producer.toArray());
+	}
+
+	/**
+	 * Returns the number of published elements in this list.
+	 *
+	 * @return the number of elements in this list
+	 */
+	@Override
+	public int size() {
+		return published.get();
+	}
+
+	/**
+	 * Returns the element at the specified position in this list.
+	 *
+	 * @param index index of the element to return
+	 * @return the element at the specified position in this list
+	 * @throws IndexOutOfBoundsException if the index is out of range
+	 *                                   ({@code index < 0 || index >= size()})
+	 */
+	@SuppressWarnings("unchecked")
+	@Override
+	public T get(int index) {
+		if (index < 0 || index >= published.get())
+			throw new IndexOutOfBoundsException(index);
+
+		return (T) load(index);
+	}
+
+	/**
+	 * Appends the specified element to the end of this list. The element is
+	 * visible to other threads once all of the elements appended before it are.
+	 *
+	 * @param element element to be appended to this list
+	 * @return {@code true}
+	 * @throws NullPointerException  if the element is {@code null}
+	 * @throws IllegalStateException if the list already contains
+	 *                               {@code Integer.MAX_VALUE} elements
+	 */
+	@Override
+	public boolean add(T element) {
+		Objects.requireNonNull(element);
+
+		store(reserve(1), element);
+		publish();
+
+		return true;
+	}
+
+	/**
+	 * Appends all of the elements in the specified collection to the end of this
+	 * list. The elements occupy consecutive positions and become visible in order.
+	 *
+	 * @param c collection containing elements to be added to this list
+	 * @return {@code true} if this list changed as a result of the call
+	 * @throws NullPointerException  if the collection contains {@code null}
+	 * @throws IllegalStateException if the elements do not fit into the list
+	 */
+	@Override
+	public boolean addAll(Collection<? extends T> c) {
+		return appendAll(c.toArray());
+	}
+
+	private boolean appendAll(Object[] elements) {
+		if (elements.length == 0)
+			return false;
+		for (Object element : elements)
+			Objects.requireNonNull(element);
+
+		int index = reserve(elements.length);
+		for (Object element : elements)
+			store(index++, element);
+		publish();
+
+		return true;
+	}
+
+	/**
+	 * Not supported.
+	 *
+	 * @throws UnsupportedOperationException always
+	 */
+	@Override
+	public void add(int index, T element) {
+		throw new UnsupportedOperationException();
+	}
+
+	/**
+	 * Not supported.
+	 *
+	 * @throws UnsupportedOperationException always
+	 */
+	@Override
+	public boolean addAll(int index, Collection<? extends T> c) {
+		throw new UnsupportedOperationException();
+	}
+
+	/**
+	 * Not supported.
+	 *
+	 * @throws UnsupportedOperationException always
+	 */
+	@Override
+	public T set(int index, T element) {
+		throw new UnsupportedOperationException();
+	}
+
+	/**
+	 * Not supported.
+	 *
+	 * @throws UnsupportedOperationException always
+	 */
+	@Override
+	public T remove(int index) {
+		throw new UnsupportedOperationException();
+	}
+
+	/**
+	 * Not supported.
+	 *
+	 * @throws UnsupportedOperationException always
+	 */
+	@Override
+	public boolean remove(Object o) {
+		throw new UnsupportedOperationException();
+	}
+
+	/**
+	 * Not supported.
+	 *
+	 * @throws UnsupportedOperationException always
+	 */
+	@Override
+	public void clear() {
+		throw new UnsupportedOperationException();
+	}
+
+	/**
+	 * Performs the given action for each element of the prefix published at the
+	 * time of the call, in order, chunk by chunk.
+	 *
+	 * @param action the action to be performed for each element
+	 * @throws NullPointerException if the specified action is null
+	 */
+	@SuppressWarnings("unchecked")
+	@Override
+	public void forEach(Consumer<? super T> action) {
+		Objects.requireNonNull(action);
+
+		int size = published.get();
+		int index = 0;
+		for (int chunk = 0; index < size; ++chunk) {
+			AtomicReferenceArray<Object> slots = chunks.get(chunk);
+			int end = Math.min(slots.length(), size - index);
+			for (int i = 0; i < end; ++i)
+				action.accept((T) slots.get(i));
+
+			index += end;
+		}
+	}
+
+	@SuppressWarnings({ "hiding", "unchecked" })
+	@Override
+	public <T> T[] toArray(T[] a) {
+		int size = published.get();
+		if (a.length < size)
+			a = (T[]) Array.newInstance(a.getClass().componentType(), size);
+		if (a.length > size)
+			a[size] = null;
+
+		for (int i = 0; i < size; ++i)
+			a[i] = (T) load(i);
+
+		return a;
+	}
+
+	/**
+	 * Returns a read-only view of the portion of the published prefix between the
+	 * specified {@code fromIndex}, inclusive, and {@code toIndex}, exclusive. The
+	 * prefix never changes, so the view stays valid while the list grows.
+	 *
+	 * @param fromIndex low endpoint (inclusive) of the subList
+	 * @param toIndex   high endpoint (exclusive) of the subList
+	 * @return a view of the specified range within this list
+	 * @throws IndexOutOfBoundsException for an illegal endpoint index value
+	 *                                   ({@code fromIndex < 0 || toIndex > size ||
+	 *         fromIndex > toIndex}   )
+	 */
+	@Override
+	public List<T> subList(int fromIndex, int toIndex) {
+		checkSubListAndThrowIfNeed(fromIndex, toIndex, published.get());
+
+		return new SubList<>(this, fromIndex, toIndex - fromIndex);
+	}
+
+	/**
+	 * Returns a read-only list iterator over the prefix published at the time of
+	 * the call.
+	 */
+	@Override
+	public ListIterator<T> listIterator(int index) {
+		int size = published.get();
+		if (index < 0 || index > size)
+			throw new IndexOutOfBoundsException(index);
+
+		return new IndexListIterator<>(this, index, 0, size);
+	}
+
+	/**
+	 * Reserves {@code count} consecutive slots.
+	 *
+	 * @return index of the first reserved slot
+	 */
+	private int reserve(int count) {
+		while (true) {
+			int current = reserved.get();
+			if (current > Integer.MAX_VALUE - count)
+				throw new IllegalStateException("List is full");
+			if (reserved.compareAndSet(current, current + count))
+				return current;
+		}
+	}
+
+	/**
+	 * Moves the end of the published prefix over all the stored slots that follow
+	 * it. Any producer may move it on behalf of the others.
+	 */
+	private void publish() {
+		for (int end = published.get(); end < reserved.get() && load(end) != null; end = published.get())
+			published.compareAndSet(end, end + 1);
+	}
+
+	private void store(int index, Object element) {
+		long position = (long) index + (1 << FIRST_CHUNK_SHIFT);
+		int chunk = chunkOf(position);
+
+		AtomicReferenceArray<Object> slots = chunks.get(chunk);
+		if (slots == null) {
+			chunks.compareAndSet(chunk, null, new AtomicReferenceArray<>(chunkLength(chunk)));
+			slots = chunks.get(chunk);
+		}
+
+		slots.set((int) (position - Long.highestOneBit(position)), element);
+	}
+
+	/**
+	 * Returns the element stored at the index, or {@code null} if it has not been
+	 * stored yet.
+	 */
+	private Object load(int index) {
+		long position = (long) index + (1 << FIRST_CHUNK_SHIFT);
+
+		AtomicReferenceArray<Object> slots = chunks.get(chunkOf(position));
+		if (slots == null)
+			return null;
+
+		return slots.get((int) (position - Long.highestOneBit(position)));
+	}
+
+	private static int chunkOf(long position) {
+		return 63 - Long.numberOfLeadingZeros(position) - FIRST_CHUNK_SHIFT;
+	}
+
+	/**
+	 * Returns the number of slots of the chunk: {@code 1 << (FIRST_CHUNK_SHIFT +
+	 * chunk)}, except for the last chunk. Its full length, {@code 2^31}, does not
+	 * fit an {@code int}, and only its first {@code 2^FIRST_CHUNK_SHIFT - 1} slots
+	 * can be reserved, up to the index {@code Integer.MAX_VALUE - 1}.
+	 */
+	static int chunkLength(int chunk) {
+		if (chunk < MAX_CHUNKS - 1)
+			return 1 << (FIRST_CHUNK_SHIFT + chunk);
+
+		return (1 << FIRST_CHUNK_SHIFT) - 1;
+	}
+
+	private static void checkSubListAndThrowIfNeed(int fromIndex, int toIndex, int size) {
+		if (fromIndex < 0 || toIndex > size || fromIndex > toIndex)
+			throw new IndexOutOfBoundsException("fromIndex: " + fromIndex + ", toIndex: " + toIndex);
+	}
+
+	/**
+	 * Read-only view created via {@link ConcurrentAppendList#subList(int, int)} or
+	 * {@link #subList(int, int)}
+	 *
+	 * @param <E> the type of elements in this list
+	 */
+	private static class SubList<E> extends AbstractList<E> implements List<E> {
+
+		/**
+		 * Offset from the main collection
+		 */
+		private final int offset;
+
+		/**
+		 * View size
+		 */
+		private final int size;
+
+		/**
+		 * Main collection
+		 */
+		private final ConcurrentAppendList<E> main;
+
+		SubList(ConcurrentAppendList<E> main, int offset, int size) {
+			this.offset = offset;
+			this.size = size;
+			this.main = main;
+		}
+
+		@Override
+		public int size() {
+			return size;
+		}
+
+		@SuppressWarnings("unchecked")
+		@Override
+		public E get(int index) {
+			if (index < 0 || index >= size)
+				throw new IndexOutOfBoundsException(index);
+
+			return (E) main.load(offset + index);
+		}
+
+		@SuppressWarnings({ "unchecked" })
+		@Override
+		public <T> T[] toArray(T[] a) {
+			if (a.length < size)
+				a = (T[]) Array.newInstance(a.getClass().getComponentType(), size);
+			if (a.length > size)
+				a[size] = null;
+
+			for (int i = 0; i < size; ++i)
+				a[i] = (T) main.load(offset + i);
+
+			return a;
+		}
+
+		@Override
+		public List<E> subList(int fromIndex, int toIndex) {
+			checkSubListAndThrowIfNeed(fromIndex, toIndex, size);
+
+			return new SubList<>(main, offset + fromIndex, toIndex - fromIndex);
+		}
+
+		@Override
+		public ListIterator<E> listIterator(int index) {
+			if (index < 0 || index > size)
+				throw new IndexOutOfBoundsException(index);
+
+			return new IndexListIterator<>(this, index, 0, size);
+		}
+
+		@Override
+		public E set(int index, E element) {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public void add(int index, E element) {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public boolean addAll(int index, Collection<? extends E> c) {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public E remove(int index) {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public boolean remove(Object o) {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public void clear() {
+			throw new UnsupportedOperationException();
+		}
+
+	}
+
+}
@@ -1,6 +1,7 @@
 package com.github.lotashinski.collections;
 
 import java.lang.reflect.Array;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Comparator;
 import java.util.ConcurrentModificationException;
@@ -8,6 +9,14 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.ListIterator;
 import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
+import java.util.function.UnaryOperator;
 
 /**
  * Implementation based on an array of the {@code List} interface.
@@ -17,6 +26,9 @@ import java.util.NoSuchElementException;
  * The {@code add} operation runs in amortized constant time, that is, adding n
  * elements requires O(n) time. All of the other operations run in linear time.
  * 
+ * The backing array grows and shrinks as decided by a {@link GrowthPolicy}; by
+ * default it doubles and never shrinks.
+ * 
  * @param <T> the type of elements in this list
  * 
  * @author Alexander Lotashinsky
@@ -48,23 +60,101 @@ public class CustomList<T> extends AbstractList<T> implements List<T> {
 	 */
 	private int version = 0;
 
+	/**
+	 * Decides the new length of the container when it grows or shrinks
+	 */
+	private final GrowthPolicy growthPolicy;
+
 	/**
 	 * Creates an empty collection
 	 */
 	public CustomList() {
-		container = new Object[INIT_CAPACITY];
-		size = 0;
+		this(INIT_CAPACITY);
+	}
+
+	/**
+	 * Creates an empty collection with the specified capacity, which grows with
+	 * the {@link GrowthPolicy#doubling() doubling} policy.
+	 * 
+	 * @param initialCapacity the initial capacity of the list
+	 * @throws IllegalArgumentException if the specified initial capacity is
+	 *                                  negative
+	 */
+	public CustomList(int initialCapacity) {
+		this(initialCapacity, GrowthPolicy.doubling());
+	}
+
+	/**
+	 * Creates an empty collection with the specified capacity and growth policy.
+	 * 
+	 * @param initialCapacity the initial capacity of the list
+	 * @param growthPolicy    decides how the list grows and shrinks
+	 * @throws IllegalArgumentException if the specified initial capacity is
+	 *                                  negative
+	 */
+	public CustomList(int initialCapacity, GrowthPolicy growthPolicy) {
+		if (initialCapacity < 0)
+			throw new IllegalArgumentException("Illegal capacity: " + initialCapacity);
+
+		this.container = new Object[initialCapacity];
+		this.size = 0;
+		this.growthPolicy = Objects.requireNonNull(growthPolicy);
 	}
 
 	/**
 	 * Creates a collection based on producer, preserving the order of elements from
-	 * {@code producr.toArray()}.
+	 * {@code producr.toArray()}. The capacity of the list equals the number of
+	 * elements.
 	 * 
 	 * @param producer source collection. Serves as a source for initialization
 	 */
 	public CustomList(Collection<? extends T> producer) {
-		container = producer.toArray();
-		size = producer.size();
+		Object[] elements = producer.toArray();
+		if (elements.getClass() != Object[].class)
+			elements = Arrays.copyOf(elements, elements.length, Object[].class);
+
+		container = elements;
+		size = elements.length;
+		growthPolicy = GrowthPolicy.doubling();
+	}
+
+	/**
+	 * Creates a collection which takes ownership of the array.
+	 *
+	 * @param container backing array, {@code container.length >= size}
+	 * @param size      number of elements at the beginning of the array
+	 */
+	CustomList(Object[] container, int size) {
+		this.container = container;
+		this.size = size;
+		this.growthPolicy = GrowthPolicy.doubling();
+	}
+
+	/**
+	 * Increases the capacity of this list, if necessary, so that it can hold at
+	 * least the specified number of elements without reallocating the backing
+	 * array. The new capacity is chosen by the growth policy.
+	 * 
+	 * @param minCapacity the desired minimum capacity
+	 */
+	public void ensureCapacity(int minCapacity) {
+		if (minCapacity > container.length)
+			resize(growthPolicy.grow(container.length, minCapacity));
+	}
+
+	/**
+	 * Trims the capacity of this list to its current size.
+	 */
+	public void trimToSize() {
+		if (size() < container.length)
+			resize(size());
+	}
+
+	/**
+	 * Returns the length of the backing array.
+	 */
+	int capacity() {
+		return container.length;
 	}
 
 	/**
@@ -130,6 +220,64 @@ public class CustomList<T> extends AbstractList<T> implements List<T> {
 		return a;
 	}
 
+	/**
+	 * Returns the index of the first occurrence of the specified element in this
+	 * list, or -1 if this list does not contain the element. More formally, returns
+	 * the lowest index {@code i} such that {@code Objects.equals(o, get(i))}, or -1
+	 * if there is no such index.
+	 *
+	 * @param o element to search for
+	 * @return the index of the first occurrence of the specified element in this
+	 *         list, or -1 if this list does not contain the element
+	 */
+	@Override
+	public int indexOf(Object o) {
+		Object[] container = this.container;
+		int size = size();
+		int index = -1;
+		for (int i = 0; i < size; ++i) {
+			Object tmp = container[i];
+			if (o == tmp || o != null && o.equals(tmp)) {
+				index = i;
+				break;
+			}
+		}
+
+		if (CustomListMetrics.ENABLED)
+			CustomListMetrics.scanned(this, index == -1 ? size : index + 1, index);
+
+		return index;
+	}
+
+	/**
+	 * Returns the index of the last occurrence of the specified element in this
+	 * list, or -1 if this list does not contain the element. More formally, returns
+	 * the highest index {@code i} such that {@code Objects.equals(o, get(i))}, or
+	 * -1 if there is no such index.
+	 *
+	 * @param o element to search for
+	 * @return the index of the last occurrence of the specified element in this
+	 *         list, or -1 if this list does not contain the element
+	 */
+	@Override
+	public int lastIndexOf(Object o) {
+		Object[] container = this.container;
+		int size = size();
+		int index = -1;
+		for (int i = size - 1; i >= 0; --i) {
+			Object tmp = container[i];
+			if (o == tmp || o != null && o.equals(tmp)) {
+				index = i;
+				break;
+			}
+		}
+
+		if (CustomListMetrics.ENABLED)
+			CustomListMetrics.scanned(this, index == -1 ? size : size - index, index);
+
+		return index;
+	}
+
 	/**
 	 * Removes the first occurrence of the specified element from this list, if it
 	 * is present (optional operation). If this list does not contain the element,
@@ -152,23 +300,37 @@ public class CustomList<T> extends AbstractList<T> implements List<T> {
 		return true;
 	}
 
+	/**
+	 * Removes all of the elements of this collection that satisfy the given
+	 * predicate. The backing array is compacted in a single pass, so the operation
+	 * runs in linear time regardless of the number of removed elements.
+	 * 
+	 * <p>
+	 * If the predicate throws an exception, the elements tested before are removed
+	 * or kept according to the predicate, the rest of the list is left unchanged.
+	 *
+	 * @param filter a predicate which returns {@code true} for elements to be
+	 *               removed
+	 * @return {@code true} if any elements were removed
+	 * @throws NullPointerException if the specified filter is null
+	 */
+	@Override
+	public boolean removeIf(Predicate<? super T> filter) {
+		return batchRemove(0, size(), filter) > 0;
+	}
+
 	/**
 	 * Removes all of the elements from this list (optional operation). The list
-	 * will be empty after this call returns.
+	 * will be empty after this call returns. The capacity is retained; use
+	 * {@link #trimToSize()} to release it.
 	 */
 	@Override
 	public void clear() {
 		if (size() == 0)
 			return;
 
+		Arrays.fill(container, 0, size(), null);
 		setSize(0);
-
-		/*
-		 * For garbage collector: The old container can be freed from memory before the
-		 * new one is initialized.
-		 */
-		container = null;
-		container = new Object[INIT_CAPACITY];
 	}
 
 	/**
@@ -341,8 +503,10 @@ public class CustomList<T> extends AbstractList<T> implements List<T> {
 	/**
 	 * Sorts a collection using merge sort.
 	 * 
-	 * @param comparator will be used for comparison.
+	 * @param comparator will be used for comparison. If {@code null}, the order of
+	 *                   {@link #sort()} will be used
 	 */
+	@Override
 	public void sort(Comparator<? super T> comparator) {
 		sort(0, size(), comparator);
 	}
@@ -355,8 +519,7 @@ public class CustomList<T> extends AbstractList<T> implements List<T> {
 	 * @param from low endpoint for sort
 	 * @param size total elements for sort
 	 * @throws IndexOutOfBoundsException for an illegal endpoint value
-	 *                                   ({@code from < 0 || size < 0  || from + size > size() 
-	 *         || fromIndex >= size()})
+	 *                                   ({@code from < 0 || size < 0 || from + size > size()})
 	 */
 	public void sort(int from, int size) {
 		sort(from, size, new OrderingComparator<T>());
@@ -364,120 +527,535 @@ public class CustomList<T> extends AbstractList<T> implements List<T> {
 
 	/**
 	 * Sorts a part of collection using merge sort. Comparator<? super T> will be
-	 * used for comparison
+	 * used for comparison.
+	 * 
+	 * <p>
+	 * The sort is stable: equal elements are not reordered. It works directly on
+	 * the backing array and takes advantage of already ordered runs of elements, so
+	 * an almost sorted range is sorted in close to linear time. At most
+	 * {@code size / 2} elements of extra memory are used.
+	 * 
+	 * <p>
+	 * With the default order, if no element of the range is {@code Comparable},
+	 * the string of every element is computed once and the range is sorted as
+	 * {@link #sortByCachedKey(int, int, Function, Comparator)} does, instead of
+	 * calling {@code toString} on every comparison.
 	 * 
 	 * @param from       low endpoint for sort
 	 * @param size       total elements for sort
-	 * @param comparator will be used for comparison.
+	 * @param comparator will be used for comparison. If {@code null}, the order of
+	 *                   {@link #sort()} will be used
 	 * @throws IndexOutOfBoundsException for an illegal endpoint value
-	 *                                   ({@code from < 0 || size < 0  || from + size > size() 
-	 *         || fromIndex >= size()})
+	 *                                   ({@code from < 0 || size < 0 || from + size > size()})
 	 */
 	public void sort(int from, int size, Comparator<? super T> comparator) {
-		checkIndexAndThrowIfNeed(from);
-		checkRangeAndThrowIfNeed(from + size);
+		checkPartAndThrowIfNeed(from, size);
 
-		List<T> view = subList(from, from + size);
-		List<? extends T> sorted = mergeSort(view, comparator);
+		if (comparator == null)
+			comparator = new OrderingComparator<T>();
 
-		for (int i = 0; i < size; ++i) {
-			set(from + i, sorted.get(i));
+		boolean byString = comparator instanceof OrderingComparator
+				&& KeyCachingSort.comparesByString(container, from, from + size);
+		Comparator<? super String> stringComparator = new OrderingComparator<String>();
+
+		CustomListMetrics.SortProbe probe = null;
+		if (CustomListMetrics.ENABLED) {
+			probe = CustomListMetrics.beginSort(this, size);
+			comparator = probe.count(comparator);
+			stringComparator = probe.count(stringComparator);
 		}
+
+		if (byString)
+			KeyCachingSort.sort(container, from, from + size, element -> element == null ? null : element.toString(),
+					stringComparator);
+		else
+			MergeSort.sort(container, from, from + size, comparator);
+
+		if (CustomListMetrics.ENABLED)
+			probe.end();
 	}
 
-	@Override
-	public ListIterator<T> listIterator(int index) {
-		return new CustomListiterator<>(this, index, 0, size());
+	/**
+	 * Sorts a collection using parallel merge sort. When comparing, the type cast
+	 * to Comparable will be used if possible. Otherwise, the type cast to string
+	 * will be used.
+	 * 
+	 * @see #parallelSort(int, int, Comparator)
+	 */
+	public void parallelSort() {
+		parallelSort(0, size());
 	}
 
 	/**
-	 * The default implementation of the comparator. If the elements being compared
-	 * implement comparison behavior, then {@code compareTo(other)} will be called.
-	 * Otherwise, casting to strings will be called.
+	 * Sorts a collection using parallel merge sort.
 	 * 
-	 * @param <T> the type of comparing elements
+	 * @param comparator will be used for comparison. If {@code null}, the order of
+	 *                   {@link #sort()} will be used
+	 * @see #parallelSort(int, int, Comparator)
 	 */
-	private static class OrderingComparator<T> implements Comparator<T> {
+	public void parallelSort(Comparator<? super T> comparator) {
+		parallelSort(0, size(), comparator);
+	}
 
-		/**
-		 * Compares its two arguments for order. Returns a negative integer, zero, or a
-		 * positive integer as the first argument is less than, equal to, or greater
-		 * than the second. The null value will always be the smallest (except for the
-		 * case with two nulls)
-		 * 
-		 * @param o1 the first object to be compared.
-		 * @param o2 the second object to be compared.
-		 * @return a negative integer, zero, or a positive integer as the first argument
-		 *         is less than, equal to, or greater than the second.
-		 */
-		@SuppressWarnings("unchecked")
-		@Override
-		public int compare(T o1, T o2) {
-			if (o1 == o2)
-				return 0;
-			if (o1 == null)
-				return 1;
-			if (o2 == null)
-				return -1;
-
-			if (o2 instanceof Comparable) {
-				@SuppressWarnings({ "rawtypes" })
-				Comparable c2 = (Comparable) o2;
-
-				return c2.compareTo(o1);
-			}
+	/**
+	 * Sorts a part of collection using parallel merge sort. When comparing, the
+	 * type cast to Comparable will be used if possible. Otherwise, the type cast to
+	 * string will be used.
+	 * 
+	 * @param from low endpoint for sort
+	 * @param size total elements for sort
+	 * @throws IndexOutOfBoundsException for an illegal endpoint value
+	 *                                   ({@code from < 0 || size < 0 || from + size > size()})
+	 * @see #parallelSort(int, int, Comparator)
+	 */
+	public void parallelSort(int from, int size) {
+		parallelSort(from, size, new OrderingComparator<T>());
+	}
 
-			return o2.toString().compareTo(o1.toString());
+	/**
+	 * Sorts a part of collection using parallel merge sort. Comparator<? super T>
+	 * will be used for comparison.
+	 * 
+	 * <p>
+	 * The backing array is split into parts that are sorted and then merged in
+	 * parallel in the common {@code ForkJoinPool}. The result is the same as the
+	 * result of {@link #sort(int, int, Comparator)}: the sort is stable. Short
+	 * ranges are sorted sequentially. A parallel sort uses {@code size} elements of
+	 * extra memory.
+	 * 
+	 * @param from       low endpoint for sort
+	 * @param size       total elements for sort
+	 * @param comparator will be used for comparison. If {@code null}, the order of
+	 *                   {@link #sort()} will be used
+	 * @throws IndexOutOfBoundsException for an illegal endpoint value
+	 *                                   ({@code from < 0 || size < 0 || from + size > size()})
+	 */
+	public void parallelSort(int from, int size, Comparator<? super T> comparator) {
+		checkPartAndThrowIfNeed(from, size);
+
+		if (comparator == null)
+			comparator = new OrderingComparator<T>();
+
+		CustomListMetrics.SortProbe probe = null;
+		if (CustomListMetrics.ENABLED) {
+			probe = CustomListMetrics.beginSort(this, size);
+			comparator = probe.count(comparator);
 		}
 
+		ParallelMergeSort.sort(container, from, from + size, comparator);
+
+		if (CustomListMetrics.ENABLED)
+			probe.end();
 	}
 
 	/**
-	 * Implementation of Merge Sort
-	 * {@linkplain https://en.wikipedia.org/wiki/Merge_sort MergeSort (wikipedia)}
+	 * Sorts a collection by a key which is computed once per element.
 	 * 
-	 * @param <T>        the type of elements in this list
-	 * @param list       original collection
-	 * @param comparator
-	 * @return new sorted collection ({@code CustomList<T>})
+	 * @param key computes the key of an element
+	 * @see #sortByCachedKey(int, int, Function, Comparator)
 	 */
-	private static <T> List<T> mergeSort(List<T> list, Comparator<? super T> comparator) {
-		if (list.size() < 2)
-			return list;
+	public void sortByCachedKey(Function<? super T, ?> key) {
+		sortByCachedKey(0, size(), key, null);
+	}
 
-		int leftSize = list.size() / 2;
-		int rightSize = list.size() - leftSize;
+	/**
+	 * Sorts a collection by a key which is computed once per element.
+	 * 
+	 * @param <K>           the type of the keys
+	 * @param key           computes the key of an element
+	 * @param keyComparator will be used for comparison of the keys. If
+	 *                      {@code null}, the order of {@link #sort()} will be used
+	 * @see #sortByCachedKey(int, int, Function, Comparator)
+	 */
+	public <K> void sortByCachedKey(Function<? super T, ? extends K> key, Comparator<? super K> keyComparator) {
+		sortByCachedKey(0, size(), key, keyComparator);
+	}
 
-		List<T> left = mergeSort(list.subList(0, leftSize), comparator);
-		List<T> right = mergeSort(list.subList(leftSize, leftSize + rightSize), comparator);
+	/**
+	 * Sorts a part of collection by a key which is computed once per element.
+	 * 
+	 * <p>
+	 * Decorate-sort-undecorate: the keys are computed into a parallel array and
+	 * sorted, with a stable merge sort, together with the permutation of the
+	 * positions, which is then applied to the part. Worth it when computing the
+	 * key is expensive, for example a string or a derived value, since a
+	 * comparator calling the key function computes {@code O(size log size)} keys.
+	 * Uses {@code size} keys and {@code size} positions of extra memory twice.
+	 * 
+	 * @param <K>           the type of the keys
+	 * @param from          low endpoint for sort
+	 * @param size          total elements for sort
+	 * @param key           computes the key of an element
+	 * @param keyComparator will be used for comparison of the keys. If
+	 *                      {@code null}, the order of {@link #sort()} will be used
+	 * @throws IndexOutOfBoundsException for an illegal endpoint value
+	 *                                   ({@code from < 0 || size < 0 || from + size > size()})
+	 * @throws NullPointerException      if the key function is null
+	 */
+	public <K> void sortByCachedKey(int from, int size, Function<? super T, ? extends K> key,
+			Comparator<? super K> keyComparator) {
+		checkPartAndThrowIfNeed(from, size);
+		Objects.requireNonNull(key);
 
-		List<T> tmp = new CustomList<T>();
+		if (keyComparator == null)
+			keyComparator = new OrderingComparator<K>();
 
-		int leftRef = 0;
-		int rightRef = 0;
-		while (leftRef < left.size() || rightRef < right.size()) {
-			if (leftRef == left.size()) {
-				tmp.add(right.get(rightRef++));
-				continue;
-			} else if (rightRef == right.size()) {
-				tmp.add(left.get(leftRef++));
-				continue;
-			}
+		KeyCachingSort.sort(container, from, from + size, key, keyComparator);
+	}
+
+	/**
+	 * Returns the element which would be at position {@code k} if the collection
+	 * was sorted.
+	 * 
+	 * @param k          position in the sorted order
+	 * @param comparator will be used for comparison. If {@code null}, the order of
+	 *                   {@link #sort()} will be used
+	 * @return the selected element
+	 * @see #selectNth(int, int, int, Comparator)
+	 */
+	public T selectNth(int k, Comparator<? super T> comparator) {
+		return selectNth(0, size(), k, comparator);
+	}
+
+	/**
+	 * Rearranges a part of collection so that the element at position
+	 * {@code from + k} is the one which would be there if the part was sorted. No
+	 * element before it is greater, and no element after it is less.
+	 * 
+	 * <p>
+	 * Uses introselect on the backing array: quickselect with a three-way
+	 * partition, which falls back to merge sort of the remaining range if the
+	 * partitions do not shrink fast enough. Runs in linear expected time and uses
+	 * no extra memory unless it falls back. Equal elements may be reordered.
+	 * 
+	 * @param from       low endpoint of the part
+	 * @param size       total elements in the part
+	 * @param k          position in the sorted order of the part
+	 * @param comparator will be used for comparison. If {@code null}, the order of
+	 *                   {@link #sort()} will be used
+	 * @return the selected element
+	 * @throws IndexOutOfBoundsException for an illegal endpoint value
+	 *                                   ({@code from < 0 || size < 0 || from + size > size()})
+	 *                                   or if {@code k < 0 || k >= size}
+	 */
+	@SuppressWarnings("unchecked")
+	public T selectNth(int from, int size, int k, Comparator<? super T> comparator) {
+		checkPartAndThrowIfNeed(from, size);
+		if (k < 0 || k >= size)
+			throw new IndexOutOfBoundsException("k: " + k + ", size: " + size);
+
+		if (comparator == null)
+			comparator = new OrderingComparator<T>();
+
+		Selection.select(container, from, from + size, from + k, comparator);
+
+		return (T) container[from + k];
+	}
 
-			T le = left.get(leftRef);
-			T re = right.get(rightRef);
-			int comparableResult = comparator.compare(le, re);
+	/**
+	 * Sorts the {@code k} smallest elements of a collection to its beginning.
+	 * 
+	 * @param k          number of elements to sort
+	 * @param comparator will be used for comparison. If {@code null}, the order of
+	 *                   {@link #sort()} will be used
+	 * @see #partialSort(int, int, int, Comparator)
+	 */
+	public void partialSort(int k, Comparator<? super T> comparator) {
+		partialSort(0, size(), k, comparator);
+	}
+
+	/**
+	 * Rearranges a part of collection so that its first {@code k} positions hold
+	 * its {@code k} smallest elements in sorted order. The order of the other
+	 * elements of the part is unspecified.
+	 * 
+	 * <p>
+	 * Selects the {@code k}-th element as {@link #selectNth(int, int, int, Comparator)}
+	 * does and sorts the elements before it with merge sort, in
+	 * {@code O(size + k log k)} expected time. Equal elements may be reordered.
+	 * 
+	 * @param from       low endpoint of the part
+	 * @param size       total elements in the part
+	 * @param k          number of elements to sort
+	 * @param comparator will be used for comparison. If {@code null}, the order of
+	 *                   {@link #sort()} will be used
+	 * @throws IndexOutOfBoundsException for an illegal endpoint value
+	 *                                   ({@code from < 0 || size < 0 || from + size > size()})
+	 *                                   or if {@code k < 0 || k > size}
+	 */
+	public void partialSort(int from, int size, int k, Comparator<? super T> comparator) {
+		checkPartAndThrowIfNeed(from, size);
+		if (k < 0 || k > size)
+			throw new IndexOutOfBoundsException("k: " + k + ", size: " + size);
+
+		if (comparator == null)
+			comparator = new OrderingComparator<T>();
+
+		Selection.partialSort(container, from, from + size, k, comparator);
+	}
+
+	/**
+	 * Returns the {@code k} smallest elements of a collection.
+	 * 
+	 * @param k          maximal number of elements to return
+	 * @param comparator will be used for comparison. If {@code null}, the order of
+	 *                   {@link #sort()} will be used
+	 * @return new collection with the smallest elements in sorted order
+	 * @see #topK(int, int, int, Comparator)
+	 */
+	public CustomList<T> topK(int k, Comparator<? super T> comparator) {
+		return topK(0, size(), k, comparator);
+	}
+
+	/**
+	 * Returns the {@code k} smallest elements of a part of collection in sorted
+	 * order, or all of them if the part is shorter. The result is the same as the
+	 * first {@code k} elements after a stable sort of the part, but this
+	 * collection is not modified. Use a reversed comparator for the largest
+	 * elements.
+	 * 
+	 * <p>
+	 * The positions of the best elements are kept in a binary heap of size
+	 * {@code k}, so the part is scanned once in {@code O(size log k)} time with
+	 * {@code O(k)} extra memory.
+	 * 
+	 * @param from       low endpoint of the part
+	 * @param size       total elements in the part
+	 * @param k          maximal number of elements to return
+	 * @param comparator will be used for comparison. If {@code null}, the order of
+	 *                   {@link #sort()} will be used
+	 * @return new collection with the smallest elements in sorted order
+	 * @throws IndexOutOfBoundsException for an illegal endpoint value
+	 *                                   ({@code from < 0 || size < 0 || from + size > size()})
+	 * @throws IllegalArgumentException  if {@code k} is negative
+	 */
+	public CustomList<T> topK(int from, int size, int k, Comparator<? super T> comparator) {
+		checkPartAndThrowIfNeed(from, size);
+		if (k < 0)
+			throw new IllegalArgumentException("Illegal k: " + k);
+
+		if (comparator == null)
+			comparator = new OrderingComparator<T>();
+
+		Object[] elements = Selection.topK(container, from, from + size, Math.min(k, size), comparator);
+
+		return new CustomList<>(elements, elements.length);
+	}
+
+	/**
+	 * Sorts a collection by an {@code int} key using radix sort.
+	 * 
+	 * @param key extracts the key of an element
+	 * @see #sortByIntKey(int, int, ToIntFunction)
+	 */
+	public void sortByIntKey(ToIntFunction<? super T> key) {
+		sortByIntKey(0, size(), key);
+	}
+
+	/**
+	 * Sorts a part of collection in the ascending order of an {@code int} key.
+	 * 
+	 * <p>
+	 * The key of every element is extracted once, and the elements are sorted with
+	 * a stable least significant digit first radix sort, one byte of the key per
+	 * pass, without comparisons. A pass is skipped when all keys have the same byte
+	 * in it. The sort uses {@code size} elements and {@code size} keys of extra
+	 * memory twice.
+	 * 
+	 * @param from low endpoint for sort
+	 * @param size total elements for sort
+	 * @param key  extracts the key of an element
+	 * @throws IndexOutOfBoundsException for an illegal endpoint value
+	 *                                   ({@code from < 0 || size < 0 || from + size > size()})
+	 * @throws NullPointerException      if the key extractor is null
+	 */
+	public void sortByIntKey(int from, int size, ToIntFunction<? super T> key) {
+		checkPartAndThrowIfNeed(from, size);
+		Objects.requireNonNull(key);
 
-			if (comparableResult > 0) {
-				tmp.add(le);
-				leftRef++;
-			} else {
-				tmp.add(re);
-				rightRef++;
+		RadixSort.sortByIntKey(container, from, from + size, key);
+	}
+
+	/**
+	 * Sorts a collection by a {@code long} key using radix sort.
+	 * 
+	 * @param key extracts the key of an element
+	 * @see #sortByLongKey(int, int, ToLongFunction)
+	 */
+	public void sortByLongKey(ToLongFunction<? super T> key) {
+		sortByLongKey(0, size(), key);
+	}
+
+	/**
+	 * Sorts a part of collection in the ascending order of a {@code long} key,
+	 * like {@link #sortByIntKey(int, int, ToIntFunction)}.
+	 * 
+	 * @param from low endpoint for sort
+	 * @param size total elements for sort
+	 * @param key  extracts the key of an element
+	 * @throws IndexOutOfBoundsException for an illegal endpoint value
+	 *                                   ({@code from < 0 || size < 0 || from + size > size()})
+	 * @throws NullPointerException      if the key extractor is null
+	 */
+	public void sortByLongKey(int from, int size, ToLongFunction<? super T> key) {
+		checkPartAndThrowIfNeed(from, size);
+		Objects.requireNonNull(key);
+
+		RadixSort.sortByLongKey(container, from, from + size, key);
+	}
+
+	/**
+	 * Sorts a collection by a string key using radix sort.
+	 * 
+	 * @param key extracts the key of an element
+	 * @see #sortByStringKey(int, int, Function)
+	 */
+	public void sortByStringKey(Function<? super T, String> key) {
+		sortByStringKey(0, size(), key);
+	}
+
+	/**
+	 * Sorts a part of collection in the order of {@code String.compareTo} of a
+	 * string key; elements with a {@code null} key go first.
+	 * 
+	 * <p>
+	 * The key of every element is extracted once, and the elements are sorted with
+	 * a stable most significant digit first radix sort, one character of the key
+	 * per level, without calling {@code compareTo}. The sort is fastest for ASCII
+	 * and Latin-1 keys; other characters take two distribution passes.
+	 * 
+	 * @param from low endpoint for sort
+	 * @param size total elements for sort
+	 * @param key  extracts the key of an element
+	 * @throws IndexOutOfBoundsException for an illegal endpoint value
+	 *                                   ({@code from < 0 || size < 0 || from + size > size()})
+	 * @throws NullPointerException      if the key extractor is null
+	 */
+	public void sortByStringKey(int from, int size, Function<? super T, String> key) {
+		checkPartAndThrowIfNeed(from, size);
+		Objects.requireNonNull(key);
+
+		RadixSort.sortByStringKey(container, from, from + size, key);
+	}
+
+	@Override
+	public ListIterator<T> listIterator(int index) {
+		return new CustomListiterator<>(this, null, index, 0, size());
+	}
+
+	/**
+	 * Creates a late-binding and fail-fast {@link Spliterator} over the elements in
+	 * this list. The spliterator reports {@link Spliterator#ORDERED},
+	 * {@link Spliterator#SIZED} and {@link Spliterator#SUBSIZED}, splits the
+	 * backing array in halves, and traverses it directly.
+	 *
+	 * @return a {@code Spliterator} over the elements in this list
+	 */
+	@Override
+	public Spliterator<T> spliterator() {
+		return new CustomListSpliterator<>(this, 0, -1, 0);
+	}
+
+	/**
+	 * Performs the given action for each element of this list, in order. The
+	 * backing array is traversed directly.
+	 *
+	 * @param action the action to be performed for each element
+	 * @throws NullPointerException            if the specified action is null
+	 * @throws ConcurrentModificationException if the list has been structurally
+	 *                                         modified by the action
+	 */
+	@Override
+	public void forEach(Consumer<? super T> action) {
+		forEach(0, size(), action);
+	}
+
+	/**
+	 * Replaces each element of this list with the result of applying the operator
+	 * to that element. The backing array is traversed directly.
+	 *
+	 * @param operator the operator to apply to each element
+	 * @throws NullPointerException            if the specified operator is null
+	 * @throws ConcurrentModificationException if the list has been structurally
+	 *                                         modified by the operator
+	 */
+	@Override
+	public void replaceAll(UnaryOperator<T> operator) {
+		replaceAll(0, size(), operator);
+	}
+
+	/**
+	 * Removes the elements of {@code container[from, to)} that satisfy the
+	 * predicate: the survivors are moved to the front of the range with a read and
+	 * a write cursor, then the tail of the list is moved once to close the gap.
+	 * 
+	 * @return number of removed elements
+	 */
+	@SuppressWarnings("unchecked")
+	private int batchRemove(int from, int to, Predicate<? super T> filter) {
+		Objects.requireNonNull(filter);
+
+		int read = from;
+		while (read < to && !filter.test((T) container[read]))
+			read++;
+		if (read == to)
+			return 0;
+
+		int write = read++;
+		try {
+			for (; read < to; ++read) {
+				Object element = container[read];
+				if (!filter.test((T) element))
+					container[write++] = element;
 			}
+		} finally {
+			/*
+			 * Also moves the elements not tested yet if the filter has thrown.
+			 */
+			System.arraycopy(container, read, container, write, size() - read);
+			closeTail(read - write);
 		}
 
-		return tmp;
+		return read - write;
+	}
+
+	@SuppressWarnings("unchecked")
+	private void forEach(int from, int to, Consumer<? super T> action) {
+		Objects.requireNonNull(action);
+
+		int expectedVersion = getVersion();
+		Object[] container = this.container;
+		for (int i = from; i < to; ++i)
+			action.accept((T) container[i]);
+
+		if (getVersion() != expectedVersion)
+			throw new ConcurrentModificationException();
+	}
+
+	@SuppressWarnings("unchecked")
+	private void replaceAll(int from, int to, UnaryOperator<T> operator) {
+		Objects.requireNonNull(operator);
+
+		int expectedVersion = getVersion();
+		Object[] container = this.container;
+		for (int i = from; i < to; ++i)
+			container[i] = operator.apply((T) container[i]);
+
+		if (getVersion() != expectedVersion)
+			throw new ConcurrentModificationException();
+	}
+
+	/**
+	 * Shrinks the list by {@code removed} elements that have already been moved out
+	 * of the end of the list.
+	 */
+	private void closeTail(int removed) {
+		int newSize = size() - removed;
+		for (int i = newSize; i < size(); ++i)
+			container[i] = null;
+
+		setSize(newSize);
+		shrinkIfNecessary();
 	}
 
 	private void setSize(int size) {
@@ -504,15 +1082,24 @@ public class CustomList<T> extends AbstractList<T> implements List<T> {
 		for (int i = size() - 1; i >= end; --i) {
 			container[i] = container[i - elements];
 		}
+
+		if (CustomListMetrics.ENABLED)
+			CustomListMetrics.shiftedRight(this, index, elementsBeforeShift - index);
 	}
 
 	private void shiftLeft(int index, int elements) {
+		if (elements == 0)
+			return;
+
 		checkIndexAndThrowIfNeed(index);
-		checkIndexAndThrowIfNeed(index + elements);
+		checkRangeAndThrowIfNeed(index + elements);
 
 		int elementsBeforeShift = size();
 		setSize(elementsBeforeShift - elements);
 
+		if (CustomListMetrics.ENABLED)
+			CustomListMetrics.shiftedLeft(this, index, elementsBeforeShift - elements - index);
+
 		for (; index < elementsBeforeShift - elements; ++index) {
 			container[index] = container[index + elements];
 		}
@@ -521,6 +1108,7 @@ public class CustomList<T> extends AbstractList<T> implements List<T> {
 			container[index] = null;
 		}
 
+		shrinkIfNecessary();
 	}
 
 	private void checkIndexAndThrowIfNeed(int index) {
@@ -533,27 +1121,36 @@ public class CustomList<T> extends AbstractList<T> implements List<T> {
 			throw new IndexOutOfBoundsException(index);
 	}
 
+	private void checkPartAndThrowIfNeed(int from, int size) {
+		if (from < 0 || size < 0 || from > size() - size)
+			throw new IndexOutOfBoundsException("from: " + from + ", size: " + size);
+	}
+
 	private void checkAndResizeIfNecessary(int newItems) {
 		int estimatedSize = size() + newItems;
 
-		if (estimatedSize > container.length) {
-			int newSize = calculateNewContainerSize(estimatedSize);
+		/*
+		 * A negative estimated size has overflowed, the policy reports it.
+		 */
+		if (estimatedSize < 0 || estimatedSize > container.length) {
+			int newSize = growthPolicy.grow(container.length, estimatedSize);
 			resize(newSize);
 		}
 	}
 
-	private int calculateNewContainerSize(int estimatedSize) {
-		int newSize = Math.max(container.length, INIT_CAPACITY);
-		while (newSize < estimatedSize)
-			newSize <<= 1;
-
-		return newSize;
+	private void shrinkIfNecessary() {
+		int newSize = growthPolicy.shrink(container.length, size());
+		if (newSize < container.length)
+			resize(Math.max(newSize, size()));
 	}
 
 	private void resize(int newSize) {
 		Object[] target = new Object[newSize];
 		System.arraycopy(container, 0, target, 0, size);
 
+		if (CustomListMetrics.ENABLED)
+			CustomListMetrics.resized(this, container.length, newSize, size);
+
 		container = target;
 	}
 
@@ -636,6 +1233,17 @@ public class CustomList<T> extends AbstractList<T> implements List<T> {
 			return true;
 		}
 
+		@Override
+		public boolean removeIf(Predicate<? super E> filter) {
+			checkMainVersion();
+
+			int removed = main.batchRemove(offset, offset + size, filter);
+			size -= removed;
+			syncVersions();
+
+			return removed > 0;
+		}
+
 		@Override
 		public void clear() {
 			checkMainVersion();
@@ -708,28 +1316,161 @@ public class CustomList<T> extends AbstractList<T> implements List<T> {
 
 		@Override
 		public ListIterator<E> listIterator(int index) {
-			return new CustomListiterator<>(main, offset + index, offset, offset + size());
+			return new CustomListiterator<>(main, this, offset + index, offset, offset + size());
+		}
+
+		@Override
+		public Spliterator<E> spliterator() {
+			checkMainVersion();
+
+			return new CustomListSpliterator<>(main, offset, offset + size, mainVersion);
+		}
+
+		@Override
+		public void forEach(Consumer<? super E> action) {
+			checkMainVersion();
+			main.forEach(offset, offset + size, action);
+		}
+
+		@Override
+		public void replaceAll(UnaryOperator<E> operator) {
+			checkMainVersion();
+			main.replaceAll(offset, offset + size, operator);
 		}
 
 	}
 
+	/**
+	 * Spliterator over {@code container[index, fence)} of the main collection
+	 * 
+	 * @param <E> the type of elements in this list
+	 */
+	private static final class CustomListSpliterator<E> implements Spliterator<E> {
+
+		private final CustomList<E> main;
+
+		private int index;
+
+		/**
+		 * High endpoint (exclusive), -1 until the first use
+		 */
+		private int fence;
+
+		private int expectedVersion;
+
+		CustomListSpliterator(CustomList<E> main, int origin, int fence, int expectedVersion) {
+			this.main = main;
+			this.index = origin;
+			this.fence = fence;
+			this.expectedVersion = expectedVersion;
+		}
+
+		private int getFence() {
+			if (fence < 0) {
+				expectedVersion = main.getVersion();
+				fence = main.size();
+			}
+
+			return fence;
+		}
+
+		@Override
+		public Spliterator<E> trySplit() {
+			int hi = getFence();
+			int lo = index;
+			int mid = (lo + hi) >>> 1;
+			if (lo >= mid)
+				return null;
+
+			index = mid;
+
+			return new CustomListSpliterator<>(main, lo, mid, expectedVersion);
+		}
+
+		@SuppressWarnings("unchecked")
+		@Override
+		public boolean tryAdvance(Consumer<? super E> action) {
+			Objects.requireNonNull(action);
+
+			int hi = getFence();
+			if (index >= hi)
+				return false;
+
+			E element = (E) main.container[index++];
+			action.accept(element);
+			if (main.getVersion() != expectedVersion)
+				throw new ConcurrentModificationException();
+
+			return true;
+		}
+
+		@SuppressWarnings("unchecked")
+		@Override
+		public void forEachRemaining(Consumer<? super E> action) {
+			Objects.requireNonNull(action);
+
+			int hi = getFence();
+			int i = index;
+			index = hi;
+
+			Object[] container = main.container;
+			for (; i < hi; ++i)
+				action.accept((E) container[i]);
+
+			if (main.getVersion() != expectedVersion)
+				throw new ConcurrentModificationException();
+		}
+
+		@Override
+		public long estimateSize() {
+			return getFence() - index;
+		}
+
+		@Override
+		public int characteristics() {
+			return Spliterator.ORDERED | Spliterator.SIZED | Spliterator.SUBSIZED;
+		}
+
+	}
+
+	/**
+	 * List iterator over {@code container[refStart, refEnd)} of the main
+	 * collection. Reads the backing array directly and throws
+	 * {@code ConcurrentModificationException} if the main collection has been
+	 * structurally modified other than through this iterator.
+	 * 
+	 * @param <E> the type of elements in this list
+	 */
 	private static class CustomListiterator<E> implements ListIterator<E> {
 
-		private AbstractList<E> main;
+		private final CustomList<E> main;
+
+		/**
+		 * View the iterator has been created by, or {@code null}
+		 */
+		private final SubList<E> view;
 
-		private int refStart;
+		private final int refStart;
 
 		private int refEnd;
 
 		private int ref;
 
-		private Integer previous = null;
+		/**
+		 * Index of the element returned by the last call to {@code next} or
+		 * {@code previous}, or -1 if there is no such element
+		 */
+		private int previous = -1;
 
-		CustomListiterator(CustomList<E> main, int offset, int refStart, int refEnd) {
+		private int expectedVersion;
+
+		CustomListiterator(CustomList<E> main, SubList<E> view, int offset, int refStart, int refEnd) {
 			this.main = main;
+			this.view = view;
 			this.ref = offset;
 			this.refStart = refStart;
 			this.refEnd = refEnd;
+			this.expectedVersion = main.getVersion();
 		}
 
 		@Override
@@ -737,13 +1478,15 @@ public class CustomList<T> extends AbstractList<T> implements List<T> {
 			return ref < refEnd;
 		}
 
+		@SuppressWarnings("unchecked")
 		@Override
 		public E next() {
-			if (ref == refEnd)
+			checkForComodification();
+			if (ref >= refEnd)
 				throw new NoSuchElementException();
 			previous = ref;
 
-			return main.get(ref++);
+			return (E) main.container[ref++];
 		}
 
 		@Override
@@ -751,13 +1494,15 @@ public class CustomList<T> extends AbstractList<T> implements List<T> {
 			return ref > refStart;
 		}
 
+		@SuppressWarnings("unchecked")
 		@Override
 		public E previous() {
-			if (ref == refStart)
+			checkForComodification();
+			if (ref <= refStart)
 				throw new NoSuchElementException();
 			previous = --ref;
 
-			return main.get(ref);
+			return (E) main.container[ref];
 		}
 
 		@Override
@@ -773,24 +1518,68 @@ public class CustomList<T> extends AbstractList<T> implements List<T> {
 		@Override
 		public void remove() {
 			checkState();
-			main.remove((int) previous);
+			checkForComodification();
+
+			main.remove(previous);
 			ref = previous;
-			previous = null;
+			previous = -1;
+			refEnd--;
+			structurallyModified(-1);
 		}
 
 		@Override
 		public void set(E e) {
 			checkState();
-			main.set(previous, e);
+			checkForComodification();
+
+			main.container[previous] = e;
 		}
 
 		@Override
 		public void add(E e) {
-			main.add(ref, e);
+			checkForComodification();
+
+			main.add(ref++, e);
+			previous = -1;
+			refEnd++;
+			structurallyModified(1);
+		}
+
+		@SuppressWarnings("unchecked")
+		@Override
+		public void forEachRemaining(Consumer<? super E> action) {
+			Objects.requireNonNull(action);
+			checkForComodification();
+
+			int i = ref;
+			int end = refEnd;
+			if (i >= end)
+				return;
+
+			Object[] container = main.container;
+			for (; i < end; ++i)
+				action.accept((E) container[i]);
+
+			ref = end;
+			previous = end - 1;
+			checkForComodification();
+		}
+
+		private void structurallyModified(int delta) {
+			expectedVersion = main.getVersion();
+			if (view != null) {
+				view.size += delta;
+				view.syncVersions();
+			}
+		}
+
+		private void checkForComodification() {
+			if (main.getVersion() != expectedVersion)
+				throw new ConcurrentModificationException();
 		}
 
 		private void checkState() {
-			if (previous == null)
+			if (previous < 0)
 				throw new IllegalStateException();
 		}
 
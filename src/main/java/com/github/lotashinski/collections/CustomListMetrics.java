@@ -0,0 +1,470 @@
+package com.github.lotashinski.collections;
+
+import java.lang.management.ManagementFactory;
+import java.util.Comparator;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.sun.management.HotSpotDiagnosticMXBean;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Opt-in counters of the internal work of {@link CustomList}: resizes of the
+ * backing array and the bytes they copy, elements moved by inserting and
+ * removing in the middle of a list, comparator calls of {@code sort} and
+ * {@code parallelSort}, and elements scanned by {@code indexOf} and
+ * {@code lastIndexOf}.
+ *
+ * <p>
+ * The metrics are enabled by starting the virtual machine with the system
+ * property {@value #PROPERTY} set to {@code true}. The property is read once,
+ * into a constant that guards all instrumentation, so when it is not set the
+ * compiler removes the instrumentation and the lists run as without it. The
+ * property can not be changed while the virtual machine is running.
+ *
+ * <p>
+ * When enabled, the counters are summed over all lists and can be read with
+ * {@link #snapshot()}. Every operation is also reported as a JDK Flight
+ * Recorder event, with the identity hash code of the list and the stack trace,
+ * to find the lists which do the work: {@value #RESIZE_EVENT} and
+ * {@value #SORT_EVENT} are enabled by default, the frequent
+ * {@value #SHIFT_EVENT} and {@value #SCAN_EVENT} have to be enabled in the
+ * recording settings.
+ *
+ * @author Alexander Lotashinsky
+ * @see CustomList
+ */
+public final class CustomListMetrics {
+
+	/**
+	 * The system property which enables the metrics.
+	 */
+	public static final String PROPERTY = "com.github.lotashinski.collections.metrics";
+
+	/**
+	 * Name of the event of a resize of the backing array.
+	 */
+	public static final String RESIZE_EVENT = "com.github.lotashinski.collections.Resize";
+
+	/**
+	 * Name of the event of elements moved to open or close a gap.
+	 */
+	public static final String SHIFT_EVENT = "com.github.lotashinski.collections.Shift";
+
+	/**
+	 * Name of the event of a sort.
+	 */
+	public static final String SORT_EVENT = "com.github.lotashinski.collections.Sort";
+
+	/**
+	 * Name of the event of a linear search.
+	 */
+	public static final String SCAN_EVENT = "com.github.lotashinski.collections.Scan";
+
+	/**
+	 * Guards all instrumentation in {@link CustomList}.
+	 */
+	static final boolean ENABLED = Boolean.getBoolean(PROPERTY);
+
+	/**
+	 * Size of a reference in the backing array, in bytes.
+	 */
+	private static final int REFERENCE_SIZE = ENABLED ? referenceSize() : 0;
+
+	private static final LongAdder RESIZES = new LongAdder();
+
+	private static final LongAdder BYTES_COPIED = new LongAdder();
+
+	private static final LongAdder SHIFTED_LEFT = new LongAdder();
+
+	private static final LongAdder SHIFTED_RIGHT = new LongAdder();
+
+	private static final LongAdder SORTS = new LongAdder();
+
+	private static final LongAdder COMPARISONS = new LongAdder();
+
+	private static final LongAdder SCANS = new LongAdder();
+
+	private static final LongAdder SCANNED = new LongAdder();
+
+	private CustomListMetrics() {
+	}
+
+	/**
+	 * Returns {@code true} if the metrics are enabled.
+	 *
+	 * @return {@code true} if the system property {@value #PROPERTY} was
+	 *         {@code true} when the metrics were initialized
+	 */
+	public static boolean isEnabled() {
+		return ENABLED;
+	}
+
+	/**
+	 * Returns the current values of the counters. The counters are updated
+	 * concurrently, so a snapshot taken while lists are in use may combine values
+	 * from slightly different moments. All values are zero if the metrics are
+	 * disabled.
+	 *
+	 * @return the current values of the counters
+	 */
+	public static Snapshot snapshot() {
+		return new Snapshot(RESIZES.sum(), BYTES_COPIED.sum(), SHIFTED_LEFT.sum(), SHIFTED_RIGHT.sum(), SORTS.sum(),
+				COMPARISONS.sum(), SCANS.sum(), SCANNED.sum());
+	}
+
+	/**
+	 * Sets all counters to zero. Operations running concurrently may be counted
+	 * partially.
+	 */
+	public static void reset() {
+		RESIZES.reset();
+		BYTES_COPIED.reset();
+		SHIFTED_LEFT.reset();
+		SHIFTED_RIGHT.reset();
+		SORTS.reset();
+		COMPARISONS.reset();
+		SCANS.reset();
+		SCANNED.reset();
+	}
+
+	/**
+	 * Records a resize of the backing array which copied {@code copied} elements.
+	 */
+	static void resized(Object list, int oldCapacity, int newCapacity, int copied) {
+		long bytes = (long) copied * REFERENCE_SIZE;
+		RESIZES.increment();
+		BYTES_COPIED.add(bytes);
+
+		ResizeEvent event = new ResizeEvent();
+		if (event.isEnabled()) {
+			event.list = System.identityHashCode(list);
+			event.oldCapacity = oldCapacity;
+			event.newCapacity = newCapacity;
+			event.bytesCopied = bytes;
+			event.commit();
+		}
+	}
+
+	/**
+	 * Records that {@code moved} elements were moved towards the beginning of the
+	 * array to close a gap at {@code index}.
+	 */
+	static void shiftedLeft(Object list, int index, int moved) {
+		SHIFTED_LEFT.add(moved);
+		shifted(list, index, moved, "left");
+	}
+
+	/**
+	 * Records that {@code moved} elements were moved towards the end of the array
+	 * to open a gap at {@code index}.
+	 */
+	static void shiftedRight(Object list, int index, int moved) {
+		SHIFTED_RIGHT.add(moved);
+		shifted(list, index, moved, "right");
+	}
+
+	/**
+	 * Records a linear search which compared {@code scanned} elements and
+	 * returned {@code index}.
+	 */
+	static void scanned(Object list, int scanned, int index) {
+		SCANS.increment();
+		SCANNED.add(scanned);
+
+		ScanEvent event = new ScanEvent();
+		if (event.isEnabled()) {
+			event.list = System.identityHashCode(list);
+			event.scanned = scanned;
+			event.found = index >= 0;
+			event.commit();
+		}
+	}
+
+	/**
+	 * Starts recording a sort of {@code size} elements. The comparators used by
+	 * the sort have to be wrapped with {@link SortProbe#count(Comparator)}.
+	 */
+	static SortProbe beginSort(Object list, int size) {
+		return new SortProbe(list, size);
+	}
+
+	private static void shifted(Object list, int index, int moved, String direction) {
+		/*
+		 * Appending and removing the last elements move nothing.
+		 */
+		if (moved == 0)
+			return;
+
+		ShiftEvent event = new ShiftEvent();
+		if (event.isEnabled()) {
+			event.list = System.identityHashCode(list);
+			event.index = index;
+			event.moved = moved;
+			event.direction = direction;
+			event.commit();
+		}
+	}
+
+	/**
+	 * Returns the size of an element of an {@code Object[]}: 4 bytes with
+	 * compressed references or on a 32-bit virtual machine, 8 bytes otherwise.
+	 */
+	private static int referenceSize() {
+		if ("32".equals(System.getProperty("sun.arch.data.model")))
+			return Integer.BYTES;
+
+		try {
+			HotSpotDiagnosticMXBean diagnostic = ManagementFactory.getPlatformMXBean(HotSpotDiagnosticMXBean.class);
+			if (diagnostic != null)
+				return Boolean.parseBoolean(diagnostic.getVMOption("UseCompressedOops").getValue()) ? Integer.BYTES
+						: Long.BYTES;
+		} catch (RuntimeException | LinkageError e) {
+			/*
+			 * Not a HotSpot virtual machine: assume the usual compressed references.
+			 */
+		}
+
+		return Integer.BYTES;
+	}
+
+	/**
+	 * Values of the counters at one moment.
+	 */
+	public static final class Snapshot {
+
+		private final long resizes;
+
+		private final long bytesCopied;
+
+		private final long elementsShiftedLeft;
+
+		private final long elementsShiftedRight;
+
+		private final long sorts;
+
+		private final long comparisons;
+
+		private final long scans;
+
+		private final long elementsScanned;
+
+		private Snapshot(long resizes, long bytesCopied, long elementsShiftedLeft, long elementsShiftedRight,
+				long sorts, long comparisons, long scans, long elementsScanned) {
+			this.resizes = resizes;
+			this.bytesCopied = bytesCopied;
+			this.elementsShiftedLeft = elementsShiftedLeft;
+			this.elementsShiftedRight = elementsShiftedRight;
+			this.sorts = sorts;
+			this.comparisons = comparisons;
+			this.scans = scans;
+			this.elementsScanned = elementsScanned;
+		}
+
+		/**
+		 * Returns the number of times a backing array was replaced by a longer or a
+		 * shorter one.
+		 */
+		public long getResizes() {
+			return resizes;
+		}
+
+		/**
+		 * Returns the number of bytes of references copied by the resizes.
+		 */
+		public long getBytesCopied() {
+			return bytesCopied;
+		}
+
+		/**
+		 * Returns the number of elements moved towards the beginning of a backing
+		 * array by removals.
+		 */
+		public long getElementsShiftedLeft() {
+			return elementsShiftedLeft;
+		}
+
+		/**
+		 * Returns the number of elements moved towards the end of a backing array by
+		 * insertions.
+		 */
+		public long getElementsShiftedRight() {
+			return elementsShiftedRight;
+		}
+
+		/**
+		 * Returns the number of sorts with a comparator.
+		 */
+		public long getSorts() {
+			return sorts;
+		}
+
+		/**
+		 * Returns the number of comparator calls made by the sorts.
+		 */
+		public long getComparisons() {
+			return comparisons;
+		}
+
+		/**
+		 * Returns the number of calls of {@code indexOf} and {@code lastIndexOf}.
+		 */
+		public long getScans() {
+			return scans;
+		}
+
+		/**
+		 * Returns the number of elements compared by {@code indexOf} and
+		 * {@code lastIndexOf}.
+		 */
+		public long getElementsScanned() {
+			return elementsScanned;
+		}
+
+		@Override
+		public String toString() {
+			return "CustomListMetrics.Snapshot [resizes=" + resizes + ", bytesCopied=" + bytesCopied
+					+ ", elementsShiftedLeft=" + elementsShiftedLeft + ", elementsShiftedRight=" + elementsShiftedRight
+					+ ", sorts=" + sorts + ", comparisons=" + comparisons + ", scans=" + scans + ", elementsScanned="
+					+ elementsScanned + "]";
+		}
+
+	}
+
+	/**
+	 * Counts the comparator calls of one sort and times it. The calls are
+	 * counted with an adder, since a parallel sort compares in several threads.
+	 */
+	static final class SortProbe {
+
+		private final Object list;
+
+		private final int size;
+
+		private final LongAdder comparisons = new LongAdder();
+
+		private final SortEvent event = new SortEvent();
+
+		private SortProbe(Object list, int size) {
+			this.list = list;
+			this.size = size;
+			event.begin();
+		}
+
+		/**
+		 * Returns the comparator which counts its calls in this probe.
+		 */
+		<E> Comparator<E> count(Comparator<E> comparator) {
+			return (o1, o2) -> {
+				comparisons.increment();
+				return comparator.compare(o1, o2);
+			};
+		}
+
+		/**
+		 * Finishes recording the sort.
+		 */
+		void end() {
+			long count = comparisons.sum();
+			SORTS.increment();
+			COMPARISONS.add(count);
+
+			event.end();
+			if (event.shouldCommit()) {
+				event.list = System.identityHashCode(list);
+				event.size = size;
+				event.comparisons = count;
+				event.commit();
+			}
+		}
+
+	}
+
+	@Name(RESIZE_EVENT)
+	@Label("CustomList Resize")
+	@Description("The backing array of a CustomList was replaced")
+	@Category({ "Collections", "CustomList" })
+	static final class ResizeEvent extends Event {
+
+		@Label("List")
+		@Description("Identity hash code of the list")
+		int list;
+
+		@Label("Old Capacity")
+		int oldCapacity;
+
+		@Label("New Capacity")
+		int newCapacity;
+
+		@Label("Bytes Copied")
+		@DataAmount
+		long bytesCopied;
+
+	}
+
+	@Name(SHIFT_EVENT)
+	@Label("CustomList Shift")
+	@Description("Elements of a CustomList were moved to insert or remove in the middle")
+	@Category({ "Collections", "CustomList" })
+	@Enabled(false)
+	static final class ShiftEvent extends Event {
+
+		@Label("List")
+		@Description("Identity hash code of the list")
+		int list;
+
+		@Label("Index")
+		int index;
+
+		@Label("Elements Moved")
+		int moved;
+
+		@Label("Direction")
+		String direction;
+
+	}
+
+	@Name(SORT_EVENT)
+	@Label("CustomList Sort")
+	@Description("A range of a CustomList was sorted with a comparator")
+	@Category({ "Collections", "CustomList" })
+	static final class SortEvent extends Event {
+
+		@Label("List")
+		@Description("Identity hash code of the list")
+		int list;
+
+		@Label("Size")
+		int size;
+
+		@Label("Comparisons")
+		long comparisons;
+
+	}
+
+	@Name(SCAN_EVENT)
+	@Label("CustomList Scan")
+	@Description("A CustomList was searched with indexOf or lastIndexOf")
+	@Category({ "Collections", "CustomList" })
+	@Enabled(false)
+	static final class ScanEvent extends Event {
+
+		@Label("List")
+		@Description("Identity hash code of the list")
+		int list;
+
+		@Label("Elements Scanned")
+		int scanned;
+
+		@Label("Found")
+		boolean found;
+
+	}
+
+}
@@ -0,0 +1,260 @@
+package com.github.lotashinski.collections;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.StreamCorruptedException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Writes a {@link CustomList} to a channel in a compact binary format and reads
+ * it back. The elements are encoded by an {@link ElementEncoder}.
+ *
+ * <p>
+ * The format is: a header of {@value #HEADER_SIZE} bytes (magic, format
+ * version, the size of the list and the length of the records in bytes), then
+ * one record per element. A record is the length of the encoded element (4
+ * bytes, -1 for {@code null}) followed by the encoded element. All values are
+ * big-endian. Only the elements of the list are written, not the spare
+ * capacity of its backing array.
+ *
+ * <p>
+ * The data is transferred through one direct buffer, which is reused by all
+ * calls and grows only when a single record does not fit into it. Reading
+ * never reads past the end of the list, so several lists can follow each other
+ * in one channel.
+ *
+ * <p>
+ * The header is not trusted with the allocation of the resulting list. From a
+ * {@link SeekableByteChannel} the backing array is allocated once, after the
+ * length in the header has been checked against the bytes left in the channel.
+ * From any other channel the array starts with no more elements than one
+ * buffer of records can hold and grows as the records arrive, so a corrupted
+ * header fails with an exception instead of a huge allocation.
+ *
+ * <p>
+ * An instance is not thread-safe.
+ *
+ * @param <T> the type of elements in the lists
+ *
+ * @author Alexander Lotashinsky
+ * @see ElementEncoder
+ * @see CustomList
+ */
+public class CustomListSerializer<T> {
+
+	/**
+	 * Default capacity of the transfer buffer, 64 KiB.
+	 */
+	public static final int DEFAULT_BUFFER_SIZE = 1 << 16;
+
+	/**
+	 * Size of the header.
+	 */
+	public static final int HEADER_SIZE = 20;
+
+	private static final int MAGIC = 0x434C5354;
+
+	private static final int FORMAT_VERSION = 1;
+
+	private static final int NULL_LENGTH = -1;
+
+	private final ElementEncoder<T> encoder;
+
+	private ByteBuffer buffer;
+
+	/**
+	 * Creates a serializer with a buffer of {@link #DEFAULT_BUFFER_SIZE} bytes.
+	 *
+	 * @param encoder encodes the elements
+	 */
+	public CustomListSerializer(ElementEncoder<T> encoder) {
+		this(encoder, DEFAULT_BUFFER_SIZE);
+	}
+
+	/**
+	 * Creates a serializer.
+	 *
+	 * @param encoder    encodes the elements
+	 * @param bufferSize initial capacity of the transfer buffer in bytes, not less
+	 *                   than {@value #HEADER_SIZE}
+	 * @throws IllegalArgumentException if the buffer size is illegal
+	 */
+	public CustomListSerializer(ElementEncoder<T> encoder, int bufferSize) {
+		if (bufferSize < HEADER_SIZE)
+			throw new IllegalArgumentException("Illegal buffer size: " + bufferSize);
+
+		this.encoder = Objects.requireNonNull(encoder);
+		this.buffer = ByteBuffer.allocateDirect(bufferSize);
+	}
+
+	/**
+	 * Writes the list to the channel.
+	 *
+	 * @param list    list to write
+	 * @param channel target channel
+	 * @throws IOException if an I/O error occurs
+	 */
+	public void write(CustomList<? extends T> list, WritableByteChannel channel) throws IOException {
+		int size = list.size();
+
+		int[] lengths = new int[size];
+		long length = 0;
+		for (int i = 0; i < size; ++i) {
+			T element = list.get(i);
+			lengths[i] = element == null ? NULL_LENGTH : encoder.encodedSize(element);
+			length += Integer.BYTES + Math.max(lengths[i], 0);
+		}
+
+		buffer.clear();
+		buffer.putInt(MAGIC);
+		buffer.putInt(FORMAT_VERSION);
+		buffer.putInt(size);
+		buffer.putLong(length);
+
+		for (int i = 0; i < size; ++i) {
+			int elementLength = lengths[i];
+			if (elementLength == NULL_LENGTH) {
+				reserve(Integer.BYTES, channel);
+				buffer.putInt(NULL_LENGTH);
+				continue;
+			}
+
+			T element = list.get(i);
+			reserve(Integer.BYTES + elementLength, channel);
+			buffer.putInt(elementLength);
+
+			int end = buffer.position() + elementLength;
+			encoder.encode(element, buffer);
+			if (buffer.position() != end)
+				throw new IllegalStateException("Encoder wrote " + (buffer.position() - end + elementLength)
+						+ " bytes instead of " + elementLength);
+		}
+
+		buffer.flip();
+		writeFully(channel);
+	}
+
+	/**
+	 * Reads a list written by {@link #write(CustomList, WritableByteChannel)}.
+	 * Exactly the bytes of the list are consumed from the channel.
+	 *
+	 * @param channel source channel
+	 * @return the read list
+	 * @throws EOFException              if the channel ends before the end of the
+	 *                                   list
+	 * @throws StreamCorruptedException  if the data is not a list of this format
+	 * @throws IOException               if an I/O error occurs
+	 */
+	public CustomList<T> read(ReadableByteChannel channel) throws IOException {
+		buffer.clear().limit(HEADER_SIZE);
+		readFully(channel);
+		buffer.flip();
+
+		if (buffer.getInt() != MAGIC)
+			throw new StreamCorruptedException("Not a list");
+		int version = buffer.getInt();
+		if (version != FORMAT_VERSION)
+			throw new StreamCorruptedException("Unsupported format version " + version);
+		int size = buffer.getInt();
+		long remaining = buffer.getLong();
+		if (size < 0 || remaining < (long) size * Integer.BYTES)
+			throw new StreamCorruptedException("Illegal header, size: " + size + ", length: " + remaining);
+
+		Object[] elements;
+		if (channel instanceof SeekableByteChannel seekable) {
+			if (seekable.size() - seekable.position() < remaining)
+				throw new EOFException("Header length " + remaining + " exceeds the data in the channel");
+
+			elements = new Object[size];
+		} else {
+			elements = new Object[Math.min(size, buffer.capacity() / Integer.BYTES)];
+		}
+		buffer.clear().limit(0);
+
+		for (int i = 0; i < size; ++i) {
+			if (i == elements.length)
+				elements = Arrays.copyOf(elements, Math.min(size, GrowthPolicy.doubling().grow(i, i + 1)));
+
+			remaining -= fill(Integer.BYTES, remaining, channel);
+			int length = buffer.getInt();
+			if (length == NULL_LENGTH)
+				continue;
+			if (length < 0)
+				throw new StreamCorruptedException("Illegal length of element " + i + ": " + length);
+
+			remaining -= fill(length, remaining, channel);
+			int limit = buffer.limit();
+			int end = buffer.position() + length;
+			buffer.limit(end);
+			elements[i] = encoder.decode(buffer.slice());
+			buffer.limit(limit).position(end);
+		}
+
+		if (remaining != 0 || buffer.hasRemaining())
+			throw new StreamCorruptedException("Length of the records does not match the header");
+
+		return new CustomList<>(elements, size);
+	}
+
+	/**
+	 * Makes room for {@code bytes} in the buffer, writing its content to the
+	 * channel or growing it if necessary.
+	 */
+	private void reserve(int bytes, WritableByteChannel channel) throws IOException {
+		if (buffer.remaining() >= bytes)
+			return;
+
+		buffer.flip();
+		writeFully(channel);
+		buffer.clear();
+
+		if (buffer.capacity() < bytes)
+			buffer = ByteBuffer.allocateDirect(bytes);
+	}
+
+	/**
+	 * Makes sure that at least {@code bytes} are readable in the buffer, reading
+	 * no more than {@code available} bytes from the channel.
+	 *
+	 * @return the number of bytes read from the channel
+	 */
+	private long fill(int bytes, long available, ReadableByteChannel channel) throws IOException {
+		int missing = bytes - buffer.remaining();
+		if (missing <= 0)
+			return 0;
+		if (missing > available)
+			throw new StreamCorruptedException("Length of the records does not match the header");
+
+		buffer.compact();
+		if (buffer.capacity() < bytes) {
+			ByteBuffer larger = ByteBuffer.allocateDirect(bytes);
+			larger.put(buffer.flip());
+			buffer = larger;
+		}
+
+		int start = buffer.position();
+		buffer.limit((int) Math.min(buffer.capacity(), start + available));
+		readFully(channel);
+		buffer.flip();
+
+		return buffer.limit() - start;
+	}
+
+	private void writeFully(WritableByteChannel channel) throws IOException {
+		while (buffer.hasRemaining())
+			channel.write(buffer);
+	}
+
+	private void readFully(ReadableByteChannel channel) throws IOException {
+		while (buffer.hasRemaining()) {
+			if (channel.read(buffer) < 0)
+				throw new EOFException();
+		}
+	}
+
+}
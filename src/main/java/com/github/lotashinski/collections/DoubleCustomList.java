@@ -0,0 +1,842 @@
+package com.github.lotashinski.collections;
+
+import java.lang.reflect.Array;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.ConcurrentModificationException;
+import java.util.List;
+import java.util.ListIterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.PrimitiveIterator;
+import java.util.function.DoublePredicate;
+import java.util.function.Predicate;
+
+/**
+ * Implementation based on a {@code double[]} array of the {@code List} interface,
+ * specialized for {@code double} elements. The {@code DoubleCustomList} stores the
+ * values unboxed, which takes several times less memory than
+ * {@code CustomList<Double>} and keeps the values next to each other in memory.
+ * 
+ * <p>
+ * The {@code getDouble}, {@code setDouble}, {@code addDouble}, {@code removeDouble},
+ * {@code indexOfDouble} and {@link #doubleIterator()} methods work without boxing.
+ * The list itself is the boxed {@code List<Double>} view: the methods of the
+ * {@code List} interface box and unbox the values, so existing code can use
+ * {@code DoubleCustomList} as any other list. {@code null} elements are not
+ * permitted.
+ * 
+ * Growth, subList and sort follow {@link CustomList}: the {@code size},
+ * {@code isEmpty}, {@code get}, {@code set}, {@code iterator}, and
+ * {@code listIterator} operations run in constant time. The {@code add}
+ * operation runs in amortized constant time, that is, adding n elements
+ * requires O(n) time. All of the other operations run in linear time.
+ * 
+ * @author Alexander Lotashinsky
+ * @see CustomList
+ * @see List
+ */
+public class DoubleCustomList extends AbstractList<Double> implements List<Double> {
+
+	/**
+	 * Default initial capacity.
+	 */
+	private static final int INIT_CAPACITY = 10;
+
+	/**
+	 * The size of the DoubleCustomList
+	 */
+	private int size;
+
+	/**
+	 * Array with stored collection elements
+	 */
+	private double[] container;
+
+	/**
+	 * Counter of structural changes (remove, add, clear and other). Changes when
+	 * the collection size changes.
+	 * 
+	 * Necessary for SubList
+	 */
+	private int version = 0;
+
+	/**
+	 * Creates an empty collection
+	 */
+	public DoubleCustomList() {
+		container = new double[INIT_CAPACITY];
+		size = 0;
+	}
+
+	/**
+	 * Creates a collection with the specified values, preserving their order.
+	 * 
+	 * @param values source values. The array is copied
+	 */
+	public DoubleCustomList(double... values) {
+		container = Arrays.copyOf(values, Math.max(values.length, INIT_CAPACITY));
+		size = values.length;
+	}
+
+	/**
+	 * Creates a collection based on producer, preserving the order of elements from
+	 * {@code producer.toArray()}.
+	 * 
+	 * @param producer source collection. Serves as a source for initialization
+	 * @throws NullPointerException if the producer contains {@code null}
+	 */
+	public DoubleCustomList(Collection<? extends Double> producer) {
+		Object[] elements = producer.toArray();
+
+		container = new double[Math.max(elements.length, INIT_CAPACITY)];
+		for (int i = 0; i < elements.length; ++i)
+			container[i] = (Double) elements[i];
+		size = elements.length;
+	}
+
+	/**
+	 * Returns the number of elements in this list.
+	 *
+	 * @return the number of elements in this list
+	 */
+	@Override
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * Returns the element at the specified position in this list.
+	 *
+	 * @param index index of the element to return
+	 * @return the element at the specified position in this list
+	 * @throws IndexOutOfBoundsException if the index is out of range
+	 *                                   ({@code index < 0 || index >= size()})
+	 */
+	public double getDouble(int index) {
+		checkIndexAndThrowIfNeed(index);
+
+		return container[index];
+	}
+
+	/**
+	 * Replaces the element at the specified position in this list with the
+	 * specified element.
+	 *
+	 * @param index   index of the element to replace
+	 * @param element element to be stored at the specified position
+	 * @return the element previously at the specified position
+	 * @throws IndexOutOfBoundsException if the index is out of range
+	 *                                   ({@code index < 0 || index >= size()})
+	 */
+	public double setDouble(int index, double element) {
+		checkIndexAndThrowIfNeed(index);
+
+		double tmp = container[index];
+		container[index] = element;
+
+		return tmp;
+	}
+
+	/**
+	 * Appends the specified element to the end of this list.
+	 *
+	 * @param element element to be appended to this list
+	 * @return {@code true}
+	 */
+	public boolean addDouble(double element) {
+		addDouble(size, element);
+
+		return true;
+	}
+
+	/**
+	 * Inserts the specified element at the specified position in this list. Shifts
+	 * the element currently at that position (if any) and any subsequent elements
+	 * to the right (adds one to their indices).
+	 *
+	 * @param index   index at which the specified element is to be inserted
+	 * @param element element to be inserted
+	 * @throws IndexOutOfBoundsException if the index is out of range
+	 *                                   ({@code index < 0 || index > size()})
+	 */
+	public void addDouble(int index, double element) {
+		checkRangeAndThrowIfNeed(index);
+		shiftRight(index, 1);
+
+		container[index] = element;
+	}
+
+	/**
+	 * Removes the element at the specified position in this list. Shifts any
+	 * subsequent elements to the left (subtracts one from their indices).
+	 *
+	 * @param index the index of the element to be removed
+	 * @return the element previously at the specified position
+	 * @throws IndexOutOfBoundsException if the index is out of range
+	 *                                   ({@code index < 0 || index >= size()})
+	 */
+	public double removeDouble(int index) {
+		checkIndexAndThrowIfNeed(index);
+
+		double tmp = container[index];
+		shiftLeft(index, 1);
+
+		return tmp;
+	}
+
+	/**
+	 * Returns the index of the first occurrence of the specified value in this
+	 * list, or -1 if this list does not contain the value. Values are compared the
+	 * same way as by {@code Double.equals}.
+	 *
+	 * @param value value to search for
+	 * @return the index of the first occurrence of the value, or -1
+	 */
+	public int indexOfDouble(double value) {
+		for (int i = 0; i < size; ++i) {
+			if (equal(container[i], value))
+				return i;
+		}
+
+		return -1;
+	}
+
+	/**
+	 * Returns the index of the last occurrence of the specified value in this list,
+	 * or -1 if this list does not contain the value. Values are compared the same
+	 * way as by {@code Double.equals}.
+	 *
+	 * @param value value to search for
+	 * @return the index of the last occurrence of the value, or -1
+	 */
+	public int lastIndexOfDouble(double value) {
+		for (int i = size - 1; i >= 0; --i) {
+			if (equal(container[i], value))
+				return i;
+		}
+
+		return -1;
+	}
+
+	/**
+	 * Returns {@code true} if this list contains the specified value.
+	 *
+	 * @param value value whose presence in this list is to be tested
+	 * @return {@code true} if this list contains the specified value
+	 */
+	public boolean containsDouble(double value) {
+		return indexOfDouble(value) > -1;
+	}
+
+	/**
+	 * Returns an array containing all of the values in this list in proper
+	 * sequence (from first to last element).
+	 *
+	 * @return a new array with the values of this list
+	 */
+	public double[] toDoubleArray() {
+		return Arrays.copyOf(container, size);
+	}
+
+	/**
+	 * Returns an iterator over the values in this list in proper sequence, which
+	 * does not box them.
+	 *
+	 * @return a primitive iterator over the values in this list
+	 */
+	public PrimitiveIterator.OfDouble doubleIterator() {
+		return new DoubleListIterator(this, 0, 0, size);
+	}
+
+	/**
+	 * Removes all of the values of this collection that satisfy the given
+	 * predicate. The backing array is compacted in a single pass.
+	 *
+	 * @param filter a predicate which returns {@code true} for values to be
+	 *               removed
+	 * @return {@code true} if any values were removed
+	 * @throws NullPointerException if the specified filter is null
+	 */
+	public boolean removeDoubleIf(DoublePredicate filter) {
+		return batchRemove(0, size, filter) > 0;
+	}
+
+	/**
+	 * Sorts the values of this list in ascending order.
+	 */
+	public void sort() {
+		sort(0, size());
+	}
+
+	/**
+	 * Sorts a part of collection in ascending order.
+	 * 
+	 * @param from low endpoint for sort
+	 * @param size total elements for sort
+	 * @throws IndexOutOfBoundsException for an illegal endpoint value
+	 *                                   ({@code from < 0 || size < 0 || from + size > size()})
+	 * @see Arrays#sort(double[], int, int)
+	 */
+	public void sort(int from, int size) {
+		checkPartAndThrowIfNeed(from, size);
+
+		Arrays.sort(container, from, from + size);
+	}
+
+	/**
+	 * Sorts the values of this list in ascending order using multiple threads.
+	 * 
+	 * @see Arrays#parallelSort(double[], int, int)
+	 */
+	public void parallelSort() {
+		parallelSort(0, size());
+	}
+
+	/**
+	 * Sorts a part of collection in ascending order using multiple threads.
+	 * 
+	 * @param from low endpoint for sort
+	 * @param size total elements for sort
+	 * @throws IndexOutOfBoundsException for an illegal endpoint value
+	 *                                   ({@code from < 0 || size < 0 || from + size > size()})
+	 * @see Arrays#parallelSort(double[], int, int)
+	 */
+	public void parallelSort(int from, int size) {
+		checkPartAndThrowIfNeed(from, size);
+
+		Arrays.parallelSort(container, from, from + size);
+	}
+
+	/**
+	 * Sorts this list according to the order induced by the specified comparator.
+	 * Without a comparator the values are sorted as by {@link #sort()}, otherwise
+	 * they are boxed and sorted with the same stable merge sort as
+	 * {@link CustomList#sort(Comparator)}.
+	 *
+	 * @param comparator will be used for comparison, or {@code null} for ascending
+	 *                   order
+	 */
+	@Override
+	public void sort(Comparator<? super Double> comparator) {
+		if (comparator == null) {
+			sort();
+			return;
+		}
+
+		Object[] boxed = toArray();
+		MergeSort.sort(boxed, 0, boxed.length, comparator);
+		for (int i = 0; i < boxed.length; ++i)
+			container[i] = (Double) boxed[i];
+	}
+
+	@Override
+	public Double get(int index) {
+		return getDouble(index);
+	}
+
+	@Override
+	public Double set(int index, Double element) {
+		return setDouble(index, element);
+	}
+
+	@Override
+	public void add(int index, Double element) {
+		addDouble(index, element);
+	}
+
+	@Override
+	public Double remove(int index) {
+		return removeDouble(index);
+	}
+
+	@Override
+	public boolean remove(Object o) {
+		int index = indexOf(o);
+		if (index == -1)
+			return false;
+
+		shiftLeft(index, 1);
+
+		return true;
+	}
+
+	@Override
+	public int indexOf(Object o) {
+		return o instanceof Double value ? indexOfDouble(value) : -1;
+	}
+
+	@Override
+	public int lastIndexOf(Object o) {
+		return o instanceof Double value ? lastIndexOfDouble(value) : -1;
+	}
+
+	/**
+	 * Inserts all of the elements in the specified collection into this list at
+	 * the specified position.
+	 *
+	 * @param index index at which to insert the first element from the specified
+	 *              collection
+	 * @param c     collection containing elements to be added to this list
+	 * @return {@code true} if this list changed as a result of the call
+	 * @throws NullPointerException      if the {@code c} is null or contains
+	 *                                   {@code null}
+	 * @throws IndexOutOfBoundsException if the index is out of range
+	 *                                   ({@code index < 0 || index > size()})
+	 */
+	@Override
+	public boolean addAll(int index, Collection<? extends Double> c) {
+		checkRangeAndThrowIfNeed(index);
+
+		Object[] elements = c.toArray();
+		if (elements.length == 0)
+			return false;
+
+		for (Object element : elements)
+			Objects.requireNonNull(element);
+
+		shiftRight(index, elements.length);
+		for (Object element : elements)
+			container[index++] = (Double) element;
+
+		return true;
+	}
+
+	@Override
+	public boolean removeIf(Predicate<? super Double> filter) {
+		Objects.requireNonNull(filter);
+
+		return batchRemove(0, size, filter::test) > 0;
+	}
+
+	/**
+	 * Removes all of the elements from this list. The list will be empty after this
+	 * call returns.
+	 */
+	@Override
+	public void clear() {
+		if (size() == 0)
+			return;
+
+		setSize(0);
+		container = new double[INIT_CAPACITY];
+	}
+
+	@SuppressWarnings({ "unchecked" })
+	@Override
+	public <T> T[] toArray(T[] a) {
+		if (a.length < size)
+			a = (T[]) Array.newInstance(a.getClass().componentType(), size);
+		if (a.length > size)
+			a[size] = null;
+
+		for (int i = 0; i < size; ++i)
+			a[i] = (T) (Double) container[i];
+
+		return a;
+	}
+
+	/**
+	 * Returns a view of the portion of this list between the specified
+	 * {@code fromIndex}, inclusive, and {@code toIndex}, exclusive. The returned
+	 * list is backed by this list and behaves like
+	 * {@link CustomList#subList(int, int)}.
+	 *
+	 * @param fromIndex low endpoint (inclusive) of the subList
+	 * @param toIndex   high endpoint (exclusive) of the subList
+	 * @return a view of the specified range within this list
+	 * @throws IndexOutOfBoundsException for an illegal endpoint index value
+	 *                                   ({@code fromIndex < 0 || toIndex > size ||
+	 *         fromIndex > toIndex}   )
+	 */
+	@Override
+	public List<Double> subList(int fromIndex, int toIndex) {
+		checkSubListAndThrowIfNeed(fromIndex, toIndex, size);
+
+		return new SubList(this, fromIndex, toIndex - fromIndex);
+	}
+
+	@Override
+	public ListIterator<Double> listIterator(int index) {
+		return new DoubleListIterator(this, index, 0, size);
+	}
+
+	private static boolean equal(double a, double b) {
+		return Double.doubleToLongBits(a) == Double.doubleToLongBits(b);
+	}
+
+	/**
+	 * Removes the values of {@code container[from, to)} that satisfy the predicate
+	 * with a read and a write cursor.
+	 * 
+	 * @return number of removed values
+	 */
+	private int batchRemove(int from, int to, DoublePredicate filter) {
+		Objects.requireNonNull(filter);
+
+		int read = from;
+		while (read < to && !filter.test(container[read]))
+			read++;
+		if (read == to)
+			return 0;
+
+		int write = read++;
+		try {
+			for (; read < to; ++read) {
+				double element = container[read];
+				if (!filter.test(element))
+					container[write++] = element;
+			}
+		} finally {
+			System.arraycopy(container, read, container, write, size - read);
+			setSize(size - (read - write));
+		}
+
+		return read - write;
+	}
+
+	private void setSize(int size) {
+		this.size = size;
+		incVersion();
+	}
+
+	private void incVersion() {
+		version++;
+	}
+
+	private int getVersion() {
+		return version;
+	}
+
+	private void shiftRight(int index, int elements) {
+		checkRangeAndThrowIfNeed(index);
+		checkAndResizeIfNecessary(elements);
+
+		System.arraycopy(container, index, container, index + elements, size - index);
+		setSize(size + elements);
+	}
+
+	private void shiftLeft(int index, int elements) {
+		System.arraycopy(container, index + elements, container, index, size - index - elements);
+		setSize(size - elements);
+	}
+
+	private void checkIndexAndThrowIfNeed(int index) {
+		if (index < 0 || index >= size)
+			throw new IndexOutOfBoundsException(index);
+	}
+
+	private void checkRangeAndThrowIfNeed(int index) {
+		if (index < 0 || index > size)
+			throw new IndexOutOfBoundsException(index);
+	}
+
+	private void checkPartAndThrowIfNeed(int from, int size) {
+		if (from < 0 || size < 0 || from > size() - size)
+			throw new IndexOutOfBoundsException("from: " + from + ", size: " + size);
+	}
+
+	private static void checkSubListAndThrowIfNeed(int fromIndex, int toIndex, int size) {
+		if (fromIndex < 0 || toIndex > size || fromIndex > toIndex)
+			throw new IndexOutOfBoundsException("fromIndex: " + fromIndex + ", toIndex: " + toIndex);
+	}
+
+	private void checkAndResizeIfNecessary(int newItems) {
+		int estimatedSize = size + newItems;
+
+		if (estimatedSize > container.length) {
+			int newSize = calculateNewContainerSize(estimatedSize);
+			container = Arrays.copyOf(container, newSize);
+		}
+	}
+
+	private int calculateNewContainerSize(int estimatedSize) {
+		int newSize = Math.max(container.length, INIT_CAPACITY);
+		while (newSize < estimatedSize)
+			newSize <<= 1;
+
+		return newSize;
+	}
+
+	/**
+	 * Used to create subList via {@link DoubleCustomList#subList(int, int)} or
+	 * {@link #subList(int, int)}
+	 */
+	private static class SubList extends AbstractList<Double> implements List<Double> {
+
+		/**
+		 * Offset from the main collection
+		 */
+		private int offset;
+
+		/**
+		 * View size
+		 */
+		private int size;
+
+		/**
+		 * Main collection
+		 */
+		private DoubleCustomList main;
+
+		private int mainVersion;
+
+		SubList(DoubleCustomList main, int offset, int size) {
+			this.offset = offset;
+			this.size = size;
+			this.main = main;
+			mainVersion = main.getVersion();
+		}
+
+		SubList(SubList other, int offset, int size) {
+			this.offset = offset + other.offset;
+			this.size = size;
+			main = other.main;
+			mainVersion = main.getVersion();
+		}
+
+		@Override
+		public int size() {
+			checkMainVersion();
+
+			return size;
+		}
+
+		@SuppressWarnings({ "unchecked" })
+		@Override
+		public <T> T[] toArray(T[] a) {
+			checkMainVersion();
+
+			if (a.length < size)
+				a = (T[]) Array.newInstance(a.getClass().getComponentType(), size);
+			if (a.length > size)
+				a[size] = null;
+
+			for (int i = 0; i < size; ++i)
+				a[i] = (T) (Double) main.container[offset + i];
+
+			return a;
+		}
+
+		@Override
+		public boolean remove(Object o) {
+			checkMainVersion();
+
+			int index = indexOf(o);
+			if (index == -1)
+				return false;
+
+			remove(index);
+
+			return true;
+		}
+
+		@Override
+		public boolean removeIf(Predicate<? super Double> filter) {
+			checkMainVersion();
+			Objects.requireNonNull(filter);
+
+			int removed = main.batchRemove(offset, offset + size, filter::test);
+			size -= removed;
+			syncVersions();
+
+			return removed > 0;
+		}
+
+		@Override
+		public void clear() {
+			checkMainVersion();
+
+			main.shiftLeft(offset, size);
+			size = 0;
+			syncVersions();
+		}
+
+		@Override
+		public Double get(int index) {
+			checkMainVersion();
+			checkIndexAndThrowIfNeed(index);
+
+			return main.container[offset + index];
+		}
+
+		@Override
+		public Double set(int index, Double element) {
+			checkMainVersion();
+			checkIndexAndThrowIfNeed(index);
+
+			return main.setDouble(offset + index, element);
+		}
+
+		@Override
+		public void add(int index, Double element) {
+			checkMainVersion();
+			checkRangeAndThrowIfNeed(index);
+
+			main.addDouble(offset + index, element);
+			size++;
+			syncVersions();
+		}
+
+		@Override
+		public Double remove(int index) {
+			checkMainVersion();
+			checkIndexAndThrowIfNeed(index);
+
+			double tmp = main.removeDouble(offset + index);
+			size--;
+			syncVersions();
+
+			return tmp;
+		}
+
+		@Override
+		public List<Double> subList(int fromIndex, int toIndex) {
+			checkMainVersion();
+			checkSubListAndThrowIfNeed(fromIndex, toIndex, size);
+
+			return new SubList(this, fromIndex, toIndex - fromIndex);
+		}
+
+		@Override
+		public boolean addAll(int index, Collection<? extends Double> c) {
+			checkMainVersion();
+			checkRangeAndThrowIfNeed(index);
+
+			int before = main.size();
+			boolean changed = main.addAll(offset + index, c);
+			size += main.size() - before;
+			syncVersions();
+
+			return changed;
+		}
+
+		@Override
+		public ListIterator<Double> listIterator(int index) {
+			checkMainVersion();
+
+			return new DoubleListIterator(this, index, 0, size);
+		}
+
+		private void checkIndexAndThrowIfNeed(int index) {
+			if (index < 0 || index >= size)
+				throw new IndexOutOfBoundsException(index);
+		}
+
+		private void checkRangeAndThrowIfNeed(int index) {
+			if (index < 0 || index > size)
+				throw new IndexOutOfBoundsException(index);
+		}
+
+		private void checkMainVersion() {
+			if (main.getVersion() != mainVersion)
+				throw new ConcurrentModificationException();
+		}
+
+		private void syncVersions() {
+			mainVersion = main.getVersion();
+		}
+
+	}
+
+	/**
+	 * List iterator over a {@code DoubleCustomList} or its {@code SubList}, which is
+	 * also a primitive iterator.
+	 */
+	private static class DoubleListIterator implements ListIterator<Double>, PrimitiveIterator.OfDouble {
+
+		private AbstractList<Double> main;
+
+		private int refStart;
+
+		private int refEnd;
+
+		private int ref;
+
+		/**
+		 * Index of the element returned by the last call to {@code next} or
+		 * {@code previous}, or -1 if there is no such element
+		 */
+		private int previous = -1;
+
+		DoubleListIterator(AbstractList<Double> main, int offset, int refStart, int refEnd) {
+			this.main = main;
+			this.ref = offset;
+			this.refStart = refStart;
+			this.refEnd = refEnd;
+		}
+
+		@Override
+		public boolean hasNext() {
+			return ref < refEnd;
+		}
+
+		@Override
+		public double nextDouble() {
+			if (ref == refEnd)
+				throw new NoSuchElementException();
+			previous = ref;
+
+			return main instanceof DoubleCustomList list ? list.getDouble(ref++) : main.get(ref++);
+		}
+
+		@Override
+		public Double next() {
+			return nextDouble();
+		}
+
+		@Override
+		public boolean hasPrevious() {
+			return ref > refStart;
+		}
+
+		@Override
+		public Double previous() {
+			if (ref == refStart)
+				throw new NoSuchElementException();
+			previous = --ref;
+
+			return main.get(ref);
+		}
+
+		@Override
+		public int nextIndex() {
+			return ref;
+		}
+
+		@Override
+		public int previousIndex() {
+			return ref - 1;
+		}
+
+		@Override
+		public void remove() {
+			checkState();
+			main.remove(previous);
+			ref = previous;
+			refEnd--;
+			previous = -1;
+		}
+
+		@Override
+		public void set(Double e) {
+			checkState();
+			main.set(previous, e);
+		}
+
+		@Override
+		public void add(Double e) {
+			main.add(ref++, e);
+			refEnd++;
+			previous = -1;
+		}
+
+		private void checkState() {
+			if (previous == -1)
+				throw new IllegalStateException();
+		}
+
+	}
+
+}
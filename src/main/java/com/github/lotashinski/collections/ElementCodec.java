@@ -0,0 +1,129 @@
+package com.github.lotashinski.collections;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Encodes elements of type {@code T} to a fixed number of bytes and decodes
+ * them back. Used by the lists of this package that store their elements
+ * outside of the Java heap.
+ *
+ * <p>
+ * Every element takes exactly {@link #width()} bytes. The codec reads and
+ * writes with absolute positions and must not change the position or the limit
+ * of the buffer.
+ *
+ * @param <T> the type of encoded elements
+ *
+ * @author Alexander Lotashinsky
+ * @see OffHeapList
+ */
+public interface ElementCodec<T> {
+
+	/**
+	 * Returns the number of bytes taken by one encoded element.
+	 *
+	 * @return width of an element in bytes, greater than zero
+	 */
+	int width();
+
+	/**
+	 * Writes the element to {@code buffer} starting at {@code offset}.
+	 *
+	 * @param buffer  target buffer
+	 * @param offset  absolute position of the first byte
+	 * @param element element to encode
+	 * @throws NullPointerException     if the element is {@code null} and the
+	 *                                  codec does not support {@code null}
+	 * @throws IllegalArgumentException if the element can not be encoded in
+	 *                                  {@link #width()} bytes
+	 */
+	void write(ByteBuffer buffer, int offset, T element);
+
+	/**
+	 * Reads the element stored in {@code buffer} starting at {@code offset}.
+	 *
+	 * @param buffer source buffer
+	 * @param offset absolute position of the first byte
+	 * @return decoded element
+	 */
+	T read(ByteBuffer buffer, int offset);
+
+	/**
+	 * Returns the codec of {@code Integer} values, 4 bytes each.
+	 *
+	 * @return codec of non-null {@code Integer} values
+	 */
+	static ElementCodec<Integer> ofInt() {
+		return new ElementCodec<>() {
+
+			@Override
+			public int width() {
+				return Integer.BYTES;
+			}
+
+			@Override
+			public void write(ByteBuffer buffer, int offset, Integer element) {
+				buffer.putInt(offset, element);
+			}
+
+			@Override
+			public Integer read(ByteBuffer buffer, int offset) {
+				return buffer.getInt(offset);
+			}
+
+		};
+	}
+
+	/**
+	 * Returns the codec of {@code Long} values, 8 bytes each.
+	 *
+	 * @return codec of non-null {@code Long} values
+	 */
+	static ElementCodec<Long> ofLong() {
+		return new ElementCodec<>() {
+
+			@Override
+			public int width() {
+				return Long.BYTES;
+			}
+
+			@Override
+			public void write(ByteBuffer buffer, int offset, Long element) {
+				buffer.putLong(offset, element);
+			}
+
+			@Override
+			public Long read(ByteBuffer buffer, int offset) {
+				return buffer.getLong(offset);
+			}
+
+		};
+	}
+
+	/**
+	 * Returns the codec of {@code Double} values, 8 bytes each.
+	 *
+	 * @return codec of non-null {@code Double} values
+	 */
+	static ElementCodec<Double> ofDouble() {
+		return new ElementCodec<>() {
+
+			@Override
+			public int width() {
+				return Double.BYTES;
+			}
+
+			@Override
+			public void write(ByteBuffer buffer, int offset, Double element) {
+				buffer.putDouble(offset, element);
+			}
+
+			@Override
+			public Double read(ByteBuffer buffer, int offset) {
+				return buffer.getDouble(offset);
+			}
+
+		};
+	}
+
+}
@@ -0,0 +1,133 @@
+package com.github.lotashinski.collections;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Objects;
+
+/**
+ * Encodes elements of type {@code T} to a variable number of bytes and decodes
+ * them back. Used by the lists of this package that store or transfer their
+ * elements in binary form.
+ *
+ * <p>
+ * The length of an encoded element is not part of its encoding: the callers
+ * store it separately and pass to {@link #decode(ByteBuffer)} a buffer which
+ * contains exactly one encoded element.
+ *
+ * @param <T> the type of encoded elements
+ *
+ * @author Alexander Lotashinsky
+ * @see MappedFileList
+ * @see ElementCodec
+ */
+public interface ElementEncoder<T> {
+
+	/**
+	 * Returns the number of bytes {@link #encode(Object, ByteBuffer)} writes for
+	 * the element.
+	 *
+	 * @param element element to encode
+	 * @return length of the encoded element in bytes
+	 */
+	int encodedSize(T element);
+
+	/**
+	 * Writes the element to {@code target} at its position. Exactly
+	 * {@link #encodedSize(Object)} bytes are written, and the position is
+	 * advanced by that number.
+	 *
+	 * @param element element to encode
+	 * @param target  target buffer with at least {@code encodedSize(element)}
+	 *                bytes remaining
+	 */
+	void encode(T element, ByteBuffer target);
+
+	/**
+	 * Reads one element from {@code source}. The remaining bytes of the source are
+	 * exactly the bytes written by {@link #encode(Object, ByteBuffer)}.
+	 *
+	 * @param source buffer positioned at the encoded element, with the limit at
+	 *               its end
+	 * @return decoded element
+	 */
+	T decode(ByteBuffer source);
+
+	/**
+	 * Returns the encoder of non-null strings in UTF-8.
+	 *
+	 * @return encoder of strings
+	 */
+	static ElementEncoder<String> ofString() {
+		return new ElementEncoder<>() {
+
+			@Override
+			public int encodedSize(String element) {
+				int size = 0;
+				for (int i = 0; i < element.length(); ++i) {
+					char c = element.charAt(i);
+					if (c < 0x80) {
+						size += 1;
+					} else if (c < 0x800) {
+						size += 2;
+					} else if (!Character.isSurrogate(c)) {
+						size += 3;
+					} else if (Character.isHighSurrogate(c) && i + 1 < element.length()
+							&& Character.isLowSurrogate(element.charAt(i + 1))) {
+						size += 4;
+						i++;
+					} else {
+						/*
+						 * An unpaired surrogate is replaced with '?'.
+						 */
+						size += 1;
+					}
+				}
+
+				return size;
+			}
+
+			@Override
+			public void encode(String element, ByteBuffer target) {
+				target.put(element.getBytes(StandardCharsets.UTF_8));
+			}
+
+			@Override
+			public String decode(ByteBuffer source) {
+				return StandardCharsets.UTF_8.decode(source).toString();
+			}
+
+		};
+	}
+
+	/**
+	 * Returns the encoder which writes every element with the fixed-width codec.
+	 *
+	 * @param <T>   the type of encoded elements
+	 * @param codec fixed-width codec
+	 * @return encoder backed by the codec
+	 */
+	static <T> ElementEncoder<T> of(ElementCodec<T> codec) {
+		Objects.requireNonNull(codec);
+
+		return new ElementEncoder<>() {
+
+			@Override
+			public int encodedSize(T element) {
+				return codec.width();
+			}
+
+			@Override
+			public void encode(T element, ByteBuffer target) {
+				codec.write(target, target.position(), element);
+				target.position(target.position() + codec.width());
+			}
+
+			@Override
+			public T decode(ByteBuffer source) {
+				return codec.read(source, source.position());
+			}
+
+		};
+	}
+
+}
@@ -0,0 +1,575 @@
+package com.github.lotashinski.collections;
+
+import java.lang.reflect.Array;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.ConcurrentModificationException;
+import java.util.List;
+import java.util.ListIterator;
+
+/**
+ * Implementation of the {@code List} interface based on a gap buffer: an array
+ * with a movable gap of free slots. The gap is kept at the position of the last
+ * insertion or removal.
+ *
+ * The {@code size}, {@code isEmpty}, {@code get}, {@code set},
+ * {@code iterator}, and {@code listIterator} operations run in constant time.
+ * The {@code add(int, T)} and {@code remove(int)} operations run in time
+ * proportional to the distance between the index and the previous edit
+ * position, so a sequence of edits near the same position (typing or deleting
+ * at a cursor) costs amortized constant time per edit. Appending at the end
+ * runs in amortized constant time as long as the gap stays at the end. All of
+ * the other operations run in linear time.
+ *
+ * @param <T> the type of elements in this list
+ *
+ * @author Alexander Lotashinsky
+ * @see CustomList
+ * @see List
+ */
+public class GapBufferList<T> extends AbstractList<T> implements List<T> {
+
+	/**
+	 * Default initial capacity.
+	 */
+	private static final int INIT_CAPACITY = 10;
+
+	/**
+	 * Array with stored collection elements and the gap
+	 */
+	private Object[] buffer;
+
+	/**
+	 * Index of the first free slot of the gap
+	 */
+	private int gapStart;
+
+	/**
+	 * Index of the first element after the gap
+	 */
+	private int gapEnd;
+
+	/**
+	 * Counter of structural changes (remove, add, clear and other).
+	 *
+	 * Necessary for SubList
+	 */
+	private int version = 0;
+
+	/**
+	 * Creates an empty collection
+	 */
+	public GapBufferList() {
+		buffer = new Object[INIT_CAPACITY];
+		gapStart = 0;
+		gapEnd = buffer.length;
+	}
+
+	/**
+	 * Creates a collection based on producer, preserving the order of elements from
+	 * {@code producr.toArray()}. The gap is placed at the end.
+	 *
+	 * @param producer source collection. Serves as a source for initialization
+	 */
+	public GapBufferList(Collection<? extends T> producer) {
+		Object[] elements = producer.toArray();
+
+		buffer = new Object[Math.max(elements.length + (elements.length >> 1), INIT_CAPACITY)];
+		System.arraycopy(elements, 0, buffer, 0, elements.length);
+		gapStart = elements.length;
+		gapEnd = buffer.length;
+	}
+
+	/**
+	 * Returns the number of elements in this list.
+	 *
+	 * @return the number of elements in this list
+	 */
+	@Override
+	public int size() {
+		return buffer.length - (gapEnd - gapStart);
+	}
+
+	/**
+	 * Returns an array containing all of the elements in this list in proper
+	 * sequence (from first to last element); the runtime type of the returned array
+	 * is that of the specified array.
+	 *
+	 * @param a the array into which the elements of this list are to be stored, if
+	 *          it is big enough; otherwise, a new array of the same runtime type is
+	 *          allocated for this purpose.
+	 * @return an array containing the elements of this list
+	 * @throws ArrayStoreException  if the runtime type of the specified array is
+	 *                              not a supertype of the runtime type of every
+	 *                              element in this list
+	 * @throws NullPointerException if the specified array is null
+	 * @see CustomList#toArray(Object[])
+	 */
+	@SuppressWarnings({ "hiding", "unchecked" })
+	@Override
+	public <T> T[] toArray(T[] a) {
+		int size = size();
+
+		if (a.length < size)
+			a = (T[]) Array.newInstance(a.getClass().componentType(), size);
+		if (a.length > size)
+			a[size] = null;
+
+		System.arraycopy(buffer, 0, a, 0, gapStart);
+		System.arraycopy(buffer, gapEnd, a, gapStart, buffer.length - gapEnd);
+
+		return a;
+	}
+
+	/**
+	 * Removes the first occurrence of the specified element from this list, if it
+	 * is present. The gap is moved to the position of the removed element.
+	 *
+	 * @param o element to be removed from this list, if present
+	 * @return {@code true} if this list contained the specified element
+	 */
+	@Override
+	public boolean remove(Object o) {
+		int index = indexOf(o);
+		if (index == -1)
+			return false;
+
+		remove(index);
+
+		return true;
+	}
+
+	/**
+	 * Removes all of the elements from this list. The list will be empty after this
+	 * call returns.
+	 */
+	@Override
+	public void clear() {
+		if (size() == 0)
+			return;
+
+		incVersion();
+
+		/*
+		 * For garbage collector: The old buffer can be freed from memory before the new
+		 * one is initialized.
+		 */
+		buffer = null;
+		buffer = new Object[INIT_CAPACITY];
+		gapStart = 0;
+		gapEnd = buffer.length;
+	}
+
+	/**
+	 * Returns the element at the specified position in this list.
+	 *
+	 * @param index index of the element to return
+	 * @return the element at the specified position in this list
+	 * @throws IndexOutOfBoundsException if the index is out of range
+	 *                                   ({@code index < 0 || index >= size()})
+	 */
+	@SuppressWarnings("unchecked")
+	@Override
+	public T get(int index) {
+		checkIndexAndThrowIfNeed(index);
+
+		return (T) buffer[physicalIndex(index)];
+	}
+
+	/**
+	 * Replaces the element at the specified position in this list with the
+	 * specified element. The gap is not moved.
+	 *
+	 * @param index   index of the element to replace
+	 * @param element element to be stored at the specified position
+	 * @return the element previously at the specified position
+	 * @throws IndexOutOfBoundsException if the index is out of range
+	 *                                   ({@code index < 0 || index >= size()})
+	 */
+	@SuppressWarnings("unchecked")
+	@Override
+	public T set(int index, T element) {
+		checkIndexAndThrowIfNeed(index);
+
+		int position = physicalIndex(index);
+		T tmp = (T) buffer[position];
+		buffer[position] = element;
+
+		return tmp;
+	}
+
+	/**
+	 * Inserts the specified element at the specified position in this list. The
+	 * gap is moved to the position of the new element first, so insertion right
+	 * after the previous edit does not move any element.
+	 *
+	 * @param index   index at which the specified element is to be inserted
+	 * @param element element to be inserted
+	 * @throws IndexOutOfBoundsException if the index is out of range
+	 *                                   ({@code index < 0 || index > size()})
+	 */
+	@Override
+	public void add(int index, T element) {
+		checkRangeAndThrowIfNeed(index);
+		checkAndResizeIfNecessary(1);
+		moveGap(index);
+
+		buffer[gapStart++] = element;
+		incVersion();
+	}
+
+	/**
+	 * Inserts all of the elements in the specified collection into this list at
+	 * the specified position. The elements are copied into the gap moved to that
+	 * position.
+	 *
+	 * @param index index at which to insert the first element from the specified
+	 *              collection
+	 * @param c     collection containing elements to be added to this list
+	 * @return {@code true} if this list changed as a result of the call
+	 * @throws NullPointerException      if the {@code c} is null
+	 * @throws IndexOutOfBoundsException if the index is out of range
+	 *                                   ({@code index < 0 || index > size()})
+	 */
+	@Override
+	public boolean addAll(int index, Collection<? extends T> c) {
+		checkRangeAndThrowIfNeed(index);
+
+		Object[] elements = c.toArray();
+		if (elements.length == 0)
+			return false;
+
+		checkAndResizeIfNecessary(elements.length);
+		moveGap(index);
+
+		System.arraycopy(elements, 0, buffer, gapStart, elements.length);
+		gapStart += elements.length;
+		incVersion();
+
+		return true;
+	}
+
+	/**
+	 * Removes the element at the specified position in this list. The gap is moved
+	 * to that position and then extended over the removed element, so removal right
+	 * before or right after the previous edit does not move any element.
+	 *
+	 * @param index the index of the element to be removed
+	 * @return the element previously at the specified position
+	 * @throws IndexOutOfBoundsException if the index is out of range
+	 *                                   ({@code index < 0 || index >= size()})
+	 */
+	@SuppressWarnings("unchecked")
+	@Override
+	public T remove(int index) {
+		checkIndexAndThrowIfNeed(index);
+		moveGap(index);
+
+		T tmp = (T) buffer[gapEnd];
+		buffer[gapEnd++] = null;
+		incVersion();
+
+		return tmp;
+	}
+
+	/**
+	 * Returns a view of the portion of this list between the specified
+	 * {@code fromIndex}, inclusive, and {@code toIndex}, exclusive. The returned
+	 * list is backed by this list and behaves like {@link CustomList#subList(int, int)}.
+	 *
+	 * @param fromIndex low endpoint (inclusive) of the subList
+	 * @param toIndex   high endpoint (exclusive) of the subList
+	 * @return a view of the specified range within this list
+	 * @throws IndexOutOfBoundsException for an illegal endpoint index value
+	 *                                   ({@code fromIndex < 0 || toIndex > size ||
+	 *         fromIndex > toIndex}   )
+	 */
+	@Override
+	public List<T> subList(int fromIndex, int toIndex) {
+		checkSubListAndThrowIfNeed(fromIndex, toIndex, size());
+
+		return new SubList<>(this, fromIndex, toIndex - fromIndex);
+	}
+
+	/**
+	 * Sorts this list according to the order induced by the specified comparator.
+	 * The gap is moved to the end first, and the elements are sorted in place with
+	 * the same stable merge sort as {@link CustomList#sort(Comparator)}.
+	 *
+	 * @param comparator will be used for comparison. If {@code null}, the order of
+	 *                   {@link CustomList#sort()} will be used
+	 */
+	@Override
+	public void sort(Comparator<? super T> comparator) {
+		if (comparator == null)
+			comparator = new OrderingComparator<T>();
+
+		moveGap(size());
+		MergeSort.sort(buffer, 0, gapStart, comparator);
+	}
+
+	@Override
+	public ListIterator<T> listIterator(int index) {
+		return new IndexListIterator<>(this, index, 0, size());
+	}
+
+	private int physicalIndex(int index) {
+		return index < gapStart ? index : index + gapEnd - gapStart;
+	}
+
+	/**
+	 * Moves the gap so that it starts at {@code index}. Only the elements between
+	 * the old and the new position of the gap are moved.
+	 */
+	private void moveGap(int index) {
+		if (index < gapStart) {
+			int moved = gapStart - index;
+			System.arraycopy(buffer, index, buffer, gapEnd - moved, moved);
+			clearSlots(index, Math.min(gapStart, gapEnd - moved));
+			gapStart = index;
+			gapEnd -= moved;
+		} else if (index > gapStart) {
+			int moved = index - gapStart;
+			System.arraycopy(buffer, gapEnd, buffer, gapStart, moved);
+			clearSlots(Math.max(gapEnd, index), gapEnd + moved);
+			gapStart = index;
+			gapEnd += moved;
+		}
+	}
+
+	/**
+	 * For garbage collector: slots of the gap must not keep references to moved
+	 * elements.
+	 */
+	private void clearSlots(int from, int to) {
+		for (int i = from; i < to; ++i)
+			buffer[i] = null;
+	}
+
+	private void incVersion() {
+		version++;
+	}
+
+	private int getVersion() {
+		return version;
+	}
+
+	private void checkIndexAndThrowIfNeed(int index) {
+		if (index < 0 || index >= size())
+			throw new IndexOutOfBoundsException(index);
+	}
+
+	private void checkRangeAndThrowIfNeed(int index) {
+		if (index < 0 || index > size())
+			throw new IndexOutOfBoundsException(index);
+	}
+
+	private static void checkSubListAndThrowIfNeed(int fromIndex, int toIndex, int size) {
+		if (fromIndex < 0 || toIndex > size || fromIndex > toIndex)
+			throw new IndexOutOfBoundsException("fromIndex: " + fromIndex + ", toIndex: " + toIndex);
+	}
+
+	private void checkAndResizeIfNecessary(int newItems) {
+		if (gapEnd - gapStart >= newItems)
+			return;
+
+		int estimatedSize = size() + newItems;
+		int newSize = Math.max(buffer.length, INIT_CAPACITY);
+		while (newSize < estimatedSize)
+			newSize <<= 1;
+
+		resize(newSize);
+	}
+
+	/**
+	 * Copies the elements to a new buffer, keeping the gap at the same position.
+	 */
+	private void resize(int newSize) {
+		int tail = buffer.length - gapEnd;
+		Object[] target = new Object[newSize];
+
+		System.arraycopy(buffer, 0, target, 0, gapStart);
+		System.arraycopy(buffer, gapEnd, target, newSize - tail, tail);
+
+		buffer = target;
+		gapEnd = newSize - tail;
+	}
+
+	/**
+	 * Used to create subList via {@link GapBufferList#subList(int, int)} or
+	 * {@link #subList(int, int)}
+	 *
+	 * @param <E> the type of elements in this list
+	 */
+	private static class SubList<E> extends AbstractList<E> implements List<E> {
+
+		/**
+		 * Offset from the main collection
+		 */
+		private int offset;
+
+		/**
+		 * View size
+		 */
+		private int size;
+
+		/**
+		 * Main collection
+		 */
+		private GapBufferList<E> main;
+
+		private int mainVersion;
+
+		SubList(GapBufferList<E> main, int offset, int size) {
+			this.offset = offset;
+			this.size = size;
+			this.main = main;
+			mainVersion = main.getVersion();
+		}
+
+		SubList(SubList<E> other, int offset, int size) {
+			this.offset = offset + other.offset;
+			this.size = size;
+			main = other.main;
+			mainVersion = main.getVersion();
+		}
+
+		@Override
+		public int size() {
+			checkMainVersion();
+
+			return size;
+		}
+
+		@SuppressWarnings({ "unchecked" })
+		@Override
+		public <T> T[] toArray(T[] a) {
+			checkMainVersion();
+
+			if (a.length < size)
+				a = (T[]) Array.newInstance(a.getClass().getComponentType(), size);
+			if (a.length > size)
+				a[size] = null;
+
+			for (int i = 0; i < size; ++i)
+				a[i] = (T) main.get(offset + i);
+
+			return a;
+		}
+
+		@Override
+		public boolean remove(Object o) {
+			checkMainVersion();
+
+			int index = indexOf(o);
+			if (index == -1)
+				return false;
+
+			remove(index);
+
+			return true;
+		}
+
+		@Override
+		public void clear() {
+			checkMainVersion();
+
+			if (size == 0)
+				return;
+
+			main.moveGap(offset);
+			main.clearSlots(main.gapEnd, main.gapEnd + size);
+			main.gapEnd += size;
+			main.incVersion();
+			size = 0;
+			syncVersions();
+		}
+
+		@Override
+		public E get(int index) {
+			checkMainVersion();
+			checkIndexAndThrowIfNeed(index);
+
+			return main.get(offset + index);
+		}
+
+		@Override
+		public E set(int index, E element) {
+			checkMainVersion();
+			checkIndexAndThrowIfNeed(index);
+
+			return main.set(offset + index, element);
+		}
+
+		@Override
+		public void add(int index, E element) {
+			checkMainVersion();
+			checkRangeAndThrowIfNeed(index);
+
+			main.add(offset + index, element);
+			size++;
+			syncVersions();
+		}
+
+		@Override
+		public E remove(int index) {
+			checkMainVersion();
+			checkIndexAndThrowIfNeed(index);
+
+			E tmp = main.remove(offset + index);
+			size--;
+			syncVersions();
+
+			return tmp;
+		}
+
+		@Override
+		public List<E> subList(int fromIndex, int toIndex) {
+			checkMainVersion();
+			checkSubListAndThrowIfNeed(fromIndex, toIndex, size);
+
+			return new SubList<>(this, fromIndex, toIndex - fromIndex);
+		}
+
+		@Override
+		public boolean addAll(int index, Collection<? extends E> c) {
+			checkMainVersion();
+			checkRangeAndThrowIfNeed(index);
+
+			int before = main.size();
+			boolean changed = main.addAll(offset + index, c);
+			size += main.size() - before;
+			syncVersions();
+
+			return changed;
+		}
+
+		@Override
+		public ListIterator<E> listIterator(int index) {
+			checkMainVersion();
+
+			return new IndexListIterator<>(this, index, 0, size);
+		}
+
+		private void checkIndexAndThrowIfNeed(int index) {
+			if (index < 0 || index >= size)
+				throw new IndexOutOfBoundsException(index);
+		}
+
+		private void checkRangeAndThrowIfNeed(int index) {
+			if (index < 0 || index > size)
+				throw new IndexOutOfBoundsException(index);
+		}
+
+		private void checkMainVersion() {
+			if (main.getVersion() != mainVersion)
+				throw new ConcurrentModificationException();
+		}
+
+		private void syncVersions() {
+			mainVersion = main.getVersion();
+		}
+
+	}
+
+}
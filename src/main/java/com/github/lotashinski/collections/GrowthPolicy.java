@@ -0,0 +1,163 @@
+package com.github.lotashinski.collections;
+
+/**
+ * Decides how the backing array of a {@link CustomList} grows when it is full,
+ * and optionally how it shrinks when elements are removed.
+ *
+ * <p>
+ * The policies returned by the factory methods never return less than the
+ * required capacity, at least {@link #MIN_CAPACITY}, and do not overflow: the
+ * growth saturates at {@link #MAX_CAPACITY}. By default a policy never shrinks
+ * the array; {@link #withShrinking(int)} adds shrinking with hysteresis.
+ *
+ * @author Alexander Lotashinsky
+ * @see CustomList#CustomList(int, GrowthPolicy)
+ */
+public interface GrowthPolicy {
+
+	/**
+	 * The smallest capacity the built-in policies grow an array to.
+	 */
+	int MIN_CAPACITY = 10;
+
+	/**
+	 * The largest capacity the built-in policies grow an array to, unless more is
+	 * required. Some virtual machines can not allocate arrays longer than this.
+	 */
+	int MAX_CAPACITY = Integer.MAX_VALUE - 8;
+
+	/**
+	 * Returns the new capacity of a full array.
+	 *
+	 * @param capacity current capacity
+	 * @param required capacity required for the pending operation, greater than
+	 *                 {@code capacity}. Negative if the required capacity has
+	 *                 overflowed
+	 * @return new capacity, not less than {@code required}
+	 * @throws OutOfMemoryError if the required capacity has overflowed
+	 */
+	int grow(int capacity, int required);
+
+	/**
+	 * Returns the new capacity of the array after elements have been removed.
+	 * Returns {@code capacity} to keep the array.
+	 *
+	 * @param capacity current capacity
+	 * @param size     number of elements left
+	 * @return new capacity, not less than {@code size}
+	 */
+	default int shrink(int capacity, int size) {
+		return capacity;
+	}
+
+	/**
+	 * Returns the policy which shrinks the array to twice the number of elements
+	 * when no more than a quarter of it is used. The gap between the shrink
+	 * threshold and the result gives hysteresis: a list does not alternately
+	 * shrink and grow when elements are added and removed around one size.
+	 *
+	 * @param minCapacity the array is never shrunk below this capacity
+	 * @return the policy which grows like this one and shrinks
+	 * @throws IllegalArgumentException if {@code minCapacity} is negative
+	 */
+	default GrowthPolicy withShrinking(int minCapacity) {
+		if (minCapacity < 0)
+			throw new IllegalArgumentException("Illegal minimal capacity: " + minCapacity);
+
+		GrowthPolicy growth = this;
+
+		return new GrowthPolicy() {
+
+			@Override
+			public int grow(int capacity, int required) {
+				return growth.grow(capacity, required);
+			}
+
+			@Override
+			public int shrink(int capacity, int size) {
+				if (capacity <= minCapacity || size > capacity >>> 2)
+					return capacity;
+
+				return Math.max(size << 1, minCapacity);
+			}
+
+		};
+	}
+
+	/**
+	 * Returns the policy which doubles the capacity.
+	 *
+	 * @return the doubling policy
+	 */
+	static GrowthPolicy doubling() {
+		return (capacity, required) -> newCapacity(required, (long) capacity << 1);
+	}
+
+	/**
+	 * Returns the policy which increases the capacity by half.
+	 *
+	 * @return the 1.5x policy
+	 */
+	static GrowthPolicy oneAndHalf() {
+		return (capacity, required) -> newCapacity(required, capacity + ((long) capacity >> 1));
+	}
+
+	/**
+	 * Returns the policy which increases the capacity by a fixed number of
+	 * elements. Adding n elements one by one then takes O(n²) time, in exchange
+	 * for at most {@code increment} unused slots.
+	 *
+	 * @param increment number of slots added on every growth
+	 * @return the fixed increment policy
+	 * @throws IllegalArgumentException if {@code increment} is not positive
+	 */
+	static GrowthPolicy fixedIncrement(int increment) {
+		if (increment <= 0)
+			throw new IllegalArgumentException("Illegal increment: " + increment);
+
+		return (capacity, required) -> newCapacity(required, (long) capacity + increment);
+	}
+
+	/**
+	 * Returns the policy which grows like {@code policy}, but adds at most
+	 * {@code maxGrowth} slots at once (unless more are required). Limits the
+	 * unused memory of large lists while small lists still grow geometrically.
+	 *
+	 * @param policy    growth below the cap
+	 * @param maxGrowth maximal number of slots added on one growth
+	 * @return the cap-aware policy
+	 * @throws IllegalArgumentException if {@code maxGrowth} is not positive
+	 */
+	static GrowthPolicy capped(GrowthPolicy policy, int maxGrowth) {
+		if (maxGrowth <= 0)
+			throw new IllegalArgumentException("Illegal maximal growth: " + maxGrowth);
+
+		return new GrowthPolicy() {
+
+			@Override
+			public int grow(int capacity, int required) {
+				return newCapacity(required, Math.min(policy.grow(capacity, required), (long) capacity + maxGrowth));
+			}
+
+			@Override
+			public int shrink(int capacity, int size) {
+				return policy.shrink(capacity, size);
+			}
+
+		};
+	}
+
+	/**
+	 * Returns {@code preferred} limited to {@code [max(required, MIN_CAPACITY),
+	 * max(required, MAX_CAPACITY)]}.
+	 */
+	private static int newCapacity(int required, long preferred) {
+		if (required < 0)
+			throw new OutOfMemoryError("Required array length too large");
+
+		long capacity = Math.max(Math.max(preferred, required), MIN_CAPACITY);
+
+		return (int) Math.min(capacity, Math.max(MAX_CAPACITY, required));
+	}
+
+}
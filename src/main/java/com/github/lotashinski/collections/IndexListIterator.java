@@ -0,0 +1,103 @@
+package com.github.lotashinski.collections;
+
+import java.util.ListIterator;
+import java.util.NoSuchElementException;
+
+/**
+ * List iterator which accesses the elements of a list by index through
+ * {@code get}, {@code set}, {@code add} and {@code remove}. Used by the lists of
+ * this package that have no faster way to iterate.
+ *
+ * @param <E> the type of elements in this list
+ *
+ * @author Alexander Lotashinsky
+ */
+class IndexListIterator<E> implements ListIterator<E> {
+
+	private AbstractList<E> main;
+
+	private int refStart;
+
+	private int refEnd;
+
+	private int ref;
+
+	/**
+	 * Index of the element returned by the last call to {@code next} or
+	 * {@code previous}, or -1 if there is no such element
+	 */
+	private int previous = -1;
+
+	IndexListIterator(AbstractList<E> main, int offset, int refStart, int refEnd) {
+		this.main = main;
+		this.ref = offset;
+		this.refStart = refStart;
+		this.refEnd = refEnd;
+	}
+
+	@Override
+	public boolean hasNext() {
+		return ref < refEnd;
+	}
+
+	@Override
+	public E next() {
+		if (ref == refEnd)
+			throw new NoSuchElementException();
+		previous = ref;
+
+		return main.get(ref++);
+	}
+
+	@Override
+	public boolean hasPrevious() {
+		return ref > refStart;
+	}
+
+	@Override
+	public E previous() {
+		if (ref == refStart)
+			throw new NoSuchElementException();
+		previous = --ref;
+
+		return main.get(ref);
+	}
+
+	@Override
+	public int nextIndex() {
+		return ref;
+	}
+
+	@Override
+	public int previousIndex() {
+		return ref - 1;
+	}
+
+	@Override
+	public void remove() {
+		checkState();
+		main.remove(previous);
+		ref = previous;
+		refEnd--;
+		previous = -1;
+	}
+
+	@Override
+	public void set(E e) {
+		checkState();
+		main.set(previous, e);
+	}
+
+	@Override
+	public void add(E e) {
+		main.add(ref++, e);
+		refEnd++;
+		previous = -1;
+	}
+
+	private void checkState() {
+		if (previous == -1)
+			throw new IllegalStateException();
+	}
+
+}
@@ -0,0 +1,939 @@
+package com.github.lotashinski.collections;
+
+import java.lang.reflect.Array;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.ConcurrentModificationException;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.ListIterator;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Predicate;
+import java.util.function.UnaryOperator;
+
+/**
+ * Implementation of the {@code List} interface based on an array, with a hash
+ * index from every element to its positions in the array.
+ *
+ * <p>
+ * The {@code contains} operation runs in constant time, {@code indexOf} and
+ * {@code lastIndexOf} in constant expected time, and {@code remove(Object)},
+ * {@code containsAll}, {@code removeAll} and {@code retainAll} look elements up
+ * in the index instead of scanning the list. The index uses
+ * {@code Object.equals} and {@code Object.hashCode}; elements must not be
+ * modified in a way that changes them while they are in the list.
+ *
+ * <p>
+ * Insertions and removals in the middle move the following elements, which
+ * invalidates their positions in the index. The positions are not updated
+ * immediately: the index only remembers the first invalid position, and the
+ * next lookup which needs a position beyond it renumbers the tail of the list
+ * in one pass. A sequence of modifications costs one renumbering, and the
+ * number of occurrences of every element is always up to date, so
+ * {@code contains} never renumbers.
+ *
+ * @param <T> the type of elements in this list
+ *
+ * @author Alexander Lotashinsky
+ * @see CustomList
+ * @see List
+ */
+public class IndexedCustomList<T> extends AbstractList<T> implements List<T> {
+
+	private static final int INIT_CAPACITY = 10;
+
+	private final GrowthPolicy growthPolicy = GrowthPolicy.doubling();
+
+	/**
+	 * Container for storing collection elements
+	 */
+	private Object[] container = new Object[INIT_CAPACITY];
+
+	/**
+	 * The size of the IndexedCustomList
+	 */
+	private int size;
+
+	/**
+	 * Positions of every element of the list
+	 */
+	private final Map<Object, Positions> index = new HashMap<>();
+
+	/**
+	 * Positions below this one are recorded in the index. Equal to {@code size}
+	 * if the index is up to date
+	 */
+	private int indexedTo;
+
+	/**
+	 * Entries which may hold positions not below {@code indexedTo} although their
+	 * element no longer occurs there
+	 */
+	private final List<Positions> stale = new ArrayList<>();
+
+	/**
+	 * {@code true} if some stale entries have not been added to {@code stale}
+	 */
+	private boolean staleOverflow;
+
+	/**
+	 * Number of the renumbering pass, marks the entries truncated in the pass
+	 */
+	private int epoch;
+
+	/**
+	 * Counter of structural changes (remove, add, clear and other).
+	 *
+	 * Necessary for SubList
+	 */
+	private int version = 0;
+
+	/**
+	 * Creates an empty collection
+	 */
+	public IndexedCustomList() {
+	}
+
+	/**
+	 * Creates a collection based on producer, preserving the order of elements from
+	 * {@code producr.toArray()}.
+	 *
+	 * @param producer source collection. Serves as a source for initialization
+	 */
+	public IndexedCustomList(Collection<? extends T> producer) {
+		insertAll(0, producer.toArray());
+	}
+
+	/**
+	 * Returns the number of elements in this list.
+	 *
+	 * @return the number of elements in this list
+	 */
+	@Override
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * Returns {@code true} if this list contains the specified element. Runs in
+	 * constant time.
+	 *
+	 * @param o element whose presence in this list is to be tested
+	 * @return {@code true} if this list contains the specified element
+	 */
+	@Override
+	public boolean contains(Object o) {
+		return index.containsKey(o);
+	}
+
+	/**
+	 * Returns {@code true} if this list contains all of the elements of the
+	 * specified collection. Every element is looked up in the index.
+	 *
+	 * @param c collection to be checked for containment in this list
+	 * @return {@code true} if this list contains all of the elements of the
+	 *         specified collection
+	 * @throws NullPointerException if the specified collection is null
+	 */
+	@Override
+	public boolean containsAll(Collection<?> c) {
+		for (Object element : c)
+			if (!index.containsKey(element))
+				return false;
+
+		return true;
+	}
+
+	/**
+	 * Returns the index of the first occurrence of the specified element in this
+	 * list, or -1 if this list does not contain the element.
+	 *
+	 * @param o element to search for
+	 * @return the index of the first occurrence of the specified element in this
+	 *         list, or -1 if this list does not contain the element
+	 */
+	@Override
+	public int indexOf(Object o) {
+		Positions positions = index.get(o);
+		if (positions == null)
+			return -1;
+		if (positions.length > 0 && positions.items[0] < indexedTo)
+			return positions.items[0];
+
+		renumber();
+
+		return positions.items[0];
+	}
+
+	/**
+	 * Returns the index of the last occurrence of the specified element in this
+	 * list, or -1 if this list does not contain the element.
+	 *
+	 * @param o element to search for
+	 * @return the index of the last occurrence of the specified element in this
+	 *         list, or -1 if this list does not contain the element
+	 */
+	@Override
+	public int lastIndexOf(Object o) {
+		Positions positions = index.get(o);
+		if (positions == null)
+			return -1;
+
+		/*
+		 * All occurrences are below the invalid part.
+		 */
+		if (positions.count <= positions.length && positions.items[positions.count - 1] < indexedTo)
+			return positions.items[positions.count - 1];
+
+		renumber();
+
+		return positions.items[positions.count - 1];
+	}
+
+	@SuppressWarnings({ "hiding", "unchecked" })
+	@Override
+	public <T> T[] toArray(T[] a) {
+		if (a.length < size)
+			a = (T[]) Array.newInstance(a.getClass().componentType(), size);
+		if (a.length > size)
+			a[size] = null;
+
+		System.arraycopy(container, 0, a, 0, size);
+
+		return a;
+	}
+
+	/**
+	 * Returns the element at the specified position in this list.
+	 *
+	 * @param index index of the element to return
+	 * @return the element at the specified position in this list
+	 * @throws IndexOutOfBoundsException if the index is out of range
+	 *                                   ({@code index < 0 || index >= size()})
+	 */
+	@SuppressWarnings("unchecked")
+	@Override
+	public T get(int index) {
+		checkIndexAndThrowIfNeed(index);
+
+		return (T) container[index];
+	}
+
+	/**
+	 * Replaces the element at the specified position in this list with the
+	 * specified element.
+	 *
+	 * @param index   index of the element to replace
+	 * @param element element to be stored at the specified position
+	 * @return the element previously at the specified position
+	 * @throws IndexOutOfBoundsException if the index is out of range
+	 *                                   ({@code index < 0 || index >= size()})
+	 */
+	@Override
+	public T set(int index, T element) {
+		T previous = get(index);
+
+		if (index < indexedTo) {
+			unrecord(previous).delete(index);
+			record(element).insert(index);
+		} else {
+			Positions positions = unrecord(previous);
+			if (positions.count > 0)
+				markStale(positions);
+			record(element);
+		}
+		container[index] = element;
+
+		return previous;
+	}
+
+	@Override
+	public boolean add(T element) {
+		checkAndResizeIfNecessary(1);
+
+		Positions positions = record(element);
+		if (indexedTo == size) {
+			/*
+			 * Removing the last elements leaves their positions at and above size in
+			 * the stale entries; they must go before the new position becomes exact.
+			 */
+			if (staleOverflow || !stale.isEmpty())
+				truncateStale();
+
+			positions.append(size);
+			indexedTo++;
+		}
+		container[size++] = element;
+		incVersion();
+
+		return true;
+	}
+
+	/**
+	 * Inserts the specified element at the specified position in this list. Shifts
+	 * the element currently at that position (if any) and any subsequent elements
+	 * to the right.
+	 *
+	 * @param index   index at which the specified element is to be inserted
+	 * @param element element to be inserted
+	 * @throws IndexOutOfBoundsException if the index is out of range
+	 *                                   ({@code index < 0 || index > size()})
+	 */
+	@Override
+	public void add(int index, T element) {
+		checkRangeAndThrowIfNeed(index);
+		if (index == size) {
+			add(element);
+			return;
+		}
+
+		checkAndResizeIfNecessary(1);
+		System.arraycopy(container, index, container, index + 1, size - index);
+		container[index] = element;
+		size++;
+
+		record(element);
+		invalidateFrom(index);
+		incVersion();
+	}
+
+	@Override
+	public boolean addAll(int index, Collection<? extends T> c) {
+		checkRangeAndThrowIfNeed(index);
+
+		return insertAll(index, c.toArray());
+	}
+
+	private boolean insertAll(int index, Object[] elements) {
+		if (elements.length == 0)
+			return false;
+
+		checkAndResizeIfNecessary(elements.length);
+		System.arraycopy(container, index, container, index + elements.length, size - index);
+		System.arraycopy(elements, 0, container, index, elements.length);
+		size += elements.length;
+
+		for (Object element : elements)
+			record(element);
+		invalidateFrom(index);
+		incVersion();
+
+		return true;
+	}
+
+	/**
+	 * Removes the element at the specified position in this list. Shifts any
+	 * subsequent elements to the left.
+	 *
+	 * @param index the index of the element to be removed
+	 * @return the element previously at the specified position
+	 * @throws IndexOutOfBoundsException if the index is out of range
+	 *                                   ({@code index < 0 || index >= size()})
+	 */
+	@Override
+	public T remove(int index) {
+		T element = get(index);
+
+		System.arraycopy(container, index + 1, container, index, size - index - 1);
+		container[--size] = null;
+
+		Positions positions = unrecord(element);
+		if (positions.count > 0)
+			markStale(positions);
+		invalidateFrom(index);
+		incVersion();
+
+		return element;
+	}
+
+	@Override
+	public boolean remove(Object o) {
+		int index = indexOf(o);
+		if (index == -1)
+			return false;
+
+		remove(index);
+
+		return true;
+	}
+
+	/**
+	 * Removes from this list all of its elements that are contained in the
+	 * specified collection. The elements are removed from the index first; then
+	 * the list is compacted in one pass, keeping the elements which are still
+	 * indexed.
+	 *
+	 * @param c collection containing elements to be removed from this list
+	 * @return {@code true} if this list changed as a result of the call
+	 * @throws NullPointerException if the specified collection is null
+	 */
+	@Override
+	public boolean removeAll(Collection<?> c) {
+		Objects.requireNonNull(c);
+
+		boolean changed = false;
+		for (Object element : c)
+			changed |= index.remove(element) != null;
+
+		if (changed)
+			compact(index::containsKey);
+
+		return changed;
+	}
+
+	/**
+	 * Retains only the elements in this list that are contained in the specified
+	 * collection. Every distinct element of this list is looked up in the
+	 * collection once; then the list is compacted in one pass, keeping the
+	 * elements which are still indexed.
+	 *
+	 * @param c collection containing elements to be retained in this list
+	 * @return {@code true} if this list changed as a result of the call
+	 * @throws NullPointerException if the specified collection is null
+	 */
+	@Override
+	public boolean retainAll(Collection<?> c) {
+		Predicate<Object> retained = lookup(c);
+
+		boolean changed = false;
+		for (Iterator<Object> iterator = index.keySet().iterator(); iterator.hasNext();) {
+			if (!retained.test(iterator.next())) {
+				iterator.remove();
+				changed = true;
+			}
+		}
+
+		if (changed)
+			compact(index::containsKey);
+
+		return changed;
+	}
+
+	/**
+	 * Removes all of the elements of this collection that satisfy the given
+	 * predicate in a single compaction pass.
+	 *
+	 * @param filter a predicate which returns {@code true} for elements to be
+	 *               removed
+	 * @return {@code true} if any elements were removed
+	 * @throws NullPointerException if the specified filter is null
+	 */
+	@SuppressWarnings("unchecked")
+	@Override
+	public boolean removeIf(Predicate<? super T> filter) {
+		Objects.requireNonNull(filter);
+
+		int before = size;
+		compact(element -> {
+			if (!filter.test((T) element))
+				return true;
+
+			Positions positions = unrecord(element);
+			if (positions.count > 0)
+				markStale(positions);
+
+			return false;
+		});
+
+		return size != before;
+	}
+
+	@Override
+	public void replaceAll(UnaryOperator<T> operator) {
+		Objects.requireNonNull(operator);
+
+		int expectedVersion = version;
+		try {
+			for (int i = 0; i < size; ++i)
+				container[i] = operator.apply(get(i));
+		} finally {
+			/*
+			 * Also indexes the elements replaced before the operator has thrown.
+			 */
+			rebuildIndex();
+		}
+
+		if (version != expectedVersion)
+			throw new ConcurrentModificationException();
+	}
+
+	/**
+	 * Sorts this list according to the order induced by the specified comparator,
+	 * with the merge sort of {@link CustomList#sort(Comparator)}. All positions in
+	 * the index become invalid and are renumbered by the next lookup.
+	 *
+	 * @param comparator will be used for comparison. If {@code null}, the order of
+	 *                   {@link CustomList#sort()} will be used
+	 */
+	@Override
+	public void sort(Comparator<? super T> comparator) {
+		if (comparator == null)
+			comparator = new OrderingComparator<T>();
+
+		MergeSort.sort(container, 0, size, comparator);
+		invalidateFrom(0);
+	}
+
+	/**
+	 * Removes all of the elements from this list.
+	 */
+	@Override
+	public void clear() {
+		Arrays.fill(container, 0, size, null);
+		size = 0;
+		index.clear();
+		stale.clear();
+		staleOverflow = false;
+		indexedTo = 0;
+		incVersion();
+	}
+
+	/**
+	 * Returns a view of the portion of this list between the specified
+	 * {@code fromIndex}, inclusive, and {@code toIndex}, exclusive.
+	 *
+	 * @param fromIndex low endpoint (inclusive) of the subList
+	 * @param toIndex   high endpoint (exclusive) of the subList
+	 * @return a view of the specified range within this list
+	 * @throws IndexOutOfBoundsException for an illegal endpoint index value
+	 *                                   ({@code fromIndex < 0 || toIndex > size ||
+	 *         fromIndex > toIndex}   )
+	 */
+	@Override
+	public List<T> subList(int fromIndex, int toIndex) {
+		checkSubListAndThrowIfNeed(fromIndex, toIndex, size);
+
+		return new SubList<>(this, fromIndex, toIndex - fromIndex);
+	}
+
+	@Override
+	public ListIterator<T> listIterator(int index) {
+		return new IndexListIterator<>(this, index, 0, size);
+	}
+
+	/**
+	 * Counts a new occurrence of the element.
+	 *
+	 * @return positions of the element
+	 */
+	private Positions record(Object element) {
+		Positions positions = index.computeIfAbsent(element, key -> new Positions());
+		positions.count++;
+
+		return positions;
+	}
+
+	/**
+	 * Counts a removed occurrence of the element; removes the element from the
+	 * index with its last occurrence.
+	 *
+	 * @return positions of the element
+	 */
+	private Positions unrecord(Object element) {
+		Positions positions = index.get(element);
+		if (--positions.count == 0)
+			index.remove(element);
+
+		return positions;
+	}
+
+	private void markStale(Positions positions) {
+		/*
+		 * Renumbering truncates all entries when there are more stale ones than
+		 * entries, so the list does not grow without bound.
+		 */
+		if (staleOverflow)
+			return;
+
+		if (stale.size() < index.size()) {
+			stale.add(positions);
+		} else {
+			stale.clear();
+			staleOverflow = true;
+		}
+	}
+
+	private void invalidateFrom(int position) {
+		indexedTo = Math.min(indexedTo, position);
+	}
+
+	/**
+	 * Drops the invalid positions and records the positions from
+	 * {@code indexedTo} to the end of the list.
+	 */
+	private void renumber() {
+		int from = indexedTo;
+		truncateStale();
+
+		for (int i = from; i < size; ++i) {
+			Positions positions = index.get(container[i]);
+			if (positions.epoch != epoch)
+				positions.truncate(from, epoch);
+
+			positions.append(i);
+		}
+
+		indexedTo = size;
+	}
+
+	/**
+	 * Drops the positions not below {@code indexedTo} from the stale entries, in a
+	 * new renumbering pass.
+	 */
+	private void truncateStale() {
+		epoch++;
+
+		if (staleOverflow) {
+			for (Positions positions : index.values())
+				positions.truncate(indexedTo, epoch);
+		} else {
+			for (Positions positions : stale)
+				positions.truncate(indexedTo, epoch);
+		}
+		stale.clear();
+		staleOverflow = false;
+	}
+
+	private void rebuildIndex() {
+		index.clear();
+		stale.clear();
+		staleOverflow = false;
+
+		for (int i = 0; i < size; ++i)
+			record(container[i]).append(i);
+
+		indexedTo = size;
+	}
+
+	/**
+	 * Removes {@code [from, to)} and moves the tail of the list to close the gap.
+	 */
+	private void removeRange(int from, int to) {
+		if (from == to)
+			return;
+
+		for (int i = from; i < to; ++i) {
+			Positions positions = unrecord(container[i]);
+			if (positions.count > 0)
+				markStale(positions);
+		}
+
+		System.arraycopy(container, to, container, from, size - to);
+		Arrays.fill(container, size - (to - from), size, null);
+		size -= to - from;
+		invalidateFrom(from);
+		incVersion();
+	}
+
+	/**
+	 * Keeps the elements which satisfy the predicate, in one pass with a read and a
+	 * write cursor.
+	 */
+	private void compact(Predicate<Object> keep) {
+		int expectedVersion = version;
+
+		int read = 0;
+		int write = 0;
+		int firstRemoved = size;
+		try {
+			for (; read < size; ++read) {
+				Object element = container[read];
+				if (keep.test(element)) {
+					container[write++] = element;
+				} else if (firstRemoved == size) {
+					firstRemoved = read;
+				}
+			}
+
+			if (version != expectedVersion)
+				throw new ConcurrentModificationException();
+		} finally {
+			/*
+			 * Also moves the elements not tested yet if the predicate has thrown.
+			 */
+			if (write != read) {
+				int removed = read - write;
+				System.arraycopy(container, read, container, write, size - read);
+				Arrays.fill(container, size - removed, size, null);
+				size -= removed;
+				invalidateFrom(firstRemoved);
+				incVersion();
+			}
+		}
+	}
+
+	private void checkAndResizeIfNecessary(int newItems) {
+		int required = size + newItems;
+		if (required < 0 || required > container.length)
+			container = Arrays.copyOf(container, growthPolicy.grow(container.length, required));
+	}
+
+	private void incVersion() {
+		version++;
+	}
+
+	private int getVersion() {
+		return version;
+	}
+
+	private void checkIndexAndThrowIfNeed(int index) {
+		if (index < 0 || index >= size)
+			throw new IndexOutOfBoundsException(index);
+	}
+
+	private void checkRangeAndThrowIfNeed(int index) {
+		if (index < 0 || index > size)
+			throw new IndexOutOfBoundsException(index);
+	}
+
+	private static void checkSubListAndThrowIfNeed(int fromIndex, int toIndex, int size) {
+		if (fromIndex < 0 || toIndex > size || fromIndex > toIndex)
+			throw new IndexOutOfBoundsException("fromIndex: " + fromIndex + ", toIndex: " + toIndex);
+	}
+
+	/**
+	 * Ascending positions of one element and the number of its occurrences. The
+	 * positions below {@code indexedTo} are exact; the ones above it may be stale
+	 * until the next renumbering.
+	 */
+	private static final class Positions {
+
+		private int[] items = new int[1];
+
+		/**
+		 * Number of recorded positions
+		 */
+		private int length;
+
+		/**
+		 * Number of occurrences of the element in the list
+		 */
+		private int count;
+
+		/**
+		 * Last renumbering pass which has truncated the positions
+		 */
+		private int epoch;
+
+		void append(int position) {
+			if (length == items.length)
+				items = Arrays.copyOf(items, length << 1);
+
+			items[length++] = position;
+		}
+
+		void insert(int position) {
+			int at = lowerBound(position);
+			if (length == items.length)
+				items = Arrays.copyOf(items, length << 1);
+
+			System.arraycopy(items, at, items, at + 1, length - at);
+			items[at] = position;
+			length++;
+		}
+
+		void delete(int position) {
+			int at = lowerBound(position);
+			System.arraycopy(items, at + 1, items, at, length - at - 1);
+			length--;
+		}
+
+		/**
+		 * Drops the positions not below {@code from}.
+		 */
+		void truncate(int from, int epoch) {
+			length = lowerBound(from);
+			this.epoch = epoch;
+		}
+
+		private int lowerBound(int position) {
+			int lo = 0;
+			int hi = length;
+			while (lo < hi) {
+				int mid = (lo + hi) >>> 1;
+				if (items[mid] < position)
+					lo = mid + 1;
+				else
+					hi = mid;
+			}
+
+			return lo;
+		}
+
+	}
+
+	/**
+	 * Used to create subList via {@link IndexedCustomList#subList(int, int)} or
+	 * {@link #subList(int, int)}
+	 *
+	 * @param <E> the type of elements in this list
+	 */
+	private static class SubList<E> extends AbstractList<E> implements List<E> {
+
+		/**
+		 * Offset from the main collection
+		 */
+		private int offset;
+
+		/**
+		 * View size
+		 */
+		private int size;
+
+		/**
+		 * Main collection
+		 */
+		private IndexedCustomList<E> main;
+
+		private int mainVersion;
+
+		SubList(IndexedCustomList<E> main, int offset, int size) {
+			this.offset = offset;
+			this.size = size;
+			this.main = main;
+			mainVersion = main.getVersion();
+		}
+
+		SubList(SubList<E> other, int offset, int size) {
+			this.offset = offset + other.offset;
+			this.size = size;
+			main = other.main;
+			mainVersion = main.getVersion();
+		}
+
+		@Override
+		public int size() {
+			checkMainVersion();
+
+			return size;
+		}
+
+		@SuppressWarnings({ "unchecked" })
+		@Override
+		public <T> T[] toArray(T[] a) {
+			checkMainVersion();
+
+			if (a.length < size)
+				a = (T[]) Array.newInstance(a.getClass().getComponentType(), size);
+			if (a.length > size)
+				a[size] = null;
+
+			System.arraycopy(main.container, offset, a, 0, size);
+
+			return a;
+		}
+
+		@Override
+		public boolean remove(Object o) {
+			checkMainVersion();
+
+			int index = indexOf(o);
+			if (index == -1)
+				return false;
+
+			remove(index);
+
+			return true;
+		}
+
+		@Override
+		public void clear() {
+			checkMainVersion();
+
+			main.removeRange(offset, offset + size);
+			size = 0;
+			syncVersions();
+		}
+
+		@Override
+		public E get(int index) {
+			checkMainVersion();
+			checkIndexAndThrowIfNeed(index);
+
+			return main.get(offset + index);
+		}
+
+		@Override
+		public E set(int index, E element) {
+			checkMainVersion();
+			checkIndexAndThrowIfNeed(index);
+
+			return main.set(offset + index, element);
+		}
+
+		@Override
+		public void add(int index, E element) {
+			checkMainVersion();
+			checkRangeAndThrowIfNeed(index);
+
+			main.add(offset + index, element);
+			size++;
+			syncVersions();
+		}
+
+		@Override
+		public E remove(int index) {
+			checkMainVersion();
+			checkIndexAndThrowIfNeed(index);
+
+			E tmp = main.remove(offset + index);
+			size--;
+			syncVersions();
+
+			return tmp;
+		}
+
+		@Override
+		public List<E> subList(int fromIndex, int toIndex) {
+			checkMainVersion();
+			checkSubListAndThrowIfNeed(fromIndex, toIndex, size);
+
+			return new SubList<>(this, fromIndex, toIndex - fromIndex);
+		}
+
+		@Override
+		public boolean addAll(int index, Collection<? extends E> c) {
+			checkMainVersion();
+			checkRangeAndThrowIfNeed(index);
+
+			int before = main.size();
+			boolean changed = main.addAll(offset + index, c);
+			size += main.size() - before;
+			syncVersions();
+
+			return changed;
+		}
+
+		@Override
+		public ListIterator<E> listIterator(int index) {
+			checkMainVersion();
+
+			return new IndexListIterator<>(this, index, 0, size);
+		}
+
+		private void checkIndexAndThrowIfNeed(int index) {
+			if (index < 0 || index >= size)
+				throw new IndexOutOfBoundsException(index);
+		}
+
+		private void checkRangeAndThrowIfNeed(int index) {
+			if (index < 0 || index > size)
+				throw new IndexOutOfBoundsException(index);
+		}
+
+		private void checkMainVersion() {
+			if (main.getVersion() != mainVersion)
+				throw new ConcurrentModificationException();
+		}
+
+		private void syncVersions() {
+			mainVersion = main.getVersion();
+		}
+
+	}
+
+}
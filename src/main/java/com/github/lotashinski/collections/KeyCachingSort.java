@@ -0,0 +1,176 @@
+package com.github.lotashinski.collections;
+
+import java.util.Comparator;
+import java.util.function.Function;
+
+/**
+ * Stable decorate-sort-undecorate merge sort over a range of an array. The sort
+ * key of every element is computed once and kept in a parallel array; the keys
+ * are sorted together with the permutation of the positions, which is then
+ * applied to the elements. Used when computing a key on every comparison would
+ * dominate the sort, such as the {@code toString} fallback of
+ * {@link OrderingComparator}.
+ *
+ * <p>
+ * Uses arrays of {@code n} keys and {@code n} positions, twice, and one copy of
+ * the elements of the range.
+ *
+ * @author Alexander Lotashinsky
+ * @see CustomList#sortByCachedKey(int, int, Function, Comparator)
+ */
+final class KeyCachingSort {
+
+	/**
+	 * Length of the runs sorted with insertion sort before merging.
+	 */
+	private static final int RUN = 32;
+
+	private KeyCachingSort() {
+	}
+
+	/**
+	 * Sorts {@code a[from, to)} according to the order of the keys of the
+	 * elements. Equal keys are not reordered.
+	 *
+	 * @param <T>           the type of elements in the range
+	 * @param <K>           the type of the keys
+	 * @param a             array to be sorted
+	 * @param from          low endpoint (inclusive)
+	 * @param to            high endpoint (exclusive)
+	 * @param key           computes the key of an element, called once per element
+	 * @param keyComparator will be used for comparison of the keys
+	 */
+	@SuppressWarnings("unchecked")
+	static <T, K> void sort(Object[] a, int from, int to, Function<? super T, ? extends K> key,
+			Comparator<? super K> keyComparator) {
+		int length = to - from;
+		if (length < 2)
+			return;
+
+		Object[] keys = new Object[length];
+		int[] permutation = new int[length];
+		for (int i = 0; i < length; ++i) {
+			keys[i] = key.apply((T) a[from + i]);
+			permutation[i] = i;
+		}
+
+		permutation = sortWithPermutation(keys, permutation, keyComparator);
+
+		Object[] elements = new Object[length];
+		System.arraycopy(a, from, elements, 0, length);
+		for (int i = 0; i < length; ++i)
+			a[from + i] = elements[permutation[i]];
+	}
+
+	/**
+	 * Returns {@code true} if {@link OrderingComparator} would compare the
+	 * elements of {@code a[from, to)} by {@code toString}: there is a non-null
+	 * element and no element is {@code Comparable}.
+	 */
+	static boolean comparesByString(Object[] a, int from, int to) {
+		boolean nonNull = false;
+		for (int i = from; i < to; ++i) {
+			if (a[i] instanceof Comparable)
+				return false;
+
+			nonNull |= a[i] != null;
+		}
+
+		return nonNull;
+	}
+
+	/**
+	 * Sorts the keys with the positions in the same order. Runs of {@link #RUN}
+	 * pairs are sorted with insertion sort, then merged bottom-up alternating
+	 * between the arrays and buffers.
+	 *
+	 * @return the sorted positions
+	 */
+	private static <K> int[] sortWithPermutation(Object[] keys, int[] permutation, Comparator<? super K> comparator) {
+		int length = keys.length;
+		for (int lo = 0; lo < length; lo += RUN)
+			insertionSort(keys, permutation, lo, Math.min(lo + RUN, length), comparator);
+
+		if (length <= RUN)
+			return permutation;
+
+		Object[] keyBuffer = new Object[length];
+		int[] permutationBuffer = new int[length];
+		for (int width = RUN; width < length; width <<= 1) {
+			for (int lo = 0, hi; lo < length; lo = hi) {
+				int mid = (int) Math.min((long) lo + width, length);
+				hi = (int) Math.min((long) lo + ((long) width << 1), length);
+				merge(keys, permutation, keyBuffer, permutationBuffer, lo, mid, hi, comparator);
+			}
+
+			Object[] tmpKeys = keys;
+			keys = keyBuffer;
+			keyBuffer = tmpKeys;
+			int[] tmpPermutation = permutation;
+			permutation = permutationBuffer;
+			permutationBuffer = tmpPermutation;
+
+			/*
+			 * Guards against width overflow on the last pass.
+			 */
+			if (width > length >>> 1)
+				break;
+		}
+
+		return permutation;
+	}
+
+	private static <K> void insertionSort(Object[] keys, int[] permutation, int lo, int hi,
+			Comparator<? super K> comparator) {
+		for (int i = lo + 1; i < hi; ++i) {
+			Object key = keys[i];
+			int position = permutation[i];
+			int j = i;
+			for (; j > lo && compare(comparator, key, keys[j - 1]) < 0; --j) {
+				keys[j] = keys[j - 1];
+				permutation[j] = permutation[j - 1];
+			}
+
+			keys[j] = key;
+			permutation[j] = position;
+		}
+	}
+
+	/**
+	 * Merges {@code [lo, mid)} and {@code [mid, hi)} of the source arrays into the
+	 * same positions of the target arrays. The left pair goes first when equal.
+	 */
+	private static <K> void merge(Object[] keys, int[] permutation, Object[] targetKeys, int[] targetPermutation,
+			int lo, int mid, int hi, Comparator<? super K> comparator) {
+		if (mid == hi || compare(comparator, keys[mid - 1], keys[mid]) <= 0) {
+			System.arraycopy(keys, lo, targetKeys, lo, hi - lo);
+			System.arraycopy(permutation, lo, targetPermutation, lo, hi - lo);
+			return;
+		}
+
+		int left = lo;
+		int right = mid;
+		int position = lo;
+		while (left < mid && right < hi) {
+			if (compare(comparator, keys[right], keys[left]) < 0) {
+				targetKeys[position] = keys[right];
+				targetPermutation[position++] = permutation[right++];
+			} else {
+				targetKeys[position] = keys[left];
+				targetPermutation[position++] = permutation[left++];
+			}
+		}
+
+		System.arraycopy(keys, left, targetKeys, position, mid - left);
+		System.arraycopy(permutation, left, targetPermutation, position, mid - left);
+		position += mid - left;
+		System.arraycopy(keys, right, targetKeys, position, hi - right);
+		System.arraycopy(permutation, right, targetPermutation, position, hi - right);
+	}
+
+	@SuppressWarnings("unchecked")
+	private static <K> int compare(Comparator<? super K> comparator, Object o1, Object o2) {
+		return comparator.compare((K) o1, (K) o2);
+	}
+
+}
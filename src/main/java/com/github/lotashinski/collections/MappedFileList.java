@@ -0,0 +1,644 @@
+package com.github.lotashinski.collections;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Array;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.ConcurrentModificationException;
+import java.util.List;
+import java.util.ListIterator;
+import java.util.Objects;
+
+/**
+ * Persistent, append-only implementation of the {@code List} interface backed
+ * by memory-mapped files. The elements are encoded by an
+ * {@link ElementEncoder} and stored in a data file; a second file, the index,
+ * holds the offset of every element in the data file. Both files are mapped
+ * with {@link FileChannel#map} in chunks of the same size.
+ *
+ * <p>
+ * The {@code size}, {@code isEmpty} and {@code get} operations run in constant
+ * time: {@code get} reads the offset from the index and decodes only the
+ * requested element. The {@code add} operation appends the element and runs in
+ * constant time; when the last chunk is full, the mapping grows by one chunk.
+ * An element never crosses a chunk border, so it must not be longer than the
+ * chunk size minus four bytes.
+ *
+ * <p>
+ * Opening an existing file only reads its header; the chunks are mapped on
+ * first access. The list does not support {@code set}, {@code remove} or
+ * insertion other than at the end. Changes are written to the mapped memory
+ * and reach the files at the discretion of the operating system;
+ * {@link #force()} and {@link #close()} write them synchronously.
+ *
+ * <p>
+ * The layout of the data file is: a header of {@value #HEADER_SIZE} bytes
+ * (magic, format version, {@code log2} of the chunk size, the size of the list
+ * and the end of the data), then the records. A record is the length of the
+ * encoded element (4 bytes) followed by the encoded element. The index file is
+ * an array of 8-byte offsets. All values are big-endian.
+ *
+ * @param <T> the type of elements in this list
+ *
+ * @author Alexander Lotashinsky
+ * @see ElementEncoder
+ * @see CustomList
+ * @see List
+ */
+public class MappedFileList<T> extends AbstractList<T> implements List<T>, Closeable {
+
+	/**
+	 * Default size of a mapped chunk, 64 MiB.
+	 */
+	public static final int DEFAULT_CHUNK_SIZE = 1 << 26;
+
+	/**
+	 * Size of the header of the data file.
+	 */
+	public static final int HEADER_SIZE = 32;
+
+	private static final int MAGIC = 0x434C4D46;
+
+	private static final int FORMAT_VERSION = 1;
+
+	private static final int MIN_CHUNK_SIZE = 1 << 6;
+
+	private static final int MAX_CHUNK_SIZE = 1 << 30;
+
+	private static final int SIZE_OFFSET = 16;
+
+	private static final int DATA_END_OFFSET = 24;
+
+	private final ElementEncoder<T> encoder;
+
+	private final int chunkShift;
+
+	private final long chunkMask;
+
+	private FileChannel dataChannel;
+
+	private FileChannel indexChannel;
+
+	private MappedByteBuffer[] dataChunks = new MappedByteBuffer[1];
+
+	private MappedByteBuffer[] indexChunks = new MappedByteBuffer[1];
+
+	/**
+	 * The size of the MappedFileList
+	 */
+	private int size;
+
+	/**
+	 * Offset of the first free byte of the data file
+	 */
+	private long dataEnd;
+
+	/**
+	 * Counter of structural changes (add and clear).
+	 *
+	 * Necessary for SubList
+	 */
+	private int version = 0;
+
+	private MappedFileList(FileChannel dataChannel, FileChannel indexChannel, ElementEncoder<T> encoder,
+			int chunkShift) {
+		this.dataChannel = dataChannel;
+		this.indexChannel = indexChannel;
+		this.encoder = encoder;
+		this.chunkShift = chunkShift;
+		this.chunkMask = (1L << chunkShift) - 1;
+	}
+
+	/**
+	 * Opens the list stored in {@code path}, or creates an empty one with chunks
+	 * of {@link #DEFAULT_CHUNK_SIZE} bytes.
+	 *
+	 * @param <T>     the type of elements in the list
+	 * @param path    data file. The index is stored next to it, in a file with the
+	 *                additional extension {@code .idx}
+	 * @param encoder encodes the elements. Must be the same encoder the list has
+	 *                been created with
+	 * @return the opened list
+	 * @throws IOException if the files can not be opened, or the data file is not
+	 *                     a list of this format
+	 * @see #open(Path, ElementEncoder, int)
+	 */
+	public static <T> MappedFileList<T> open(Path path, ElementEncoder<T> encoder) throws IOException {
+		return open(path, encoder, DEFAULT_CHUNK_SIZE);
+	}
+
+	/**
+	 * Opens the list stored in {@code path}, or creates an empty one. Only the
+	 * header of an existing list is read.
+	 *
+	 * @param <T>       the type of elements in the list
+	 * @param path      data file. The index is stored next to it, in a file with
+	 *                  the additional extension {@code .idx}
+	 * @param encoder   encodes the elements. Must be the same encoder the list has
+	 *                  been created with
+	 * @param chunkSize size of a mapped chunk in bytes for a new list, a power of
+	 *                  two between 64 bytes and 1 GiB. An existing list keeps its
+	 *                  chunk size
+	 * @return the opened list
+	 * @throws IllegalArgumentException if the chunk size is illegal
+	 * @throws IOException              if the files can not be opened, or the data
+	 *                                  file is not a list of this format
+	 */
+	public static <T> MappedFileList<T> open(Path path, ElementEncoder<T> encoder, int chunkSize)
+			throws IOException {
+		Objects.requireNonNull(encoder);
+		if (chunkSize < MIN_CHUNK_SIZE || chunkSize > MAX_CHUNK_SIZE || Integer.bitCount(chunkSize) != 1)
+			throw new IllegalArgumentException("Illegal chunk size: " + chunkSize);
+
+		Path indexPath = path.resolveSibling(path.getFileName() + ".idx");
+		FileChannel data = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+				StandardOpenOption.WRITE);
+		FileChannel index = null;
+		try {
+			index = FileChannel.open(indexPath, StandardOpenOption.CREATE, StandardOpenOption.READ,
+					StandardOpenOption.WRITE);
+
+			MappedFileList<T> list;
+			if (data.size() == 0) {
+				list = new MappedFileList<>(data, index, encoder, Integer.numberOfTrailingZeros(chunkSize));
+				list.dataEnd = HEADER_SIZE;
+
+				MappedByteBuffer header = list.dataChunk(0);
+				header.putInt(0, MAGIC);
+				header.putInt(4, FORMAT_VERSION);
+				header.putInt(8, list.chunkShift);
+				list.writeHeader();
+			} else {
+				list = readHeader(data, index, encoder, path);
+			}
+
+			return list;
+		} catch (IOException | RuntimeException e) {
+			data.close();
+			if (index != null)
+				index.close();
+			throw e;
+		}
+	}
+
+	private static <T> MappedFileList<T> readHeader(FileChannel data, FileChannel index, ElementEncoder<T> encoder,
+			Path path) throws IOException {
+		ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+		while (header.hasRemaining() && data.read(header, header.position()) > 0)
+			;
+		if (header.hasRemaining() || header.getInt(0) != MAGIC)
+			throw new IOException("Not a list file: " + path);
+		if (header.getInt(4) != FORMAT_VERSION)
+			throw new IOException("Unsupported format version " + header.getInt(4) + ": " + path);
+
+		int chunkShift = header.getInt(8);
+		long size = header.getLong(SIZE_OFFSET);
+		long dataEnd = header.getLong(DATA_END_OFFSET);
+		if (chunkShift < Integer.numberOfTrailingZeros(MIN_CHUNK_SIZE)
+				|| chunkShift > Integer.numberOfTrailingZeros(MAX_CHUNK_SIZE) || size < 0
+				|| size > Integer.MAX_VALUE || dataEnd < HEADER_SIZE || dataEnd > data.size()
+				|| index.size() < size * Long.BYTES)
+			throw new IOException("Corrupted list file: " + path);
+
+		MappedFileList<T> list = new MappedFileList<>(data, index, encoder, chunkShift);
+		list.size = (int) size;
+		list.dataEnd = dataEnd;
+
+		return list;
+	}
+
+	/**
+	 * Returns the number of elements in this list.
+	 *
+	 * @return the number of elements in this list
+	 */
+	@Override
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * Returns the element at the specified position in this list. Only this
+	 * element is read and decoded.
+	 *
+	 * @param index index of the element to return
+	 * @return the element at the specified position in this list
+	 * @throws IndexOutOfBoundsException if the index is out of range
+	 *                                   ({@code index < 0 || index >= size()})
+	 * @throws IllegalStateException     if the list is closed
+	 */
+	@Override
+	public T get(int index) {
+		checkOpen();
+		checkIndexAndThrowIfNeed(index);
+
+		long indexPosition = (long) index * Long.BYTES;
+		long position = indexChunk(indexPosition >>> chunkShift).getLong((int) (indexPosition & chunkMask));
+
+		MappedByteBuffer chunk = dataChunk(position >>> chunkShift);
+		int offset = (int) (position & chunkMask);
+		int length = chunk.getInt(offset);
+
+		return encoder.decode(chunk.slice(offset + Integer.BYTES, length));
+	}
+
+	/**
+	 * Appends the specified element to the end of this list.
+	 *
+	 * @param element element to be appended to this list
+	 * @return {@code true}
+	 * @throws IllegalArgumentException if the encoded element does not fit into a
+	 *                                  chunk
+	 * @throws IllegalStateException    if the list is closed
+	 * @throws UncheckedIOException     if the file can not be mapped
+	 */
+	@Override
+	public boolean add(T element) {
+		checkOpen();
+		if (size == Integer.MAX_VALUE)
+			throw new IllegalStateException("List is full");
+
+		int length = encoder.encodedSize(element);
+		long record = Integer.BYTES + (long) length;
+		if (length < 0 || record > chunkMask + 1)
+			throw new IllegalArgumentException("Element does not fit into a chunk: " + length + " bytes");
+
+		long position = dataEnd;
+		if ((position & chunkMask) + record > chunkMask + 1)
+			position = (position | chunkMask) + 1;
+
+		MappedByteBuffer chunk = dataChunk(position >>> chunkShift);
+		int offset = (int) (position & chunkMask);
+		ByteBuffer target = chunk.slice(offset + Integer.BYTES, length);
+		encoder.encode(element, target);
+		if (target.hasRemaining())
+			throw new IllegalStateException("Encoder wrote " + target.position() + " bytes instead of " + length);
+		chunk.putInt(offset, length);
+
+		long indexPosition = (long) size * Long.BYTES;
+		indexChunk(indexPosition >>> chunkShift).putLong((int) (indexPosition & chunkMask), position);
+
+		dataEnd = position + record;
+		size++;
+		writeHeader();
+		incVersion();
+
+		return true;
+	}
+
+	/**
+	 * Inserts the specified element at the specified position in this list. Only
+	 * appending is supported.
+	 *
+	 * @param index   index at which the specified element is to be inserted, must
+	 *                be {@code size()}
+	 * @param element element to be inserted
+	 * @throws UnsupportedOperationException if {@code index != size()}
+	 */
+	@Override
+	public void add(int index, T element) {
+		if (index != size)
+			throw new UnsupportedOperationException("Only appending is supported");
+
+		add(element);
+	}
+
+	/**
+	 * Appends all of the elements in the specified collection to the end of this
+	 * list. Only appending is supported.
+	 *
+	 * @param index index at which to insert the first element from the specified
+	 *              collection, must be {@code size()}
+	 * @param c     collection containing elements to be added to this list
+	 * @return {@code true} if this list changed as a result of the call
+	 * @throws UnsupportedOperationException if {@code index != size()}
+	 */
+	@Override
+	public boolean addAll(int index, Collection<? extends T> c) {
+		if (index != size)
+			throw new UnsupportedOperationException("Only appending is supported");
+
+		for (T element : c)
+			add(element);
+
+		return !c.isEmpty();
+	}
+
+	/**
+	 * Not supported.
+	 *
+	 * @throws UnsupportedOperationException always
+	 */
+	@Override
+	public T set(int index, T element) {
+		throw new UnsupportedOperationException();
+	}
+
+	/**
+	 * Not supported.
+	 *
+	 * @throws UnsupportedOperationException always
+	 */
+	@Override
+	public T remove(int index) {
+		throw new UnsupportedOperationException();
+	}
+
+	/**
+	 * Not supported.
+	 *
+	 * @throws UnsupportedOperationException always
+	 */
+	@Override
+	public boolean remove(Object o) {
+		throw new UnsupportedOperationException();
+	}
+
+	/**
+	 * Removes all of the elements from this list. The files keep their size and
+	 * are overwritten by the following additions.
+	 *
+	 * @throws IllegalStateException if the list is closed
+	 */
+	@Override
+	public void clear() {
+		checkOpen();
+
+		size = 0;
+		dataEnd = HEADER_SIZE;
+		writeHeader();
+		incVersion();
+	}
+
+	@SuppressWarnings({ "hiding", "unchecked" })
+	@Override
+	public <T> T[] toArray(T[] a) {
+		if (a.length < size)
+			a = (T[]) Array.newInstance(a.getClass().componentType(), size);
+		if (a.length > size)
+			a[size] = null;
+
+		for (int i = 0; i < size; ++i)
+			a[i] = (T) get(i);
+
+		return a;
+	}
+
+	/**
+	 * Returns a read-only view of the portion of this list between the specified
+	 * {@code fromIndex}, inclusive, and {@code toIndex}, exclusive. The view
+	 * throws {@code ConcurrentModificationException} after this list has been
+	 * changed.
+	 *
+	 * @param fromIndex low endpoint (inclusive) of the subList
+	 * @param toIndex   high endpoint (exclusive) of the subList
+	 * @return a view of the specified range within this list
+	 * @throws IndexOutOfBoundsException for an illegal endpoint index value
+	 *                                   ({@code fromIndex < 0 || toIndex > size ||
+	 *         fromIndex > toIndex}   )
+	 */
+	@Override
+	public List<T> subList(int fromIndex, int toIndex) {
+		checkSubListAndThrowIfNeed(fromIndex, toIndex, size);
+
+		return new SubList<>(this, fromIndex, toIndex - fromIndex);
+	}
+
+	@Override
+	public ListIterator<T> listIterator(int index) {
+		checkOpen();
+
+		return new IndexListIterator<>(this, index, 0, size);
+	}
+
+	/**
+	 * Writes all changes of the mapped chunks to the storage device.
+	 *
+	 * @throws IllegalStateException if the list is closed
+	 */
+	public void force() {
+		checkOpen();
+
+		for (MappedByteBuffer chunk : dataChunks) {
+			if (chunk != null)
+				chunk.force();
+		}
+		for (MappedByteBuffer chunk : indexChunks) {
+			if (chunk != null)
+				chunk.force();
+		}
+	}
+
+	/**
+	 * Writes all changes to the storage device and closes the files. Does nothing
+	 * if the list is already closed.
+	 *
+	 * @throws IOException if the files can not be closed
+	 */
+	@Override
+	public void close() throws IOException {
+		if (dataChannel == null)
+			return;
+
+		try {
+			force();
+		} finally {
+			dataChunks = null;
+			indexChunks = null;
+			try {
+				dataChannel.close();
+			} finally {
+				dataChannel = null;
+				indexChannel.close();
+				indexChannel = null;
+			}
+		}
+	}
+
+	private void writeHeader() {
+		MappedByteBuffer header = dataChunk(0);
+		header.putLong(DATA_END_OFFSET, dataEnd);
+		header.putLong(SIZE_OFFSET, size);
+	}
+
+	private MappedByteBuffer dataChunk(long chunk) {
+		dataChunks = ensureMapped(dataChannel, dataChunks, chunk);
+
+		return dataChunks[(int) chunk];
+	}
+
+	private MappedByteBuffer indexChunk(long chunk) {
+		indexChunks = ensureMapped(indexChannel, indexChunks, chunk);
+
+		return indexChunks[(int) chunk];
+	}
+
+	/**
+	 * Maps the chunk of the file if it is not mapped yet. Mapping a chunk past the
+	 * end of the file grows the file.
+	 *
+	 * @return the chunk directory, possibly reallocated
+	 */
+	private MappedByteBuffer[] ensureMapped(FileChannel channel, MappedByteBuffer[] chunks, long chunk) {
+		if (chunk >= chunks.length)
+			chunks = Arrays.copyOf(chunks, (int) Math.max(chunks.length << 1, chunk + 1));
+
+		if (chunks[(int) chunk] == null) {
+			try {
+				chunks[(int) chunk] = channel.map(FileChannel.MapMode.READ_WRITE, chunk << chunkShift,
+						chunkMask + 1);
+			} catch (IOException e) {
+				throw new UncheckedIOException(e);
+			}
+		}
+
+		return chunks;
+	}
+
+	private void incVersion() {
+		version++;
+	}
+
+	private int getVersion() {
+		return version;
+	}
+
+	private void checkOpen() {
+		if (dataChannel == null)
+			throw new IllegalStateException("The list is closed");
+	}
+
+	private void checkIndexAndThrowIfNeed(int index) {
+		if (index < 0 || index >= size)
+			throw new IndexOutOfBoundsException(index);
+	}
+
+	private static void checkSubListAndThrowIfNeed(int fromIndex, int toIndex, int size) {
+		if (fromIndex < 0 || toIndex > size || fromIndex > toIndex)
+			throw new IndexOutOfBoundsException("fromIndex: " + fromIndex + ", toIndex: " + toIndex);
+	}
+
+	/**
+	 * Read-only view created via {@link MappedFileList#subList(int, int)} or
+	 * {@link #subList(int, int)}
+	 *
+	 * @param <E> the type of elements in this list
+	 */
+	private static class SubList<E> extends AbstractList<E> implements List<E> {
+
+		/**
+		 * Offset from the main collection
+		 */
+		private final int offset;
+
+		/**
+		 * View size
+		 */
+		private final int size;
+
+		/**
+		 * Main collection
+		 */
+		private final MappedFileList<E> main;
+
+		private final int mainVersion;
+
+		SubList(MappedFileList<E> main, int offset, int size) {
+			this.offset = offset;
+			this.size = size;
+			this.main = main;
+			mainVersion = main.getVersion();
+		}
+
+		@Override
+		public int size() {
+			checkMainVersion();
+
+			return size;
+		}
+
+		@Override
+		public E get(int index) {
+			checkMainVersion();
+			if (index < 0 || index >= size)
+				throw new IndexOutOfBoundsException(index);
+
+			return main.get(offset + index);
+		}
+
+		@SuppressWarnings({ "unchecked" })
+		@Override
+		public <T> T[] toArray(T[] a) {
+			checkMainVersion();
+
+			if (a.length < size)
+				a = (T[]) Array.newInstance(a.getClass().getComponentType(), size);
+			if (a.length > size)
+				a[size] = null;
+
+			for (int i = 0; i < size; ++i)
+				a[i] = (T) main.get(offset + i);
+
+			return a;
+		}
+
+		@Override
+		public List<E> subList(int fromIndex, int toIndex) {
+			checkMainVersion();
+			checkSubListAndThrowIfNeed(fromIndex, toIndex, size);
+
+			return new SubList<>(main, offset + fromIndex, toIndex - fromIndex);
+		}
+
+		@Override
+		public ListIterator<E> listIterator(int index) {
+			checkMainVersion();
+
+			return new IndexListIterator<>(this, index, 0, size);
+		}
+
+		@Override
+		public E set(int index, E element) {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public void add(int index, E element) {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public boolean addAll(int index, Collection<? extends E> c) {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public E remove(int index) {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public boolean remove(Object o) {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public void clear() {
+			throw new UnsupportedOperationException();
+		}
+
+		private void checkMainVersion() {
+			if (main.getVersion() != mainVersion)
+				throw new ConcurrentModificationException();
+		}
+
+	}
+
+}
@@ -0,0 +1,250 @@
+package com.github.lotashinski.collections;
+
+import java.util.Comparator;
+
+/**
+ * Stable, adaptive merge sort over a range of an array. Used by the list
+ * implementations of this package to sort their backing arrays in place.
+ *
+ * <p>
+ * The range is split into natural runs (strictly descending runs are reversed);
+ * runs shorter than {@link #MIN_RUN} are extended with binary insertion sort.
+ * Adjacent runs are then merged pairwise until one run is left. A merge is
+ * skipped when the runs are already in order, and the elements that are already
+ * in their final positions are trimmed off both ends before merging, so an
+ * almost sorted range is sorted in close to linear time.
+ *
+ * <p>
+ * A single scratch buffer of at most half of the range length is allocated, and
+ * only if at least one merge actually has to move elements.
+ *
+ * @author Alexander Lotashinsky
+ * @see CustomList#sort(int, int, Comparator)
+ */
+final class MergeSort {
+
+	/**
+	 * Minimal length of a run. Shorter natural runs are extended to this length
+	 * with binary insertion sort.
+	 */
+	static final int MIN_RUN = 32;
+
+	private MergeSort() {
+	}
+
+	/**
+	 * Sorts {@code a[from, to)} according to the order induced by the comparator.
+	 * Equal elements are not reordered.
+	 *
+	 * @param <T>        the type of elements in the range
+	 * @param a          array to be sorted
+	 * @param from       low endpoint (inclusive)
+	 * @param to         high endpoint (exclusive)
+	 * @param comparator will be used for comparison
+	 */
+	static <T> void sort(Object[] a, int from, int to, Comparator<? super T> comparator) {
+		int length = to - from;
+		if (length < 2)
+			return;
+
+		if (length <= MIN_RUN) {
+			int run = countRunAndMakeAscending(a, from, to, comparator);
+			binaryInsertionSort(a, from, to, from + run, comparator);
+			return;
+		}
+
+		/*
+		 * Boundaries of the runs: run i is [runs[i], runs[i + 1]). Every run except the
+		 * last one is at least MIN_RUN long.
+		 */
+		int[] runs = new int[length / MIN_RUN + 2];
+		int count = 0;
+		runs[count++] = from;
+
+		for (int lo = from; lo < to;) {
+			int run = countRunAndMakeAscending(a, lo, to, comparator);
+			if (run < MIN_RUN) {
+				int forced = Math.min(MIN_RUN, to - lo);
+				binaryInsertionSort(a, lo, lo + forced, lo + run, comparator);
+				run = forced;
+			}
+
+			lo += run;
+			runs[count++] = lo;
+		}
+
+		Object[] buffer = null;
+		while (count > 2) {
+			int write = 1;
+			int i = 0;
+			for (; i + 2 < count; i += 2) {
+				buffer = merge(a, runs[i], runs[i + 1], runs[i + 2], buffer, length >>> 1, comparator);
+				runs[write++] = runs[i + 2];
+			}
+			if (i + 1 < count)
+				runs[write++] = runs[i + 1];
+
+			count = write;
+		}
+	}
+
+	/**
+	 * Merges the adjacent sorted ranges {@code a[lo, mid)} and {@code a[mid, hi)}.
+	 * Elements of the left range go first when equal.
+	 *
+	 * @param buffer       scratch buffer, or {@code null} if it has not been
+	 *                     allocated yet
+	 * @param bufferLength length of the buffer to allocate
+	 * @return the scratch buffer, possibly allocated by this call
+	 */
+	static <T> Object[] merge(Object[] a, int lo, int mid, int hi, Object[] buffer, int bufferLength,
+			Comparator<? super T> comparator) {
+		if (lo == mid || mid == hi || compare(comparator, a[mid - 1], a[mid]) <= 0)
+			return buffer;
+
+		/*
+		 * Elements of the left run not greater than the first element of the right run
+		 * and elements of the right run not less than the last element of the left run
+		 * are already in place.
+		 */
+		lo = upperBound(a, lo, mid, a[mid], comparator);
+		hi = lowerBound(a, mid, hi, a[mid - 1], comparator);
+
+		if (buffer == null)
+			buffer = new Object[bufferLength];
+
+		if (mid - lo <= hi - mid)
+			mergeLow(a, lo, mid, hi, buffer, comparator);
+		else
+			mergeHigh(a, lo, mid, hi, buffer, comparator);
+
+		return buffer;
+	}
+
+	/**
+	 * Merges from left to right; the left run is moved to the buffer.
+	 */
+	private static <T> void mergeLow(Object[] a, int lo, int mid, int hi, Object[] buffer,
+			Comparator<? super T> comparator) {
+		int leftLength = mid - lo;
+		System.arraycopy(a, lo, buffer, 0, leftLength);
+
+		int left = 0;
+		int right = mid;
+		int target = lo;
+		while (left < leftLength && right < hi) {
+			if (compare(comparator, a[right], buffer[left]) < 0)
+				a[target++] = a[right++];
+			else
+				a[target++] = buffer[left++];
+		}
+
+		System.arraycopy(buffer, left, a, target, leftLength - left);
+	}
+
+	/**
+	 * Merges from right to left; the right run is moved to the buffer.
+	 */
+	private static <T> void mergeHigh(Object[] a, int lo, int mid, int hi, Object[] buffer,
+			Comparator<? super T> comparator) {
+		int rightLength = hi - mid;
+		System.arraycopy(a, mid, buffer, 0, rightLength);
+
+		int left = mid - 1;
+		int right = rightLength - 1;
+		int target = hi - 1;
+		while (left >= lo && right >= 0) {
+			if (compare(comparator, buffer[right], a[left]) < 0)
+				a[target--] = a[left--];
+			else
+				a[target--] = buffer[right--];
+		}
+
+		System.arraycopy(buffer, 0, a, lo, right + 1);
+	}
+
+	/**
+	 * Returns the length of the run beginning at {@code lo}. A strictly descending
+	 * run is reversed, so that the run is always ascending on return. Descending
+	 * runs must be strict to keep the sort stable.
+	 */
+	static <T> int countRunAndMakeAscending(Object[] a, int lo, int hi, Comparator<? super T> comparator) {
+		int runHi = lo + 1;
+		if (runHi == hi)
+			return 1;
+
+		if (compare(comparator, a[runHi++], a[lo]) < 0) {
+			while (runHi < hi && compare(comparator, a[runHi], a[runHi - 1]) < 0)
+				runHi++;
+			reverse(a, lo, runHi);
+		} else {
+			while (runHi < hi && compare(comparator, a[runHi], a[runHi - 1]) >= 0)
+				runHi++;
+		}
+
+		return runHi - lo;
+	}
+
+	/**
+	 * Sorts {@code a[lo, hi)} where {@code a[lo, start)} is already sorted, by
+	 * inserting each of the remaining elements after the equal ones.
+	 */
+	static <T> void binaryInsertionSort(Object[] a, int lo, int hi, int start, Comparator<? super T> comparator) {
+		if (start == lo)
+			start++;
+
+		for (; start < hi; ++start) {
+			Object pivot = a[start];
+			int position = upperBound(a, lo, start, pivot, comparator);
+
+			System.arraycopy(a, position, a, position + 1, start - position);
+			a[position] = pivot;
+		}
+	}
+
+	/**
+	 * Returns the first index in the sorted range {@code a[lo, hi)} whose element
+	 * is greater than {@code key}, or {@code hi} if there is no such element.
+	 */
+	static <T> int upperBound(Object[] a, int lo, int hi, Object key, Comparator<? super T> comparator) {
+		while (lo < hi) {
+			int mid = (lo + hi) >>> 1;
+			if (compare(comparator, key, a[mid]) < 0)
+				hi = mid;
+			else
+				lo = mid + 1;
+		}
+
+		return lo;
+	}
+
+	/**
+	 * Returns the first index in the sorted range {@code a[lo, hi)} whose element
+	 * is not less than {@code key}, or {@code hi} if there is no such element.
+	 */
+	static <T> int lowerBound(Object[] a, int lo, int hi, Object key, Comparator<? super T> comparator) {
+		while (lo < hi) {
+			int mid = (lo + hi) >>> 1;
+			if (compare(comparator, a[mid], key) < 0)
+				lo = mid + 1;
+			else
+				hi = mid;
+		}
+
+		return lo;
+	}
+
+	private static void reverse(Object[] a, int lo, int hi) {
+		for (--hi; lo < hi; ++lo, --hi) {
+			Object tmp = a[lo];
+			a[lo] = a[hi];
+			a[hi] = tmp;
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	private static <T> int compare(Comparator<? super T> comparator, Object o1, Object o2) {
+		return comparator.compare((T) o1, (T) o2);
+	}
+
+}
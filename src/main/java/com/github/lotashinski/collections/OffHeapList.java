@@ -0,0 +1,720 @@
+package com.github.lotashinski.collections;
+
+import java.lang.reflect.Array;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.ConcurrentModificationException;
+import java.util.List;
+import java.util.ListIterator;
+import java.util.Objects;
+import java.util.function.Predicate;
+
+/**
+ * Implementation of the {@code List} interface which stores its elements
+ * outside of the Java heap. Every element is encoded by an
+ * {@link ElementCodec} to a fixed number of bytes and stored in direct
+ * {@code ByteBuffer} chunks. The elements are decoded on every access, so the
+ * heap only holds the chunk directory, and the garbage collector does not have
+ * to trace or copy the stored data.
+ *
+ * <p>
+ * The list grows by allocating one more chunk of {@code elementsPerChunk}
+ * elements; the stored bytes are never copied to a larger region. The
+ * {@code size}, {@code isEmpty}, {@code get} and {@code set} operations run in
+ * constant time (plus the cost of the codec). The {@code add} operation runs in
+ * amortized constant time. All of the other operations run in linear time.
+ *
+ * <p>
+ * The list must be closed with {@link #close()} when it is no longer needed.
+ * After that every access to the elements throws
+ * {@code IllegalStateException}. Closing does not free the native memory: the
+ * list only drops its references to the chunks, and the memory of a chunk is
+ * returned to the system when the garbage collector reclaims its
+ * {@code ByteBuffer}, which may be long after {@code close}, or never if the
+ * heap is not under pressure. The direct memory is limited by
+ * {@code -XX:MaxDirectMemorySize}; reaching the limit triggers a collection
+ * before {@code OutOfMemoryError} is thrown. Deterministic release needs an
+ * {@code Arena} of the Foreign Function and Memory API, which is a preview API
+ * in Java 21, the version this library targets, so it is not used.
+ *
+ * @param <T> the type of elements in this list
+ *
+ * @author Alexander Lotashinsky
+ * @see ElementCodec
+ * @see CustomList
+ * @see List
+ */
+public class OffHeapList<T> extends AbstractList<T> implements List<T>, AutoCloseable {
+
+	/**
+	 * Default number of elements in a chunk.
+	 */
+	public static final int DEFAULT_ELEMENTS_PER_CHUNK = 1 << 16;
+
+	/**
+	 * Initial length of the chunk directory.
+	 */
+	private static final int INIT_DIRECTORY_CAPACITY = 4;
+
+	private final ElementCodec<T> codec;
+
+	/**
+	 * Width of one encoded element in bytes
+	 */
+	private final int width;
+
+	/**
+	 * {@code log2(elementsPerChunk)}
+	 */
+	private final int chunkShift;
+
+	private final int chunkMask;
+
+	/**
+	 * Buffer for encoding one element before it is written to a chunk, so that a
+	 * failing codec leaves the list unchanged
+	 */
+	private final ByteBuffer scratch;
+
+	/**
+	 * Chunk directory, {@code null} after the list has been closed
+	 */
+	private ByteBuffer[] chunks;
+
+	private int chunkCount;
+
+	/**
+	 * The size of the OffHeapList
+	 */
+	private int size;
+
+	/**
+	 * Counter of structural changes (remove, add, clear and other).
+	 *
+	 * Necessary for SubList
+	 */
+	private int version = 0;
+
+	/**
+	 * Creates an empty collection with chunks of
+	 * {@link #DEFAULT_ELEMENTS_PER_CHUNK} elements.
+	 *
+	 * @param codec encodes the elements
+	 */
+	public OffHeapList(ElementCodec<T> codec) {
+		this(codec, DEFAULT_ELEMENTS_PER_CHUNK);
+	}
+
+	/**
+	 * Creates an empty collection.
+	 *
+	 * @param codec            encodes the elements
+	 * @param elementsPerChunk number of elements in one chunk, a power of two
+	 * @throws IllegalArgumentException if {@code elementsPerChunk} is not a power
+	 *                                  of two, or a chunk would be larger than
+	 *                                  {@code Integer.MAX_VALUE} bytes
+	 */
+	public OffHeapList(ElementCodec<T> codec, int elementsPerChunk) {
+		this.codec = Objects.requireNonNull(codec);
+		width = codec.width();
+
+		if (width <= 0)
+			throw new IllegalArgumentException("Illegal element width: " + width);
+		if (elementsPerChunk <= 0 || Integer.bitCount(elementsPerChunk) != 1)
+			throw new IllegalArgumentException("Not a power of two: " + elementsPerChunk);
+		if ((long) elementsPerChunk * width > Integer.MAX_VALUE)
+			throw new IllegalArgumentException("Chunk is too large: " + elementsPerChunk + " x " + width);
+
+		chunkShift = Integer.numberOfTrailingZeros(elementsPerChunk);
+		chunkMask = elementsPerChunk - 1;
+		scratch = ByteBuffer.allocate(width).order(ByteOrder.nativeOrder());
+		chunks = new ByteBuffer[INIT_DIRECTORY_CAPACITY];
+	}
+
+	/**
+	 * Creates a collection based on producer, preserving the order of elements
+	 * from its iterator.
+	 *
+	 * @param codec    encodes the elements
+	 * @param producer source collection. Serves as a source for initialization
+	 */
+	public OffHeapList(ElementCodec<T> codec, Collection<? extends T> producer) {
+		this(codec);
+		insertAll(0, producer.toArray());
+	}
+
+	/**
+	 * Returns the number of elements in this list.
+	 *
+	 * @return the number of elements in this list, 0 if the list is closed
+	 */
+	@Override
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * Returns the element at the specified position in this list. The element is
+	 * decoded on every call.
+	 *
+	 * @param index index of the element to return
+	 * @return the element at the specified position in this list
+	 * @throws IndexOutOfBoundsException if the index is out of range
+	 *                                   ({@code index < 0 || index >= size()})
+	 * @throws IllegalStateException     if the list is closed
+	 */
+	@Override
+	public T get(int index) {
+		checkOpen();
+		checkIndexAndThrowIfNeed(index);
+
+		return codec.read(chunk(index), offset(index));
+	}
+
+	/**
+	 * Replaces the element at the specified position in this list with the
+	 * specified element.
+	 *
+	 * @param index   index of the element to replace
+	 * @param element element to be stored at the specified position
+	 * @return the element previously at the specified position
+	 * @throws IndexOutOfBoundsException if the index is out of range
+	 *                                   ({@code index < 0 || index >= size()})
+	 * @throws IllegalStateException     if the list is closed
+	 */
+	@Override
+	public T set(int index, T element) {
+		T tmp = get(index);
+
+		encode(element);
+		chunk(index).put(offset(index), scratch, 0, width);
+
+		return tmp;
+	}
+
+	/**
+	 * Inserts the specified element at the specified position in this list. Shifts
+	 * the element currently at that position (if any) and any subsequent elements
+	 * to the right (adds one to their indices).
+	 *
+	 * @param index   index at which the specified element is to be inserted
+	 * @param element element to be inserted
+	 * @throws IndexOutOfBoundsException if the index is out of range
+	 *                                   ({@code index < 0 || index > size()})
+	 * @throws IllegalStateException     if the list is closed
+	 */
+	@Override
+	public void add(int index, T element) {
+		checkOpen();
+		checkRangeAndThrowIfNeed(index);
+
+		encode(element);
+		shiftRight(index, 1);
+		chunk(index).put(offset(index), scratch, 0, width);
+	}
+
+	/**
+	 * Inserts all of the elements in the specified collection into this list at
+	 * the specified position.
+	 *
+	 * @param index index at which to insert the first element from the specified
+	 *              collection
+	 * @param c     collection containing elements to be added to this list
+	 * @return {@code true} if this list changed as a result of the call
+	 * @throws NullPointerException      if the {@code c} is null
+	 * @throws IndexOutOfBoundsException if the index is out of range
+	 *                                   ({@code index < 0 || index > size()})
+	 * @throws IllegalStateException     if the list is closed
+	 */
+	@Override
+	public boolean addAll(int index, Collection<? extends T> c) {
+		checkOpen();
+		checkRangeAndThrowIfNeed(index);
+
+		return insertAll(index, c.toArray());
+	}
+
+	@SuppressWarnings("unchecked")
+	private boolean insertAll(int index, Object[] elements) {
+		if (elements.length == 0)
+			return false;
+
+		shiftRight(index, elements.length);
+
+		int written = 0;
+		try {
+			for (; written < elements.length; ++written) {
+				encode((T) elements[written]);
+				chunk(index + written).put(offset(index + written), scratch, 0, width);
+			}
+		} finally {
+			/*
+			 * A failing codec leaves the list unchanged.
+			 */
+			if (written < elements.length)
+				removeRange(index, index + elements.length);
+		}
+
+		return true;
+	}
+
+	/**
+	 * Removes the element at the specified position in this list. Shifts any
+	 * subsequent elements to the left (subtracts one from their indices).
+	 *
+	 * @param index the index of the element to be removed
+	 * @return the element previously at the specified position
+	 * @throws IndexOutOfBoundsException if the index is out of range
+	 *                                   ({@code index < 0 || index >= size()})
+	 * @throws IllegalStateException     if the list is closed
+	 */
+	@Override
+	public T remove(int index) {
+		T tmp = get(index);
+
+		removeRange(index, index + 1);
+
+		return tmp;
+	}
+
+	/**
+	 * Removes the first occurrence of the specified element from this list, if it
+	 * is present.
+	 *
+	 * @param o element to be removed from this list, if present
+	 * @return {@code true} if this list contained the specified element
+	 * @throws IllegalStateException if the list is closed
+	 */
+	@Override
+	public boolean remove(Object o) {
+		int index = indexOf(o);
+		if (index == -1)
+			return false;
+
+		removeRange(index, index + 1);
+
+		return true;
+	}
+
+	/**
+	 * Removes all of the elements of this collection that satisfy the given
+	 * predicate. The stored bytes are compacted in a single pass.
+	 *
+	 * @param filter a predicate which returns {@code true} for elements to be
+	 *               removed
+	 * @return {@code true} if any elements were removed
+	 * @throws NullPointerException  if the specified filter is null
+	 * @throws IllegalStateException if the list is closed
+	 */
+	@Override
+	public boolean removeIf(Predicate<? super T> filter) {
+		checkOpen();
+
+		return batchRemove(0, size, filter) > 0;
+	}
+
+	/**
+	 * Removes all of the elements from this list. All chunks except the first one
+	 * are released.
+	 */
+	@Override
+	public void clear() {
+		if (size == 0)
+			return;
+
+		Arrays.fill(chunks, Math.min(chunkCount, 1), chunkCount, null);
+		chunkCount = Math.min(chunkCount, 1);
+		setSize(0);
+	}
+
+	@SuppressWarnings({ "hiding", "unchecked" })
+	@Override
+	public <T> T[] toArray(T[] a) {
+		checkOpen();
+
+		if (a.length < size)
+			a = (T[]) Array.newInstance(a.getClass().componentType(), size);
+		if (a.length > size)
+			a[size] = null;
+
+		for (int i = 0; i < size; ++i)
+			a[i] = (T) codec.read(chunk(i), offset(i));
+
+		return a;
+	}
+
+	/**
+	 * Returns a view of the portion of this list between the specified
+	 * {@code fromIndex}, inclusive, and {@code toIndex}, exclusive. The returned
+	 * list is backed by this list and behaves like
+	 * {@link CustomList#subList(int, int)}.
+	 *
+	 * @param fromIndex low endpoint (inclusive) of the subList
+	 * @param toIndex   high endpoint (exclusive) of the subList
+	 * @return a view of the specified range within this list
+	 * @throws IndexOutOfBoundsException for an illegal endpoint index value
+	 *                                   ({@code fromIndex < 0 || toIndex > size ||
+	 *         fromIndex > toIndex}   )
+	 */
+	@Override
+	public List<T> subList(int fromIndex, int toIndex) {
+		checkOpen();
+		checkSubListAndThrowIfNeed(fromIndex, toIndex, size);
+
+		return new SubList<>(this, fromIndex, toIndex - fromIndex);
+	}
+
+	@Override
+	public ListIterator<T> listIterator(int index) {
+		checkOpen();
+
+		return new IndexListIterator<>(this, index, 0, size);
+	}
+
+	/**
+	 * Releases the chunks of this list. Does nothing if the list is already
+	 * closed. The native memory of the chunks is freed only when the garbage
+	 * collector reclaims them.
+	 */
+	@Override
+	public void close() {
+		if (chunks == null)
+			return;
+
+		chunks = null;
+		chunkCount = 0;
+		setSize(0);
+	}
+
+	/**
+	 * Returns {@code true} if this list has been closed.
+	 *
+	 * @return {@code true} if this list has been closed
+	 */
+	public boolean isClosed() {
+		return chunks == null;
+	}
+
+	private ByteBuffer chunk(int index) {
+		return chunks[index >>> chunkShift];
+	}
+
+	private int offset(int index) {
+		return (index & chunkMask) * width;
+	}
+
+	private void encode(T element) {
+		codec.write(scratch, 0, element);
+	}
+
+	/**
+	 * Removes the elements of {@code [from, to)} that satisfy the predicate with a
+	 * read and a write cursor.
+	 *
+	 * @return number of removed elements
+	 */
+	private int batchRemove(int from, int to, Predicate<? super T> filter) {
+		Objects.requireNonNull(filter);
+
+		int read = from;
+		int write = from;
+		try {
+			for (; read < to; ++read) {
+				if (filter.test(codec.read(chunk(read), offset(read))))
+					continue;
+				if (write != read)
+					moveRange(read, write, 1);
+				write++;
+			}
+		} finally {
+			if (read != write)
+				removeRange(write, read);
+		}
+
+		return read - write;
+	}
+
+	/**
+	 * Removes the elements of {@code [from, to)} by moving the tail of the list.
+	 */
+	private void removeRange(int from, int to) {
+		moveRange(to, from, size - to);
+		setSize(size - (to - from));
+	}
+
+	private void shiftRight(int index, int elements) {
+		if (elements > Integer.MAX_VALUE - size)
+			throw new OutOfMemoryError("List is too large");
+
+		ensureCapacity(size + elements);
+		int tail = size - index;
+		setSize(size + elements);
+		moveRange(index, index + elements, tail);
+	}
+
+	/**
+	 * Moves {@code count} elements from {@code from} to {@code to}. The source and
+	 * the target may overlap. The bytes are copied in pieces which do not cross
+	 * chunk borders, in the order that does not overwrite elements before they are
+	 * moved.
+	 */
+	private void moveRange(int from, int to, int count) {
+		if (count == 0 || from == to)
+			return;
+
+		int chunkSize = chunkMask + 1;
+		if (to < from) {
+			for (int done = 0; done < count;) {
+				int source = from + done;
+				int target = to + done;
+				int piece = Math.min(count - done,
+						Math.min(chunkSize - (source & chunkMask), chunkSize - (target & chunkMask)));
+
+				chunk(target).put(offset(target), chunk(source), offset(source), piece * width);
+				done += piece;
+			}
+		} else {
+			for (int left = count; left > 0;) {
+				int sourceEnd = from + left;
+				int targetEnd = to + left;
+				int piece = Math.min(left,
+						Math.min(((sourceEnd - 1) & chunkMask) + 1, ((targetEnd - 1) & chunkMask) + 1));
+
+				int source = sourceEnd - piece;
+				int target = targetEnd - piece;
+				chunk(target).put(offset(target), chunk(source), offset(source), piece * width);
+				left -= piece;
+			}
+		}
+	}
+
+	/**
+	 * Allocates chunks until {@code capacity} elements fit.
+	 */
+	private void ensureCapacity(int capacity) {
+		while (((long) chunkCount << chunkShift) < capacity) {
+			if (chunkCount == chunks.length)
+				chunks = Arrays.copyOf(chunks, chunks.length << 1);
+
+			chunks[chunkCount++] = ByteBuffer.allocateDirect((chunkMask + 1) * width).order(ByteOrder.nativeOrder());
+		}
+	}
+
+	private void setSize(int size) {
+		this.size = size;
+		incVersion();
+	}
+
+	private void incVersion() {
+		version++;
+	}
+
+	private int getVersion() {
+		return version;
+	}
+
+	private void checkOpen() {
+		if (chunks == null)
+			throw new IllegalStateException("The list is closed");
+	}
+
+	private void checkIndexAndThrowIfNeed(int index) {
+		if (index < 0 || index >= size)
+			throw new IndexOutOfBoundsException(index);
+	}
+
+	private void checkRangeAndThrowIfNeed(int index) {
+		if (index < 0 || index > size)
+			throw new IndexOutOfBoundsException(index);
+	}
+
+	private static void checkSubListAndThrowIfNeed(int fromIndex, int toIndex, int size) {
+		if (fromIndex < 0 || toIndex > size || fromIndex > toIndex)
+			throw new IndexOutOfBoundsException("fromIndex: " + fromIndex + ", toIndex: " + toIndex);
+	}
+
+	/**
+	 * Used to create subList via {@link OffHeapList#subList(int, int)} or
+	 * {@link #subList(int, int)}
+	 *
+	 * @param <E> the type of elements in this list
+	 */
+	private static class SubList<E> extends AbstractList<E> implements List<E> {
+
+		/**
+		 * Offset from the main collection
+		 */
+		private int offset;
+
+		/**
+		 * View size
+		 */
+		private int size;
+
+		/**
+		 * Main collection
+		 */
+		private OffHeapList<E> main;
+
+		private int mainVersion;
+
+		SubList(OffHeapList<E> main, int offset, int size) {
+			this.offset = offset;
+			this.size = size;
+			this.main = main;
+			mainVersion = main.getVersion();
+		}
+
+		SubList(SubList<E> other, int offset, int size) {
+			this.offset = offset + other.offset;
+			this.size = size;
+			main = other.main;
+			mainVersion = main.getVersion();
+		}
+
+		@Override
+		public int size() {
+			checkMainVersion();
+
+			return size;
+		}
+
+		@SuppressWarnings({ "unchecked" })
+		@Override
+		public <T> T[] toArray(T[] a) {
+			checkMainVersion();
+
+			if (a.length < size)
+				a = (T[]) Array.newInstance(a.getClass().getComponentType(), size);
+			if (a.length > size)
+				a[size] = null;
+
+			for (int i = 0; i < size; ++i)
+				a[i] = (T) main.get(offset + i);
+
+			return a;
+		}
+
+		@Override
+		public boolean remove(Object o) {
+			checkMainVersion();
+
+			int index = indexOf(o);
+			if (index == -1)
+				return false;
+
+			remove(index);
+
+			return true;
+		}
+
+		@Override
+		public boolean removeIf(Predicate<? super E> filter) {
+			checkMainVersion();
+
+			int removed = main.batchRemove(offset, offset + size, filter);
+			size -= removed;
+			syncVersions();
+
+			return removed > 0;
+		}
+
+		@Override
+		public void clear() {
+			checkMainVersion();
+
+			main.removeRange(offset, offset + size);
+			size = 0;
+			syncVersions();
+		}
+
+		@Override
+		public E get(int index) {
+			checkMainVersion();
+			checkIndexAndThrowIfNeed(index);
+
+			return main.get(offset + index);
+		}
+
+		@Override
+		public E set(int index, E element) {
+			checkMainVersion();
+			checkIndexAndThrowIfNeed(index);
+
+			return main.set(offset + index, element);
+		}
+
+		@Override
+		public void add(int index, E element) {
+			checkMainVersion();
+			checkRangeAndThrowIfNeed(index);
+
+			main.add(offset + index, element);
+			size++;
+			syncVersions();
+		}
+
+		@Override
+		public E remove(int index) {
+			checkMainVersion();
+			checkIndexAndThrowIfNeed(index);
+
+			E tmp = main.remove(offset + index);
+			size--;
+			syncVersions();
+
+			return tmp;
+		}
+
+		@Override
+		public List<E> subList(int fromIndex, int toIndex) {
+			checkMainVersion();
+			checkSubListAndThrowIfNeed(fromIndex, toIndex, size);
+
+			return new SubList<>(this, fromIndex, toIndex - fromIndex);
+		}
+
+		@Override
+		public boolean addAll(int index, Collection<? extends E> c) {
+			checkMainVersion();
+			checkRangeAndThrowIfNeed(index);
+
+			int before = main.size();
+			boolean changed = main.addAll(offset + index, c);
+			size += main.size() - before;
+			syncVersions();
+
+			return changed;
+		}
+
+		@Override
+		public ListIterator<E> listIterator(int index) {
+			checkMainVersion();
+
+			return new IndexListIterator<>(this, index, 0, size);
+		}
+
+		private void checkIndexAndThrowIfNeed(int index) {
+			if (index < 0 || index >= size)
+				throw new IndexOutOfBoundsException(index);
+		}
+
+		private void checkRangeAndThrowIfNeed(int index) {
+			if (index < 0 || index > size)
+				throw new IndexOutOfBoundsException(index);
+		}
+
+		private void checkMainVersion() {
+			if (main.getVersion() != mainVersion)
+				throw new ConcurrentModificationException();
+		}
+
+		private void syncVersions() {
+			mainVersion = main.getVersion();
+		}
+
+	}
+
+}
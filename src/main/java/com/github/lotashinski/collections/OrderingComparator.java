@@ -0,0 +1,48 @@
+package com.github.lotashinski.collections;
+
+import java.util.Comparator;
+
+/**
+ * The default implementation of the comparator. If the elements being compared
+ * implement comparison behavior, then {@code compareTo(other)} will be called.
+ * Otherwise, casting to strings will be called.
+ * 
+ * @param <T> the type of comparing elements
+ * 
+ * @author Alexander Lotashinsky
+ * @see CustomList#sort()
+ */
+class OrderingComparator<T> implements Comparator<T> {
+
+	/**
+	 * Compares its two arguments for order. Returns a negative integer, zero, or a
+	 * positive integer as the first argument is less than, equal to, or greater
+	 * than the second. The null value will always be the smallest (except for the
+	 * case with two nulls)
+	 * 
+	 * @param o1 the first object to be compared.
+	 * @param o2 the second object to be compared.
+	 * @return a negative integer, zero, or a positive integer as the first argument
+	 *         is less than, equal to, or greater than the second.
+	 */
+	@SuppressWarnings("unchecked")
+	@Override
+	public int compare(T o1, T o2) {
+		if (o1 == o2)
+			return 0;
+		if (o1 == null)
+			return -1;
+		if (o2 == null)
+			return 1;
+
+		if (o1 instanceof Comparable) {
+			@SuppressWarnings({ "rawtypes" })
+			Comparable c1 = (Comparable) o1;
+
+			return c1.compareTo(o2);
+		}
+
+		return o1.toString().compareTo(o2.toString());
+	}
+
+}
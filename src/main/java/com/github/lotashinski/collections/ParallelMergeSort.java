@@ -0,0 +1,217 @@
+package com.github.lotashinski.collections;
+
+import java.util.Comparator;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Stable parallel merge sort over a range of an array, executed in the common
+ * {@link ForkJoinPool}.
+ *
+ * <p>
+ * The range is split in halves until the parts are not longer than the
+ * granularity; the parts are sorted with the sequential {@link MergeSort}. The
+ * sorted halves are merged in parallel: the longer half is split at its middle
+ * element, the position of that element in the other half is found by binary
+ * search, and both pairs of parts are merged independently. Sorting and merging
+ * alternate between the array and a workspace of the same length as the range.
+ *
+ * @author Alexander Lotashinsky
+ * @see CustomList#parallelSort(int, int, Comparator)
+ */
+final class ParallelMergeSort {
+
+	/**
+	 * Ranges not longer than this are sorted sequentially, and parts of a parallel
+	 * sort are never shorter than this.
+	 */
+	static final int MIN_PARALLEL_SORT = 1 << 13;
+
+	private ParallelMergeSort() {
+	}
+
+	/**
+	 * Sorts {@code a[from, to)} according to the order induced by the comparator.
+	 * Equal elements are not reordered. Falls back to {@link MergeSort} for short
+	 * ranges and when the common pool has no parallelism.
+	 *
+	 * @param <T>        the type of elements in the range
+	 * @param a          array to be sorted
+	 * @param from       low endpoint (inclusive)
+	 * @param to         high endpoint (exclusive)
+	 * @param comparator will be used for comparison
+	 */
+	static <T> void sort(Object[] a, int from, int to, Comparator<? super T> comparator) {
+		int length = to - from;
+		int parallelism = ForkJoinPool.getCommonPoolParallelism();
+
+		if (length <= MIN_PARALLEL_SORT || parallelism <= 1) {
+			MergeSort.sort(a, from, to, comparator);
+			return;
+		}
+
+		int granularity = Math.max(length / (parallelism << 2), MIN_PARALLEL_SORT);
+		Object[] workspace = new Object[length];
+
+		ForkJoinPool.commonPool().invoke(new Sorter<T>(a, workspace, from, from, to, false, granularity, comparator));
+	}
+
+	/**
+	 * Sorts a part of the range. The sorted result is left either in the array or
+	 * in the workspace; the position of an element in the workspace is its position
+	 * in the array minus {@code base}.
+	 */
+	private static final class Sorter<T> extends RecursiveAction {
+
+		private static final long serialVersionUID = 1L;
+
+		private final transient Object[] array;
+
+		private final transient Object[] workspace;
+
+		private final int base;
+
+		private final int lo;
+
+		private final int hi;
+
+		/**
+		 * {@code true} if the sorted part must be placed to the workspace.
+		 */
+		private final boolean toWorkspace;
+
+		private final int granularity;
+
+		private final transient Comparator<? super T> comparator;
+
+		Sorter(Object[] array, Object[] workspace, int base, int lo, int hi, boolean toWorkspace, int granularity,
+				Comparator<? super T> comparator) {
+			this.array = array;
+			this.workspace = workspace;
+			this.base = base;
+			this.lo = lo;
+			this.hi = hi;
+			this.toWorkspace = toWorkspace;
+			this.granularity = granularity;
+			this.comparator = comparator;
+		}
+
+		@Override
+		protected void compute() {
+			if (hi - lo <= granularity) {
+				MergeSort.sort(array, lo, hi, comparator);
+				if (toWorkspace)
+					System.arraycopy(array, lo, workspace, lo - base, hi - lo);
+				return;
+			}
+
+			int mid = (lo + hi) >>> 1;
+			invokeAll(new Sorter<>(array, workspace, base, lo, mid, !toWorkspace, granularity, comparator),
+					new Sorter<>(array, workspace, base, mid, hi, !toWorkspace, granularity, comparator));
+
+			Object[] source = toWorkspace ? array : workspace;
+			Object[] target = toWorkspace ? workspace : array;
+			int sourceShift = toWorkspace ? 0 : base;
+			int targetShift = toWorkspace ? base : 0;
+
+			new Merger<>(source, lo - sourceShift, mid - sourceShift, mid - sourceShift, hi - sourceShift, target,
+					lo - targetShift, granularity, comparator).compute();
+		}
+
+	}
+
+	/**
+	 * Merges the sorted ranges {@code source[lo1, hi1)} and
+	 * {@code source[lo2, hi2)} into {@code target} starting at {@code to}.
+	 * Elements of the first range go first when equal.
+	 */
+	private static final class Merger<T> extends RecursiveAction {
+
+		private static final long serialVersionUID = 1L;
+
+		private final transient Object[] source;
+
+		private final int lo1;
+
+		private final int hi1;
+
+		private final int lo2;
+
+		private final int hi2;
+
+		private final transient Object[] target;
+
+		private final int to;
+
+		private final int granularity;
+
+		private final transient Comparator<? super T> comparator;
+
+		Merger(Object[] source, int lo1, int hi1, int lo2, int hi2, Object[] target, int to, int granularity,
+				Comparator<? super T> comparator) {
+			this.source = source;
+			this.lo1 = lo1;
+			this.hi1 = hi1;
+			this.lo2 = lo2;
+			this.hi2 = hi2;
+			this.target = target;
+			this.to = to;
+			this.granularity = granularity;
+			this.comparator = comparator;
+		}
+
+		@Override
+		protected void compute() {
+			int length1 = hi1 - lo1;
+			int length2 = hi2 - lo2;
+
+			if (length1 == 0 || length2 == 0 || compare(source[hi1 - 1], source[lo2]) <= 0) {
+				System.arraycopy(source, lo1, target, to, length1);
+				System.arraycopy(source, lo2, target, to + length1, length2);
+				return;
+			}
+
+			if (length1 + length2 <= granularity) {
+				merge();
+				return;
+			}
+
+			int split1;
+			int split2;
+			if (length1 >= length2) {
+				split1 = (lo1 + hi1) >>> 1;
+				split2 = MergeSort.lowerBound(source, lo2, hi2, source[split1], comparator);
+			} else {
+				split2 = (lo2 + hi2) >>> 1;
+				split1 = MergeSort.upperBound(source, lo1, hi1, source[split2], comparator);
+			}
+
+			int toRight = to + (split1 - lo1) + (split2 - lo2);
+			invokeAll(new Merger<>(source, lo1, split1, lo2, split2, target, to, granularity, comparator),
+					new Merger<>(source, split1, hi1, split2, hi2, target, toRight, granularity, comparator));
+		}
+
+		private void merge() {
+			int left = lo1;
+			int right = lo2;
+			int position = to;
+
+			while (left < hi1 && right < hi2) {
+				if (compare(source[right], source[left]) < 0)
+					target[position++] = source[right++];
+				else
+					target[position++] = source[left++];
+			}
+
+			System.arraycopy(source, left, target, position, hi1 - left);
+			System.arraycopy(source, right, target, position + hi1 - left, hi2 - right);
+		}
+
+		@SuppressWarnings("unchecked")
+		private int compare(Object o1, Object o2) {
+			return comparator.compare((T) o1, (T) o2);
+		}
+
+	}
+
+}
@@ -0,0 +1,830 @@
+package com.github.lotashinski.collections;
+
+import java.lang.reflect.Array;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.ListIterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.function.Consumer;
+
+/**
+ * Persistent implementation of the {@code List} interface: an instance never
+ * changes, and every update returns a new version which shares most of its
+ * structure with the previous one. Holding a version is a free snapshot.
+ *
+ * <p>
+ * The elements are stored in a trie with 32-way branching; the last up to 32
+ * elements are kept in a separate tail array. {@link #plus(Object)},
+ * {@link #with(int, Object)} and {@link #minusLast()} (the persistent
+ * counterparts of {@code add}, {@code set} and {@code removeLast}) copy only
+ * the path from the root to the affected leaf and run in
+ * {@code O(log32 n)}; {@code plus} and {@code minusLast} on a not full tail
+ * copy only the tail. The {@code size} operation runs in constant time, the
+ * {@code get} operation in {@code O(log32 n)}.
+ *
+ * <p>
+ * The mutating operations of the {@code List} interface throw
+ * {@code UnsupportedOperationException}. A {@link Builder} obtained with
+ * {@link #builder()} or {@link #toBuilder()} updates its own nodes in place
+ * and is the fast way to load many elements.
+ *
+ * @param <T> the type of elements in this list
+ *
+ * @author Alexander Lotashinsky
+ * @see CustomList
+ * @see List
+ */
+public final class PersistentVector<T> extends AbstractList<T> implements List<T> {
+
+	private static final int SHIFT = 5;
+
+	private static final int BRANCHING = 1 << SHIFT;
+
+	private static final int MASK = BRANCHING - 1;
+
+	private static final Node EMPTY_NODE = new Node(null, new Object[BRANCHING]);
+
+	private static final PersistentVector<?> EMPTY = new PersistentVector<>(0, SHIFT, EMPTY_NODE, new Object[0]);
+
+	private final int size;
+
+	/**
+	 * Number of index bits consumed above the leaves, a multiple of
+	 * {@link #SHIFT}
+	 */
+	private final int shift;
+
+	private final Node root;
+
+	/**
+	 * The last elements, not yet pushed into the trie. Has exactly
+	 * {@code size - tailOffset()} elements
+	 */
+	private final Object[] tail;
+
+	private PersistentVector(int size, int shift, Node root, Object[] tail) {
+		this.size = size;
+		this.shift = shift;
+		this.root = root;
+		this.tail = tail;
+	}
+
+	/**
+	 * Returns the empty vector.
+	 *
+	 * @param <T> the type of elements
+	 * @return the empty vector
+	 */
+	@SuppressWarnings("unchecked")
+	public static <T> PersistentVector<T> empty() {
+		return (PersistentVector<T>) EMPTY;
+	}
+
+	/**
+	 * Creates a vector of the elements of the collection, in the order of its
+	 * iterator.
+	 *
+	 * @param <T>      the type of elements
+	 * @param producer source collection
+	 * @return the vector of the elements
+	 */
+	public static <T> PersistentVector<T> from(Collection<? extends T> producer) {
+		if (producer instanceof PersistentVector<?>) {
+			@SuppressWarnings("unchecked")
+			PersistentVector<T> vector = (PersistentVector<T>) producer;
+
+			return vector;
+		}
+
+		Builder<T> builder = builder();
+		builder.addAll(producer);
+
+		return builder.build();
+	}
+
+	/**
+	 * Returns a new empty builder.
+	 *
+	 * @param <T> the type of elements
+	 * @return the builder
+	 */
+	public static <T> Builder<T> builder() {
+		return PersistentVector.<T>empty().toBuilder();
+	}
+
+	/**
+	 * Returns a builder initialized with the elements of this vector. The
+	 * builder shares the structure of this vector and copies a node only when it
+	 * updates it for the first time.
+	 *
+	 * @return the builder
+	 */
+	public Builder<T> toBuilder() {
+		return new Builder<>(this);
+	}
+
+	/**
+	 * Copies the elements to a new {@code CustomList}. The leaves of the trie are
+	 * copied with bulk array copies straight into the backing array of the list.
+	 *
+	 * @return the list with the elements of this vector
+	 */
+	public CustomList<T> toCustomList() {
+		return new CustomList<>(toArray(), size);
+	}
+
+	@Override
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * Returns the element at the specified position in this list.
+	 *
+	 * @param index index of the element to return
+	 * @return the element at the specified position in this list
+	 * @throws IndexOutOfBoundsException if the index is out of range
+	 *                                   ({@code index < 0 || index >= size()})
+	 */
+	@SuppressWarnings("unchecked")
+	@Override
+	public T get(int index) {
+		checkIndexAndThrowIfNeed(index, size);
+
+		return (T) arrayFor(index)[index & MASK];
+	}
+
+	/**
+	 * Returns the vector with the element appended to the end.
+	 *
+	 * @param element element to be appended
+	 * @return the new version
+	 */
+	public PersistentVector<T> plus(T element) {
+		if (size - tailOffset(size) < BRANCHING) {
+			Object[] newTail = Arrays.copyOf(tail, tail.length + 1);
+			newTail[tail.length] = element;
+
+			return new PersistentVector<>(size + 1, shift, root, newTail);
+		}
+
+		Node tailNode = new Node(null, tail);
+		Node newRoot;
+		int newShift = shift;
+		if ((size >>> SHIFT) > (1 << shift)) {
+			newRoot = new Node(null, new Object[BRANCHING]);
+			newRoot.array[0] = root;
+			newRoot.array[1] = newPath(null, shift, tailNode);
+			newShift += SHIFT;
+		} else {
+			newRoot = pushTail(size, shift, root, tailNode);
+		}
+
+		return new PersistentVector<>(size + 1, newShift, newRoot, new Object[] { element });
+	}
+
+	/**
+	 * Returns the vector with the element at the specified position replaced.
+	 *
+	 * @param index   index of the element to replace
+	 * @param element element to be stored at the specified position
+	 * @return the new version
+	 * @throws IndexOutOfBoundsException if the index is out of range
+	 *                                   ({@code index < 0 || index >= size()})
+	 */
+	public PersistentVector<T> with(int index, T element) {
+		checkIndexAndThrowIfNeed(index, size);
+
+		if (index >= tailOffset(size)) {
+			Object[] newTail = tail.clone();
+			newTail[index & MASK] = element;
+
+			return new PersistentVector<>(size, shift, root, newTail);
+		}
+
+		return new PersistentVector<>(size, shift, assoc(shift, root, index, element), tail);
+	}
+
+	/**
+	 * Returns the vector without its last element.
+	 *
+	 * @return the new version
+	 * @throws NoSuchElementException if the vector is empty
+	 */
+	public PersistentVector<T> minusLast() {
+		if (size == 0)
+			throw new NoSuchElementException();
+		if (size == 1)
+			return empty();
+
+		if (size - tailOffset(size) > 1)
+			return new PersistentVector<>(size - 1, shift, root, Arrays.copyOf(tail, tail.length - 1));
+
+		Object[] newTail = arrayFor(size - 2);
+		Node newRoot = popTail(size, shift, root);
+		int newShift = shift;
+		if (newRoot == null)
+			newRoot = EMPTY_NODE;
+		if (shift > SHIFT && newRoot.array[1] == null) {
+			newRoot = (Node) newRoot.array[0];
+			newShift -= SHIFT;
+		}
+
+		return new PersistentVector<>(size - 1, newShift, newRoot, newTail);
+	}
+
+	/**
+	 * Performs the given action for each element of this list, in order, leaf by
+	 * leaf.
+	 *
+	 * @param action the action to be performed for each element
+	 * @throws NullPointerException if the specified action is null
+	 */
+	@SuppressWarnings("unchecked")
+	@Override
+	public void forEach(Consumer<? super T> action) {
+		Objects.requireNonNull(action);
+
+		for (int i = 0; i < size; i += BRANCHING) {
+			Object[] leaf = arrayFor(i);
+			int end = Math.min(BRANCHING, size - i);
+			for (int j = 0; j < end; ++j)
+				action.accept((T) leaf[j]);
+		}
+	}
+
+	@SuppressWarnings({ "hiding", "unchecked" })
+	@Override
+	public <T> T[] toArray(T[] a) {
+		if (a.length < size)
+			a = (T[]) Array.newInstance(a.getClass().componentType(), size);
+		if (a.length > size)
+			a[size] = null;
+
+		for (int i = 0; i < size; i += BRANCHING)
+			System.arraycopy(arrayFor(i), 0, a, i, Math.min(BRANCHING, size - i));
+
+		return a;
+	}
+
+	/**
+	 * Returns a view of the portion of this list between the specified
+	 * {@code fromIndex}, inclusive, and {@code toIndex}, exclusive. The view is
+	 * immutable, like the vector.
+	 *
+	 * @param fromIndex low endpoint (inclusive) of the subList
+	 * @param toIndex   high endpoint (exclusive) of the subList
+	 * @return a view of the specified range within this list
+	 * @throws IndexOutOfBoundsException for an illegal endpoint index value
+	 *                                   ({@code fromIndex < 0 || toIndex > size ||
+	 *         fromIndex > toIndex}   )
+	 */
+	@Override
+	public List<T> subList(int fromIndex, int toIndex) {
+		checkSubListAndThrowIfNeed(fromIndex, toIndex, size);
+
+		return new SubList<>(this, fromIndex, toIndex - fromIndex);
+	}
+
+	@Override
+	public ListIterator<T> listIterator(int index) {
+		if (index < 0 || index > size)
+			throw new IndexOutOfBoundsException(index);
+
+		return new IndexListIterator<>(this, index, 0, size);
+	}
+
+	/**
+	 * Not supported, use {@link #with(int, Object)}.
+	 *
+	 * @throws UnsupportedOperationException always
+	 */
+	@Override
+	public T set(int index, T element) {
+		throw new UnsupportedOperationException();
+	}
+
+	/**
+	 * Not supported, use {@link #plus(Object)}.
+	 *
+	 * @throws UnsupportedOperationException always
+	 */
+	@Override
+	public void add(int index, T element) {
+		throw new UnsupportedOperationException();
+	}
+
+	/**
+	 * Not supported, use {@link #toBuilder()}.
+	 *
+	 * @throws UnsupportedOperationException always
+	 */
+	@Override
+	public boolean addAll(int index, Collection<? extends T> c) {
+		throw new UnsupportedOperationException();
+	}
+
+	/**
+	 * Not supported, use {@link #minusLast()}.
+	 *
+	 * @throws UnsupportedOperationException always
+	 */
+	@Override
+	public T remove(int index) {
+		throw new UnsupportedOperationException();
+	}
+
+	/**
+	 * Not supported.
+	 *
+	 * @throws UnsupportedOperationException always
+	 */
+	@Override
+	public boolean remove(Object o) {
+		throw new UnsupportedOperationException();
+	}
+
+	/**
+	 * Not supported, use {@link #empty()}.
+	 *
+	 * @throws UnsupportedOperationException always
+	 */
+	@Override
+	public void clear() {
+		throw new UnsupportedOperationException();
+	}
+
+	private Object[] arrayFor(int index) {
+		return arrayFor(index, size, shift, root, tail);
+	}
+
+	/**
+	 * Returns the leaf array (or the tail) containing the element at the index.
+	 */
+	private static Object[] arrayFor(int index, int size, int shift, Node root, Object[] tail) {
+		if (index >= tailOffset(size))
+			return tail;
+
+		Node node = root;
+		for (int level = shift; level > 0; level -= SHIFT)
+			node = (Node) node.array[(index >>> level) & MASK];
+
+		return node.array;
+	}
+
+	/**
+	 * Returns the index of the first element in the tail.
+	 */
+	private static int tailOffset(int size) {
+		if (size < BRANCHING)
+			return 0;
+
+		return ((size - 1) >>> SHIFT) << SHIFT;
+	}
+
+	private static Node newPath(Object owner, int level, Node node) {
+		if (level == 0)
+			return node;
+
+		Node path = new Node(owner, new Object[BRANCHING]);
+		path.array[0] = newPath(owner, level - SHIFT, node);
+
+		return path;
+	}
+
+	/**
+	 * Returns a copy of the path with the full tail of a vector of {@code size}
+	 * elements pushed in as the rightmost leaf.
+	 */
+	private static Node pushTail(int size, int level, Node parent, Node tailNode) {
+		int subIndex = ((size - 1) >>> level) & MASK;
+		Node copy = new Node(null, parent.array.clone());
+
+		Node child;
+		if (level == SHIFT) {
+			child = tailNode;
+		} else {
+			Node existing = (Node) parent.array[subIndex];
+			child = existing != null ? pushTail(size, level - SHIFT, existing, tailNode)
+					: newPath(null, level - SHIFT, tailNode);
+		}
+		copy.array[subIndex] = child;
+
+		return copy;
+	}
+
+	private static Node assoc(int level, Node node, int index, Object element) {
+		Node copy = new Node(null, node.array.clone());
+		if (level == 0) {
+			copy.array[index & MASK] = element;
+		} else {
+			int subIndex = (index >>> level) & MASK;
+			copy.array[subIndex] = assoc(level - SHIFT, (Node) node.array[subIndex], index, element);
+		}
+
+		return copy;
+	}
+
+	/**
+	 * Returns a copy of the path without the rightmost leaf of a vector of
+	 * {@code size} elements, or {@code null} if the node becomes empty.
+	 */
+	private static Node popTail(int size, int level, Node node) {
+		int subIndex = ((size - 2) >>> level) & MASK;
+		if (level > SHIFT) {
+			Node child = popTail(size, level - SHIFT, (Node) node.array[subIndex]);
+			if (child == null && subIndex == 0)
+				return null;
+
+			Node copy = new Node(null, node.array.clone());
+			copy.array[subIndex] = child;
+
+			return copy;
+		}
+		if (subIndex == 0)
+			return null;
+
+		Node copy = new Node(null, node.array.clone());
+		copy.array[subIndex] = null;
+
+		return copy;
+	}
+
+	private static void checkIndexAndThrowIfNeed(int index, int size) {
+		if (index < 0 || index >= size)
+			throw new IndexOutOfBoundsException(index);
+	}
+
+	private static void checkSubListAndThrowIfNeed(int fromIndex, int toIndex, int size) {
+		if (fromIndex < 0 || toIndex > size || fromIndex > toIndex)
+			throw new IndexOutOfBoundsException("fromIndex: " + fromIndex + ", toIndex: " + toIndex);
+	}
+
+	/**
+	 * Node of the trie. The children of an inner node are nodes, the children of a
+	 * leaf are elements.
+	 */
+	private static final class Node {
+
+		/**
+		 * Builder which may update this node in place, or {@code null}
+		 */
+		private final Object owner;
+
+		private final Object[] array;
+
+		Node(Object owner, Object[] array) {
+			this.owner = owner;
+			this.array = array;
+		}
+
+	}
+
+	/**
+	 * Mutable builder of a {@link PersistentVector}. Updates the nodes it has
+	 * created or copied in place, and copies a node shared with a vector only
+	 * the first time it changes it. The builder can not be used after
+	 * {@link #build()}. A builder is not thread-safe.
+	 *
+	 * @param <T> the type of elements
+	 */
+	public static final class Builder<T> {
+
+		/**
+		 * Token of the nodes owned by this builder, {@code null} after build
+		 */
+		private Object owner = new Object();
+
+		private int size;
+
+		private int shift;
+
+		private Node root;
+
+		/**
+		 * Tail of {@link PersistentVector#BRANCHING} slots
+		 */
+		private Object[] tail;
+
+		Builder(PersistentVector<T> vector) {
+			size = vector.size;
+			shift = vector.shift;
+			root = new Node(owner, vector.root.array.clone());
+			tail = Arrays.copyOf(vector.tail, BRANCHING);
+		}
+
+		/**
+		 * Returns the number of elements in the builder.
+		 *
+		 * @return the number of elements
+		 */
+		public int size() {
+			checkActive();
+
+			return size;
+		}
+
+		/**
+		 * Returns the element at the specified position.
+		 *
+		 * @param index index of the element to return
+		 * @return the element at the specified position
+		 * @throws IndexOutOfBoundsException if the index is out of range
+		 *                                   ({@code index < 0 || index >= size()})
+		 */
+		@SuppressWarnings("unchecked")
+		public T get(int index) {
+			checkActive();
+			checkIndexAndThrowIfNeed(index, size);
+
+			return (T) arrayFor(index, size, shift, root, tail)[index & MASK];
+		}
+
+		/**
+		 * Appends the element.
+		 *
+		 * @param element element to be appended
+		 * @return this builder
+		 */
+		public Builder<T> add(T element) {
+			checkActive();
+
+			if (size - tailOffset(size) < BRANCHING) {
+				tail[size & MASK] = element;
+				size++;
+
+				return this;
+			}
+
+			Node tailNode = new Node(owner, tail);
+			tail = new Object[BRANCHING];
+			tail[0] = element;
+
+			if ((size >>> SHIFT) > (1 << shift)) {
+				Node newRoot = new Node(owner, new Object[BRANCHING]);
+				newRoot.array[0] = root;
+				newRoot.array[1] = newPath(owner, shift, tailNode);
+				root = newRoot;
+				shift += SHIFT;
+			} else {
+				root = pushTail(shift, root, tailNode);
+			}
+			size++;
+
+			return this;
+		}
+
+		/**
+		 * Appends all of the elements of the collection, in the order of its
+		 * iterator.
+		 *
+		 * @param c collection containing elements to be added
+		 * @return this builder
+		 */
+		public Builder<T> addAll(Collection<? extends T> c) {
+			for (T element : c)
+				add(element);
+
+			return this;
+		}
+
+		/**
+		 * Replaces the element at the specified position.
+		 *
+		 * @param index   index of the element to replace
+		 * @param element element to be stored at the specified position
+		 * @return this builder
+		 * @throws IndexOutOfBoundsException if the index is out of range
+		 *                                   ({@code index < 0 || index >= size()})
+		 */
+		public Builder<T> set(int index, T element) {
+			checkActive();
+			checkIndexAndThrowIfNeed(index, size);
+
+			if (index >= tailOffset(size)) {
+				tail[index & MASK] = element;
+			} else {
+				Node node = root = editable(root);
+				for (int level = shift; level > 0; level -= SHIFT) {
+					int subIndex = (index >>> level) & MASK;
+					Node child = editable((Node) node.array[subIndex]);
+					node.array[subIndex] = child;
+					node = child;
+				}
+				node.array[index & MASK] = element;
+			}
+
+			return this;
+		}
+
+		/**
+		 * Removes the last element.
+		 *
+		 * @return this builder
+		 * @throws NoSuchElementException if the builder is empty
+		 */
+		public Builder<T> removeLast() {
+			checkActive();
+			if (size == 0)
+				throw new NoSuchElementException();
+
+			int last = size - 1;
+			if (size == 1 || (last & MASK) > 0) {
+				tail[last & MASK] = null;
+				size--;
+
+				return this;
+			}
+
+			/*
+			 * The last leaf becomes the tail. It is copied because the tail is updated in
+			 * place.
+			 */
+			Object[] newTail = arrayFor(size - 2, size, shift, root, tail).clone();
+			Node newRoot = popTail(shift, root);
+			if (newRoot == null)
+				newRoot = new Node(owner, new Object[BRANCHING]);
+			if (shift > SHIFT && newRoot.array[1] == null) {
+				newRoot = editable((Node) newRoot.array[0]);
+				shift -= SHIFT;
+			}
+
+			root = newRoot;
+			tail = newTail;
+			size--;
+
+			return this;
+		}
+
+		/**
+		 * Returns the vector with the elements of this builder. The builder can not
+		 * be used afterwards.
+		 *
+		 * @return the built vector
+		 */
+		public PersistentVector<T> build() {
+			checkActive();
+			owner = null;
+
+			if (size == 0)
+				return empty();
+
+			return new PersistentVector<>(size, shift, root, Arrays.copyOf(tail, size - tailOffset(size)));
+		}
+
+		private Node editable(Node node) {
+			if (node.owner == owner)
+				return node;
+
+			return new Node(owner, node.array.clone());
+		}
+
+		private Node pushTail(int level, Node parent, Node tailNode) {
+			Node node = editable(parent);
+			int subIndex = ((size - 1) >>> level) & MASK;
+
+			Node child;
+			if (level == SHIFT) {
+				child = tailNode;
+			} else {
+				Node existing = (Node) node.array[subIndex];
+				child = existing != null ? pushTail(level - SHIFT, existing, tailNode)
+						: newPath(owner, level - SHIFT, tailNode);
+			}
+			node.array[subIndex] = child;
+
+			return node;
+		}
+
+		private Node popTail(int level, Node node) {
+			node = editable(node);
+			int subIndex = ((size - 2) >>> level) & MASK;
+			if (level > SHIFT) {
+				Node child = popTail(level - SHIFT, (Node) node.array[subIndex]);
+				if (child == null && subIndex == 0)
+					return null;
+
+				node.array[subIndex] = child;
+
+				return node;
+			}
+			if (subIndex == 0)
+				return null;
+
+			node.array[subIndex] = null;
+
+			return node;
+		}
+
+		private void checkActive() {
+			if (owner == null)
+				throw new IllegalStateException("The builder has already built its vector");
+		}
+
+	}
+
+	/**
+	 * Immutable view created via {@link PersistentVector#subList(int, int)} or
+	 * {@link #subList(int, int)}
+	 *
+	 * @param <E> the type of elements in this list
+	 */
+	private static class SubList<E> extends AbstractList<E> implements List<E> {
+
+		/**
+		 * Offset from the main collection
+		 */
+		private final int offset;
+
+		/**
+		 * View size
+		 */
+		private final int size;
+
+		/**
+		 * Main collection
+		 */
+		private final PersistentVector<E> main;
+
+		SubList(PersistentVector<E> main, int offset, int size) {
+			this.offset = offset;
+			this.size = size;
+			this.main = main;
+		}
+
+		@Override
+		public int size() {
+			return size;
+		}
+
+		@Override
+		public E get(int index) {
+			checkIndexAndThrowIfNeed(index, size);
+
+			return main.get(offset + index);
+		}
+
+		@SuppressWarnings({ "unchecked" })
+		@Override
+		public <T> T[] toArray(T[] a) {
+			if (a.length < size)
+				a = (T[]) Array.newInstance(a.getClass().getComponentType(), size);
+			if (a.length > size)
+				a[size] = null;
+
+			for (int i = 0; i < size; ++i)
+				a[i] = (T) main.get(offset + i);
+
+			return a;
+		}
+
+		@Override
+		public List<E> subList(int fromIndex, int toIndex) {
+			checkSubListAndThrowIfNeed(fromIndex, toIndex, size);
+
+			return new SubList<>(main, offset + fromIndex, toIndex - fromIndex);
+		}
+
+		@Override
+		public ListIterator<E> listIterator(int index) {
+			if (index < 0 || index > size)
+				throw new IndexOutOfBoundsException(index);
+
+			return new IndexListIterator<>(this, index, 0, size);
+		}
+
+		@Override
+		public E set(int index, E element) {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public void add(int index, E element) {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public boolean addAll(int index, Collection<? extends E> c) {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public E remove(int index) {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public boolean remove(Object o) {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public void clear() {
+			throw new UnsupportedOperationException();
+		}
+
+	}
+
+}
@@ -0,0 +1,386 @@
+package com.github.lotashinski.collections;
+
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
+
+/**
+ * Stable radix sorts over a range of an array, by a key extracted from every
+ * element. Used by {@link CustomList} to sort by {@code int}, {@code long} and
+ * {@code String} keys without calling a comparator.
+ *
+ * <p>
+ * The key of every element is extracted once. Integer keys are sorted with a
+ * least significant digit first radix sort, one byte per pass; a pass is
+ * skipped when all keys have the same byte in it. String keys are sorted with a
+ * most significant digit first radix sort, one character per level, and short
+ * buckets are finished with insertion sort.
+ *
+ * <p>
+ * The elements and the keys are copied to scratch arrays of the length of the
+ * range, so the sorts use two such arrays of elements and two of keys.
+ *
+ * @author Alexander Lotashinsky
+ * @see CustomList#sortByIntKey(int, int, ToIntFunction)
+ * @see CustomList#sortByLongKey(int, int, ToLongFunction)
+ * @see CustomList#sortByStringKey(int, int, Function)
+ */
+final class RadixSort {
+
+	/**
+	 * Number of values of a digit.
+	 */
+	private static final int RADIX = 256;
+
+	/**
+	 * Buckets of the string sort: null key, end of the key, characters below
+	 * {@code RADIX}, and the characters above.
+	 */
+	private static final int NULL_BUCKET = 0;
+
+	private static final int END_BUCKET = 1;
+
+	private static final int FIRST_CHAR_BUCKET = 2;
+
+	private static final int WIDE_CHAR_BUCKET = FIRST_CHAR_BUCKET + RADIX;
+
+	/**
+	 * Buckets of the string sort not longer than this are sorted with insertion
+	 * sort.
+	 */
+	private static final int INSERTION_SORT_THRESHOLD = 16;
+
+	private RadixSort() {
+	}
+
+	/**
+	 * Sorts {@code a[from, to)} in the ascending order of the signed {@code int}
+	 * keys. Equal keys are not reordered.
+	 *
+	 * @param <T>  the type of elements in the range
+	 * @param a    array to be sorted
+	 * @param from low endpoint (inclusive)
+	 * @param to   high endpoint (exclusive)
+	 * @param key  extracts the key of an element
+	 */
+	@SuppressWarnings("unchecked")
+	static <T> void sortByIntKey(Object[] a, int from, int to, ToIntFunction<? super T> key) {
+		int length = to - from;
+		if (length < 2)
+			return;
+
+		int[] keys = new int[length];
+		for (int i = 0; i < length; ++i)
+			keys[i] = key.applyAsInt((T) a[from + i]) ^ Integer.MIN_VALUE;
+
+		int[][] counts = new int[Integer.BYTES][RADIX];
+		for (int k : keys)
+			for (int digit = 0; digit < Integer.BYTES; ++digit)
+				counts[digit][(k >>> (digit << 3)) & 0xFF]++;
+
+		Object[] elements = new Object[length];
+		System.arraycopy(a, from, elements, 0, length);
+		int[] keyBuffer = new int[length];
+		Object[] elementBuffer = new Object[length];
+
+		for (int digit = 0; digit < Integer.BYTES; ++digit) {
+			int[] count = counts[digit];
+			if (isSingleBucket(count, length))
+				continue;
+
+			int shift = digit << 3;
+			toOffsets(count);
+			for (int i = 0; i < length; ++i) {
+				int position = count[(keys[i] >>> shift) & 0xFF]++;
+				keyBuffer[position] = keys[i];
+				elementBuffer[position] = elements[i];
+			}
+
+			int[] tmpKeys = keys;
+			keys = keyBuffer;
+			keyBuffer = tmpKeys;
+			Object[] tmpElements = elements;
+			elements = elementBuffer;
+			elementBuffer = tmpElements;
+		}
+
+		System.arraycopy(elements, 0, a, from, length);
+	}
+
+	/**
+	 * Sorts {@code a[from, to)} in the ascending order of the signed {@code long}
+	 * keys. Equal keys are not reordered.
+	 *
+	 * @param <T>  the type of elements in the range
+	 * @param a    array to be sorted
+	 * @param from low endpoint (inclusive)
+	 * @param to   high endpoint (exclusive)
+	 * @param key  extracts the key of an element
+	 */
+	@SuppressWarnings("unchecked")
+	static <T> void sortByLongKey(Object[] a, int from, int to, ToLongFunction<? super T> key) {
+		int length = to - from;
+		if (length < 2)
+			return;
+
+		long[] keys = new long[length];
+		for (int i = 0; i < length; ++i)
+			keys[i] = key.applyAsLong((T) a[from + i]) ^ Long.MIN_VALUE;
+
+		int[][] counts = new int[Long.BYTES][RADIX];
+		for (long k : keys)
+			for (int digit = 0; digit < Long.BYTES; ++digit)
+				counts[digit][(int) (k >>> (digit << 3)) & 0xFF]++;
+
+		Object[] elements = new Object[length];
+		System.arraycopy(a, from, elements, 0, length);
+		long[] keyBuffer = new long[length];
+		Object[] elementBuffer = new Object[length];
+
+		for (int digit = 0; digit < Long.BYTES; ++digit) {
+			int[] count = counts[digit];
+			if (isSingleBucket(count, length))
+				continue;
+
+			int shift = digit << 3;
+			toOffsets(count);
+			for (int i = 0; i < length; ++i) {
+				int position = count[(int) (keys[i] >>> shift) & 0xFF]++;
+				keyBuffer[position] = keys[i];
+				elementBuffer[position] = elements[i];
+			}
+
+			long[] tmpKeys = keys;
+			keys = keyBuffer;
+			keyBuffer = tmpKeys;
+			Object[] tmpElements = elements;
+			elements = elementBuffer;
+			elementBuffer = tmpElements;
+		}
+
+		System.arraycopy(elements, 0, a, from, length);
+	}
+
+	/**
+	 * Sorts {@code a[from, to)} in the order of {@code String.compareTo} of the
+	 * keys; {@code null} keys go first. Equal keys are not reordered.
+	 *
+	 * @param <T>  the type of elements in the range
+	 * @param a    array to be sorted
+	 * @param from low endpoint (inclusive)
+	 * @param to   high endpoint (exclusive)
+	 * @param key  extracts the key of an element
+	 */
+	@SuppressWarnings("unchecked")
+	static <T> void sortByStringKey(Object[] a, int from, int to, Function<? super T, String> key) {
+		int length = to - from;
+		if (length < 2)
+			return;
+
+		String[] keys = new String[length];
+		for (int i = 0; i < length; ++i)
+			keys[i] = key.apply((T) a[from + i]);
+
+		Object[] elements = new Object[length];
+		System.arraycopy(a, from, elements, 0, length);
+
+		new StringSorter(keys, elements).sort(0, length, 0);
+
+		System.arraycopy(elements, 0, a, from, length);
+	}
+
+	private static boolean isSingleBucket(int[] count, int length) {
+		for (int c : count)
+			if (c != 0)
+				return c == length;
+
+		return true;
+	}
+
+	/**
+	 * Replaces the counts with the offsets of the buckets.
+	 */
+	private static void toOffsets(int[] count) {
+		int offset = 0;
+		for (int i = 0; i < count.length; ++i) {
+			int c = count[i];
+			count[i] = offset;
+			offset += c;
+		}
+	}
+
+	/**
+	 * MSD radix sort of the elements by their string keys. Ranges of both arrays
+	 * are distributed to the buffers by one character and copied back, then every
+	 * bucket is sorted by the next character.
+	 */
+	private static final class StringSorter {
+
+		private final String[] keys;
+
+		private final Object[] elements;
+
+		private final String[] keyBuffer;
+
+		private final Object[] elementBuffer;
+
+		StringSorter(String[] keys, Object[] elements) {
+			this.keys = keys;
+			this.elements = elements;
+			keyBuffer = new String[keys.length];
+			elementBuffer = new Object[elements.length];
+		}
+
+		/**
+		 * Sorts {@code [lo, hi)}, whose keys share the first {@code depth}
+		 * characters.
+		 */
+		void sort(int lo, int hi, int depth) {
+			while (hi - lo > INSERTION_SORT_THRESHOLD) {
+				int[] count = new int[WIDE_CHAR_BUCKET + 2];
+				for (int i = lo; i < hi; ++i)
+					count[bucket(keys[i], depth) + 1]++;
+
+				/*
+				 * All keys have the same character: go to the next one without moving
+				 * anything.
+				 */
+				int single = bucket(keys[lo], depth);
+				if (count[single + 1] == hi - lo) {
+					if (single < FIRST_CHAR_BUCKET)
+						return;
+					if (single == WIDE_CHAR_BUCKET) {
+						sortWide(lo, hi, depth);
+						return;
+					}
+
+					depth++;
+					continue;
+				}
+
+				for (int i = 1; i < count.length; ++i)
+					count[i] += count[i - 1];
+				for (int i = lo; i < hi; ++i) {
+					int position = lo + count[bucket(keys[i], depth)]++;
+					keyBuffer[position] = keys[i];
+					elementBuffer[position] = elements[i];
+				}
+				copyBack(lo, hi);
+
+				/*
+				 * count[b] is now the end of the bucket b relative to lo.
+				 */
+				for (int b = FIRST_CHAR_BUCKET; b < WIDE_CHAR_BUCKET; ++b) {
+					int start = lo + (b == 0 ? 0 : count[b - 1]);
+					int end = lo + count[b];
+					if (end - start > 1)
+						sort(start, end, depth + 1);
+				}
+
+				int wideStart = lo + count[WIDE_CHAR_BUCKET - 1];
+				if (hi - wideStart > 1)
+					sortWide(wideStart, hi, depth);
+				return;
+			}
+
+			insertionSort(lo, hi, depth);
+		}
+
+		/**
+		 * Sorts {@code [lo, hi)}, whose keys share the first {@code depth}
+		 * characters and have a character not below {@code RADIX} at {@code depth},
+		 * by the high and then the low byte of that character.
+		 */
+		private void sortWide(int lo, int hi, int depth) {
+			int[] high = distribute(lo, hi, depth, 8);
+			for (int h = 0; h < RADIX; ++h) {
+				int start = lo + (h == 0 ? 0 : high[h - 1]);
+				int end = lo + high[h];
+				if (end - start < 2)
+					continue;
+
+				int[] low = distribute(start, end, depth, 0);
+				for (int l = 0; l < RADIX; ++l) {
+					int lowStart = start + (l == 0 ? 0 : low[l - 1]);
+					int lowEnd = start + low[l];
+					if (lowEnd - lowStart > 1)
+						sort(lowStart, lowEnd, depth + 1);
+				}
+			}
+		}
+
+		/**
+		 * Distributes {@code [lo, hi)} by a byte of the character at
+		 * {@code depth}.
+		 *
+		 * @return ends of the buckets relative to {@code lo}
+		 */
+		private int[] distribute(int lo, int hi, int depth, int shift) {
+			int[] count = new int[RADIX + 1];
+			for (int i = lo; i < hi; ++i)
+				count[((keys[i].charAt(depth) >>> shift) & 0xFF) + 1]++;
+			for (int i = 1; i < count.length; ++i)
+				count[i] += count[i - 1];
+
+			for (int i = lo; i < hi; ++i) {
+				int position = lo + count[(keys[i].charAt(depth) >>> shift) & 0xFF]++;
+				keyBuffer[position] = keys[i];
+				elementBuffer[position] = elements[i];
+			}
+			copyBack(lo, hi);
+
+			return count;
+		}
+
+		private void insertionSort(int lo, int hi, int depth) {
+			for (int i = lo + 1; i < hi; ++i) {
+				String key = keys[i];
+				Object element = elements[i];
+				int j = i;
+				for (; j > lo && compare(key, keys[j - 1], depth) < 0; --j) {
+					keys[j] = keys[j - 1];
+					elements[j] = elements[j - 1];
+				}
+
+				keys[j] = key;
+				elements[j] = element;
+			}
+		}
+
+		private void copyBack(int lo, int hi) {
+			System.arraycopy(keyBuffer, lo, keys, lo, hi - lo);
+			System.arraycopy(elementBuffer, lo, elements, lo, hi - lo);
+		}
+
+		/**
+		 * Compares keys which share the first {@code depth} characters.
+		 */
+		private static int compare(String s1, String s2, int depth) {
+			if (s1 == null || s2 == null)
+				return s1 == null ? (s2 == null ? 0 : -1) : 1;
+
+			int length = Math.min(s1.length(), s2.length());
+			for (int i = depth; i < length; ++i) {
+				char c1 = s1.charAt(i);
+				char c2 = s2.charAt(i);
+				if (c1 != c2)
+					return c1 - c2;
+			}
+
+			return s1.length() - s2.length();
+		}
+
+		private static int bucket(String key, int depth) {
+			if (key == null)
+				return NULL_BUCKET;
+			if (depth == key.length())
+				return END_BUCKET;
+
+			char c = key.charAt(depth);
+
+			return c < RADIX ? FIRST_CHAR_BUCKET + c : WIDE_CHAR_BUCKET;
+		}
+
+	}
+
+}
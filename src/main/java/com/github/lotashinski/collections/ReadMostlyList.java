@@ -0,0 +1,536 @@
+package com.github.lotashinski.collections;
+
+import java.lang.reflect.Array;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.ListIterator;
+import java.util.Objects;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.function.UnaryOperator;
+
+/**
+ * Thread-safe implementation based on an array of the {@code List} interface,
+ * for lists which are read much more often than they are changed.
+ *
+ * <p>
+ * Access is guarded by a {@link StampedLock}. The reading operations
+ * ({@code size}, {@code get}, {@code indexOf}, {@code lastIndexOf},
+ * {@code contains}, {@code toArray}) read the backing array optimistically,
+ * without taking the lock, and validate the stamp afterwards; only if a writer
+ * has intervened, they repeat the read under the read lock. Every modifying
+ * operation, including the bulk ones ({@code addAll}, {@code removeAll},
+ * {@code retainAll}, {@code removeIf}, {@code replaceAll}, {@code sort}), runs
+ * under a single acquisition of the write lock and is therefore atomic.
+ *
+ * <p>
+ * Iterators, {@code forEach} and {@code subList} work on a snapshot of the list
+ * taken under one consistent read; they never throw
+ * {@code ConcurrentModificationException} and do not support modification.
+ *
+ * @param <T> the type of elements in this list
+ *
+ * @author Alexander Lotashinsky
+ * @see CustomList
+ * @see StampedLock
+ */
+public class ReadMostlyList<T> extends AbstractList<T> implements List<T> {
+
+	/**
+	 * Default initial capacity.
+	 */
+	private static final int INIT_CAPACITY = 10;
+
+	private final StampedLock lock = new StampedLock();
+
+	/**
+	 * Array with stored collection elements
+	 */
+	private Object[] container;
+
+	/**
+	 * The size of the list
+	 */
+	private int size;
+
+	/**
+	 * Creates an empty collection
+	 */
+	public ReadMostlyList() {
+		container = new Object[INIT_CAPACITY];
+	}
+
+	/**
+	 * Creates a collection based on producer, preserving the order of elements from
+	 * {@code producer.toArray()}.
+	 *
+	 * @param producer source collection
+	 */
+	public ReadMostlyList(Collection<? extends T> producer) {
+		Object[] elements = producer.toArray();
+		if (elements.getClass() != Object[].class)
+			elements = Arrays.copyOf(elements, elements.length, Object[].class);
+
+		container = elements;
+		size = elements.length;
+	}
+
+	@Override
+	public int size() {
+		long stamp = lock.tryOptimisticRead();
+		int size = this.size;
+		if (lock.validate(stamp))
+			return size;
+
+		stamp = lock.readLock();
+		try {
+			return this.size;
+		} finally {
+			lock.unlockRead(stamp);
+		}
+	}
+
+	/**
+	 * Returns the element at the specified position in this list.
+	 *
+	 * @param index index of the element to return
+	 * @return the element at the specified position in this list
+	 * @throws IndexOutOfBoundsException if the index is out of range
+	 *                                   ({@code index < 0 || index >= size()})
+	 */
+	@SuppressWarnings("unchecked")
+	@Override
+	public T get(int index) {
+		long stamp = lock.tryOptimisticRead();
+		Object[] container = this.container;
+		int size = this.size;
+		Object element = index >= 0 && index < size && index < container.length ? container[index] : null;
+
+		if (!lock.validate(stamp)) {
+			stamp = lock.readLock();
+			try {
+				size = this.size;
+				element = index >= 0 && index < size ? this.container[index] : null;
+			} finally {
+				lock.unlockRead(stamp);
+			}
+		}
+
+		if (index < 0 || index >= size)
+			throw new IndexOutOfBoundsException(index);
+
+		return (T) element;
+	}
+
+	@Override
+	public int indexOf(Object o) {
+		long stamp = lock.tryOptimisticRead();
+		int index = indexOf(o, this.container, this.size);
+		if (lock.validate(stamp))
+			return index;
+
+		stamp = lock.readLock();
+		try {
+			return indexOf(o, this.container, this.size);
+		} finally {
+			lock.unlockRead(stamp);
+		}
+	}
+
+	@Override
+	public int lastIndexOf(Object o) {
+		long stamp = lock.tryOptimisticRead();
+		int index = lastIndexOf(o, this.container, this.size);
+		if (lock.validate(stamp))
+			return index;
+
+		stamp = lock.readLock();
+		try {
+			return lastIndexOf(o, this.container, this.size);
+		} finally {
+			lock.unlockRead(stamp);
+		}
+	}
+
+	@Override
+	public boolean contains(Object o) {
+		return indexOf(o) >= 0;
+	}
+
+	@Override
+	public Object[] toArray() {
+		return snapshot();
+	}
+
+	@SuppressWarnings({ "hiding", "unchecked" })
+	@Override
+	public <T> T[] toArray(T[] a) {
+		Object[] snapshot = snapshot();
+		if (a.length < snapshot.length)
+			a = (T[]) Array.newInstance(a.getClass().componentType(), snapshot.length);
+		if (a.length > snapshot.length)
+			a[snapshot.length] = null;
+
+		System.arraycopy(snapshot, 0, a, 0, snapshot.length);
+
+		return a;
+	}
+
+	/**
+	 * Returns a copy of this list taken under one consistent read.
+	 *
+	 * @return a new {@code CustomList} with the elements of this list
+	 */
+	public CustomList<T> toCustomList() {
+		Object[] snapshot = snapshot();
+
+		return new CustomList<>(snapshot, snapshot.length);
+	}
+
+	/**
+	 * Replaces the element at the specified position in this list with the
+	 * specified element.
+	 *
+	 * @param index   index of the element to replace
+	 * @param element element to be stored at the specified position
+	 * @return the element previously at the specified position
+	 * @throws IndexOutOfBoundsException if the index is out of range
+	 *                                   ({@code index < 0 || index >= size()})
+	 */
+	@SuppressWarnings("unchecked")
+	@Override
+	public T set(int index, T element) {
+		long stamp = lock.writeLock();
+		try {
+			checkIndexAndThrowIfNeed(index);
+
+			Object previous = container[index];
+			container[index] = element;
+
+			return (T) previous;
+		} finally {
+			lock.unlockWrite(stamp);
+		}
+	}
+
+	@Override
+	public boolean add(T element) {
+		long stamp = lock.writeLock();
+		try {
+			ensureCapacity(size + 1);
+			container[size++] = element;
+
+			return true;
+		} finally {
+			lock.unlockWrite(stamp);
+		}
+	}
+
+	@Override
+	public void add(int index, T element) {
+		long stamp = lock.writeLock();
+		try {
+			checkRangeAndThrowIfNeed(index);
+			ensureCapacity(size + 1);
+
+			System.arraycopy(container, index, container, index + 1, size - index);
+			container[index] = element;
+			size++;
+		} finally {
+			lock.unlockWrite(stamp);
+		}
+	}
+
+	/**
+	 * Appends all of the elements in the specified collection to the end of this
+	 * list atomically: no reader observes a part of them.
+	 */
+	@Override
+	public boolean addAll(Collection<? extends T> c) {
+		Object[] elements = c.toArray();
+		if (elements.length == 0)
+			return false;
+
+		long stamp = lock.writeLock();
+		try {
+			insert(size, elements);
+
+			return true;
+		} finally {
+			lock.unlockWrite(stamp);
+		}
+	}
+
+	/**
+	 * Inserts all of the elements in the specified collection at the specified
+	 * position atomically: no reader observes a part of them.
+	 */
+	@Override
+	public boolean addAll(int index, Collection<? extends T> c) {
+		Object[] elements = c.toArray();
+
+		long stamp = lock.writeLock();
+		try {
+			checkRangeAndThrowIfNeed(index);
+			if (elements.length == 0)
+				return false;
+
+			insert(index, elements);
+
+			return true;
+		} finally {
+			lock.unlockWrite(stamp);
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	@Override
+	public T remove(int index) {
+		long stamp = lock.writeLock();
+		try {
+			checkIndexAndThrowIfNeed(index);
+
+			Object previous = container[index];
+			System.arraycopy(container, index + 1, container, index, size - index - 1);
+			container[--size] = null;
+
+			return (T) previous;
+		} finally {
+			lock.unlockWrite(stamp);
+		}
+	}
+
+	@Override
+	public boolean remove(Object o) {
+		long stamp = lock.writeLock();
+		try {
+			int index = indexOf(o, container, size);
+			if (index < 0)
+				return false;
+
+			System.arraycopy(container, index + 1, container, index, size - index - 1);
+			container[--size] = null;
+
+			return true;
+		} finally {
+			lock.unlockWrite(stamp);
+		}
+	}
+
+	/**
+	 * Removes all of the elements of this collection that satisfy the given
+	 * predicate, atomically and in a single compaction pass. Also used by
+	 * {@code removeAll} and {@code retainAll}. The predicate is called under the
+	 * write lock and must not access this list.
+	 *
+	 * @param filter a predicate which returns {@code true} for elements to be
+	 *               removed
+	 * @return {@code true} if any elements were removed
+	 * @throws NullPointerException if the specified filter is null
+	 */
+	@SuppressWarnings("unchecked")
+	@Override
+	public boolean removeIf(Predicate<? super T> filter) {
+		Objects.requireNonNull(filter);
+
+		long stamp = lock.writeLock();
+		try {
+			int read = 0;
+			int write = 0;
+			try {
+				for (; read < size; ++read) {
+					Object element = container[read];
+					if (!filter.test((T) element))
+						container[write++] = element;
+				}
+			} finally {
+				System.arraycopy(container, read, container, write, size - read);
+				int newSize = size - (read - write);
+				Arrays.fill(container, newSize, size, null);
+				size = newSize;
+			}
+
+			return read != write;
+		} finally {
+			lock.unlockWrite(stamp);
+		}
+	}
+
+	/**
+	 * Replaces each element of this list with the result of applying the operator
+	 * to that element, atomically. The operator is called under the write lock and
+	 * must not access this list.
+	 */
+	@SuppressWarnings("unchecked")
+	@Override
+	public void replaceAll(UnaryOperator<T> operator) {
+		Objects.requireNonNull(operator);
+
+		long stamp = lock.writeLock();
+		try {
+			for (int i = 0; i < size; ++i)
+				container[i] = operator.apply((T) container[i]);
+		} finally {
+			lock.unlockWrite(stamp);
+		}
+	}
+
+	/**
+	 * Sorts this list atomically with the stable merge sort of {@link CustomList}.
+	 * {@code null} comparator means the default ordering of {@link CustomList}.
+	 * The comparator is called under the write lock and must not access this list.
+	 *
+	 * @param comparator will be used for comparison
+	 */
+	@Override
+	public void sort(Comparator<? super T> comparator) {
+		if (comparator == null)
+			comparator = new OrderingComparator<T>();
+
+		long stamp = lock.writeLock();
+		try {
+			MergeSort.sort(container, 0, size, comparator);
+		} finally {
+			lock.unlockWrite(stamp);
+		}
+	}
+
+	@Override
+	public void clear() {
+		long stamp = lock.writeLock();
+		try {
+			Arrays.fill(container, 0, size, null);
+			size = 0;
+		} finally {
+			lock.unlockWrite(stamp);
+		}
+	}
+
+	/**
+	 * Performs the given action for each element of a snapshot of this list.
+	 */
+	@SuppressWarnings("unchecked")
+	@Override
+	public void forEach(Consumer<? super T> action) {
+		Objects.requireNonNull(action);
+
+		for (Object element : snapshot())
+			action.accept((T) element);
+	}
+
+	/**
+	 * Returns a read-only list iterator over a snapshot of this list.
+	 */
+	@Override
+	public ListIterator<T> listIterator(int index) {
+		return ReadMostlyList.<T>snapshotList(snapshot()).listIterator(index);
+	}
+
+	/**
+	 * Returns an unmodifiable snapshot of the portion of this list between the
+	 * specified {@code fromIndex}, inclusive, and {@code toIndex}, exclusive. Unlike
+	 * the views of the other lists, the snapshot does not reflect later changes of
+	 * this list.
+	 *
+	 * @param fromIndex low endpoint (inclusive) of the subList
+	 * @param toIndex   high endpoint (exclusive) of the subList
+	 * @return a snapshot of the specified range within this list
+	 * @throws IndexOutOfBoundsException for an illegal endpoint index value
+	 *                                   ({@code fromIndex < 0 || toIndex > size ||
+	 *         fromIndex > toIndex}   )
+	 */
+	@Override
+	public List<T> subList(int fromIndex, int toIndex) {
+		Object[] snapshot = snapshot();
+		if (fromIndex < 0 || toIndex > snapshot.length || fromIndex > toIndex)
+			throw new IndexOutOfBoundsException("fromIndex: " + fromIndex + ", toIndex: " + toIndex);
+
+		return snapshotList(Arrays.copyOfRange(snapshot, fromIndex, toIndex));
+	}
+
+	/**
+	 * Copies the elements under one consistent read.
+	 */
+	private Object[] snapshot() {
+		long stamp = lock.tryOptimisticRead();
+		Object[] container = this.container;
+		Object[] snapshot = Arrays.copyOf(container, Math.min(this.size, container.length));
+		if (lock.validate(stamp))
+			return snapshot;
+
+		stamp = lock.readLock();
+		try {
+			return Arrays.copyOf(this.container, this.size);
+		} finally {
+			lock.unlockRead(stamp);
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	private static <E> List<E> snapshotList(Object[] snapshot) {
+		return (List<E>) Collections.unmodifiableList(Arrays.asList(snapshot));
+	}
+
+	/**
+	 * Inserts the elements at the index. Called under the write lock.
+	 */
+	private void insert(int index, Object[] elements) {
+		ensureCapacity(size + elements.length);
+
+		System.arraycopy(container, index, container, index + elements.length, size - index);
+		System.arraycopy(elements, 0, container, index, elements.length);
+		size += elements.length;
+	}
+
+	/**
+	 * Grows the backing array. Called under the write lock.
+	 */
+	private void ensureCapacity(int capacity) {
+		if (capacity < 0)
+			throw new OutOfMemoryError("Required array size too large");
+		if (capacity <= container.length)
+			return;
+
+		int newCapacity = Math.max(container.length, INIT_CAPACITY);
+		while (newCapacity < capacity && newCapacity > 0)
+			newCapacity <<= 1;
+		if (newCapacity < capacity)
+			newCapacity = capacity;
+
+		container = Arrays.copyOf(container, newCapacity);
+	}
+
+	private static int indexOf(Object o, Object[] container, int size) {
+		size = Math.min(size, container.length);
+		for (int i = 0; i < size; ++i) {
+			if (Objects.equals(o, container[i]))
+				return i;
+		}
+
+		return -1;
+	}
+
+	private static int lastIndexOf(Object o, Object[] container, int size) {
+		for (int i = Math.min(size, container.length) - 1; i >= 0; --i) {
+			if (Objects.equals(o, container[i]))
+				return i;
+		}
+
+		return -1;
+	}
+
+	private void checkIndexAndThrowIfNeed(int index) {
+		if (index < 0 || index >= size)
+			throw new IndexOutOfBoundsException(index);
+	}
+
+	private void checkRangeAndThrowIfNeed(int index) {
+		if (index < 0 || index > size)
+			throw new IndexOutOfBoundsException(index);
+	}
+
+}
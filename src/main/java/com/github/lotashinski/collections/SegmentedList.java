@@ -0,0 +1,777 @@
+package com.github.lotashinski.collections;
+
+import java.lang.reflect.Array;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.ConcurrentModificationException;
+import java.util.List;
+import java.util.ListIterator;
+import java.util.Objects;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * Implementation of the {@code List} interface which stores its elements in
+ * fixed-size chunks referenced from a chunk directory, instead of one
+ * contiguous array.
+ *
+ * <p>
+ * The list grows by allocating one more chunk; the stored elements are never
+ * copied to a larger array, so growth causes neither a latency spike nor a
+ * temporary doubling of the memory, and no allocation is larger than a chunk.
+ * Only the directory, one reference per chunk, is reallocated.
+ *
+ * <p>
+ * The {@code size}, {@code isEmpty}, {@code get}, {@code set}, {@code iterator}
+ * and {@code listIterator} operations run in constant time: the chunk and the
+ * offset of an element are its index shifted and masked. The {@code add}
+ * operation runs in amortized constant time. All of the other operations run
+ * in linear time; {@code toArray}, {@code forEach} and the shifts of insertion
+ * and removal copy whole chunk segments with {@code System.arraycopy}, and
+ * {@link #sort(Comparator)} sorts chunk by chunk and then merges the chunks.
+ *
+ * @param <T> the type of elements in this list
+ *
+ * @author Alexander Lotashinsky
+ * @see CustomList
+ * @see List
+ */
+public class SegmentedList<T> extends AbstractList<T> implements List<T> {
+
+	/**
+	 * Default number of elements in a chunk.
+	 */
+	public static final int DEFAULT_CHUNK_SIZE = 1 << 12;
+
+	/**
+	 * Initial length of the chunk directory.
+	 */
+	private static final int INIT_DIRECTORY_CAPACITY = 4;
+
+	/**
+	 * {@code log2(chunkSize)}
+	 */
+	private final int chunkShift;
+
+	private final int chunkMask;
+
+	/**
+	 * Chunk directory. The first {@code chunkCount} entries are allocated
+	 */
+	private Object[][] chunks = new Object[INIT_DIRECTORY_CAPACITY][];
+
+	private int chunkCount;
+
+	/**
+	 * The size of the SegmentedList
+	 */
+	private int size;
+
+	/**
+	 * Counter of structural changes (remove, add, clear and other).
+	 *
+	 * Necessary for SubList
+	 */
+	private int version = 0;
+
+	/**
+	 * Creates an empty collection with chunks of {@link #DEFAULT_CHUNK_SIZE}
+	 * elements
+	 */
+	public SegmentedList() {
+		this(DEFAULT_CHUNK_SIZE);
+	}
+
+	/**
+	 * Creates an empty collection.
+	 *
+	 * @param chunkSize number of elements in a chunk, a power of two
+	 * @throws IllegalArgumentException if the chunk size is not a positive power
+	 *                                  of two
+	 */
+	public SegmentedList(int chunkSize) {
+		if (chunkSize <= 0 || Integer.bitCount(chunkSize) != 1)
+			throw new IllegalArgumentException("Illegal chunk size: " + chunkSize);
+
+		chunkShift = Integer.numberOfTrailingZeros(chunkSize);
+		chunkMask = chunkSize - 1;
+	}
+
+	/**
+	 * Creates a collection based on producer, preserving the order of elements from
+	 * {@code producr.toArray()}, with chunks of {@link #DEFAULT_CHUNK_SIZE}
+	 * elements.
+	 *
+	 * @param producer source collection. Serves as a source for initialization
+	 */
+	public SegmentedList(Collection<? extends T> producer) {
+		this(DEFAULT_CHUNK_SIZE);
+
+		Object[] elements = producer.toArray();
+		ensureCapacity(elements.length);
+		copyIn(elements, 0);
+		size = elements.length;
+	}
+
+	/**
+	 * Returns the number of elements in this list.
+	 *
+	 * @return the number of elements in this list
+	 */
+	@Override
+	public int size() {
+		return size;
+	}
+
+	@SuppressWarnings({ "hiding", "unchecked" })
+	@Override
+	public <T> T[] toArray(T[] a) {
+		if (a.length < size)
+			a = (T[]) Array.newInstance(a.getClass().componentType(), size);
+		if (a.length > size)
+			a[size] = null;
+
+		copyOut(0, a, 0, size);
+
+		return a;
+	}
+
+	/**
+	 * Returns the element at the specified position in this list.
+	 *
+	 * @param index index of the element to return
+	 * @return the element at the specified position in this list
+	 * @throws IndexOutOfBoundsException if the index is out of range
+	 *                                   ({@code index < 0 || index >= size()})
+	 */
+	@SuppressWarnings("unchecked")
+	@Override
+	public T get(int index) {
+		checkIndexAndThrowIfNeed(index);
+
+		return (T) chunks[index >>> chunkShift][index & chunkMask];
+	}
+
+	/**
+	 * Replaces the element at the specified position in this list with the
+	 * specified element.
+	 *
+	 * @param index   index of the element to replace
+	 * @param element element to be stored at the specified position
+	 * @return the element previously at the specified position
+	 * @throws IndexOutOfBoundsException if the index is out of range
+	 *                                   ({@code index < 0 || index >= size()})
+	 */
+	@SuppressWarnings("unchecked")
+	@Override
+	public T set(int index, T element) {
+		checkIndexAndThrowIfNeed(index);
+
+		Object[] chunk = chunks[index >>> chunkShift];
+		Object previous = chunk[index & chunkMask];
+		chunk[index & chunkMask] = element;
+
+		return (T) previous;
+	}
+
+	@Override
+	public boolean add(T element) {
+		ensureCapacity(size + 1);
+		chunks[size >>> chunkShift][size & chunkMask] = element;
+		size++;
+		incVersion();
+
+		return true;
+	}
+
+	/**
+	 * Inserts the specified element at the specified position in this list. Shifts
+	 * the element currently at that position (if any) and any subsequent elements
+	 * to the right.
+	 *
+	 * @param index   index at which the specified element is to be inserted
+	 * @param element element to be inserted
+	 * @throws IndexOutOfBoundsException if the index is out of range
+	 *                                   ({@code index < 0 || index > size()})
+	 */
+	@Override
+	public void add(int index, T element) {
+		checkRangeAndThrowIfNeed(index);
+		ensureCapacity(size + 1);
+
+		moveRange(index, index + 1, size - index);
+		chunks[index >>> chunkShift][index & chunkMask] = element;
+		size++;
+		incVersion();
+	}
+
+	@Override
+	public boolean addAll(int index, Collection<? extends T> c) {
+		checkRangeAndThrowIfNeed(index);
+
+		Object[] elements = c.toArray();
+		if (elements.length == 0)
+			return false;
+		if (elements.length > Integer.MAX_VALUE - size)
+			throw new OutOfMemoryError("Required list size too large");
+
+		ensureCapacity(size + elements.length);
+		moveRange(index, index + elements.length, size - index);
+		copyIn(elements, index);
+		size += elements.length;
+		incVersion();
+
+		return true;
+	}
+
+	/**
+	 * Removes the element at the specified position in this list. Shifts any
+	 * subsequent elements to the left.
+	 *
+	 * @param index the index of the element to be removed
+	 * @return the element previously at the specified position
+	 * @throws IndexOutOfBoundsException if the index is out of range
+	 *                                   ({@code index < 0 || index >= size()})
+	 */
+	@Override
+	public T remove(int index) {
+		T element = get(index);
+		removeRange(index, index + 1);
+
+		return element;
+	}
+
+	@Override
+	public boolean remove(Object o) {
+		int index = indexOf(o);
+		if (index == -1)
+			return false;
+
+		removeRange(index, index + 1);
+
+		return true;
+	}
+
+	/**
+	 * Removes all of the elements of this collection that satisfy the given
+	 * predicate in a single compaction pass.
+	 *
+	 * @param filter a predicate which returns {@code true} for elements to be
+	 *               removed
+	 * @return {@code true} if any elements were removed
+	 * @throws NullPointerException if the specified filter is null
+	 */
+	@Override
+	public boolean removeIf(Predicate<? super T> filter) {
+		return batchRemove(0, size, filter) > 0;
+	}
+
+	/**
+	 * Removes all of the elements from this list. The chunks are kept for reuse;
+	 * use {@link #trimToSize()} to release them.
+	 */
+	@Override
+	public void clear() {
+		if (size == 0)
+			return;
+
+		clearSlots(0, size);
+		size = 0;
+		incVersion();
+	}
+
+	/**
+	 * Releases the chunks which hold no elements.
+	 */
+	public void trimToSize() {
+		int used = (int) (((long) size + chunkMask) >>> chunkShift);
+		for (int i = used; i < chunkCount; ++i)
+			chunks[i] = null;
+
+		chunkCount = used;
+		chunks = Arrays.copyOf(chunks, Math.max(used, INIT_DIRECTORY_CAPACITY));
+	}
+
+	/**
+	 * Performs the given action for each element of this list, in order, chunk by
+	 * chunk.
+	 *
+	 * @param action the action to be performed for each element
+	 * @throws NullPointerException            if the specified action is null
+	 * @throws ConcurrentModificationException if the list has been structurally
+	 *                                         modified by the action
+	 */
+	@SuppressWarnings("unchecked")
+	@Override
+	public void forEach(Consumer<? super T> action) {
+		Objects.requireNonNull(action);
+
+		int expectedVersion = version;
+		int size = this.size;
+		Object[][] chunks = this.chunks;
+		for (int start = 0; start < size; start += chunkMask + 1) {
+			Object[] chunk = chunks[start >>> chunkShift];
+			int end = Math.min(chunk.length, size - start);
+			for (int i = 0; i < end; ++i)
+				action.accept((T) chunk[i]);
+		}
+
+		if (version != expectedVersion)
+			throw new ConcurrentModificationException();
+	}
+
+	/**
+	 * Returns a view of the portion of this list between the specified
+	 * {@code fromIndex}, inclusive, and {@code toIndex}, exclusive.
+	 *
+	 * @param fromIndex low endpoint (inclusive) of the subList
+	 * @param toIndex   high endpoint (exclusive) of the subList
+	 * @return a view of the specified range within this list
+	 * @throws IndexOutOfBoundsException for an illegal endpoint index value
+	 *                                   ({@code fromIndex < 0 || toIndex > size ||
+	 *         fromIndex > toIndex}   )
+	 */
+	@Override
+	public List<T> subList(int fromIndex, int toIndex) {
+		checkSubListAndThrowIfNeed(fromIndex, toIndex, size);
+
+		return new SubList<>(this, fromIndex, toIndex - fromIndex);
+	}
+
+	/**
+	 * Sorts this list according to the order induced by the specified comparator.
+	 * Equal elements are not reordered.
+	 *
+	 * <p>
+	 * Every chunk is sorted in place with the merge sort of
+	 * {@link CustomList#sort(Comparator)}; then the sorted chunks are merged
+	 * pairwise, doubling the run length on each pass. The merge passes alternate
+	 * between the chunks and a second set of chunks, so no array longer than a
+	 * chunk is allocated.
+	 *
+	 * @param comparator will be used for comparison. If {@code null}, the order of
+	 *                   {@link CustomList#sort()} will be used
+	 */
+	@Override
+	public void sort(Comparator<? super T> comparator) {
+		if (comparator == null)
+			comparator = new OrderingComparator<T>();
+
+		int chunkSize = chunkMask + 1;
+		for (int start = 0; start < size; start += chunkSize)
+			MergeSort.sort(chunks[start >>> chunkShift], 0, Math.min(chunkSize, size - start), comparator);
+
+		if (size <= chunkSize)
+			return;
+
+		int used = (int) (((long) size + chunkMask) >>> chunkShift);
+		Object[][] source = Arrays.copyOf(chunks, used);
+		Object[][] target = new Object[used][];
+		for (int i = 0; i < used; ++i)
+			target[i] = new Object[chunkSize];
+
+		for (long width = chunkSize; width < size; width <<= 1) {
+			for (long lo = 0; lo < size; lo += width << 1) {
+				int mid = (int) Math.min(lo + width, size);
+				int hi = (int) Math.min(lo + (width << 1), size);
+				merge(source, target, (int) lo, mid, hi, comparator);
+			}
+
+			Object[][] tmp = source;
+			source = target;
+			target = tmp;
+		}
+
+		System.arraycopy(source, 0, chunks, 0, used);
+	}
+
+	@Override
+	public ListIterator<T> listIterator(int index) {
+		return new IndexListIterator<>(this, index, 0, size);
+	}
+
+	/**
+	 * Merges the sorted ranges {@code [lo, mid)} and {@code [mid, hi)} of
+	 * {@code source} into the same positions of {@code target}. Elements of the
+	 * left range go first when equal.
+	 */
+	@SuppressWarnings("unchecked")
+	private <E> void merge(Object[][] source, Object[][] target, int lo, int mid, int hi,
+			Comparator<? super E> comparator) {
+		if (mid == hi || comparator.compare((E) at(source, mid - 1), (E) at(source, mid)) <= 0) {
+			copy(source, lo, target, lo, hi - lo);
+			return;
+		}
+
+		int left = lo;
+		int right = mid;
+		int position = lo;
+		Object leftElement = at(source, left);
+		Object rightElement = at(source, right);
+		while (true) {
+			Object[] chunk = target[position >>> chunkShift];
+			if (comparator.compare((E) rightElement, (E) leftElement) < 0) {
+				chunk[position++ & chunkMask] = rightElement;
+				if (++right == hi)
+					break;
+				rightElement = at(source, right);
+			} else {
+				chunk[position++ & chunkMask] = leftElement;
+				if (++left == mid)
+					break;
+				leftElement = at(source, left);
+			}
+		}
+
+		copy(source, left, target, position, mid - left);
+		copy(source, right, target, position + mid - left, hi - right);
+	}
+
+	private Object at(Object[][] directory, int index) {
+		return directory[index >>> chunkShift][index & chunkMask];
+	}
+
+	/**
+	 * Copies {@code count} elements from {@code source} starting at {@code from}
+	 * to {@code target} starting at {@code to}, one chunk segment at a time. The
+	 * ranges must not overlap if the directories are the same, unless
+	 * {@code to <= from}.
+	 */
+	private void copy(Object[][] source, int from, Object[][] target, int to, int count) {
+		int chunkSize = chunkMask + 1;
+		while (count > 0) {
+			int fromOffset = from & chunkMask;
+			int toOffset = to & chunkMask;
+			int length = Math.min(count, Math.min(chunkSize - fromOffset, chunkSize - toOffset));
+
+			System.arraycopy(source[from >>> chunkShift], fromOffset, target[to >>> chunkShift], toOffset, length);
+			from += length;
+			to += length;
+			count -= length;
+		}
+	}
+
+	/**
+	 * Moves {@code count} elements from {@code from} to {@code to} within this
+	 * list. The ranges may overlap.
+	 */
+	private void moveRange(int from, int to, int count) {
+		if (count == 0 || from == to)
+			return;
+		if (to < from) {
+			copy(chunks, from, chunks, to, count);
+			return;
+		}
+
+		int fromEnd = from + count;
+		int toEnd = to + count;
+		while (count > 0) {
+			int fromAvailable = ((fromEnd - 1) & chunkMask) + 1;
+			int toAvailable = ((toEnd - 1) & chunkMask) + 1;
+			int length = Math.min(count, Math.min(fromAvailable, toAvailable));
+
+			System.arraycopy(chunks[(fromEnd - 1) >>> chunkShift], fromAvailable - length,
+					chunks[(toEnd - 1) >>> chunkShift], toAvailable - length, length);
+			fromEnd -= length;
+			toEnd -= length;
+			count -= length;
+		}
+	}
+
+	private void copyIn(Object[] elements, int to) {
+		int from = 0;
+		while (from < elements.length) {
+			int toOffset = to & chunkMask;
+			int length = Math.min(elements.length - from, chunkMask + 1 - toOffset);
+
+			System.arraycopy(elements, from, chunks[to >>> chunkShift], toOffset, length);
+			from += length;
+			to += length;
+		}
+	}
+
+	private void copyOut(int from, Object[] target, int to, int count) {
+		while (count > 0) {
+			int fromOffset = from & chunkMask;
+			int length = Math.min(count, chunkMask + 1 - fromOffset);
+
+			System.arraycopy(chunks[from >>> chunkShift], fromOffset, target, to, length);
+			from += length;
+			to += length;
+			count -= length;
+		}
+	}
+
+	private void clearSlots(int from, int to) {
+		while (from < to) {
+			int offset = from & chunkMask;
+			int length = Math.min(to - from, chunkMask + 1 - offset);
+
+			Arrays.fill(chunks[from >>> chunkShift], offset, offset + length, null);
+			from += length;
+		}
+	}
+
+	/**
+	 * Removes {@code [from, to)} and moves the tail of the list to close the gap.
+	 */
+	private void removeRange(int from, int to) {
+		if (from == to)
+			return;
+
+		moveRange(to, from, size - to);
+		clearSlots(size - (to - from), size);
+		size -= to - from;
+		incVersion();
+	}
+
+	/**
+	 * Removes the elements of {@code [from, to)} that satisfy the predicate with a
+	 * read and a write cursor, then moves the tail of the list once to close the
+	 * gap.
+	 *
+	 * @return number of removed elements
+	 */
+	@SuppressWarnings("unchecked")
+	private int batchRemove(int from, int to, Predicate<? super T> filter) {
+		Objects.requireNonNull(filter);
+
+		int read = from;
+		int write = from;
+		try {
+			for (; read < to; ++read) {
+				Object element = at(chunks, read);
+				if (!filter.test((T) element)) {
+					if (write != read)
+						chunks[write >>> chunkShift][write & chunkMask] = element;
+					write++;
+				}
+			}
+		} finally {
+			/*
+			 * Also keeps the elements not tested yet if the filter has thrown.
+			 */
+			removeRange(write, read);
+		}
+
+		return read - write;
+	}
+
+	/**
+	 * Allocates chunks until the list can hold {@code capacity} elements.
+	 */
+	private void ensureCapacity(int capacity) {
+		while (((long) chunkCount << chunkShift) < capacity) {
+			if (chunkCount == chunks.length)
+				chunks = Arrays.copyOf(chunks, chunks.length << 1);
+
+			chunks[chunkCount++] = new Object[chunkMask + 1];
+		}
+	}
+
+	private void incVersion() {
+		version++;
+	}
+
+	private int getVersion() {
+		return version;
+	}
+
+	private void checkIndexAndThrowIfNeed(int index) {
+		if (index < 0 || index >= size)
+			throw new IndexOutOfBoundsException(index);
+	}
+
+	private void checkRangeAndThrowIfNeed(int index) {
+		if (index < 0 || index > size)
+			throw new IndexOutOfBoundsException(index);
+	}
+
+	private static void checkSubListAndThrowIfNeed(int fromIndex, int toIndex, int size) {
+		if (fromIndex < 0 || toIndex > size || fromIndex > toIndex)
+			throw new IndexOutOfBoundsException("fromIndex: " + fromIndex + ", toIndex: " + toIndex);
+	}
+
+	/**
+	 * Used to create subList via {@link SegmentedList#subList(int, int)} or
+	 * {@link #subList(int, int)}
+	 *
+	 * @param <E> the type of elements in this list
+	 */
+	private static class SubList<E> extends AbstractList<E> implements List<E> {
+
+		/**
+		 * Offset from the main collection
+		 */
+		private int offset;
+
+		/**
+		 * View size
+		 */
+		private int size;
+
+		/**
+		 * Main collection
+		 */
+		private SegmentedList<E> main;
+
+		private int mainVersion;
+
+		SubList(SegmentedList<E> main, int offset, int size) {
+			this.offset = offset;
+			this.size = size;
+			this.main = main;
+			mainVersion = main.getVersion();
+		}
+
+		SubList(SubList<E> other, int offset, int size) {
+			this.offset = offset + other.offset;
+			this.size = size;
+			main = other.main;
+			mainVersion = main.getVersion();
+		}
+
+		@Override
+		public int size() {
+			checkMainVersion();
+
+			return size;
+		}
+
+		@SuppressWarnings({ "unchecked" })
+		@Override
+		public <T> T[] toArray(T[] a) {
+			checkMainVersion();
+
+			if (a.length < size)
+				a = (T[]) Array.newInstance(a.getClass().getComponentType(), size);
+			if (a.length > size)
+				a[size] = null;
+
+			main.copyOut(offset, a, 0, size);
+
+			return a;
+		}
+
+		@Override
+		public boolean remove(Object o) {
+			checkMainVersion();
+
+			int index = indexOf(o);
+			if (index == -1)
+				return false;
+
+			remove(index);
+
+			return true;
+		}
+
+		@Override
+		public boolean removeIf(Predicate<? super E> filter) {
+			checkMainVersion();
+
+			int removed = main.batchRemove(offset, offset + size, filter);
+			size -= removed;
+			syncVersions();
+
+			return removed > 0;
+		}
+
+		@Override
+		public void clear() {
+			checkMainVersion();
+
+			main.removeRange(offset, offset + size);
+			size = 0;
+			syncVersions();
+		}
+
+		@Override
+		public E get(int index) {
+			checkMainVersion();
+			checkIndexAndThrowIfNeed(index);
+
+			return main.get(offset + index);
+		}
+
+		@Override
+		public E set(int index, E element) {
+			checkMainVersion();
+			checkIndexAndThrowIfNeed(index);
+
+			return main.set(offset + index, element);
+		}
+
+		@Override
+		public void add(int index, E element) {
+			checkMainVersion();
+			checkRangeAndThrowIfNeed(index);
+
+			main.add(offset + index, element);
+			size++;
+			syncVersions();
+		}
+
+		@Override
+		public E remove(int index) {
+			checkMainVersion();
+			checkIndexAndThrowIfNeed(index);
+
+			E tmp = main.remove(offset + index);
+			size--;
+			syncVersions();
+
+			return tmp;
+		}
+
+		@Override
+		public List<E> subList(int fromIndex, int toIndex) {
+			checkMainVersion();
+			checkSubListAndThrowIfNeed(fromIndex, toIndex, size);
+
+			return new SubList<>(this, fromIndex, toIndex - fromIndex);
+		}
+
+		@Override
+		public boolean addAll(int index, Collection<? extends E> c) {
+			checkMainVersion();
+			checkRangeAndThrowIfNeed(index);
+
+			int before = main.size();
+			boolean changed = main.addAll(offset + index, c);
+			size += main.size() - before;
+			syncVersions();
+
+			return changed;
+		}
+
+		@Override
+		public ListIterator<E> listIterator(int index) {
+			checkMainVersion();
+
+			return new IndexListIterator<>(this, index, 0, size);
+		}
+
+		private void checkIndexAndThrowIfNeed(int index) {
+			if (index < 0 || index >= size)
+				throw new IndexOutOfBoundsException(index);
+		}
+
+		private void checkRangeAndThrowIfNeed(int index) {
+			if (index < 0 || index > size)
+				throw new IndexOutOfBoundsException(index);
+		}
+
+		private void checkMainVersion() {
+			if (main.getVersion() != mainVersion)
+				throw new ConcurrentModificationException();
+		}
+
+		private void syncVersions() {
+			mainVersion = main.getVersion();
+		}
+
+	}
+
+}
@@ -0,0 +1,216 @@
+package com.github.lotashinski.collections;
+
+import java.util.Comparator;
+
+/**
+ * Selection of the smallest elements of a range of an array without sorting
+ * the whole range. Used by {@link CustomList} for order statistics and top-k
+ * queries.
+ *
+ * <p>
+ * {@link #select} is an introselect: a quickselect with a median of three pivot
+ * and a three-way partition, so that equal elements do not degrade it. When the
+ * partitions do not shrink fast enough, the rest of the range is sorted with
+ * {@link MergeSort}, which bounds the worst case by {@code O(n log n)}.
+ * {@link #topK} keeps the best {@code k} positions in a bounded binary heap and
+ * does not move the elements of the range.
+ *
+ * @author Alexander Lotashinsky
+ * @see CustomList#selectNth(int, int, int, Comparator)
+ * @see CustomList#partialSort(int, int, int, Comparator)
+ * @see CustomList#topK(int, int, int, Comparator)
+ */
+final class Selection {
+
+	/**
+	 * Ranges not longer than this are finished with binary insertion sort.
+	 */
+	private static final int INSERTION_SORT_THRESHOLD = 16;
+
+	private Selection() {
+	}
+
+	/**
+	 * Rearranges {@code a[lo, hi)} so that {@code a[n]} is the element which would
+	 * be at this position if the range was sorted, no element before it is
+	 * greater, and no element after it is less. Equal elements may be reordered.
+	 *
+	 * @param <T>        the type of elements in the range
+	 * @param a          array to be rearranged
+	 * @param lo         low endpoint (inclusive)
+	 * @param hi         high endpoint (exclusive)
+	 * @param n          index of the selected element, {@code lo <= n < hi}
+	 * @param comparator will be used for comparison
+	 */
+	static <T> void select(Object[] a, int lo, int hi, int n, Comparator<? super T> comparator) {
+		int depthLimit = 2 * (Integer.SIZE - Integer.numberOfLeadingZeros(hi - lo));
+
+		while (hi - lo > INSERTION_SORT_THRESHOLD) {
+			if (depthLimit-- == 0) {
+				MergeSort.sort(a, lo, hi, comparator);
+				return;
+			}
+
+			Object pivot = medianOfThree(a[lo], a[(lo + hi) >>> 1], a[hi - 1], comparator);
+
+			/*
+			 * a[lo, less) < pivot, a[less, i) == pivot, a(greater, hi) > pivot
+			 */
+			int less = lo;
+			int greater = hi - 1;
+			int i = lo;
+			while (i <= greater) {
+				int c = compare(comparator, a[i], pivot);
+				if (c < 0)
+					swap(a, less++, i++);
+				else if (c > 0)
+					swap(a, i, greater--);
+				else
+					i++;
+			}
+
+			if (n < less)
+				hi = less;
+			else if (n > greater)
+				lo = greater + 1;
+			else
+				return;
+		}
+
+		MergeSort.binaryInsertionSort(a, lo, hi, lo, comparator);
+	}
+
+	/**
+	 * Rearranges {@code a[lo, hi)} so that {@code a[lo, lo + k)} holds its
+	 * {@code k} smallest elements in sorted order. The order of the other elements
+	 * is unspecified.
+	 *
+	 * @param <T>        the type of elements in the range
+	 * @param a          array to be rearranged
+	 * @param lo         low endpoint (inclusive)
+	 * @param hi         high endpoint (exclusive)
+	 * @param k          number of elements to sort, {@code 0 <= k <= hi - lo}
+	 * @param comparator will be used for comparison
+	 */
+	static <T> void partialSort(Object[] a, int lo, int hi, int k, Comparator<? super T> comparator) {
+		if (k == 0)
+			return;
+		if (k == hi - lo) {
+			MergeSort.sort(a, lo, hi, comparator);
+			return;
+		}
+
+		select(a, lo, hi, lo + k - 1, comparator);
+		MergeSort.sort(a, lo, lo + k - 1, comparator);
+	}
+
+	/**
+	 * Returns the {@code k} smallest elements of {@code a[lo, hi)} in sorted
+	 * order; of equal elements the ones which come first in the range are taken
+	 * first. The range is not modified.
+	 *
+	 * @param <T>        the type of elements in the range
+	 * @param a          array to search
+	 * @param lo         low endpoint (inclusive)
+	 * @param hi         high endpoint (exclusive)
+	 * @param k          number of elements, {@code 0 <= k <= hi - lo}
+	 * @param comparator will be used for comparison
+	 * @return new array of length {@code k}
+	 */
+	static <T> Object[] topK(Object[] a, int lo, int hi, int k, Comparator<? super T> comparator) {
+		Object[] result = new Object[k];
+		if (k == 0)
+			return result;
+
+		/*
+		 * Max-heap of positions ordered by element, then by position. Every new
+		 * position is greater than the ones in the heap, so an element equal to the
+		 * root does not replace it.
+		 */
+		int[] heap = new int[k];
+		int size = 0;
+		for (int i = lo; i < hi; ++i) {
+			if (size < k) {
+				heap[size] = i;
+				siftUp(a, heap, size++, comparator);
+			} else if (compare(comparator, a[i], a[heap[0]]) < 0) {
+				heap[0] = i;
+				siftDown(a, heap, 0, size, comparator);
+			}
+		}
+
+		while (size > 0) {
+			result[size - 1] = a[heap[0]];
+			heap[0] = heap[--size];
+			siftDown(a, heap, 0, size, comparator);
+		}
+
+		return result;
+	}
+
+	private static <T> void siftUp(Object[] a, int[] heap, int child, Comparator<? super T> comparator) {
+		int position = heap[child];
+		while (child > 0) {
+			int parent = (child - 1) >>> 1;
+			if (!greater(a, position, heap[parent], comparator))
+				break;
+
+			heap[child] = heap[parent];
+			child = parent;
+		}
+
+		heap[child] = position;
+	}
+
+	private static <T> void siftDown(Object[] a, int[] heap, int parent, int size, Comparator<? super T> comparator) {
+		int position = heap[parent];
+		int half = size >>> 1;
+		while (parent < half) {
+			int child = (parent << 1) + 1;
+			if (child + 1 < size && greater(a, heap[child + 1], heap[child], comparator))
+				child++;
+			if (!greater(a, heap[child], position, comparator))
+				break;
+
+			heap[parent] = heap[child];
+			parent = child;
+		}
+
+		heap[parent] = position;
+	}
+
+	/**
+	 * Compares positions by their elements, then by the positions.
+	 */
+	private static <T> boolean greater(Object[] a, int i, int j, Comparator<? super T> comparator) {
+		int c = compare(comparator, a[i], a[j]);
+
+		return c != 0 ? c > 0 : i > j;
+	}
+
+	private static <T> Object medianOfThree(Object x, Object y, Object z, Comparator<? super T> comparator) {
+		if (compare(comparator, x, y) < 0) {
+			if (compare(comparator, y, z) <= 0)
+				return y;
+
+			return compare(comparator, x, z) < 0 ? z : x;
+		}
+
+		if (compare(comparator, x, z) <= 0)
+			return x;
+
+		return compare(comparator, y, z) < 0 ? z : y;
+	}
+
+	private static void swap(Object[] a, int i, int j) {
+		Object tmp = a[i];
+		a[i] = a[j];
+		a[j] = tmp;
+	}
+
+	@SuppressWarnings("unchecked")
+	private static <T> int compare(Comparator<? super T> comparator, Object o1, Object o2) {
+		return comparator.compare((T) o1, (T) o2);
+	}
+
+}
@@ -0,0 +1,668 @@
+package com.github.lotashinski.collections;
+
+import java.lang.reflect.Array;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.ConcurrentModificationException;
+import java.util.List;
+import java.util.ListIterator;
+import java.util.Objects;
+import java.util.function.Predicate;
+
+/**
+ * Implementation of the {@code List} interface based on an array, which keeps
+ * its elements sorted.
+ *
+ * <p>
+ * The order is induced by the comparator given on creation; by default it is
+ * the order of {@link CustomList#sort()}. An element is inserted after the
+ * elements equal to it, so equal elements keep the order in which they were
+ * added. {@link #addAll(Collection)} sorts the batch and merges it into the
+ * list in one pass.
+ *
+ * <p>
+ * The {@code indexOf}, {@code lastIndexOf}, {@code contains},
+ * {@link #binarySearch(Object)}, {@link #lowerBound(Object)} and
+ * {@link #upperBound(Object)} operations run in logarithmic time;
+ * {@link #rangeView(Object, Object)} returns a view of the elements between two
+ * keys. Operations which would break the order, such as {@code set} and
+ * {@code add(int, Object)}, throw {@code UnsupportedOperationException}.
+ *
+ * @param <T> the type of elements in this list
+ *
+ * @author Alexander Lotashinsky
+ * @see CustomList
+ * @see List
+ */
+public class SortedCustomList<T> extends AbstractList<T> implements List<T> {
+
+	private static final int INIT_CAPACITY = 10;
+
+	private final GrowthPolicy growthPolicy = GrowthPolicy.doubling();
+
+	/**
+	 * Order of the elements
+	 */
+	private final Comparator<? super T> comparator;
+
+	/**
+	 * Container for storing collection elements, sorted
+	 */
+	private Object[] container = new Object[INIT_CAPACITY];
+
+	/**
+	 * The size of the SortedCustomList
+	 */
+	private int size;
+
+	/**
+	 * Counter of structural changes (remove, add, clear and other).
+	 *
+	 * Necessary for SubList
+	 */
+	private int version = 0;
+
+	/**
+	 * Creates an empty collection sorted in the order of
+	 * {@link CustomList#sort()}
+	 */
+	public SortedCustomList() {
+		this((Comparator<? super T>) null);
+	}
+
+	/**
+	 * Creates an empty collection.
+	 *
+	 * @param comparator order of the elements. If {@code null}, the order of
+	 *                   {@link CustomList#sort()} will be used
+	 */
+	public SortedCustomList(Comparator<? super T> comparator) {
+		this.comparator = comparator == null ? new OrderingComparator<T>() : comparator;
+	}
+
+	/**
+	 * Creates a collection with the elements of producer, sorted in the order of
+	 * {@link CustomList#sort()}.
+	 *
+	 * @param producer source collection. Serves as a source for initialization
+	 */
+	public SortedCustomList(Collection<? extends T> producer) {
+		this(producer, null);
+	}
+
+	/**
+	 * Creates a collection with the elements of producer.
+	 *
+	 * @param producer   source collection. Serves as a source for initialization
+	 * @param comparator order of the elements. If {@code null}, the order of
+	 *                   {@link CustomList#sort()} will be used
+	 */
+	public SortedCustomList(Collection<? extends T> producer, Comparator<? super T> comparator) {
+		this(comparator);
+		insertAll(producer.toArray());
+	}
+
+	/**
+	 * Returns the comparator which orders this list.
+	 *
+	 * @return the comparator which orders this list
+	 */
+	public Comparator<? super T> comparator() {
+		return comparator;
+	}
+
+	/**
+	 * Returns the number of elements in this list.
+	 *
+	 * @return the number of elements in this list
+	 */
+	@Override
+	public int size() {
+		return size;
+	}
+
+	@SuppressWarnings({ "hiding", "unchecked" })
+	@Override
+	public <T> T[] toArray(T[] a) {
+		if (a.length < size)
+			a = (T[]) Array.newInstance(a.getClass().componentType(), size);
+		if (a.length > size)
+			a[size] = null;
+
+		System.arraycopy(container, 0, a, 0, size);
+
+		return a;
+	}
+
+	/**
+	 * Returns the element at the specified position in this list.
+	 *
+	 * @param index index of the element to return
+	 * @return the element at the specified position in this list
+	 * @throws IndexOutOfBoundsException if the index is out of range
+	 *                                   ({@code index < 0 || index >= size()})
+	 */
+	@SuppressWarnings("unchecked")
+	@Override
+	public T get(int index) {
+		checkIndexAndThrowIfNeed(index);
+
+		return (T) container[index];
+	}
+
+	/**
+	 * Inserts the specified element after the elements which are not greater than
+	 * it.
+	 *
+	 * @param element element to be inserted
+	 * @return {@code true}
+	 */
+	@Override
+	public boolean add(T element) {
+		int index = upperBound(element);
+
+		checkAndResizeIfNecessary(1);
+		System.arraycopy(container, index, container, index + 1, size - index);
+		container[index] = element;
+		size++;
+		incVersion();
+
+		return true;
+	}
+
+	/**
+	 * Inserts all of the elements of the specified collection. The elements are
+	 * copied and sorted with the merge sort of {@link CustomList#sort()}, appended
+	 * to the list, and the two sorted runs are merged in place. Elements already in
+	 * the list go first when equal.
+	 *
+	 * @param c collection containing elements to be added to this list
+	 * @return {@code true} if this list changed as a result of the call
+	 */
+	@Override
+	public boolean addAll(Collection<? extends T> c) {
+		return insertAll(c.toArray());
+	}
+
+	private boolean insertAll(Object[] elements) {
+		if (elements.length == 0)
+			return false;
+
+		checkAndResizeIfNecessary(elements.length);
+		System.arraycopy(elements, 0, container, size, elements.length);
+		MergeSort.sort(container, size, size + elements.length, comparator);
+		MergeSort.merge(container, 0, size, size + elements.length, null, elements.length, comparator);
+		size += elements.length;
+		incVersion();
+
+		return true;
+	}
+
+	/**
+	 * @throws UnsupportedOperationException always, the position of an element is
+	 *                                       defined by the order
+	 */
+	@Override
+	public T set(int index, T element) {
+		throw new UnsupportedOperationException();
+	}
+
+	/**
+	 * @throws UnsupportedOperationException always, the position of an element is
+	 *                                       defined by the order
+	 */
+	@Override
+	public void add(int index, T element) {
+		throw new UnsupportedOperationException();
+	}
+
+	/**
+	 * @throws UnsupportedOperationException always, the position of an element is
+	 *                                       defined by the order
+	 */
+	@Override
+	public boolean addAll(int index, Collection<? extends T> c) {
+		throw new UnsupportedOperationException();
+	}
+
+	/**
+	 * Removes the element at the specified position in this list. Shifts any
+	 * subsequent elements to the left.
+	 *
+	 * @param index the index of the element to be removed
+	 * @return the element previously at the specified position
+	 * @throws IndexOutOfBoundsException if the index is out of range
+	 *                                   ({@code index < 0 || index >= size()})
+	 */
+	@Override
+	public T remove(int index) {
+		T element = get(index);
+		removeRange(index, index + 1);
+
+		return element;
+	}
+
+	@Override
+	public boolean remove(Object o) {
+		int index = indexOf(o);
+		if (index == -1)
+			return false;
+
+		removeRange(index, index + 1);
+
+		return true;
+	}
+
+	/**
+	 * Returns the index of the first occurrence of the specified element in this
+	 * list, or -1 if this list does not contain the element. The elements equal to
+	 * {@code o} in the order are found by binary search and compared with
+	 * {@code Objects.equals}.
+	 *
+	 * @param o element to search for
+	 * @return the index of the first occurrence of the specified element in this
+	 *         list, or -1 if this list does not contain the element
+	 * @throws ClassCastException if the element can not be compared with the
+	 *                            elements of this list
+	 */
+	@Override
+	public int indexOf(Object o) {
+		int to = upperBoundOf(o);
+		for (int i = lowerBoundOf(o); i < to; ++i)
+			if (Objects.equals(o, container[i]))
+				return i;
+
+		return -1;
+	}
+
+	/**
+	 * Returns the index of the last occurrence of the specified element in this
+	 * list, or -1 if this list does not contain the element. The elements equal to
+	 * {@code o} in the order are found by binary search and compared with
+	 * {@code Objects.equals}.
+	 *
+	 * @param o element to search for
+	 * @return the index of the last occurrence of the specified element in this
+	 *         list, or -1 if this list does not contain the element
+	 * @throws ClassCastException if the element can not be compared with the
+	 *                            elements of this list
+	 */
+	@Override
+	public int lastIndexOf(Object o) {
+		int from = lowerBoundOf(o);
+		for (int i = upperBoundOf(o) - 1; i >= from; --i)
+			if (Objects.equals(o, container[i]))
+				return i;
+
+		return -1;
+	}
+
+	/**
+	 * Searches for the key by binary search.
+	 *
+	 * @param key the value to be searched for
+	 * @return index of the first element equal to the key in the order, if any;
+	 *         otherwise {@code (-(insertion point) - 1)}, where the insertion
+	 *         point is {@link #lowerBound(Object)}
+	 */
+	public int binarySearch(T key) {
+		int index = lowerBound(key);
+		if (index < size && comparator.compare(key, get(index)) == 0)
+			return index;
+
+		return -(index + 1);
+	}
+
+	/**
+	 * Returns the index of the first element which is not less than the key, or
+	 * {@code size()} if there is no such element.
+	 *
+	 * @param key the value to be searched for
+	 * @return the first index whose element is not less than the key
+	 */
+	public int lowerBound(T key) {
+		return MergeSort.lowerBound(container, 0, size, key, comparator);
+	}
+
+	/**
+	 * Returns the index of the first element which is greater than the key, or
+	 * {@code size()} if there is no such element.
+	 *
+	 * @param key the value to be searched for
+	 * @return the first index whose element is greater than the key
+	 */
+	public int upperBound(T key) {
+		return MergeSort.upperBound(container, 0, size, key, comparator);
+	}
+
+	/**
+	 * Returns a view of the elements which are not less than {@code fromKey} and
+	 * less than {@code toKey}. The view is {@link #subList(int, int)} of the
+	 * positions found by binary search: it does not grow when elements between the
+	 * keys are added to this list, and becomes invalid on structural changes of
+	 * this list that are not made through it.
+	 *
+	 * @param fromKey low endpoint (inclusive) of the keys in the view
+	 * @param toKey   high endpoint (exclusive) of the keys in the view
+	 * @return a view of the elements between the keys
+	 * @throws IllegalArgumentException if {@code fromKey} is greater than
+	 *                                  {@code toKey}
+	 */
+	public List<T> rangeView(T fromKey, T toKey) {
+		if (comparator.compare(fromKey, toKey) > 0)
+			throw new IllegalArgumentException("fromKey > toKey");
+
+		return subList(lowerBound(fromKey), lowerBound(toKey));
+	}
+
+	/**
+	 * Removes all of the elements of this collection that satisfy the given
+	 * predicate in a single compaction pass.
+	 *
+	 * @param filter a predicate which returns {@code true} for elements to be
+	 *               removed
+	 * @return {@code true} if any elements were removed
+	 * @throws NullPointerException if the specified filter is null
+	 */
+	@Override
+	public boolean removeIf(Predicate<? super T> filter) {
+		return batchRemove(0, size, filter) > 0;
+	}
+
+	/**
+	 * The list is always sorted by its own comparator.
+	 *
+	 * @param comparator {@code null} or the comparator of this list
+	 * @throws UnsupportedOperationException if the comparator differs from the
+	 *                                       comparator of this list
+	 */
+	@Override
+	public void sort(Comparator<? super T> comparator) {
+		if (comparator != null && !comparator.equals(this.comparator))
+			throw new UnsupportedOperationException();
+	}
+
+	/**
+	 * Removes all of the elements from this list.
+	 */
+	@Override
+	public void clear() {
+		Arrays.fill(container, 0, size, null);
+		size = 0;
+		incVersion();
+	}
+
+	/**
+	 * Returns a view of the portion of this list between the specified
+	 * {@code fromIndex}, inclusive, and {@code toIndex}, exclusive. The view
+	 * supports removal, but not insertion or replacement.
+	 *
+	 * @param fromIndex low endpoint (inclusive) of the subList
+	 * @param toIndex   high endpoint (exclusive) of the subList
+	 * @return a view of the specified range within this list
+	 * @throws IndexOutOfBoundsException for an illegal endpoint index value
+	 *                                   ({@code fromIndex < 0 || toIndex > size ||
+	 *         fromIndex > toIndex}   )
+	 */
+	@Override
+	public List<T> subList(int fromIndex, int toIndex) {
+		checkSubListAndThrowIfNeed(fromIndex, toIndex, size);
+
+		return new SubList<>(this, fromIndex, toIndex - fromIndex);
+	}
+
+	@Override
+	public ListIterator<T> listIterator(int index) {
+		return new IndexListIterator<>(this, index, 0, size);
+	}
+
+	@SuppressWarnings("unchecked")
+	private int lowerBoundOf(Object o) {
+		return lowerBound((T) o);
+	}
+
+	@SuppressWarnings("unchecked")
+	private int upperBoundOf(Object o) {
+		return upperBound((T) o);
+	}
+
+	/**
+	 * Removes {@code [from, to)} and moves the tail of the list to close the gap.
+	 */
+	private void removeRange(int from, int to) {
+		if (from == to)
+			return;
+
+		System.arraycopy(container, to, container, from, size - to);
+		Arrays.fill(container, size - (to - from), size, null);
+		size -= to - from;
+		incVersion();
+	}
+
+	/**
+	 * Removes the elements of {@code [from, to)} that satisfy the predicate with a
+	 * read and a write cursor; removing keeps the remaining elements sorted.
+	 *
+	 * @return number of removed elements
+	 */
+	@SuppressWarnings("unchecked")
+	private int batchRemove(int from, int to, Predicate<? super T> filter) {
+		Objects.requireNonNull(filter);
+
+		int expectedVersion = version;
+		int read = from;
+		int write = from;
+		try {
+			for (; read < to; ++read) {
+				Object element = container[read];
+				if (!filter.test((T) element))
+					container[write++] = element;
+			}
+
+			if (version != expectedVersion)
+				throw new ConcurrentModificationException();
+		} finally {
+			/*
+			 * Also keeps the elements not tested yet if the filter has thrown.
+			 */
+			removeRange(write, read);
+		}
+
+		return read - write;
+	}
+
+	private void checkAndResizeIfNecessary(int newItems) {
+		int required = size + newItems;
+		if (required < 0 || required > container.length)
+			container = Arrays.copyOf(container, growthPolicy.grow(container.length, required));
+	}
+
+	private void incVersion() {
+		version++;
+	}
+
+	private int getVersion() {
+		return version;
+	}
+
+	private void checkIndexAndThrowIfNeed(int index) {
+		if (index < 0 || index >= size)
+			throw new IndexOutOfBoundsException(index);
+	}
+
+	private static void checkSubListAndThrowIfNeed(int fromIndex, int toIndex, int size) {
+		if (fromIndex < 0 || toIndex > size || fromIndex > toIndex)
+			throw new IndexOutOfBoundsException("fromIndex: " + fromIndex + ", toIndex: " + toIndex);
+	}
+
+	/**
+	 * Used to create subList via {@link SortedCustomList#subList(int, int)} or
+	 * {@link #subList(int, int)}
+	 *
+	 * @param <E> the type of elements in this list
+	 */
+	private static class SubList<E> extends AbstractList<E> implements List<E> {
+
+		/**
+		 * Offset from the main collection
+		 */
+		private int offset;
+
+		/**
+		 * View size
+		 */
+		private int size;
+
+		/**
+		 * Main collection
+		 */
+		private SortedCustomList<E> main;
+
+		private int mainVersion;
+
+		SubList(SortedCustomList<E> main, int offset, int size) {
+			this.offset = offset;
+			this.size = size;
+			this.main = main;
+			mainVersion = main.getVersion();
+		}
+
+		SubList(SubList<E> other, int offset, int size) {
+			this.offset = offset + other.offset;
+			this.size = size;
+			main = other.main;
+			mainVersion = main.getVersion();
+		}
+
+		@Override
+		public int size() {
+			checkMainVersion();
+
+			return size;
+		}
+
+		@SuppressWarnings({ "unchecked" })
+		@Override
+		public <T> T[] toArray(T[] a) {
+			checkMainVersion();
+
+			if (a.length < size)
+				a = (T[]) Array.newInstance(a.getClass().getComponentType(), size);
+			if (a.length > size)
+				a[size] = null;
+
+			System.arraycopy(main.container, offset, a, 0, size);
+
+			return a;
+		}
+
+		@Override
+		public boolean remove(Object o) {
+			checkMainVersion();
+
+			int index = indexOf(o);
+			if (index == -1)
+				return false;
+
+			remove(index);
+
+			return true;
+		}
+
+		@Override
+		public boolean removeIf(Predicate<? super E> filter) {
+			checkMainVersion();
+
+			int removed = main.batchRemove(offset, offset + size, filter);
+			size -= removed;
+			syncVersions();
+
+			return removed > 0;
+		}
+
+		@Override
+		public void clear() {
+			checkMainVersion();
+
+			main.removeRange(offset, offset + size);
+			size = 0;
+			syncVersions();
+		}
+
+		@Override
+		public E get(int index) {
+			checkMainVersion();
+			checkIndexAndThrowIfNeed(index);
+
+			return main.get(offset + index);
+		}
+
+		/**
+		 * @throws UnsupportedOperationException always
+		 */
+		@Override
+		public E set(int index, E element) {
+			throw new UnsupportedOperationException();
+		}
+
+		/**
+		 * @throws UnsupportedOperationException always
+		 */
+		@Override
+		public void add(int index, E element) {
+			throw new UnsupportedOperationException();
+		}
+
+		/**
+		 * @throws UnsupportedOperationException always
+		 */
+		@Override
+		public boolean addAll(int index, Collection<? extends E> c) {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public E remove(int index) {
+			checkMainVersion();
+			checkIndexAndThrowIfNeed(index);
+
+			E tmp = main.remove(offset + index);
+			size--;
+			syncVersions();
+
+			return tmp;
+		}
+
+		@Override
+		public List<E> subList(int fromIndex, int toIndex) {
+			checkMainVersion();
+			checkSubListAndThrowIfNeed(fromIndex, toIndex, size);
+
+			return new SubList<>(this, fromIndex, toIndex - fromIndex);
+		}
+
+		@Override
+		public ListIterator<E> listIterator(int index) {
+			checkMainVersion();
+
+			return new IndexListIterator<>(this, index, 0, size);
+		}
+
+		private void checkIndexAndThrowIfNeed(int index) {
+			if (index < 0 || index >= size)
+				throw new IndexOutOfBoundsException(index);
+		}
+
+		private void checkMainVersion() {
+			if (main.getVersion() != mainVersion)
+				throw new ConcurrentModificationException();
+		}
+
+		private void syncVersions() {
+			mainVersion = main.getVersion();
+		}
+
+	}
+
+}
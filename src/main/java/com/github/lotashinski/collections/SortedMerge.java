@@ -0,0 +1,244 @@
+package com.github.lotashinski.collections;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Stable k-way merge of sorted sources into one sorted {@link CustomList} or a
+ * lazy iterator.
+ *
+ * <p>
+ * The sources are merged with a loser tree: the heads of the sources are the
+ * leaves, every internal node keeps the loser of the match between its
+ * subtrees, and the root keeps the overall winner. Taking an element replays
+ * only the matches on the path from its source to the root, so merging
+ * {@code n} elements from {@code k} sources takes {@code n log2 k}
+ * comparisons. Equal elements keep their order: those of an earlier source go
+ * first, and those of one source keep their order in it.
+ *
+ * <p>
+ * Every source must be sorted according to the comparator; the result is
+ * unspecified otherwise. A {@code null} comparator means the order of
+ * {@link CustomList#sort()}.
+ *
+ * @author Alexander Lotashinsky
+ * @see CustomList
+ */
+public final class SortedMerge {
+
+	private SortedMerge() {
+	}
+
+	/**
+	 * Merges sorted collections, such as {@code CustomList}s or their
+	 * {@code subList} views, into a new {@code CustomList}. The backing array of
+	 * the result is allocated once, with the total size of the sources, and the
+	 * merged elements are written into it directly.
+	 *
+	 * @param <T>        the type of elements
+	 * @param sources    sorted collections
+	 * @param comparator order of the sources. If {@code null}, the order of
+	 *                   {@link CustomList#sort()} will be used
+	 * @return new sorted collection with all elements of the sources
+	 * @throws OutOfMemoryError if the total size is too large for a list
+	 */
+	public static <T> CustomList<T> merge(Collection<? extends Collection<? extends T>> sources,
+			Comparator<? super T> comparator) {
+		long total = 0;
+		Iterator<?>[] iterators = new Iterator<?>[sources.size()];
+		int k = 0;
+		for (Collection<? extends T> source : sources) {
+			total += source.size();
+			iterators[k++] = source.iterator();
+		}
+		if (total > GrowthPolicy.MAX_CAPACITY)
+			throw new OutOfMemoryError("Required list size too large: " + total);
+
+		return drain(new LoserTree<>(iterators, comparator), new Object[(int) total]);
+	}
+
+	/**
+	 * Merges sorted iterators into a new {@code CustomList}. The iterators are
+	 * exhausted.
+	 *
+	 * @param <T>        the type of elements
+	 * @param sources    iterators over sorted elements
+	 * @param comparator order of the sources. If {@code null}, the order of
+	 *                   {@link CustomList#sort()} will be used
+	 * @return new sorted collection with all elements of the sources
+	 */
+	public static <T> CustomList<T> mergeIterators(Collection<? extends Iterator<? extends T>> sources,
+			Comparator<? super T> comparator) {
+		return drain(new LoserTree<>(sources.toArray(new Iterator<?>[0]), comparator),
+				new Object[GrowthPolicy.MIN_CAPACITY]);
+	}
+
+	/**
+	 * Returns an iterator over the merged elements of sorted iterators. An element
+	 * is taken from a source only when the merged iterator needs it: the first
+	 * element of every source on the first call of {@code hasNext} or
+	 * {@code next}, and then one element of the source of every returned
+	 * element. The returned iterator does not support {@code remove}.
+	 *
+	 * @param <T>        the type of elements
+	 * @param sources    iterators over sorted elements
+	 * @param comparator order of the sources. If {@code null}, the order of
+	 *                   {@link CustomList#sort()} will be used
+	 * @return lazy iterator over the merged elements
+	 */
+	public static <T> Iterator<T> iterator(Collection<? extends Iterator<? extends T>> sources,
+			Comparator<? super T> comparator) {
+		return new LoserTree<>(sources.toArray(new Iterator<?>[0]), comparator);
+	}
+
+	/**
+	 * Writes the merged elements into the array, growing it only if the sources
+	 * have more elements than it can hold, and wraps it into a list.
+	 */
+	private static <T> CustomList<T> drain(LoserTree<T> tree, Object[] container) {
+		int size = 0;
+		while (tree.hasNext()) {
+			if (size == container.length)
+				container = Arrays.copyOf(container, GrowthPolicy.doubling().grow(container.length, size + 1));
+
+			container[size++] = tree.next();
+		}
+
+		return new CustomList<>(container, size);
+	}
+
+	/**
+	 * Loser tree over the heads of the sources. Source {@code s} is the leaf
+	 * {@code k + s}; internal node {@code n} has the children {@code 2n} and
+	 * {@code 2n + 1} and keeps the losing source of their match; {@code tree[0]}
+	 * keeps the winner.
+	 *
+	 * @param <T> the type of elements
+	 */
+	private static final class LoserTree<T> implements Iterator<T> {
+
+		private final Iterator<?>[] sources;
+
+		private final Comparator<? super T> comparator;
+
+		private final int[] tree;
+
+		private final Object[] heads;
+
+		/**
+		 * {@code true} for the sources without a head
+		 */
+		private final boolean[] exhausted;
+
+		private boolean initialized;
+
+		@SuppressWarnings("unchecked")
+		LoserTree(Iterator<?>[] sources, Comparator<? super T> comparator) {
+			this.sources = sources;
+			this.comparator = comparator == null ? new OrderingComparator<T>() : (Comparator<? super T>) comparator;
+			tree = new int[Math.max(sources.length, 1)];
+			heads = new Object[sources.length];
+			exhausted = new boolean[sources.length];
+		}
+
+		@Override
+		public boolean hasNext() {
+			if (!initialized)
+				initialize();
+
+			return sources.length > 0 && !exhausted[tree[0]];
+		}
+
+		@SuppressWarnings("unchecked")
+		@Override
+		public T next() {
+			if (!hasNext())
+				throw new NoSuchElementException();
+
+			int winner = tree[0];
+			T element = (T) heads[winner];
+			advance(winner);
+			replay(winner);
+
+			return element;
+		}
+
+		/**
+		 * Takes the first element of every source and plays all matches.
+		 */
+		private void initialize() {
+			initialized = true;
+
+			int k = sources.length;
+			if (k == 0)
+				return;
+
+			for (int s = 0; s < k; ++s)
+				advance(s);
+
+			/*
+			 * winners[n] is the winner of the subtree of the internal node n.
+			 */
+			int[] winners = new int[k];
+			for (int n = k - 1; n >= 1; --n) {
+				int left = 2 * n >= k ? 2 * n - k : winners[2 * n];
+				int right = 2 * n + 1 >= k ? 2 * n + 1 - k : winners[2 * n + 1];
+				if (beats(left, right)) {
+					winners[n] = left;
+					tree[n] = right;
+				} else {
+					winners[n] = right;
+					tree[n] = left;
+				}
+			}
+
+			tree[0] = k == 1 ? 0 : winners[1];
+		}
+
+		/**
+		 * Replays the matches on the path from the leaf of the source to the root.
+		 */
+		private void replay(int source) {
+			int winner = source;
+			for (int node = (source + sources.length) >>> 1; node >= 1; node >>>= 1) {
+				if (beats(tree[node], winner)) {
+					int loser = winner;
+					winner = tree[node];
+					tree[node] = loser;
+				}
+			}
+
+			tree[0] = winner;
+		}
+
+		private void advance(int source) {
+			Iterator<?> iterator = sources[source];
+			if (iterator.hasNext()) {
+				heads[source] = iterator.next();
+			} else {
+				heads[source] = null;
+				exhausted[source] = true;
+			}
+		}
+
+		/**
+		 * Returns {@code true} if the head of source {@code a} goes before the head
+		 * of source {@code b}. An exhausted source loses to any other one, and a tie
+		 * is won by the earlier source.
+		 */
+		@SuppressWarnings("unchecked")
+		private boolean beats(int a, int b) {
+			if (exhausted[a] || exhausted[b])
+				return exhausted[a] == exhausted[b] ? a < b : exhausted[b];
+
+			int c = comparator.compare((T) heads[a], (T) heads[b]);
+
+			return c != 0 ? c < 0 : a < b;
+		}
+
+	}
+
+}
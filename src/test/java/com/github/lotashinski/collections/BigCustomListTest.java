@@ -0,0 +1,129 @@
+package com.github.lotashinski.collections;
+
+import org.junit.jupiter.api.Assertions;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+class BigCustomListTest {
+
+	@Test
+	void testAddGetSetAcrossSegments() {
+		BigCustomList<Integer> list = new BigCustomList<>(16);
+		for (int i = 0; i < 1_000; ++i)
+			list.add(i);
+
+		Assertions.assertEquals(1_000L, list.size64());
+		Assertions.assertEquals(17, list.get(17L));
+		Assertions.assertEquals(999, list.set(999L, -1));
+		Assertions.assertEquals(-1, list.get(999L));
+		Assertions.assertThrows(IndexOutOfBoundsException.class, () -> list.get(1_000L));
+		Assertions.assertThrows(IndexOutOfBoundsException.class, () -> list.get(-1L));
+
+		long sum = 0;
+		for (Integer element : list)
+			sum += element;
+		Assertions.assertEquals(999L * 998 / 2 - 1, sum);
+
+		list.clear();
+		Assertions.assertTrue(list.isEmpty());
+		Assertions.assertThrows(IllegalArgumentException.class, () -> new BigCustomList<>(24));
+	}
+
+	@Test
+	void testSortMatchesListSort() {
+		Random random = new Random(17);
+		for (int size : new int[] { 0, 1, 31, 32, 33, 500, 40_000 }) {
+			List<Integer> reference = new ArrayList<>();
+			BigCustomList<Integer> list = new BigCustomList<>(32);
+			BigCustomList<Integer> parallel = new BigCustomList<>(32);
+			for (int i = 0; i < size; ++i) {
+				int element = random.nextInt(size + 1);
+				reference.add(element);
+				list.add(element);
+				parallel.add(element);
+			}
+
+			reference.sort(Comparator.reverseOrder());
+			list.sort(Comparator.reverseOrder());
+			parallel.parallelSort(Comparator.reverseOrder());
+			Assertions.assertEquals(reference, list.asList());
+			Assertions.assertEquals(reference, parallel.asList());
+		}
+	}
+
+	@Test
+	void testSortIsStable() {
+		Random random = new Random(19);
+		List<int[]> reference = new ArrayList<>();
+		BigCustomList<int[]> list = new BigCustomList<>(8);
+		for (int i = 0; i < 2_000; ++i) {
+			int[] element = { random.nextInt(5), i };
+			reference.add(element);
+			list.add(element);
+		}
+
+		Comparator<int[]> byKey = Comparator.comparingInt(element -> element[0]);
+		reference.sort(byKey);
+		list.parallelSort(byKey);
+		for (int i = 0; i < reference.size(); ++i)
+			Assertions.assertSame(reference.get(i), list.get(i));
+	}
+
+	@Test
+	void testSubList() {
+		BigCustomList<Integer> list = new BigCustomList<>(4);
+		for (int i = 0; i < 50; ++i)
+			list.add(50 - i);
+
+		BigCustomList<Integer> view = list.subList(10L, 30L);
+		Assertions.assertEquals(20L, view.size64());
+		Assertions.assertEquals(40, view.get(0L));
+
+		view.sort();
+		Assertions.assertEquals(21, list.get(10L));
+		Assertions.assertEquals(40, list.get(29L));
+		Assertions.assertEquals(50, list.get(0L));
+		Assertions.assertEquals(20, list.get(30L));
+
+		BigCustomList<Integer> inner = view.subList(5L, 7L);
+		inner.set(1L, 0);
+		Assertions.assertEquals(0, list.get(16L));
+		Assertions.assertEquals(List.of(26, 0), inner.asList());
+		Assertions.assertThrows(UnsupportedOperationException.class, () -> view.add(1));
+
+		list.add(0);
+		Assertions.assertThrows(ConcurrentModificationException.class, view::size64);
+	}
+
+	@Test
+	void testListAdapter() {
+		BigCustomList<String> big = new BigCustomList<>(4);
+		List<String> list = big.asList();
+		list.add("a");
+		list.addAll(List.of("b", "c", "d", "e"));
+
+		Assertions.assertEquals(5L, big.size64());
+		Assertions.assertEquals(List.of("a", "b", "c", "d", "e"), list);
+		Assertions.assertEquals(List.of("b", "c"), list.subList(1, 3));
+		Assertions.assertArrayEquals(new String[] { "a", "b", "c", "d", "e" }, list.toArray(new String[0]));
+		Assertions.assertEquals(3, list.indexOf("d"));
+		Assertions.assertThrows(UnsupportedOperationException.class, () -> list.add(0, "z"));
+		Assertions.assertThrows(UnsupportedOperationException.class, () -> list.remove(0));
+
+		Iterator<String> iterator = big.iterator();
+		iterator.next();
+		big.add("f");
+		Assertions.assertThrows(ConcurrentModificationException.class, iterator::next);
+
+		Assertions.assertEquals(Integer.MAX_VALUE, BigCustomList.checkedSize(Integer.MAX_VALUE));
+		Assertions.assertThrows(IllegalStateException.class, () -> BigCustomList.checkedSize(3_000_000_000L));
+	}
+
+}
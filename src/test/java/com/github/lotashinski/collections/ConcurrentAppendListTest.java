@@ -0,0 +1,128 @@
+package com.github.lotashinski.collections;
+
+import org.junit.jupiter.api.Assertions;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+class ConcurrentAppendListTest {
+
+	@Test
+	void testAddAndGetAcrossChunks() {
+		ConcurrentAppendList<Integer> list = new ConcurrentAppendList<>();
+		for (int i = 0; i < 10_000; ++i)
+			Assertions.assertTrue(list.add(i));
+
+		Assertions.assertEquals(10_000, list.size());
+		for (int i = 0; i < 10_000; ++i)
+			Assertions.assertEquals(i, list.get(i));
+
+		Assertions.assertThrows(IndexOutOfBoundsException.class, () -> list.get(10_000));
+	}
+
+	@Test
+	void testConcurrentProducers() throws Exception {
+		int producers = 8;
+		int perProducer = 20_000;
+		ConcurrentAppendList<Integer> list = new ConcurrentAppendList<>();
+		CountDownLatch start = new CountDownLatch(1);
+
+		ExecutorService executor = Executors.newFixedThreadPool(producers);
+		try {
+			List<Future<?>> futures = new ArrayList<>();
+			for (int p = 0; p < producers; ++p) {
+				int producer = p;
+				futures.add(executor.submit(() -> {
+					start.await();
+					for (int i = 0; i < perProducer; ++i) {
+						if (i % 100 == 0)
+							list.addAll(List.of(producer * perProducer + i));
+						else
+							list.add(producer * perProducer + i);
+					}
+					return null;
+				}));
+			}
+
+			start.countDown();
+			while (!futures.stream().allMatch(Future::isDone)) {
+				int size = list.size();
+				for (int i = 0; i < size; ++i)
+					Assertions.assertNotNull(list.get(i));
+			}
+			for (Future<?> future : futures)
+				future.get();
+		} finally {
+			executor.shutdown();
+			executor.awaitTermination(10, TimeUnit.SECONDS);
+		}
+
+		Assertions.assertEquals(producers * perProducer, list.size());
+
+		boolean[] seen = new boolean[producers * perProducer];
+		int[] last = new int[producers];
+		Arrays.fill(last, -1);
+		for (Integer element : list) {
+			Assertions.assertFalse(seen[element]);
+			seen[element] = true;
+
+			int producer = element / perProducer;
+			Assertions.assertTrue(last[producer] < element);
+			last[producer] = element;
+		}
+	}
+
+	@Test
+	void testIterationOverPublishedPrefix() {
+		ConcurrentAppendList<String> list = new ConcurrentAppendList<>(List.of("a", "b", "c"));
+
+		Iterator<String> iterator = list.iterator();
+		List<String> subList = list.subList(1, 3);
+		list.add("d");
+
+		List<String> traversed = new ArrayList<>();
+		iterator.forEachRemaining(traversed::add);
+		Assertions.assertEquals(List.of("a", "b", "c"), traversed);
+		Assertions.assertEquals(List.of("b", "c"), subList);
+
+		traversed.clear();
+		list.forEach(traversed::add);
+		Assertions.assertEquals(List.of("a", "b", "c", "d"), traversed);
+		Assertions.assertArrayEquals(new Object[] { "a", "b", "c", "d" }, list.toArray());
+	}
+
+	@Test
+	void testChunkLengths() {
+		Assertions.assertEquals(32, ConcurrentAppendList.chunkLength(0));
+		Assertions.assertEquals(1 << 30, ConcurrentAppendList.chunkLength(25));
+		Assertions.assertEquals(31, ConcurrentAppendList.chunkLength(26));
+
+		long slots = 0;
+		for (int chunk = 0; chunk <= 26; ++chunk)
+			slots += ConcurrentAppendList.chunkLength(chunk);
+		Assertions.assertEquals(Integer.MAX_VALUE, slots);
+	}
+
+	@Test
+	void testUnsupportedOperations() {
+		ConcurrentAppendList<String> list = new ConcurrentAppendList<>(List.of("a"));
+
+		Assertions.assertThrows(NullPointerException.class, () -> list.add(null));
+		Assertions.assertThrows(NullPointerException.class, () -> list.addAll(Arrays.asList("b", null)));
+		Assertions.assertThrows(UnsupportedOperationException.class, () -> list.set(0, "b"));
+		Assertions.assertThrows(UnsupportedOperationException.class, () -> list.remove(0));
+		Assertions.assertThrows(UnsupportedOperationException.class, () -> list.add(0, "b"));
+		Assertions.assertThrows(UnsupportedOperationException.class, list::clear);
+		Assertions.assertEquals(List.of("a"), list);
+	}
+
+}
@@ -0,0 +1,176 @@
+package com.github.lotashinski.collections;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Assumptions;
+
+import java.lang.management.ManagementFactory;
+import java.util.Collections;
+import java.util.List;
+import java.util.ListIterator;
+import java.util.Random;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import com.sun.management.ThreadMXBean;
+
+/**
+ * Budgets of the bytes allocated by the hot operations of {@link CustomList},
+ * measured with the allocation counter of the current thread. Every operation
+ * is run a few times before it is measured, so that class loading and other
+ * one-time work is not counted.
+ */
+class CustomListAllocationTest {
+
+	private static final int SIZE = 10_000;
+
+	/**
+	 * Allowed allocation of an operation which is expected to allocate nothing,
+	 * or only one small object such as an iterator, for all {@link #SIZE}
+	 * elements.
+	 */
+	private static final long SLACK = 256;
+
+	private static final int WARM_UP = 5;
+
+	private static ThreadMXBean threads;
+
+	private static long baseline;
+
+	private static Integer[] values;
+
+	/**
+	 * Keeps the results of the measured operations alive.
+	 */
+	private static long sink;
+
+	@BeforeAll
+	static void setUp() {
+		Assumptions.assumeTrue(ManagementFactory.getThreadMXBean() instanceof ThreadMXBean);
+		threads = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+		Assumptions.assumeTrue(threads.isThreadAllocatedMemorySupported());
+		threads.setThreadAllocatedMemoryEnabled(true);
+
+		values = new Integer[SIZE];
+		for (int i = 0; i < SIZE; ++i)
+			values[i] = i;
+
+		baseline = measure(() -> {
+		});
+	}
+
+	@Test
+	void testGetAndSet() {
+		CustomList<Integer> list = filledList();
+
+		assertBudget("get", SLACK, () -> {
+			for (int i = 0; i < SIZE; ++i)
+				sink += list.get(i);
+		});
+		assertBudget("set", SLACK, () -> {
+			for (int i = 0; i < SIZE; ++i)
+				list.set(i, values[SIZE - 1 - i]);
+		});
+	}
+
+	@Test
+	void testAddWithoutResizeAndClear() {
+		CustomList<Integer> list = new CustomList<>(SIZE);
+
+		assertBudget("add and clear", SLACK, () -> {
+			for (int i = 0; i < SIZE; ++i)
+				list.add(values[i]);
+			list.clear();
+		});
+		Assertions.assertEquals(SIZE, list.capacity());
+	}
+
+	@Test
+	void testIteration() {
+		CustomList<Integer> list = filledList();
+
+		assertBudget("iterator", SLACK, () -> {
+			for (Integer value : list)
+				sink += value;
+		});
+		assertBudget("previous", SLACK, () -> {
+			for (ListIterator<Integer> iterator = list.listIterator(SIZE); iterator.hasPrevious();)
+				sink += iterator.previous();
+		});
+		assertBudget("forEach", SLACK, () -> list.forEach(value -> sink += value));
+	}
+
+	@Test
+	void testIndexOf() {
+		CustomList<Integer> list = filledList();
+		Integer missing = -1;
+
+		assertBudget("indexOf", SLACK, () -> {
+			for (int i = 0; i < 100; ++i) {
+				sink += list.indexOf(values[i * 97]);
+				sink += list.lastIndexOf(values[i * 97]);
+			}
+			sink += list.indexOf(missing);
+			sink += list.contains(missing) ? 1 : 0;
+		});
+	}
+
+	@Test
+	void testSubListAccess() {
+		CustomList<Integer> list = filledList();
+
+		assertBudget("subList", SLACK, () -> {
+			List<Integer> subList = list.subList(SIZE / 4, SIZE / 2);
+			for (int i = 0; i < subList.size(); ++i) {
+				sink += subList.get(i);
+				subList.set(i, values[i]);
+			}
+		});
+	}
+
+	@Test
+	void testSort() {
+		CustomList<Integer> list = filledList();
+		List<Integer> shuffled = filledList();
+		Collections.shuffle(shuffled, new Random(37));
+
+		/*
+		 * One scratch buffer of half of the elements and the run boundaries.
+		 */
+		long references = 8L * (SIZE / 2 + 2);
+		long runs = 4L * (SIZE / MergeSort.MIN_RUN + 4);
+		assertBudget("sort", references + runs + SLACK, () -> {
+			for (int i = 0; i < SIZE; ++i)
+				list.set(i, shuffled.get(i));
+			list.sort();
+		});
+		Assertions.assertEquals(filledList(), list);
+
+		assertBudget("sort of a sorted list", runs + SLACK, list::sort);
+	}
+
+	private static CustomList<Integer> filledList() {
+		CustomList<Integer> list = new CustomList<>(SIZE);
+		for (Integer value : values)
+			list.add(value);
+
+		return list;
+	}
+
+	private static void assertBudget(String operation, long budget, Runnable action) {
+		for (int i = 0; i < WARM_UP; ++i)
+			action.run();
+
+		long allocated = measure(action) - baseline;
+		Assertions.assertTrue(allocated <= budget,
+				operation + " allocated " + allocated + " bytes, the budget is " + budget);
+	}
+
+	private static long measure(Runnable action) {
+		long before = threads.getCurrentThreadAllocatedBytes();
+		action.run();
+
+		return threads.getCurrentThreadAllocatedBytes() - before;
+	}
+
+}
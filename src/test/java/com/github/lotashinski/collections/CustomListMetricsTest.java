@@ -0,0 +1,129 @@
+package com.github.lotashinski.collections;
+
+import org.junit.jupiter.api.Assertions;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+class CustomListMetricsTest {
+
+	@BeforeEach
+	void reset() {
+		Assertions.assertTrue(CustomListMetrics.isEnabled());
+		CustomListMetrics.reset();
+	}
+
+	@Test
+	void testResizes() {
+		CustomList<Integer> list = new CustomList<>(10);
+		for (int i = 0; i < 11; ++i)
+			list.add(i);
+		list.trimToSize();
+
+		CustomListMetrics.Snapshot snapshot = CustomListMetrics.snapshot();
+		Assertions.assertEquals(2, snapshot.getResizes());
+		Assertions.assertTrue(snapshot.getBytesCopied() == 21 * 4 || snapshot.getBytesCopied() == 21 * 8,
+				snapshot.toString());
+	}
+
+	@Test
+	void testShifts() {
+		CustomList<Integer> list = new CustomList<>(List.of(0, 1, 2, 3, 4, 5));
+		list.ensureCapacity(20);
+		list.add(1, 10);
+		list.addAll(0, List.of(20, 21));
+		list.remove(0);
+		list.subList(2, 4).clear();
+
+		CustomListMetrics.Snapshot snapshot = CustomListMetrics.snapshot();
+		Assertions.assertEquals(List.of(21, 0, 2, 3, 4, 5), list);
+		Assertions.assertEquals(5 + 7, snapshot.getElementsShiftedRight());
+		Assertions.assertEquals(8 + 4, snapshot.getElementsShiftedLeft());
+	}
+
+	@Test
+	void testSortComparisons() {
+		AtomicInteger calls = new AtomicInteger();
+		Comparator<Integer> comparator = (o1, o2) -> {
+			calls.incrementAndGet();
+			return o1.compareTo(o2);
+		};
+		CustomList<Integer> list = new CustomList<>();
+		for (int i = 0; i < 1_000; ++i)
+			list.add((i * 7919) % 1_000);
+
+		list.sort(comparator);
+		list.parallelSort(comparator.reversed());
+
+		CustomListMetrics.Snapshot snapshot = CustomListMetrics.snapshot();
+		Assertions.assertEquals(2, snapshot.getSorts());
+		Assertions.assertEquals(calls.get(), snapshot.getComparisons());
+		Assertions.assertEquals(999, list.get(0));
+	}
+
+	@Test
+	void testScans() {
+		CustomList<String> list = new CustomList<>(List.of("a", "b", "c", "b"));
+
+		Assertions.assertEquals(1, list.indexOf("b"));
+		Assertions.assertEquals(3, list.lastIndexOf("b"));
+		Assertions.assertEquals(-1, list.indexOf("z"));
+		Assertions.assertTrue(list.contains("c"));
+
+		CustomListMetrics.Snapshot snapshot = CustomListMetrics.snapshot();
+		Assertions.assertEquals(4, snapshot.getScans());
+		Assertions.assertEquals(2 + 1 + 4 + 3, snapshot.getElementsScanned());
+	}
+
+	@Test
+	void testFlightRecorderEvents() throws Exception {
+		Path file = Files.createTempFile("custom-list", ".jfr");
+		try (Recording recording = new Recording()) {
+			recording.enable(CustomListMetrics.RESIZE_EVENT);
+			recording.enable(CustomListMetrics.SHIFT_EVENT);
+			recording.enable(CustomListMetrics.SORT_EVENT);
+			recording.enable(CustomListMetrics.SCAN_EVENT);
+			recording.start();
+
+			CustomList<Integer> list = new CustomList<>(1);
+			list.add(2);
+			list.add(1);
+			list.add(0, 3);
+			list.sort();
+			list.indexOf(3);
+
+			recording.stop();
+			recording.dump(file);
+
+			List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+			Assertions.assertEquals(1, count(events, CustomListMetrics.SORT_EVENT));
+			Assertions.assertEquals(1, count(events, CustomListMetrics.SHIFT_EVENT));
+			Assertions.assertEquals(1, count(events, CustomListMetrics.SCAN_EVENT));
+			Assertions.assertTrue(count(events, CustomListMetrics.RESIZE_EVENT) >= 1);
+
+			RecordedEvent sort = events.stream()
+					.filter(event -> event.getEventType().getName().equals(CustomListMetrics.SORT_EVENT))
+					.findFirst()
+					.orElseThrow();
+			Assertions.assertEquals(3, sort.getInt("size"));
+			Assertions.assertEquals(System.identityHashCode(list), sort.getInt("list"));
+		} finally {
+			Files.deleteIfExists(file);
+		}
+	}
+
+	private static long count(List<RecordedEvent> events, String name) {
+		return events.stream().filter(event -> event.getEventType().getName().equals(name)).count();
+	}
+
+}
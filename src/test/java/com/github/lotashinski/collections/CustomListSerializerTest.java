@@ -0,0 +1,154 @@
+package com.github.lotashinski.collections;
+
+import org.junit.jupiter.api.Assertions;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.StreamCorruptedException;
+import java.lang.management.ManagementFactory;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.sun.management.ThreadMXBean;
+
+class CustomListSerializerTest {
+
+	@Test
+	void testWriteAndRead() throws IOException {
+		CustomList<String> list = new CustomList<>();
+		for (int i = 0; i < 10_000; ++i)
+			list.add(i % 7 == 0 ? null : "element-" + i);
+
+		CustomListSerializer<String> serializer = new CustomListSerializer<>(ElementEncoder.ofString(), 64);
+		byte[] bytes = write(serializer, list);
+
+		CustomList<String> read = serializer.read(channel(bytes));
+		Assertions.assertEquals(list, read);
+
+		read.add("next");
+		Assertions.assertEquals(10_001, read.size());
+	}
+
+	@Test
+	void testWriteOnlyLiveElements() throws IOException {
+		CustomList<Integer> list = new CustomList<>();
+		for (int i = 0; i < 11; ++i)
+			list.add(i);
+
+		CustomListSerializer<Integer> serializer = new CustomListSerializer<>(ElementEncoder.of(ElementCodec.ofInt()));
+		byte[] bytes = write(serializer, list);
+
+		Assertions.assertEquals(CustomListSerializer.HEADER_SIZE + 11 * 8, bytes.length);
+	}
+
+	@Test
+	void testElementLargerThanBuffer() throws IOException {
+		CustomList<String> list = new CustomList<>(List.of("a", "x".repeat(1_000), "ж".repeat(300), ""));
+
+		CustomListSerializer<String> serializer = new CustomListSerializer<>(ElementEncoder.ofString(), 32);
+		Assertions.assertEquals(list, serializer.read(channel(write(serializer, list))));
+	}
+
+	@Test
+	void testSeveralListsInOneChannel() throws IOException {
+		CustomListSerializer<Long> serializer = new CustomListSerializer<>(ElementEncoder.of(ElementCodec.ofLong()));
+		CustomList<Long> first = new CustomList<>(List.of(1L, 2L, 3L));
+		CustomList<Long> second = new CustomList<>();
+
+		ByteArrayOutputStream output = new ByteArrayOutputStream();
+		try (WritableByteChannel channel = Channels.newChannel(output)) {
+			serializer.write(first, channel);
+			serializer.write(second, channel);
+			serializer.write(first, channel);
+		}
+
+		ReadableByteChannel channel = channel(output.toByteArray());
+		Assertions.assertEquals(first, serializer.read(channel));
+		Assertions.assertEquals(second, serializer.read(channel));
+		Assertions.assertEquals(first, serializer.read(channel));
+	}
+
+	@Test
+	void testCorruptedInput() throws IOException {
+		CustomListSerializer<String> serializer = new CustomListSerializer<>(ElementEncoder.ofString());
+		byte[] bytes = write(serializer, new CustomList<>(List.of("a", "b", "c")));
+
+		Assertions.assertThrows(EOFException.class,
+				() -> serializer.read(channel(Arrays.copyOf(bytes, bytes.length - 1))));
+
+		byte[] wrongMagic = bytes.clone();
+		wrongMagic[0]++;
+		Assertions.assertThrows(StreamCorruptedException.class, () -> serializer.read(channel(wrongMagic)));
+
+		Assertions.assertThrows(IllegalArgumentException.class,
+				() -> new CustomListSerializer<>(ElementEncoder.ofString(), 4));
+	}
+
+	@Test
+	void testHeaderDoesNotDecideAllocation(@TempDir Path directory) throws IOException {
+		int size = Integer.MAX_VALUE - 8;
+		ByteBuffer forged = ByteBuffer.allocate(CustomListSerializer.HEADER_SIZE + 8);
+		forged.put(Arrays.copyOf(write(new CustomListSerializer<>(ElementEncoder.ofString()), new CustomList<>()), 8));
+		forged.putInt(size).putLong((long) size * Integer.BYTES);
+		forged.putInt(1).put((byte) 'a').put(new byte[3]);
+
+		CustomListSerializer<String> serializer = new CustomListSerializer<>(ElementEncoder.ofString());
+		ThreadMXBean threads = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+		long before = threads.getCurrentThreadAllocatedBytes();
+		Assertions.assertThrows(EOFException.class, () -> serializer.read(channel(forged.array())));
+		long allocated = threads.getCurrentThreadAllocatedBytes() - before;
+		Assertions.assertTrue(allocated < 1 << 20, "Allocated " + allocated + " bytes for a forged header");
+
+		Path file = Files.write(directory.resolve("forged"), forged.array());
+		try (FileChannel channel = FileChannel.open(file)) {
+			Assertions.assertThrows(EOFException.class, () -> serializer.read(channel));
+		}
+	}
+
+	@Test
+	void testReadFromSeekableChannel(@TempDir Path directory) throws IOException {
+		CustomList<String> list = new CustomList<>();
+		for (int i = 0; i < 1_000; ++i)
+			list.add(i % 5 == 0 ? null : "element-" + i);
+
+		CustomListSerializer<String> serializer = new CustomListSerializer<>(ElementEncoder.ofString(), 64);
+		Path file = directory.resolve("lists");
+		try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+			serializer.write(list, channel);
+			serializer.write(list, channel);
+		}
+
+		try (FileChannel channel = FileChannel.open(file)) {
+			Assertions.assertEquals(list, serializer.read(channel));
+			Assertions.assertEquals(list, serializer.read(channel));
+			Assertions.assertEquals(channel.size(), channel.position());
+		}
+	}
+
+	private static <T> byte[] write(CustomListSerializer<T> serializer, CustomList<T> list) throws IOException {
+		ByteArrayOutputStream output = new ByteArrayOutputStream();
+		try (WritableByteChannel channel = Channels.newChannel(output)) {
+			serializer.write(list, channel);
+		}
+
+		return output.toByteArray();
+	}
+
+	private static ReadableByteChannel channel(byte[] bytes) {
+		return Channels.newChannel(new ByteArrayInputStream(bytes));
+	}
+
+}
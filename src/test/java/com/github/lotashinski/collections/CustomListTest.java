@@ -2,9 +2,16 @@ package com.github.lotashinski.collections;
 
 import org.junit.jupiter.api.Assertions;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.ConcurrentModificationException;
 import java.util.Iterator;
 import java.util.List;
 import java.util.ListIterator;
+import java.util.Random;
+import java.util.Spliterator;
 
 import org.junit.jupiter.api.Test;
 
@@ -372,6 +379,77 @@ class CustomListTest {
 		Assertions.assertEquals(list, List.of(1, 2, 3));
 	}
 
+	@Test
+	void testRemoveAllLarge() {
+		List<Integer> reference = new ArrayList<>();
+		List<Integer> removed = new ArrayList<>();
+		for (int i = 0; i < 10_000; ++i) {
+			reference.add(i % 1000);
+			if (i % 3 == 0)
+				removed.add(i);
+		}
+
+		List<Integer> list = new CustomList<>(reference);
+
+		Assertions.assertTrue(list.removeAll(removed));
+		reference.removeAll(removed);
+		Assertions.assertEquals(reference, list);
+		Assertions.assertFalse(list.removeAll(List.of(-1)));
+	}
+
+	@Test
+	void testRemoveAllItself() {
+		List<Integer> list = new CustomList<>(List.of(1, 2, 3));
+
+		Assertions.assertTrue(list.removeAll(list));
+		Assertions.assertEquals(List.of(), list);
+	}
+
+	@Test
+	void testRetainAllWithNulls() {
+		List<Integer> list = new CustomList<>(List.of(1, 2, 3, 4));
+		list.add(1, null);
+
+		Assertions.assertTrue(list.retainAll(Arrays.asList(null, 3)));
+		Assertions.assertEquals(Arrays.asList(null, 3), list);
+	}
+
+	@Test
+	void testRemoveIf() {
+		List<Integer> list = new CustomList<>(List.of(1, 2, 3, 4, 5, 6, 7, 8));
+
+		Assertions.assertTrue(list.removeIf(i -> i % 2 == 0));
+		Assertions.assertEquals(List.of(1, 3, 5, 7), list);
+		Assertions.assertFalse(list.removeIf(i -> i > 10));
+
+		list.add(9);
+		Assertions.assertEquals(List.of(1, 3, 5, 7, 9), list);
+	}
+
+	@Test
+	void testRemoveIfWhenFilterThrows() {
+		List<Integer> list = new CustomList<>(List.of(1, 2, 3, 4, 5, 6));
+
+		Assertions.assertThrows(IllegalStateException.class, () -> list.removeIf(i -> {
+			if (i == 4)
+				throw new IllegalStateException();
+			return i % 2 == 0;
+		}));
+		Assertions.assertEquals(List.of(1, 3, 4, 5, 6), list);
+	}
+
+	@Test
+	void testSubListRemoveAllAndRetainAll() {
+		List<Integer> list = new CustomList<>(List.of(0, 1, 2, 3, 4, 5, 6, 7, 8, 9));
+		List<Integer> view = list.subList(2, 8);
+
+		Assertions.assertTrue(view.removeAll(List.of(0, 3, 5)));
+		Assertions.assertEquals(List.of(2, 4, 6, 7), view);
+		Assertions.assertTrue(view.retainAll(List.of(4, 7, 9)));
+		Assertions.assertEquals(List.of(4, 7), view);
+		Assertions.assertEquals(List.of(0, 1, 4, 7, 8, 9), list);
+	}
+
 	@Test
 	void testIndexOf() {
 		List<Integer> list = new CustomList<>(List.of(-3, -2, -1, 0, 1, 2, 3, 0));
@@ -547,4 +625,510 @@ class CustomListTest {
 		Assertions.assertNull(list.get(0));
 	}
 
+	@Test
+	void testSortEmpty() {
+		CustomList<Integer> list = new CustomList<>();
+		list.sort();
+
+		Assertions.assertEquals(List.of(), list);
+	}
+
+	@Test
+	void testSortWithComparator() {
+		CustomList<Integer> list = new CustomList<>(List.of(9, 0, -128, 23, 5));
+		list.sort(Comparator.reverseOrder());
+
+		Assertions.assertEquals(List.of(23, 9, 5, 0, -128), list);
+	}
+
+	@Test
+	void testSortPartialWithInvalidRange() {
+		CustomList<Integer> list = new CustomList<>(List.of(3, 2, 1));
+
+		Assertions.assertThrows(IndexOutOfBoundsException.class, () -> list.sort(-1, 2));
+		Assertions.assertThrows(IndexOutOfBoundsException.class, () -> list.sort(1, 3));
+		Assertions.assertThrows(IndexOutOfBoundsException.class, () -> list.sort(0, -1));
+	}
+
+	@Test
+	void testSortLarge() {
+		Random random = new Random(7);
+		List<Integer> reference = new ArrayList<>();
+		for (int i = 0; i < 10_000; ++i)
+			reference.add(random.nextInt(1000));
+
+		CustomList<Integer> list = new CustomList<>(reference);
+		list.sort();
+		reference.sort(null);
+
+		Assertions.assertEquals(reference, list);
+	}
+
+	@Test
+	void testSortIsStable() {
+		Random random = new Random(11);
+		List<int[]> reference = new ArrayList<>();
+		for (int i = 0; i < 5_000; ++i)
+			reference.add(new int[] { random.nextInt(50), i });
+
+		CustomList<int[]> list = new CustomList<>(reference);
+		list.sort(Comparator.comparingInt(pair -> pair[0]));
+
+		for (int i = 1; i < list.size(); ++i) {
+			int[] previous = list.get(i - 1);
+			int[] current = list.get(i);
+
+			Assertions.assertTrue(previous[0] < current[0] || previous[0] == current[0] && previous[1] < current[1]);
+		}
+	}
+
+	@Test
+	void testSortRuns() {
+		List<Integer> reference = new ArrayList<>();
+		for (int i = 0; i < 1000; ++i)
+			reference.add(i);
+		for (int i = 1000; i > 0; --i)
+			reference.add(i);
+		for (int i = 0; i < 1000; ++i)
+			reference.add(i % 7);
+
+		CustomList<Integer> list = new CustomList<>(reference);
+		list.sort();
+		reference.sort(null);
+
+		Assertions.assertEquals(reference, list);
+	}
+
+	@Test
+	void testParallelSort() {
+		Random random = new Random(13);
+		List<Integer> reference = new ArrayList<>();
+		for (int i = 0; i < 200_000; ++i)
+			reference.add(random.nextInt());
+		reference.add(null);
+
+		CustomList<Integer> list = new CustomList<>(reference);
+		list.parallelSort();
+		reference.sort(Comparator.nullsFirst(Comparator.naturalOrder()));
+
+		Assertions.assertEquals(reference, list);
+	}
+
+	@Test
+	void testParallelSortIsStable() {
+		Random random = new Random(17);
+		List<int[]> reference = new ArrayList<>();
+		for (int i = 0; i < 200_000; ++i)
+			reference.add(new int[] { random.nextInt(100), i });
+
+		CustomList<int[]> list = new CustomList<>(reference);
+		list.parallelSort(Comparator.comparingInt(pair -> pair[0]));
+
+		for (int i = 1; i < list.size(); ++i) {
+			int[] previous = list.get(i - 1);
+			int[] current = list.get(i);
+
+			Assertions.assertTrue(previous[0] < current[0] || previous[0] == current[0] && previous[1] < current[1]);
+		}
+	}
+
+	@Test
+	void testParallelSortPartial() {
+		List<Integer> target = List.of(9, 0, -128, 23, 5, 99, 12, 123, 3122);
+
+		CustomList<Integer> list = new CustomList<>(target);
+		list.parallelSort(0, 5);
+
+		Assertions.assertEquals(List.of(-128, 0, 5, 9, 23, 99, 12, 123, 3122), list);
+	}
+
+	@Test
+	void testSpliteratorSplitsInHalves() {
+		CustomList<Integer> list = new CustomList<>();
+		for (int i = 0; i < 101; ++i)
+			list.add(i);
+
+		Spliterator<Integer> right = list.spliterator();
+		Assertions.assertTrue(right.hasCharacteristics(Spliterator.ORDERED | Spliterator.SIZED | Spliterator.SUBSIZED));
+		Assertions.assertEquals(101, right.getExactSizeIfKnown());
+
+		Spliterator<Integer> left = right.trySplit();
+		Assertions.assertEquals(50, left.getExactSizeIfKnown());
+		Assertions.assertEquals(51, right.getExactSizeIfKnown());
+
+		List<Integer> traversed = new ArrayList<>();
+		Assertions.assertTrue(left.tryAdvance(traversed::add));
+		left.forEachRemaining(traversed::add);
+		right.forEachRemaining(traversed::add);
+		Assertions.assertEquals(list, traversed);
+		Assertions.assertFalse(right.tryAdvance(traversed::add));
+	}
+
+	@Test
+	void testParallelStream() {
+		CustomList<Integer> list = new CustomList<>();
+		for (int i = 0; i < 100_000; ++i)
+			list.add(i);
+
+		Assertions.assertEquals(4_999_950_000L, list.parallelStream().mapToLong(Integer::longValue).sum());
+		Assertions.assertEquals(List.of(10, 11, 12), list.subList(10, 13).stream().toList());
+		Assertions.assertEquals(list, list.parallelStream().toList());
+	}
+
+	@Test
+	void testSubListSpliterator() {
+		CustomList<Integer> list = new CustomList<>(List.of(1, 2, 3, 4, 5, 6, 7));
+		List<Integer> subList = list.subList(2, 6);
+
+		Spliterator<Integer> spliterator = subList.spliterator();
+		Assertions.assertEquals(4, spliterator.estimateSize());
+		Spliterator<Integer> prefix = spliterator.trySplit();
+
+		List<Integer> traversed = new ArrayList<>();
+		prefix.forEachRemaining(traversed::add);
+		spliterator.forEachRemaining(traversed::add);
+		Assertions.assertEquals(List.of(3, 4, 5, 6), traversed);
+	}
+
+	@Test
+	void testSpliteratorFailFast() {
+		CustomList<Integer> list = new CustomList<>(List.of(1, 2, 3));
+
+		Spliterator<Integer> spliterator = list.spliterator();
+		Assertions.assertThrows(ConcurrentModificationException.class,
+				() -> spliterator.forEachRemaining(element -> list.add(element)));
+	}
+
+	@Test
+	void testIteratorFailFast() {
+		List<Integer> list = new CustomList<>(List.of(1, 2, 3));
+		Iterator<Integer> iterator = list.iterator();
+		iterator.next();
+		list.add(4);
+
+		Assertions.assertThrows(ConcurrentModificationException.class, iterator::next);
+		Assertions.assertThrows(ConcurrentModificationException.class, () -> {
+			for (Integer element : list)
+				list.remove(element);
+		});
+	}
+
+	@Test
+	void testListIteratorRemoveAndAdd() {
+		List<Integer> list = new CustomList<>(List.of(1, 2, 3, 4, 5, 6));
+		ListIterator<Integer> iterator = list.listIterator();
+		while (iterator.hasNext()) {
+			int element = iterator.next();
+			if (element % 2 == 0)
+				iterator.remove();
+			else
+				iterator.add(element * 10);
+		}
+
+		Assertions.assertEquals(List.of(1, 10, 3, 30, 5, 50), list);
+	}
+
+	@Test
+	void testSubListIteratorRemove() {
+		List<Integer> list = new CustomList<>(List.of(1, 2, 3, 4, 5, 6));
+		List<Integer> subList = list.subList(1, 5);
+		Iterator<Integer> iterator = subList.iterator();
+		while (iterator.hasNext()) {
+			if (iterator.next() % 2 == 1)
+				iterator.remove();
+		}
+
+		Assertions.assertEquals(List.of(2, 4), subList);
+		Assertions.assertEquals(List.of(1, 2, 4, 6), list);
+	}
+
+	@Test
+	void testForEachRemaining() {
+		List<Integer> list = new CustomList<>(List.of(1, 2, 3, 4, 5));
+		Iterator<Integer> iterator = list.subList(1, 5).iterator();
+		iterator.next();
+
+		List<Integer> rest = new ArrayList<>();
+		iterator.forEachRemaining(rest::add);
+		Assertions.assertEquals(List.of(3, 4, 5), rest);
+		Assertions.assertFalse(iterator.hasNext());
+
+		iterator.remove();
+		Assertions.assertEquals(List.of(1, 2, 3, 4), list);
+	}
+
+	@Test
+	void testForEachAndReplaceAll() {
+		List<Integer> list = new CustomList<>(List.of(1, 2, 3, 4, 5));
+
+		List<Integer> traversed = new ArrayList<>();
+		list.forEach(traversed::add);
+		Assertions.assertEquals(list, traversed);
+
+		list.replaceAll(element -> element * 2);
+		Assertions.assertEquals(List.of(2, 4, 6, 8, 10), list);
+
+		List<Integer> subList = list.subList(1, 3);
+		subList.replaceAll(element -> -element);
+		Assertions.assertEquals(List.of(2, -4, -6, 8, 10), list);
+
+		traversed.clear();
+		subList.forEach(traversed::add);
+		Assertions.assertEquals(List.of(-4, -6), traversed);
+
+		Assertions.assertThrows(ConcurrentModificationException.class, () -> list.forEach(list::add));
+	}
+
+	@Test
+	void testCapacity() {
+		CustomList<Integer> list = new CustomList<>(100);
+		Assertions.assertEquals(100, list.capacity());
+		Assertions.assertThrows(IllegalArgumentException.class, () -> new CustomList<>(-1));
+
+		list.ensureCapacity(150);
+		Assertions.assertEquals(200, list.capacity());
+
+		for (int i = 0; i < 50; ++i)
+			list.add(i);
+		list.trimToSize();
+		Assertions.assertEquals(50, list.capacity());
+
+		list.clear();
+		Assertions.assertEquals(50, list.capacity());
+		Assertions.assertTrue(list.isEmpty());
+
+		list.trimToSize();
+		list.add(1);
+		Assertions.assertEquals(List.of(1), list);
+	}
+
+	@Test
+	void testCapacityFromCollection() {
+		CustomList<Integer> list = new CustomList<>(Arrays.asList(new Integer[] { 1, 2, 3 }));
+		Assertions.assertEquals(3, list.capacity());
+
+		list.add(4);
+		Assertions.assertEquals(List.of(1, 2, 3, 4), list);
+	}
+
+	@Test
+	void testShrinkingPolicy() {
+		CustomList<Integer> list = new CustomList<>(16, GrowthPolicy.doubling().withShrinking(16));
+		for (int i = 0; i < 1_000; ++i)
+			list.add(i);
+		Assertions.assertEquals(1_024, list.capacity());
+
+		list.removeIf(element -> element >= 100);
+		Assertions.assertEquals(200, list.capacity());
+
+		while (list.size() > 1)
+			list.remove(list.size() - 1);
+		Assertions.assertEquals(16, list.capacity());
+		Assertions.assertEquals(List.of(0), list);
+	}
+
+	@Test
+	void testSortByIntKey() {
+		Random random = new Random(31);
+		List<int[]> reference = new ArrayList<>();
+		CustomList<int[]> list = new CustomList<>();
+		for (int i = 0; i < 5_000; ++i) {
+			int[] element = { random.nextInt() >> random.nextInt(32), i };
+			reference.add(element);
+			list.add(element);
+		}
+
+		reference.sort(Comparator.comparingInt(element -> element[0]));
+		list.sortByIntKey(element -> element[0]);
+		for (int i = 0; i < reference.size(); ++i)
+			Assertions.assertSame(reference.get(i), list.get(i));
+
+		CustomList<Integer> part = new CustomList<>(List.of(9, 5, 3, -1, 7, 0));
+		part.sortByIntKey(1, 4, Integer::intValue);
+		Assertions.assertEquals(List.of(9, -1, 3, 5, 7, 0), part);
+		Assertions.assertThrows(IndexOutOfBoundsException.class, () -> part.sortByIntKey(3, 4, Integer::intValue));
+	}
+
+	@Test
+	void testSortByLongKey() {
+		Random random = new Random(37);
+		List<Long> reference = new ArrayList<>();
+		CustomList<Long> list = new CustomList<>();
+		for (int i = 0; i < 5_000; ++i) {
+			long element = random.nextInt(3) == 0 ? random.nextInt(100) - 50 : random.nextLong();
+			reference.add(element);
+			list.add(element);
+		}
+
+		reference.sort(null);
+		list.sortByLongKey(Long::longValue);
+		Assertions.assertEquals(reference, list);
+	}
+
+	@Test
+	void testSortByStringKey() {
+		Random random = new Random(41);
+		String alphabet = "ab\u00e9\u0416\u4e2d";
+		List<String[]> reference = new ArrayList<>();
+		CustomList<String[]> list = new CustomList<>();
+		for (int i = 0; i < 5_000; ++i) {
+			StringBuilder key = new StringBuilder("common-prefix-");
+			int length = random.nextInt(6);
+			for (int j = 0; j < length; ++j)
+				key.append(alphabet.charAt(random.nextInt(alphabet.length())));
+
+			String[] element = { random.nextInt(50) == 0 ? null : key.toString(), Integer.toString(i) };
+			reference.add(element);
+			list.add(element);
+		}
+
+		reference.sort(Comparator.comparing(element -> element[0], Comparator.nullsFirst(Comparator.naturalOrder())));
+		list.sortByStringKey(element -> element[0]);
+		for (int i = 0; i < reference.size(); ++i)
+			Assertions.assertSame(reference.get(i), list.get(i));
+
+		CustomList<String> part = new CustomList<>(List.of("z", "b", "", "ab", "a", "y"));
+		part.sortByStringKey(1, 4, String::valueOf);
+		Assertions.assertEquals(List.of("z", "", "a", "ab", "b", "y"), part);
+	}
+
+	@Test
+	void testSelectNth() {
+		Random random = new Random(43);
+		for (int size : new int[] { 1, 10, 17, 1_000, 20_000 }) {
+			List<Integer> reference = new ArrayList<>();
+			CustomList<Integer> list = new CustomList<>();
+			for (int i = 0; i < size; ++i) {
+				int element = random.nextInt(Math.max(1, size / 4));
+				reference.add(element);
+				list.add(element);
+			}
+			reference.sort(null);
+
+			int k = random.nextInt(size);
+			Assertions.assertEquals(reference.get(k), list.selectNth(k, null));
+			for (int i = 0; i < size; ++i) {
+				if (i < k)
+					Assertions.assertTrue(list.get(i) <= list.get(k));
+				else
+					Assertions.assertTrue(list.get(i) >= list.get(k));
+			}
+		}
+
+		CustomList<Integer> part = new CustomList<>(List.of(100, 5, 4, 3, 2, 1, -100));
+		Assertions.assertEquals(2, part.selectNth(1, 5, 3, Comparator.reverseOrder()));
+		Assertions.assertEquals(100, part.get(0));
+		Assertions.assertEquals(-100, part.get(6));
+		Assertions.assertThrows(IndexOutOfBoundsException.class, () -> part.selectNth(1, 5, 5, null));
+	}
+
+	@Test
+	void testPartialSort() {
+		Random random = new Random(47);
+		List<Integer> reference = new ArrayList<>();
+		CustomList<Integer> list = new CustomList<>();
+		for (int i = 0; i < 10_000; ++i) {
+			int element = random.nextInt();
+			reference.add(element);
+			list.add(element);
+		}
+
+		list.partialSort(100, Comparator.reverseOrder());
+		reference.sort(Comparator.reverseOrder());
+		Assertions.assertEquals(reference.subList(0, 100), list.subList(0, 100));
+
+		list.partialSort(list.size(), null);
+		reference.sort(null);
+		Assertions.assertEquals(reference, list);
+
+		CustomList<Integer> part = new CustomList<>(List.of(9, 8, 7, 6, 5, 4, 3));
+		part.partialSort(2, 4, 2, null);
+		Assertions.assertEquals(List.of(9, 8, 4, 5), part.subList(0, 4));
+		Assertions.assertEquals(3, part.get(6));
+	}
+
+	@Test
+	void testTopK() {
+		Random random = new Random(53);
+		List<int[]> reference = new ArrayList<>();
+		CustomList<int[]> list = new CustomList<>();
+		for (int i = 0; i < 10_000; ++i) {
+			int[] element = { random.nextInt(100), i };
+			reference.add(element);
+			list.add(element);
+		}
+
+		Comparator<int[]> byKey = Comparator.comparingInt(element -> element[0]);
+		CustomList<int[]> top = list.topK(250, byKey.reversed());
+		Assertions.assertEquals(10_000, list.size());
+		Assertions.assertSame(reference.get(0), list.get(0));
+
+		reference.sort(byKey.reversed());
+		Assertions.assertEquals(250, top.size());
+		for (int i = 0; i < top.size(); ++i)
+			Assertions.assertSame(reference.get(i), top.get(i));
+
+		CustomList<Integer> part = new CustomList<>(List.of(1, 9, 3, 7, 5, 0));
+		Assertions.assertEquals(List.of(3, 5, 7, 9), part.topK(1, 4, 10, null));
+		Assertions.assertEquals(List.of(), part.topK(0, null));
+		Assertions.assertThrows(IllegalArgumentException.class, () -> part.topK(-1, null));
+	}
+
+	@Test
+	void testSortCachesStringsOfNonComparableElements() {
+		int[] toStringCalls = { 0 };
+		class Dto {
+
+			private final String name;
+
+			Dto(String name) {
+				this.name = name;
+			}
+
+			@Override
+			public String toString() {
+				toStringCalls[0]++;
+
+				return name;
+			}
+
+		}
+
+		Random random = new Random(59);
+		List<Dto> reference = new ArrayList<>();
+		CustomList<Dto> list = new CustomList<>();
+		for (int i = 0; i < 1_000; ++i) {
+			Dto element = random.nextInt(100) == 0 ? null : new Dto("dto-" + random.nextInt(300));
+			reference.add(element);
+			list.add(element);
+		}
+
+		list.sort();
+		Assertions.assertEquals(list.size() - Collections.frequency(list, null), toStringCalls[0]);
+
+		reference.sort(new OrderingComparator<>());
+		for (int i = 0; i < reference.size(); ++i)
+			Assertions.assertSame(reference.get(i), list.get(i));
+	}
+
+	@Test
+	void testSortByCachedKey() {
+		int[] keyCalls = { 0 };
+		CustomList<String> list = new CustomList<>(List.of("ccc", "a", "bb", "dd", "e", "fff"));
+
+		list.sortByCachedKey(element -> {
+			keyCalls[0]++;
+
+			return element.length();
+		});
+		Assertions.assertEquals(List.of("a", "e", "bb", "dd", "ccc", "fff"), list);
+		Assertions.assertEquals(6, keyCalls[0]);
+
+		list.sortByCachedKey(String::length, Comparator.reverseOrder());
+		Assertions.assertEquals(List.of("ccc", "fff", "bb", "dd", "a", "e"), list);
+
+		list.sortByCachedKey(1, 4, element -> element, null);
+		Assertions.assertEquals(List.of("ccc", "a", "bb", "dd", "fff", "e"), list);
+	}
+
 }
@@ -0,0 +1,199 @@
+package com.github.lotashinski.collections;
+
+import org.junit.jupiter.api.Assertions;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.ConcurrentModificationException;
+import java.util.List;
+import java.util.ListIterator;
+import java.util.PrimitiveIterator;
+
+import org.junit.jupiter.api.Test;
+
+class DoubleCustomListTest {
+
+	@Test
+	void testZeroSizeInNewList() {
+		DoubleCustomList list = new DoubleCustomList();
+
+		Assertions.assertEquals(0, list.size());
+		Assertions.assertTrue(list.isEmpty());
+	}
+
+	@Test
+	void testDoubleCustomListFromList() {
+		DoubleCustomList list = new DoubleCustomList(List.of(1.0, 2.5, Double.NaN));
+
+		Assertions.assertEquals(List.of(1.0, 2.5, Double.NaN), list);
+		Assertions.assertThrows(NullPointerException.class, () -> new DoubleCustomList(Arrays.asList(1.0, null)));
+	}
+
+	@Test
+	void testAddGetAndRemoveDouble() {
+		DoubleCustomList list = new DoubleCustomList();
+		for (int i = 0; i < 20; ++i)
+			Assertions.assertTrue(list.addDouble(i / 2.0));
+
+		Assertions.assertEquals(20, list.size());
+		Assertions.assertEquals(1.5, list.getDouble(3));
+		Assertions.assertEquals(1.5, list.removeDouble(3));
+		Assertions.assertEquals(2.0, list.getDouble(3));
+
+		Assertions.assertThrows(IndexOutOfBoundsException.class, () -> list.getDouble(19));
+		Assertions.assertThrows(IndexOutOfBoundsException.class, () -> list.getDouble(-1));
+	}
+
+	@Test
+	void testAddDoubleAtIndex() {
+		DoubleCustomList list = new DoubleCustomList(1.0, 2.0, 3.0, 4.0, 5.0);
+
+		list.addDouble(2, -0.0);
+		list.addDouble(list.size(), Double.NaN);
+
+		Assertions.assertArrayEquals(new double[] { 1.0, 2.0, -0.0, 3.0, 4.0, 5.0, Double.NaN }, list.toDoubleArray());
+		Assertions.assertThrows(IndexOutOfBoundsException.class, () -> list.addDouble(-1, 0.0));
+	}
+
+	@Test
+	void testSetAndRemoveDouble() {
+		DoubleCustomList list = new DoubleCustomList(1.0, 2.0, 3.0, 4.0, 5.0);
+
+		Assertions.assertEquals(1.0, list.setDouble(0, 0.1));
+		Assertions.assertEquals(4.0, list.removeDouble(3));
+		Assertions.assertArrayEquals(new double[] { 0.1, 2.0, 3.0, 5.0 }, list.toDoubleArray());
+	}
+
+	@Test
+	void testBoxedRemove() {
+		DoubleCustomList list = new DoubleCustomList(0.0, -0.0, Double.NaN, 1.0, 7.0);
+
+		Assertions.assertTrue(list.remove(Double.valueOf(-0.0)));
+		Assertions.assertTrue(list.remove(Double.valueOf(Double.NaN)));
+		Assertions.assertFalse(list.remove(Float.valueOf(1.0f)));
+		Assertions.assertEquals(7.0, list.remove(2));
+		Assertions.assertEquals(List.of(0.0, 1.0), list);
+	}
+
+	@Test
+	void testIndexOfFollowsDoubleEquals() {
+		DoubleCustomList list = new DoubleCustomList(0.0, Double.NaN, -0.0, Double.NaN);
+
+		Assertions.assertEquals(1, list.indexOfDouble(Double.NaN));
+		Assertions.assertEquals(3, list.lastIndexOfDouble(Double.NaN));
+		Assertions.assertEquals(2, list.indexOfDouble(-0.0));
+		Assertions.assertEquals(0, list.lastIndexOfDouble(0.0));
+		Assertions.assertEquals(2, list.indexOf(-0.0));
+		Assertions.assertEquals(-1, list.indexOf(0));
+		Assertions.assertEquals(-1, list.indexOf(null));
+		Assertions.assertTrue(list.containsDouble(Double.NaN));
+		Assertions.assertFalse(list.containsDouble(1.0));
+		Assertions.assertEquals(List.of(0.0, Double.NaN, -0.0, Double.NaN), list);
+	}
+
+	@Test
+	void testListIterator() {
+		DoubleCustomList list = new DoubleCustomList(0, 1, 2, 3, 4, 5, 6, 7, 8, 9);
+		ListIterator<Double> iterator = list.listIterator(5);
+		Assertions.assertEquals(5, iterator.nextIndex());
+		Assertions.assertEquals(4, iterator.previousIndex());
+
+		double currentValue = 5;
+		while (iterator.hasPrevious()) {
+			Assertions.assertEquals(--currentValue, iterator.previous());
+		}
+		Assertions.assertEquals(0, iterator.nextIndex());
+
+		iterator.next();
+		iterator.remove();
+		Assertions.assertEquals(List.of(1.0, 2.0, 3.0, 4.0, 5.0, 6.0, 7.0, 8.0, 9.0), list);
+	}
+
+	@Test
+	void testSortAndIterator() {
+		DoubleCustomList list = new DoubleCustomList(Double.NaN, 2.5, -0.0, 0.0, -7.0);
+		list.sort();
+
+		PrimitiveIterator.OfDouble iterator = list.doubleIterator();
+		Assertions.assertEquals(-7.0, iterator.nextDouble());
+		Assertions.assertEquals(-0.0, iterator.nextDouble());
+		Assertions.assertEquals(0.0, iterator.nextDouble());
+		Assertions.assertEquals(2.5, iterator.nextDouble());
+		Assertions.assertEquals(Double.NaN, iterator.nextDouble());
+		Assertions.assertFalse(iterator.hasNext());
+
+		list.sort(Comparator.reverseOrder());
+		Assertions.assertArrayEquals(new double[] { Double.NaN, 2.5, 0.0, -0.0, -7.0 }, list.toDoubleArray());
+	}
+
+	@Test
+	void testSortPartial() {
+		DoubleCustomList list = new DoubleCustomList(0.0, Double.NaN, -0.0, -1.5, 9.0, -99.0, 0.0, Double.NaN);
+		list.sort(0, 5);
+
+		Assertions.assertArrayEquals(new double[] { -1.5, -0.0, 0.0, 9.0, Double.NaN, -99.0, 0.0, Double.NaN },
+				list.toDoubleArray());
+		Assertions.assertThrows(IndexOutOfBoundsException.class, () -> list.sort(4, 5));
+	}
+
+	@Test
+	void testParallelSort() {
+		DoubleCustomList list = new DoubleCustomList();
+		for (int i = 100_000; i > 0; --i)
+			list.addDouble(i % 1000 == 0 ? Double.NaN : i % 1000 == 1 ? -0.0 : i % 1000 == 2 ? 0.0 : -i);
+
+		list.parallelSort();
+		double[] expected = list.toDoubleArray();
+		Arrays.sort(expected);
+		Assertions.assertArrayEquals(expected, list.toDoubleArray());
+		Assertions.assertEquals(-0.0, list.getDouble(list.size() - 300));
+		Assertions.assertEquals(0.0, list.getDouble(list.size() - 200));
+		Assertions.assertEquals(Double.NaN, list.getDouble(list.size() - 100));
+	}
+
+	@Test
+	void testSubList() {
+		DoubleCustomList list = new DoubleCustomList(1.0, 2.0, 3.0, 4.0, 5.0);
+		List<Double> view = list.subList(1, 4);
+
+		Assertions.assertEquals(List.of(2.0, 3.0, 4.0), view);
+		Assertions.assertEquals(List.of(3.0, 4.0), view.subList(1, 3));
+
+		view.remove(0);
+		view.add(0, Double.NaN);
+		Assertions.assertEquals(List.of(1.0, Double.NaN, 3.0, 4.0, 5.0), list);
+		Assertions.assertEquals(0, view.indexOf(Double.NaN));
+
+		view.clear();
+		Assertions.assertEquals(List.of(1.0, 5.0), list);
+
+		list.addDouble(6.0);
+		Assertions.assertThrows(ConcurrentModificationException.class, () -> view.size());
+	}
+
+	@Test
+	void testRemoveIfAndRetainAll() {
+		DoubleCustomList list = new DoubleCustomList(1.0, Double.NaN, 3.0, -0.0, 5.0, 0.0, 7.0, 8.0);
+
+		Assertions.assertTrue(list.removeDoubleIf(Double::isNaN));
+		Assertions.assertTrue(list.removeDoubleIf(d -> d == 8.0));
+		Assertions.assertArrayEquals(new double[] { 1.0, 3.0, -0.0, 5.0, 0.0, 7.0 }, list.toDoubleArray());
+
+		Assertions.assertTrue(list.retainAll(List.of(3.0, 0.0, 7.0)));
+		Assertions.assertEquals(List.of(3.0, 0.0, 7.0), list);
+	}
+
+	@Test
+	void testClearAndAdd() {
+		DoubleCustomList list = new DoubleCustomList(1.0, 2.0, 3.0);
+
+		list.clear();
+		Assertions.assertEquals(List.of(), list);
+
+		list.addAll(List.of(4.0, -0.0));
+		Assertions.assertEquals(List.of(4.0, -0.0), list);
+		Assertions.assertNotEquals(List.of(4.0, 0.0), list);
+		Assertions.assertEquals(List.of(4.0, -0.0).hashCode(), list.hashCode());
+	}
+
+}
@@ -0,0 +1,307 @@
+package com.github.lotashinski.collections;
+
+import org.junit.jupiter.api.Assertions;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.ListIterator;
+
+import org.junit.jupiter.api.Test;
+
+class GapBufferListTest {
+
+	@Test
+	void testZeroSizeInNewList() {
+		List<String> list = new GapBufferList<>();
+
+		Assertions.assertEquals(0, list.size());
+		Assertions.assertTrue(list.isEmpty());
+	}
+
+	@Test
+	void testGapBufferListFromList() {
+		List<Integer> list = new GapBufferList<>(List.of(1, 2, 3, 4, 5));
+
+		Assertions.assertEquals(List.of(1, 2, 3, 4, 5), list);
+	}
+
+	@Test
+	void testAddIntT() {
+		List<Integer> list = new GapBufferList<>(List.of(1, 2, 3, 4, 5));
+
+		list.add(2, 0);
+		list.add(list.size(), 0);
+		list.add(0, 0);
+
+		Assertions.assertEquals(List.of(0, 1, 2, 0, 3, 4, 5, 0), list);
+	}
+
+	@Test
+	void testAddIntTWithInvalidIndex() {
+		List<Integer> list = new GapBufferList<>(List.of(1, 2, 3));
+
+		Assertions.assertThrows(IndexOutOfBoundsException.class, () -> list.add(-1, 0));
+		Assertions.assertThrows(IndexOutOfBoundsException.class, () -> list.add(list.size() + 1, 0));
+	}
+
+	@Test
+	void testRemoveInt() {
+		List<Integer> list = new GapBufferList<>(List.of(1, 2, 3, 4, 5));
+
+		Assertions.assertEquals(4, list.remove(3));
+		Assertions.assertEquals(3, list.remove(2));
+		Assertions.assertEquals(2, list.remove(1));
+
+		Assertions.assertEquals(List.of(1, 5), list);
+		Assertions.assertThrows(IndexOutOfBoundsException.class, () -> list.remove(2));
+	}
+
+	@Test
+	void testRemoveObject() {
+		List<Integer> list = new GapBufferList<>(List.of(3, 1, 1, 3, 7, 0));
+
+		Assertions.assertTrue(list.remove(Integer.valueOf(1)));
+		Assertions.assertFalse(list.remove(Integer.valueOf(8)));
+		Assertions.assertEquals(List.of(3, 1, 3, 7, 0), list);
+	}
+
+	@Test
+	void testGetSetAcrossGap() {
+		List<Integer> list = new GapBufferList<>(List.of(1, 2, 3, 4, 5));
+		list.add(2, 9);
+
+		Assertions.assertEquals(9, list.get(2));
+		Assertions.assertEquals(4, list.set(4, 8));
+		Assertions.assertEquals(List.of(1, 2, 9, 3, 8, 5), list);
+		Assertions.assertThrows(IndexOutOfBoundsException.class, () -> list.get(6));
+	}
+
+	@Test
+	void testGapMovesShorterAndLongerThanItsWidth() {
+		List<Integer> reference = new ArrayList<>();
+		List<Integer> list = new GapBufferList<>();
+		for (int i = 0; i < 64; ++i) {
+			reference.add(i);
+			list.add(i);
+		}
+
+		/*
+		 * The gap is 16 slots wide here. Jumps of 1, 15, 16, 17 and 64 positions in
+		 * both directions move fewer, as many and more elements than the gap holds,
+		 * so the source and the target of the copy overlap in every possible way.
+		 */
+		int[] indexes = { 63, 62, 47, 31, 14, 13, 0, 1, 16, 32, 49, 64, 0, 64 };
+		for (int index : indexes) {
+			reference.add(index, -index);
+			list.add(index, -index);
+			Assertions.assertEquals(reference, list);
+			Assertions.assertArrayEquals(reference.toArray(), list.toArray());
+
+			int removed = Math.min(index, reference.size() - 1);
+			Assertions.assertEquals(reference.remove(removed), list.remove(removed));
+			Assertions.assertEquals(reference, list);
+		}
+	}
+
+	@Test
+	void testCursorEditsAtTheGap() {
+		List<Integer> list = new GapBufferList<>(List.of(0, 1, 2, 3, 4, 5, 6, 7, 8, 9));
+
+		list.add(5, 10);
+		list.add(6, 11);
+		list.add(7, 12);
+		Assertions.assertEquals(List.of(0, 1, 2, 3, 4, 10, 11, 12, 5, 6, 7, 8, 9), list);
+
+		Assertions.assertEquals(12, list.remove(7));
+		Assertions.assertEquals(11, list.remove(6));
+		Assertions.assertEquals(5, list.remove(6));
+		Assertions.assertEquals(6, list.remove(6));
+		Assertions.assertEquals(List.of(0, 1, 2, 3, 4, 10, 7, 8, 9), list);
+
+		list.add(6, 13);
+		Assertions.assertEquals(10, list.set(5, 14));
+		Assertions.assertEquals(7, list.set(7, 15));
+		Assertions.assertEquals(List.of(0, 1, 2, 3, 4, 14, 13, 15, 8, 9), list);
+		Assertions.assertEquals(5, list.indexOf(14));
+		Assertions.assertEquals(7, list.lastIndexOf(15));
+	}
+
+	@Test
+	void testGrowWithGapInTheMiddle() {
+		List<Integer> reference = new ArrayList<>(List.of(0, 1, 2, 3, 4, 5, 6, 7, 8, 9));
+		List<Integer> list = new GapBufferList<>(reference);
+
+		for (int i = 0; i < 100; ++i) {
+			reference.add(5, -i);
+			list.add(5, -i);
+		}
+		Assertions.assertEquals(reference, list);
+
+		List<Integer> added = new ArrayList<>();
+		for (int i = 0; i < 300; ++i)
+			added.add(1000 + i);
+		reference.addAll(50, added);
+		list.addAll(50, added);
+		Assertions.assertEquals(reference, list);
+		Assertions.assertArrayEquals(reference.toArray(), list.toArray());
+	}
+
+	@Test
+	void testClearSubListAroundTheGap() {
+		for (int gap = 0; gap <= 10; ++gap) {
+			List<Integer> reference = new ArrayList<>(List.of(0, 1, 2, 3, 4, 5, 6, 7, 8, 9));
+			List<Integer> list = new GapBufferList<>(reference);
+			list.add(gap, -1);
+			list.remove(gap);
+
+			reference.subList(3, 7).clear();
+			list.subList(3, 7).clear();
+			Assertions.assertEquals(reference, list);
+
+			reference.add(3, -2);
+			list.add(3, -2);
+			Assertions.assertEquals(reference, list);
+		}
+	}
+
+	@Test
+	void testAddAllInt() {
+		List<Integer> list = new GapBufferList<>(List.of(4, 5, 6));
+		list.addAll(0, List.of(1, 2, 3));
+		list.addAll(list.size(), List.of(7, 8, 9));
+		list.addAll(List.of(10));
+
+		Assertions.assertEquals(List.of(1, 2, 3, 4, 5, 6, 7, 8, 9, 10), list);
+	}
+
+	@Test
+	void testClearAndAdd() {
+		List<Integer> list = new GapBufferList<>(List.of(1, 2, 3, 4, 5));
+
+		list.clear();
+		Assertions.assertEquals(List.of(), list);
+
+		for (int i = 1; i <= 10; ++i)
+			list.add(i);
+
+		Assertions.assertEquals(List.of(1, 2, 3, 4, 5, 6, 7, 8, 9, 10), list);
+	}
+
+	@Test
+	void testSubList() {
+		List<Integer> list = new GapBufferList<>(List.of(1, 2, 3, 4, 5));
+		list.add(1, 0);
+		List<Integer> view = list.subList(1, 4);
+
+		Assertions.assertEquals(List.of(0, 2, 3), view);
+		Assertions.assertEquals(List.of(2, 3), view.subList(1, 3));
+
+		view.add(3, 7);
+		view.remove(0);
+		Assertions.assertEquals(List.of(2, 3, 7), view);
+		Assertions.assertEquals(List.of(1, 2, 3, 7, 4, 5), list);
+	}
+
+	@Test
+	void testClearSubList() {
+		List<Integer> list = new GapBufferList<>(List.of(1, 2, 3, 4, 5));
+
+		list.subList(1, 4).clear();
+		Assertions.assertEquals(List.of(1, 5), list);
+	}
+
+	@Test
+	void testSubListAfterStructuralChange() {
+		List<Integer> list = new GapBufferList<>(List.of(1, 2, 3, 4, 5));
+		List<Integer> view = list.subList(1, 4);
+
+		list.add(0);
+		Assertions.assertThrows(ConcurrentModificationException.class, () -> view.size());
+	}
+
+	@Test
+	void testIterator() {
+		List<Integer> list = new GapBufferList<>(List.of(0, 1, 2, 3, 4));
+		list.add(2, 9);
+		list.remove(2);
+
+		Iterator<Integer> iterator = list.iterator();
+
+		int currentValue = 0;
+		while (iterator.hasNext()) {
+			Assertions.assertEquals(currentValue++, iterator.next());
+		}
+
+		Assertions.assertEquals(5, currentValue);
+	}
+
+	@Test
+	void testListIteratorIndexes() {
+		List<Integer> list = new GapBufferList<>(List.of(0, 1, 2));
+		ListIterator<Integer> listIterator = list.listIterator();
+
+		Assertions.assertEquals(0, listIterator.nextIndex());
+		Assertions.assertEquals(-1, listIterator.previousIndex());
+
+		listIterator.next();
+		Assertions.assertEquals(1, listIterator.nextIndex());
+		Assertions.assertEquals(0, listIterator.previousIndex());
+
+		listIterator.add(10);
+		Assertions.assertEquals(2, listIterator.nextIndex());
+
+		while (listIterator.hasNext())
+			listIterator.next();
+		Assertions.assertEquals(list.size(), listIterator.nextIndex());
+		Assertions.assertEquals(list.size() - 1, listIterator.previousIndex());
+
+		ListIterator<Integer> subListIterator = list.subList(1, 3).listIterator();
+		Assertions.assertEquals(0, subListIterator.nextIndex());
+		Assertions.assertEquals(-1, subListIterator.previousIndex());
+	}
+
+	@Test
+	void testListIterator() {
+		List<Integer> list = new GapBufferList<>(List.of(0, 1, 2, 3, 4, 5, 6, 7, 8, 9));
+		ListIterator<Integer> listIterator = list.listIterator(5);
+
+		Assertions.assertEquals(4, listIterator.previousIndex());
+		Assertions.assertEquals(5, listIterator.nextIndex());
+
+		int currentValue = 5;
+		while (listIterator.hasPrevious()) {
+			Assertions.assertEquals(--currentValue, listIterator.previous());
+		}
+
+		Assertions.assertEquals(0, currentValue);
+	}
+
+	@Test
+	void testListIteratorRemoveAndAdd() {
+		List<Integer> list = new GapBufferList<>(List.of(1, 2, 3, 4, 5));
+		ListIterator<Integer> iterator = list.listIterator();
+
+		Assertions.assertThrows(IllegalStateException.class, () -> iterator.remove());
+
+		iterator.next();
+		iterator.remove();
+		iterator.next();
+		iterator.add(0);
+
+		Assertions.assertEquals(List.of(2, 0, 3, 4, 5), list);
+		Assertions.assertEquals(3, iterator.next());
+	}
+
+	@Test
+	void testSort() {
+		List<Integer> list = new GapBufferList<>(List.of(9, 0, -128, 23, 5));
+		list.add(2, null);
+		list.sort(null);
+
+		Assertions.assertEquals(Arrays.asList(null, -128, 0, 5, 9, 23), list);
+	}
+
+}
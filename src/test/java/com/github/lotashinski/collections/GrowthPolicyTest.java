@@ -0,0 +1,60 @@
+package com.github.lotashinski.collections;
+
+import org.junit.jupiter.api.Assertions;
+
+import org.junit.jupiter.api.Test;
+
+class GrowthPolicyTest {
+
+	@Test
+	void testDoubling() {
+		GrowthPolicy policy = GrowthPolicy.doubling();
+
+		Assertions.assertEquals(GrowthPolicy.MIN_CAPACITY, policy.grow(0, 1));
+		Assertions.assertEquals(20, policy.grow(10, 11));
+		Assertions.assertEquals(100, policy.grow(10, 100));
+		Assertions.assertEquals(GrowthPolicy.MAX_CAPACITY, policy.grow(1 << 30, (1 << 30) + 1));
+		Assertions.assertEquals(Integer.MAX_VALUE, policy.grow(GrowthPolicy.MAX_CAPACITY, Integer.MAX_VALUE));
+		Assertions.assertThrows(OutOfMemoryError.class, () -> policy.grow(Integer.MAX_VALUE, Integer.MIN_VALUE));
+		Assertions.assertEquals(100, policy.shrink(100, 1));
+	}
+
+	@Test
+	void testOneAndHalf() {
+		GrowthPolicy policy = GrowthPolicy.oneAndHalf();
+
+		Assertions.assertEquals(15, policy.grow(10, 11));
+		Assertions.assertEquals(GrowthPolicy.MAX_CAPACITY,
+				policy.grow(GrowthPolicy.MAX_CAPACITY - 1, GrowthPolicy.MAX_CAPACITY));
+	}
+
+	@Test
+	void testFixedIncrement() {
+		GrowthPolicy policy = GrowthPolicy.fixedIncrement(64);
+
+		Assertions.assertEquals(164, policy.grow(100, 101));
+		Assertions.assertEquals(1_000, policy.grow(100, 1_000));
+		Assertions.assertThrows(IllegalArgumentException.class, () -> GrowthPolicy.fixedIncrement(0));
+	}
+
+	@Test
+	void testCapped() {
+		GrowthPolicy policy = GrowthPolicy.capped(GrowthPolicy.doubling(), 1_000);
+
+		Assertions.assertEquals(200, policy.grow(100, 101));
+		Assertions.assertEquals(11_000, policy.grow(10_000, 10_001));
+		Assertions.assertEquals(50_000, policy.grow(10_000, 50_000));
+	}
+
+	@Test
+	void testWithShrinking() {
+		GrowthPolicy policy = GrowthPolicy.doubling().withShrinking(32);
+
+		Assertions.assertEquals(200, policy.grow(100, 101));
+		Assertions.assertEquals(1_000, policy.shrink(1_000, 251));
+		Assertions.assertEquals(500, policy.shrink(1_000, 250));
+		Assertions.assertEquals(32, policy.shrink(1_000, 0));
+		Assertions.assertEquals(32, policy.shrink(32, 0));
+	}
+
+}
@@ -0,0 +1,247 @@
+package com.github.lotashinski.collections;
+
+import org.junit.jupiter.api.Assertions;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+class IndexedCustomListTest {
+
+	@Test
+	void testRenumberAfterEditsInTheMiddle() {
+		IndexedCustomList<String> list = new IndexedCustomList<>(List.of("a", "b", "c", "a", "d", "b", "e", "a"));
+
+		list.remove(2);
+		list.add(1, "c");
+		list.remove(5);
+		Assertions.assertEquals(List.of("a", "c", "b", "a", "d", "e", "a"), list);
+
+		Assertions.assertEquals(0, list.indexOf("a"));
+		Assertions.assertEquals(6, list.lastIndexOf("a"));
+		Assertions.assertEquals(2, list.indexOf("b"));
+		Assertions.assertEquals(2, list.lastIndexOf("b"));
+		Assertions.assertEquals(1, list.indexOf("c"));
+		Assertions.assertEquals(5, list.indexOf("e"));
+
+		list.addAll(3, List.of("e", "a"));
+		Assertions.assertEquals(0, list.indexOf("a"));
+		Assertions.assertEquals(3, list.indexOf("e"));
+		Assertions.assertEquals(7, list.lastIndexOf("e"));
+		Assertions.assertEquals(8, list.lastIndexOf("a"));
+	}
+
+	@Test
+	void testLookupsWithStalePositions() {
+		IndexedCustomList<String> list = new IndexedCustomList<>(List.of("x", "a", "b", "c", "d", "e", "f", "g", "a"));
+
+		/*
+		 * The positions of "a" stay [1, 8] after the first removal; after the second
+		 * one only the first of them is still an occurrence.
+		 */
+		list.remove(5);
+		list.remove(7);
+		Assertions.assertEquals(1, list.lastIndexOf("a"));
+		Assertions.assertEquals(1, list.indexOf("a"));
+
+		list.add("a");
+		Assertions.assertEquals(7, list.lastIndexOf("a"));
+		Assertions.assertEquals(List.of("x", "a", "b", "c", "d", "f", "g", "a"), list);
+
+		/*
+		 * Replacements above and below the invalid part.
+		 */
+		list.remove(2);
+		Assertions.assertEquals("g", list.set(5, "a"));
+		Assertions.assertEquals("a", list.set(1, "z"));
+		Assertions.assertEquals(List.of("x", "z", "c", "d", "f", "a", "a"), list);
+		Assertions.assertEquals(-1, list.indexOf("g"));
+		Assertions.assertEquals(5, list.indexOf("a"));
+		Assertions.assertEquals(6, list.lastIndexOf("a"));
+		Assertions.assertEquals(1, list.indexOf("z"));
+	}
+
+	@Test
+	void testRenumberAfterStaleOverflow() {
+		List<Integer> reference = new ArrayList<>();
+		for (int i = 0; i < 30; ++i)
+			reference.add(i % 3);
+		IndexedCustomList<Integer> list = new IndexedCustomList<>(reference);
+
+		/*
+		 * Every removal marks the entry of the removed value stale; with three
+		 * distinct values the fourth one gives up the list of stale entries.
+		 */
+		for (int i = 0; i < 6; ++i)
+			Assertions.assertEquals(reference.remove(10 + i), list.remove(10 + i));
+		for (int value = 0; value < 3; ++value) {
+			Assertions.assertEquals(reference.indexOf(value), list.indexOf(value));
+			Assertions.assertEquals(reference.lastIndexOf(value), list.lastIndexOf(value));
+		}
+
+		/*
+		 * The same at the end of the list, where an append has to drop the stale
+		 * tail positions first.
+		 */
+		for (int i = 0; i < 5; ++i)
+			Assertions.assertEquals(reference.remove(reference.size() - 1), list.remove(list.size() - 1));
+		for (int value : new int[] { 2, 2, 1 }) {
+			reference.add(value);
+			list.add(value);
+		}
+		Assertions.assertEquals(reference, list);
+		for (int value = 0; value < 3; ++value) {
+			Assertions.assertEquals(reference.indexOf(value), list.indexOf(value));
+			Assertions.assertEquals(reference.lastIndexOf(value), list.lastIndexOf(value));
+		}
+	}
+
+	@Test
+	void testAppendAfterRemovingLast() {
+		IndexedCustomList<Integer> list = new IndexedCustomList<>();
+		list.add(1);
+		list.add(1);
+		list.remove(1);
+		list.add(2);
+		list.add(1);
+		list.add(1);
+
+		Assertions.assertEquals(List.of(1, 2, 1, 1), list);
+		Assertions.assertEquals(3, list.lastIndexOf(1));
+		Assertions.assertEquals(0, list.indexOf(1));
+
+		/*
+		 * The stale tail position belongs to another element than the appended one.
+		 */
+		IndexedCustomList<String> strings = new IndexedCustomList<>(List.of("a", "b", "b"));
+		strings.remove(2);
+		strings.add("c");
+		strings.add("b");
+
+		Assertions.assertEquals(3, strings.lastIndexOf("b"));
+		Assertions.assertEquals(1, strings.indexOf("b"));
+		Assertions.assertEquals(2, strings.indexOf("c"));
+	}
+
+	@Test
+	void testTailAddAndRemove() {
+		for (int seed = 0; seed < 2_000; ++seed) {
+			Random random = new Random(seed);
+			List<Integer> reference = new ArrayList<>();
+			IndexedCustomList<Integer> list = new IndexedCustomList<>();
+
+			for (int i = 0; i < 40; ++i) {
+				int value = random.nextInt(4);
+				if (reference.isEmpty() || random.nextBoolean()) {
+					reference.add(value);
+					list.add(value);
+				} else {
+					Assertions.assertEquals(reference.remove(reference.size() - 1), list.remove(list.size() - 1));
+				}
+
+				Assertions.assertEquals(reference.indexOf(value), list.indexOf(value), "seed " + seed);
+				Assertions.assertEquals(reference.lastIndexOf(value), list.lastIndexOf(value), "seed " + seed);
+			}
+		}
+	}
+
+	@Test
+	void testBulkOperations() {
+		IndexedCustomList<String> list = new IndexedCustomList<>(List.of("a", "b", "c", "a", "d", "b", "e"));
+
+		Assertions.assertTrue(list.containsAll(List.of("a", "e")));
+		Assertions.assertFalse(list.containsAll(List.of("a", "z")));
+
+		Assertions.assertTrue(list.removeAll(List.of("b", "z")));
+		Assertions.assertFalse(list.removeAll(List.of("z")));
+		Assertions.assertEquals(List.of("a", "c", "a", "d", "e"), list);
+		Assertions.assertEquals(2, list.lastIndexOf("a"));
+		Assertions.assertEquals(3, list.indexOf("d"));
+
+		Assertions.assertTrue(list.retainAll(Set.of("a", "e")));
+		Assertions.assertEquals(List.of("a", "a", "e"), list);
+		Assertions.assertFalse(list.contains("c"));
+		Assertions.assertEquals(2, list.indexOf("e"));
+
+		Assertions.assertTrue(list.removeIf("a"::equals));
+		Assertions.assertEquals(List.of("e"), list);
+		Assertions.assertEquals(-1, list.indexOf("a"));
+	}
+
+	@Test
+	void testSortAndReplaceAllRenumber() {
+		IndexedCustomList<Integer> list = new IndexedCustomList<>(List.of(5, 3, 1, 4, 2, 3));
+
+		list.sort(null);
+		Assertions.assertEquals(List.of(1, 2, 3, 3, 4, 5), list);
+		Assertions.assertEquals(2, list.indexOf(3));
+		Assertions.assertEquals(3, list.lastIndexOf(3));
+
+		list.sort(Comparator.reverseOrder());
+		Assertions.assertEquals(0, list.indexOf(5));
+
+		list.replaceAll(element -> element % 2);
+		Assertions.assertEquals(List.of(1, 0, 1, 1, 0, 1), list);
+		Assertions.assertEquals(1, list.indexOf(0));
+		Assertions.assertEquals(5, list.lastIndexOf(1));
+		Assertions.assertFalse(list.contains(5));
+
+		list.clear();
+		Assertions.assertFalse(list.contains(1));
+		Assertions.assertEquals(-1, list.indexOf(1));
+	}
+
+	@Test
+	void testRemoveIfWithThrowingFilter() {
+		IndexedCustomList<Integer> list = new IndexedCustomList<>(List.of(1, 2, 3, 4, 2));
+
+		/*
+		 * The elements tested before the failure are removed, the rest are kept.
+		 */
+		Assertions.assertThrows(IllegalStateException.class, () -> list.removeIf(i -> {
+			if (i == 3)
+				throw new IllegalStateException();
+			return i == 1;
+		}));
+		Assertions.assertEquals(List.of(2, 3, 4, 2), list);
+		Assertions.assertFalse(list.contains(1));
+		Assertions.assertEquals(0, list.indexOf(2));
+		Assertions.assertEquals(3, list.lastIndexOf(2));
+		Assertions.assertEquals(2, list.indexOf(4));
+	}
+
+	@Test
+	void testReplaceAllWithThrowingOperator() {
+		IndexedCustomList<Integer> list = new IndexedCustomList<>(List.of(1, 2, 3, 4));
+
+		Assertions.assertThrows(IllegalStateException.class, () -> list.replaceAll(i -> {
+			if (i == 3)
+				throw new IllegalStateException();
+			return i + 10;
+		}));
+		Assertions.assertEquals(List.of(11, 12, 3, 4), list);
+		Assertions.assertTrue(list.contains(11));
+		Assertions.assertFalse(list.contains(1));
+		Assertions.assertEquals(1, list.indexOf(12));
+		Assertions.assertEquals(3, list.indexOf(4));
+	}
+
+	@Test
+	void testNullElements() {
+		IndexedCustomList<String> list = new IndexedCustomList<>();
+		list.add("a");
+		list.add(null);
+		list.add(0, null);
+
+		Assertions.assertTrue(list.contains(null));
+		Assertions.assertEquals(0, list.indexOf(null));
+		Assertions.assertEquals(2, list.lastIndexOf(null));
+		Assertions.assertTrue(list.remove(null));
+		Assertions.assertEquals(1, list.indexOf(null));
+	}
+
+}
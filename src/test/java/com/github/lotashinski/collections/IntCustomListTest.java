@@ -0,0 +1,193 @@
+package com.github.lotashinski.collections;
+
+import org.junit.jupiter.api.Assertions;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.ConcurrentModificationException;
+import java.util.List;
+import java.util.ListIterator;
+import java.util.PrimitiveIterator;
+
+import org.junit.jupiter.api.Test;
+
+class IntCustomListTest {
+
+	@Test
+	void testZeroSizeInNewList() {
+		IntCustomList list = new IntCustomList();
+
+		Assertions.assertEquals(0, list.size());
+		Assertions.assertTrue(list.isEmpty());
+	}
+
+	@Test
+	void testIntCustomListFromList() {
+		IntCustomList list = new IntCustomList(List.of(1, 2, 3));
+
+		Assertions.assertEquals(List.of(1, 2, 3), list);
+		Assertions.assertThrows(NullPointerException.class, () -> new IntCustomList(Arrays.asList(1, null)));
+	}
+
+	@Test
+	void testAddAndGetInt() {
+		IntCustomList list = new IntCustomList();
+		for (int i = 0; i < 100; ++i)
+			Assertions.assertTrue(list.addInt(i));
+
+		Assertions.assertEquals(100, list.size());
+		for (int i = 0; i < 100; ++i)
+			Assertions.assertEquals(i, list.getInt(i));
+
+		Assertions.assertThrows(IndexOutOfBoundsException.class, () -> list.getInt(100));
+		Assertions.assertThrows(IndexOutOfBoundsException.class, () -> list.getInt(-1));
+	}
+
+	@Test
+	void testAddIntAtIndex() {
+		IntCustomList list = new IntCustomList(1, 2, 3, 4, 5);
+
+		list.addInt(2, 0);
+		list.addInt(list.size(), 0);
+
+		Assertions.assertArrayEquals(new int[] { 1, 2, 0, 3, 4, 5, 0 }, list.toIntArray());
+		Assertions.assertThrows(IndexOutOfBoundsException.class, () -> list.addInt(-1, 0));
+	}
+
+	@Test
+	void testSetAndRemoveInt() {
+		IntCustomList list = new IntCustomList(1, 2, 3, 4, 5);
+
+		Assertions.assertEquals(1, list.setInt(0, 7));
+		Assertions.assertEquals(4, list.removeInt(3));
+		Assertions.assertArrayEquals(new int[] { 7, 2, 3, 5 }, list.toIntArray());
+	}
+
+	@Test
+	void testBoxedRemove() {
+		IntCustomList list = new IntCustomList(3, 1, 1, 3, 7, 0);
+
+		Assertions.assertTrue(list.remove(Integer.valueOf(1)));
+		Assertions.assertFalse(list.remove("1"));
+		Assertions.assertEquals(7, list.remove(3));
+		Assertions.assertEquals(List.of(3, 1, 3, 0), list);
+	}
+
+	@Test
+	void testIndexOf() {
+		IntCustomList list = new IntCustomList(-3, -2, -1, 0, 1, 2, 3, 0);
+
+		Assertions.assertEquals(3, list.indexOfInt(0));
+		Assertions.assertEquals(7, list.lastIndexOfInt(0));
+		Assertions.assertEquals(-1, list.indexOfInt(9));
+		Assertions.assertEquals(3, list.indexOf(0));
+		Assertions.assertEquals(-1, list.indexOf(null));
+		Assertions.assertTrue(list.containsInt(-3));
+	}
+
+	@Test
+	void testIntIterator() {
+		IntCustomList list = new IntCustomList(0, 1, 2, 3, 4);
+		PrimitiveIterator.OfInt iterator = list.intIterator();
+
+		int currentValue = 0;
+		while (iterator.hasNext()) {
+			Assertions.assertEquals(currentValue++, iterator.nextInt());
+		}
+
+		Assertions.assertEquals(5, currentValue);
+	}
+
+	@Test
+	void testListIterator() {
+		IntCustomList list = new IntCustomList(0, 1, 2, 3, 4, 5, 6, 7, 8, 9);
+		ListIterator<Integer> iterator = list.listIterator(5);
+		Assertions.assertEquals(5, iterator.nextIndex());
+		Assertions.assertEquals(4, iterator.previousIndex());
+
+		int currentValue = 5;
+		while (iterator.hasPrevious()) {
+			Assertions.assertEquals(--currentValue, iterator.previous());
+		}
+		Assertions.assertEquals(0, iterator.nextIndex());
+		Assertions.assertEquals(-1, iterator.previousIndex());
+
+		iterator.next();
+		iterator.remove();
+		Assertions.assertEquals(List.of(1, 2, 3, 4, 5, 6, 7, 8, 9), list);
+	}
+
+	@Test
+	void testSort() {
+		IntCustomList list = new IntCustomList(9, 0, -128, 23, 5);
+		list.sort();
+
+		Assertions.assertArrayEquals(new int[] { -128, 0, 5, 9, 23 }, list.toIntArray());
+
+		list.sort(Comparator.reverseOrder());
+		Assertions.assertArrayEquals(new int[] { 23, 9, 5, 0, -128 }, list.toIntArray());
+	}
+
+	@Test
+	void testSortPartial() {
+		IntCustomList list = new IntCustomList(9, 0, -128, 23, 5, 99, 12, 123, 3122);
+		list.sort(0, 5);
+
+		Assertions.assertArrayEquals(new int[] { -128, 0, 5, 9, 23, 99, 12, 123, 3122 }, list.toIntArray());
+		Assertions.assertThrows(IndexOutOfBoundsException.class, () -> list.sort(5, 5));
+	}
+
+	@Test
+	void testParallelSort() {
+		IntCustomList list = new IntCustomList();
+		for (int i = 100_000; i > 0; --i)
+			list.addInt(i);
+
+		list.parallelSort();
+		for (int i = 0; i < list.size(); ++i)
+			Assertions.assertEquals(i + 1, list.getInt(i));
+	}
+
+	@Test
+	void testSubList() {
+		IntCustomList list = new IntCustomList(1, 2, 3, 4, 5);
+		List<Integer> view = list.subList(1, 4);
+
+		Assertions.assertEquals(List.of(2, 3, 4), view);
+		Assertions.assertEquals(List.of(3, 4), view.subList(1, 3));
+
+		view.remove(0);
+		view.add(0, 9);
+		Assertions.assertEquals(List.of(1, 9, 3, 4, 5), list);
+
+		view.clear();
+		Assertions.assertEquals(List.of(1, 5), list);
+
+		list.addInt(6);
+		Assertions.assertThrows(ConcurrentModificationException.class, () -> view.size());
+	}
+
+	@Test
+	void testRemoveIfAndRetainAll() {
+		IntCustomList list = new IntCustomList(1, 2, 3, 4, 5, 6, 7, 8);
+
+		Assertions.assertTrue(list.removeIntIf(i -> i % 2 == 0));
+		Assertions.assertArrayEquals(new int[] { 1, 3, 5, 7 }, list.toIntArray());
+
+		Assertions.assertTrue(list.retainAll(List.of(3, 7)));
+		Assertions.assertEquals(List.of(3, 7), list);
+	}
+
+	@Test
+	void testClearAndAdd() {
+		IntCustomList list = new IntCustomList(1, 2, 3);
+
+		list.clear();
+		Assertions.assertEquals(List.of(), list);
+
+		list.addAll(List.of(4, 5));
+		Assertions.assertEquals(List.of(4, 5), list);
+		Assertions.assertEquals(List.of(4, 5).hashCode(), list.hashCode());
+	}
+
+}
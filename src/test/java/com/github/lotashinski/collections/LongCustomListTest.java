@@ -0,0 +1,200 @@
+package com.github.lotashinski.collections;
+
+import org.junit.jupiter.api.Assertions;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.ConcurrentModificationException;
+import java.util.List;
+import java.util.ListIterator;
+import java.util.PrimitiveIterator;
+
+import org.junit.jupiter.api.Test;
+
+class LongCustomListTest {
+
+	@Test
+	void testZeroSizeInNewList() {
+		LongCustomList list = new LongCustomList();
+
+		Assertions.assertEquals(0, list.size());
+		Assertions.assertTrue(list.isEmpty());
+	}
+
+	@Test
+	void testLongCustomListFromList() {
+		LongCustomList list = new LongCustomList(List.of(1L, 2L, 3L));
+
+		Assertions.assertEquals(List.of(1L, 2L, 3L), list);
+		Assertions.assertThrows(NullPointerException.class, () -> new LongCustomList(Arrays.asList(1L, null)));
+	}
+
+	@Test
+	void testAddGetAndRemoveLong() {
+		LongCustomList list = new LongCustomList();
+		for (long i = 0; i < 20; ++i)
+			Assertions.assertTrue(list.addLong(i << 40));
+
+		Assertions.assertEquals(20, list.size());
+		Assertions.assertEquals(3L << 40, list.getLong(3));
+		Assertions.assertEquals(3L << 40, list.removeLong(3));
+		Assertions.assertEquals(4L << 40, list.getLong(3));
+		Assertions.assertEquals(3, list.indexOfLong(4L << 40));
+
+		Assertions.assertThrows(IndexOutOfBoundsException.class, () -> list.getLong(19));
+		Assertions.assertThrows(IndexOutOfBoundsException.class, () -> list.getLong(-1));
+	}
+
+	@Test
+	void testAddLongAtIndex() {
+		LongCustomList list = new LongCustomList(1L, 2L, 3L, 4L, 5L);
+
+		list.addLong(2, Long.MIN_VALUE);
+		list.addLong(list.size(), Long.MAX_VALUE);
+
+		Assertions.assertArrayEquals(new long[] { 1L, 2L, Long.MIN_VALUE, 3L, 4L, 5L, Long.MAX_VALUE },
+				list.toLongArray());
+		Assertions.assertThrows(IndexOutOfBoundsException.class, () -> list.addLong(-1, 0L));
+	}
+
+	@Test
+	void testSetAndRemoveLong() {
+		LongCustomList list = new LongCustomList(1L, 2L, 3L, 4L, 5L);
+
+		Assertions.assertEquals(1L, list.setLong(0, 7L << 33));
+		Assertions.assertEquals(4L, list.removeLong(3));
+		Assertions.assertArrayEquals(new long[] { 7L << 33, 2L, 3L, 5L }, list.toLongArray());
+	}
+
+	@Test
+	void testBoxedView() {
+		LongCustomList list = new LongCustomList(List.of(1L, 2L, 3L));
+		list.add(1, 9L);
+
+		Assertions.assertEquals(List.of(1L, 9L, 2L, 3L), list);
+		Assertions.assertEquals(-1, list.indexOf(9));
+		Assertions.assertEquals(1, list.indexOf(9L));
+		Assertions.assertEquals(List.of(9L, 2L), list.subList(1, 3));
+	}
+
+	@Test
+	void testBoxedRemove() {
+		LongCustomList list = new LongCustomList(3L, 1L, 1L, 3L, 7L, 0L);
+
+		Assertions.assertTrue(list.remove(Long.valueOf(1L)));
+		Assertions.assertFalse(list.remove(Integer.valueOf(1)));
+		Assertions.assertEquals(7L, list.remove(3));
+		Assertions.assertEquals(List.of(3L, 1L, 3L, 0L), list);
+	}
+
+	@Test
+	void testIndexOf() {
+		LongCustomList list = new LongCustomList(-3L, -2L, -1L, 0L, 1L, 2L, 3L, 0L);
+
+		Assertions.assertEquals(3, list.indexOfLong(0L));
+		Assertions.assertEquals(7, list.lastIndexOfLong(0L));
+		Assertions.assertEquals(-1, list.indexOfLong(1L << 32));
+		Assertions.assertEquals(3, list.indexOf(0L));
+		Assertions.assertEquals(-1, list.indexOf(null));
+		Assertions.assertTrue(list.containsLong(-3L));
+	}
+
+	@Test
+	void testListIterator() {
+		LongCustomList list = new LongCustomList(0L, 1L, 2L, 3L, 4L, 5L, 6L, 7L, 8L, 9L);
+		ListIterator<Long> iterator = list.listIterator(5);
+		Assertions.assertEquals(5, iterator.nextIndex());
+		Assertions.assertEquals(4, iterator.previousIndex());
+
+		long currentValue = 5;
+		while (iterator.hasPrevious()) {
+			Assertions.assertEquals(--currentValue, iterator.previous());
+		}
+		Assertions.assertEquals(0, iterator.nextIndex());
+
+		iterator.next();
+		iterator.remove();
+		Assertions.assertEquals(List.of(1L, 2L, 3L, 4L, 5L, 6L, 7L, 8L, 9L), list);
+	}
+
+	@Test
+	void testSortAndIterator() {
+		LongCustomList list = new LongCustomList(5L, Long.MIN_VALUE, 0L, Long.MAX_VALUE, -1L);
+		list.sort();
+
+		PrimitiveIterator.OfLong iterator = list.longIterator();
+		Assertions.assertEquals(Long.MIN_VALUE, iterator.nextLong());
+		Assertions.assertEquals(-1L, iterator.nextLong());
+		Assertions.assertEquals(0L, iterator.nextLong());
+		Assertions.assertEquals(5L, iterator.nextLong());
+		Assertions.assertEquals(Long.MAX_VALUE, iterator.nextLong());
+		Assertions.assertFalse(iterator.hasNext());
+
+		list.sort(Comparator.reverseOrder());
+		Assertions.assertArrayEquals(new long[] { Long.MAX_VALUE, 5L, 0L, -1L, Long.MIN_VALUE }, list.toLongArray());
+	}
+
+	@Test
+	void testSortPartial() {
+		LongCustomList list = new LongCustomList(9L, 0L, -128L, 1L << 40, 5L, 99L, 12L, 123L, 3122L);
+		list.sort(0, 5);
+
+		Assertions.assertArrayEquals(new long[] { -128L, 0L, 5L, 9L, 1L << 40, 99L, 12L, 123L, 3122L },
+				list.toLongArray());
+		Assertions.assertThrows(IndexOutOfBoundsException.class, () -> list.sort(5, 5));
+	}
+
+	@Test
+	void testParallelSort() {
+		LongCustomList list = new LongCustomList();
+		for (long i = 100_000; i > 0; --i)
+			list.addLong(i << 32);
+
+		list.parallelSort();
+		for (int i = 0; i < list.size(); ++i)
+			Assertions.assertEquals((i + 1L) << 32, list.getLong(i));
+	}
+
+	@Test
+	void testSubList() {
+		LongCustomList list = new LongCustomList(1L, 2L, 3L, 4L, 5L);
+		List<Long> view = list.subList(1, 4);
+
+		Assertions.assertEquals(List.of(2L, 3L, 4L), view);
+		Assertions.assertEquals(List.of(3L, 4L), view.subList(1, 3));
+
+		view.remove(0);
+		view.add(0, 9L);
+		Assertions.assertEquals(List.of(1L, 9L, 3L, 4L, 5L), list);
+
+		view.clear();
+		Assertions.assertEquals(List.of(1L, 5L), list);
+
+		list.addLong(6L);
+		Assertions.assertThrows(ConcurrentModificationException.class, () -> view.size());
+	}
+
+	@Test
+	void testRemoveIfAndRetainAll() {
+		LongCustomList list = new LongCustomList(1L, 2L, 3L, 4L, 5L, 6L, 7L, 8L);
+
+		Assertions.assertTrue(list.removeLongIf(l -> l % 2 == 0));
+		Assertions.assertArrayEquals(new long[] { 1L, 3L, 5L, 7L }, list.toLongArray());
+
+		Assertions.assertTrue(list.retainAll(List.of(3L, 7L)));
+		Assertions.assertEquals(List.of(3L, 7L), list);
+	}
+
+	@Test
+	void testClearAndAdd() {
+		LongCustomList list = new LongCustomList(1L, 2L, 3L);
+
+		list.clear();
+		Assertions.assertEquals(List.of(), list);
+
+		list.addAll(List.of(4L, 5L));
+		Assertions.assertEquals(List.of(4L, 5L), list);
+		Assertions.assertEquals(List.of(4L, 5L).hashCode(), list.hashCode());
+	}
+
+}
@@ -0,0 +1,138 @@
+package com.github.lotashinski.collections;
+
+import org.junit.jupiter.api.Assertions;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.ConcurrentModificationException;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class MappedFileListTest {
+
+	@TempDir
+	Path directory;
+
+	@Test
+	void testAddAndGetAcrossChunks() throws IOException {
+		List<String> reference = new ArrayList<>();
+
+		try (MappedFileList<String> list = MappedFileList.open(directory.resolve("list"), ElementEncoder.ofString(),
+				256)) {
+			for (int i = 0; i < 500; ++i) {
+				String element = "element-" + i + "-ж".repeat(i % 20);
+				reference.add(element);
+				Assertions.assertTrue(list.add(element));
+			}
+
+			Assertions.assertEquals(500, list.size());
+			for (int i = 0; i < 500; ++i)
+				Assertions.assertEquals(reference.get(i), list.get(i));
+		}
+	}
+
+	@Test
+	void testReopen() throws IOException {
+		Path path = directory.resolve("list");
+
+		try (MappedFileList<Long> list = MappedFileList.open(path, ElementEncoder.of(ElementCodec.ofLong()), 128)) {
+			for (long i = 0; i < 1_000; ++i)
+				list.add(i * i);
+		}
+
+		try (MappedFileList<Long> list = MappedFileList.open(path, ElementEncoder.of(ElementCodec.ofLong()))) {
+			Assertions.assertEquals(1_000, list.size());
+			for (int i = 0; i < 1_000; ++i)
+				Assertions.assertEquals((long) i * i, list.get(i));
+
+			list.add(-1L);
+		}
+
+		try (MappedFileList<Long> list = MappedFileList.open(path, ElementEncoder.of(ElementCodec.ofLong()))) {
+			Assertions.assertEquals(1_001, list.size());
+			Assertions.assertEquals(-1L, list.get(1_000));
+		}
+	}
+
+	@Test
+	void testClear() throws IOException {
+		Path path = directory.resolve("list");
+
+		try (MappedFileList<String> list = MappedFileList.open(path, ElementEncoder.ofString(), 64)) {
+			list.addAll(List.of("a", "b", "c"));
+			list.clear();
+			Assertions.assertTrue(list.isEmpty());
+
+			list.add("d");
+			Assertions.assertEquals(List.of("d"), list);
+		}
+
+		try (MappedFileList<String> list = MappedFileList.open(path, ElementEncoder.ofString())) {
+			Assertions.assertEquals(List.of("d"), list);
+		}
+	}
+
+	@Test
+	void testTooLargeElement() throws IOException {
+		try (MappedFileList<String> list = MappedFileList.open(directory.resolve("list"), ElementEncoder.ofString(),
+				64)) {
+			list.add("a");
+
+			Assertions.assertThrows(IllegalArgumentException.class, () -> list.add("x".repeat(61)));
+			Assertions.assertEquals(List.of("a"), list);
+
+			list.add("x".repeat(60));
+			Assertions.assertEquals(2, list.size());
+		}
+	}
+
+	@Test
+	void testUnsupportedOperations() throws IOException {
+		try (MappedFileList<String> list = MappedFileList.open(directory.resolve("list"), ElementEncoder.ofString())) {
+			list.addAll(List.of("a", "b"));
+
+			Assertions.assertThrows(UnsupportedOperationException.class, () -> list.set(0, "c"));
+			Assertions.assertThrows(UnsupportedOperationException.class, () -> list.remove(0));
+			Assertions.assertThrows(UnsupportedOperationException.class, () -> list.add(0, "c"));
+
+			list.add(2, "c");
+			Assertions.assertEquals(List.of("a", "b", "c"), list);
+		}
+	}
+
+	@Test
+	void testSubList() throws IOException {
+		try (MappedFileList<String> list = MappedFileList.open(directory.resolve("list"), ElementEncoder.ofString())) {
+			list.addAll(List.of("a", "b", "c", "d", "e"));
+
+			List<String> subList = list.subList(1, 4);
+			Assertions.assertEquals(List.of("b", "c", "d"), subList);
+			Assertions.assertEquals(List.of("c"), subList.subList(1, 2));
+			Assertions.assertEquals(2, subList.indexOf("d"));
+
+			list.add("f");
+			Assertions.assertThrows(ConcurrentModificationException.class, () -> subList.get(0));
+		}
+	}
+
+	@Test
+	void testClosedAndInvalidFiles() throws IOException {
+		Path path = directory.resolve("list");
+		MappedFileList<String> list = MappedFileList.open(path, ElementEncoder.ofString());
+		list.close();
+		list.close();
+
+		Assertions.assertThrows(IllegalStateException.class, () -> list.add("a"));
+		Assertions.assertThrows(IllegalArgumentException.class,
+				() -> MappedFileList.open(directory.resolve("other"), ElementEncoder.ofString(), 100));
+
+		Path garbage = directory.resolve("garbage");
+		Files.writeString(garbage, "definitely not a list file");
+		Assertions.assertThrows(IOException.class, () -> MappedFileList.open(garbage, ElementEncoder.ofString()));
+	}
+
+}
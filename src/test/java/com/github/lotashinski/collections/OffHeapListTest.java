@@ -0,0 +1,198 @@
+package com.github.lotashinski.collections;
+
+import org.junit.jupiter.api.Assertions;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+class OffHeapListTest {
+
+	@Test
+	void testAddAndGetAcrossChunks() {
+		try (OffHeapList<Long> list = new OffHeapList<>(ElementCodec.ofLong(), 4)) {
+			for (long i = 0; i < 100; ++i)
+				Assertions.assertTrue(list.add(i * 3));
+
+			Assertions.assertEquals(100, list.size());
+			for (int i = 0; i < 100; ++i)
+				Assertions.assertEquals(i * 3L, list.get(i));
+		}
+	}
+
+	@Test
+	void testOffHeapListFromList() {
+		try (OffHeapList<Integer> list = new OffHeapList<>(ElementCodec.ofInt(), List.of(1, 2, 3))) {
+			Assertions.assertEquals(List.of(1, 2, 3), list);
+		}
+	}
+
+	@Test
+	void testShiftAcrossChunkBorders() {
+		List<Integer> initial = new ArrayList<>();
+		for (int i = 0; i < 24; ++i)
+			initial.add(i);
+
+		/*
+		 * Three full chunks of 8 elements. Shifts by less than, exactly and more than
+		 * a chunk, from every position, split the moved bytes at different offsets of
+		 * the source and the target chunk.
+		 */
+		for (int count : new int[] { 1, 3, 8, 9, 17 }) {
+			List<Integer> added = new ArrayList<>();
+			for (int i = 0; i < count; ++i)
+				added.add(-1 - i);
+
+			for (int index = 0; index <= initial.size(); ++index) {
+				try (OffHeapList<Integer> list = new OffHeapList<>(ElementCodec.ofInt(), 8)) {
+					list.addAll(initial);
+					List<Integer> reference = new ArrayList<>(initial);
+
+					reference.addAll(index, added);
+					list.addAll(index, added);
+					Assertions.assertEquals(reference, list);
+
+					list.subList(index, index + count).clear();
+					Assertions.assertEquals(initial, list);
+				}
+			}
+		}
+	}
+
+	@Test
+	void testSizeAtChunkBorder() {
+		try (OffHeapList<Integer> list = new OffHeapList<>(ElementCodec.ofInt(), 4)) {
+			for (int i = 0; i < 8; ++i)
+				list.add(i);
+
+			list.add(4, -1);
+			Assertions.assertEquals(List.of(0, 1, 2, 3, -1, 4, 5, 6, 7), list);
+			Assertions.assertEquals(7, list.get(8));
+
+			Assertions.assertEquals(-1, list.remove(4));
+			Assertions.assertEquals(7, list.remove(7));
+			Assertions.assertEquals(3, list.remove(3));
+			Assertions.assertEquals(List.of(0, 1, 2, 4, 5, 6), list);
+
+			list.clear();
+			for (int i = 0; i < 5; ++i)
+				list.add(0, i);
+			Assertions.assertEquals(List.of(4, 3, 2, 1, 0), list);
+		}
+	}
+
+	@Test
+	void testRemoveIfAcrossChunkBorders() {
+		try (OffHeapList<Integer> list = new OffHeapList<>(ElementCodec.ofInt(), 4)) {
+			List<Integer> reference = new ArrayList<>();
+			for (int i = 0; i < 21; ++i) {
+				reference.add(i);
+				list.add(i);
+			}
+
+			Assertions.assertTrue(list.removeIf(i -> i % 3 == 0));
+			reference.removeIf(i -> i % 3 == 0);
+			Assertions.assertEquals(reference, list);
+
+			Assertions.assertTrue(list.subList(2, 11).removeIf(i -> i % 2 == 0));
+			reference.subList(2, 11).removeIf(i -> i % 2 == 0);
+			Assertions.assertEquals(reference, list);
+		}
+	}
+
+	@Test
+	void testAddAllInt() {
+		try (OffHeapList<Integer> list = new OffHeapList<>(ElementCodec.ofInt(), 2)) {
+			list.addAll(List.of(4, 5, 6));
+			list.addAll(0, List.of(1, 2, 3));
+			list.addAll(list.size(), List.of(7, 8, 9));
+
+			Assertions.assertEquals(List.of(1, 2, 3, 4, 5, 6, 7, 8, 9), list);
+		}
+	}
+
+	@Test
+	void testFailingCodecLeavesListUnchanged() {
+		try (OffHeapList<Integer> list = new OffHeapList<>(ElementCodec.ofInt(), List.of(1, 2, 3))) {
+			Assertions.assertThrows(NullPointerException.class, () -> list.add(1, null));
+			Assertions.assertThrows(NullPointerException.class, () -> list.set(1, null));
+			Assertions.assertThrows(NullPointerException.class, () -> list.addAll(1, Arrays.asList(7, null)));
+
+			Assertions.assertEquals(List.of(1, 2, 3), list);
+		}
+	}
+
+	@Test
+	void testSetAndRemoveObject() {
+		try (OffHeapList<Double> list = new OffHeapList<>(ElementCodec.ofDouble(), List.of(1.0, 2.0, 3.0))) {
+			Assertions.assertEquals(2.0, list.set(1, 5.0));
+			Assertions.assertTrue(list.remove(Double.valueOf(1.0)));
+			Assertions.assertFalse(list.remove(Double.valueOf(1.0)));
+
+			Assertions.assertEquals(List.of(5.0, 3.0), list);
+		}
+	}
+
+	@Test
+	void testRemoveAllAndRetainAll() {
+		try (OffHeapList<Integer> list = new OffHeapList<>(ElementCodec.ofInt(), 4)) {
+			for (int i = 0; i < 30; ++i)
+				list.add(i % 10);
+
+			Assertions.assertTrue(list.removeAll(List.of(0, 1, 2, 3, 4)));
+			Assertions.assertTrue(list.retainAll(List.of(5, 9)));
+			Assertions.assertEquals(List.of(5, 9, 5, 9, 5, 9), list);
+		}
+	}
+
+	@Test
+	void testSubList() {
+		try (OffHeapList<Integer> list = new OffHeapList<>(ElementCodec.ofInt(), List.of(1, 2, 3, 4, 5))) {
+			List<Integer> view = list.subList(1, 4);
+
+			Assertions.assertEquals(List.of(2, 3, 4), view);
+			view.clear();
+			Assertions.assertEquals(List.of(1, 5), list);
+
+			list.add(6);
+			Assertions.assertThrows(ConcurrentModificationException.class, () -> view.size());
+		}
+	}
+
+	@Test
+	void testIterator() {
+		try (OffHeapList<Integer> list = new OffHeapList<>(ElementCodec.ofInt(), List.of(0, 1, 2, 3, 4))) {
+			Iterator<Integer> iterator = list.iterator();
+
+			int currentValue = 0;
+			while (iterator.hasNext()) {
+				Assertions.assertEquals(currentValue++, iterator.next());
+			}
+
+			Assertions.assertEquals(5, currentValue);
+		}
+	}
+
+	@Test
+	void testClose() {
+		OffHeapList<Integer> list = new OffHeapList<>(ElementCodec.ofInt(), List.of(1, 2, 3));
+		list.close();
+
+		Assertions.assertTrue(list.isClosed());
+		Assertions.assertEquals(0, list.size());
+		Assertions.assertThrows(IllegalStateException.class, () -> list.add(1));
+		Assertions.assertThrows(IllegalStateException.class, () -> list.get(0));
+		list.close();
+	}
+
+	@Test
+	void testIllegalChunkSize() {
+		Assertions.assertThrows(IllegalArgumentException.class, () -> new OffHeapList<>(ElementCodec.ofInt(), 3));
+		Assertions.assertThrows(IllegalArgumentException.class, () -> new OffHeapList<>(ElementCodec.ofLong(), 1 << 30));
+	}
+
+}
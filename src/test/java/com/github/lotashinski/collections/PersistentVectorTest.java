@@ -0,0 +1,188 @@
+package com.github.lotashinski.collections;
+
+import org.junit.jupiter.api.Assertions;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import org.junit.jupiter.api.Test;
+
+class PersistentVectorTest {
+
+	@Test
+	void testPlusAndMinusLastAcrossLevels() {
+		List<Integer> reference = new ArrayList<>();
+		PersistentVector<Integer> vector = PersistentVector.empty();
+		for (int i = 0; i < 40_000; ++i) {
+			vector = vector.plus(i);
+			reference.add(i);
+		}
+
+		Assertions.assertEquals(reference, vector);
+
+		for (int i = 0; i < 40_000; ++i) {
+			vector = vector.minusLast();
+			reference.remove(reference.size() - 1);
+			if (i % 997 == 0)
+				Assertions.assertEquals(reference, vector);
+		}
+
+		Assertions.assertTrue(vector.isEmpty());
+		PersistentVector<Integer> empty = vector;
+		Assertions.assertThrows(NoSuchElementException.class, empty::minusLast);
+	}
+
+	@Test
+	void testVersionsAreIndependent() {
+		PersistentVector<String> first = PersistentVector.from(List.of("a", "b", "c"));
+		PersistentVector<String> second = first.with(1, "x").plus("d");
+		PersistentVector<String> third = second.minusLast().minusLast();
+
+		Assertions.assertEquals(List.of("a", "b", "c"), first);
+		Assertions.assertEquals(List.of("a", "x", "c", "d"), second);
+		Assertions.assertEquals(List.of("a", "x"), third);
+		Assertions.assertThrows(IndexOutOfBoundsException.class, () -> first.with(3, "y"));
+	}
+
+	@Test
+	void testTailPushAndPopAtBoundaries() {
+		/*
+		 * Sizes where the tail is full or holds one element: the first leaf, the
+		 * second leaf, a full root of height 1 and of height 2, so that the next
+		 * push grows the root and the next pop shrinks it.
+		 */
+		List<Integer> boundaries = List.of(1, 32, 33, 64, 65, 1056, 1057, 1088, 32800, 32801);
+		List<PersistentVector<Integer>> versions = new ArrayList<>();
+
+		PersistentVector<Integer> vector = PersistentVector.empty();
+		for (int i = 0; i < 32801; ++i) {
+			vector = vector.plus(i);
+			if (boundaries.contains(vector.size()))
+				versions.add(vector);
+		}
+
+		for (PersistentVector<Integer> version : versions) {
+			int size = version.size();
+
+			PersistentVector<Integer> pushed = version.plus(-1);
+			Assertions.assertEquals(size + 1, pushed.size());
+			Assertions.assertEquals(-1, pushed.get(size));
+			Assertions.assertEquals(size - 1, pushed.get(size - 1));
+			Assertions.assertEquals(version, pushed.minusLast());
+
+			PersistentVector<Integer> popped = version;
+			for (int i = 1; i <= 40 && i <= size; ++i) {
+				popped = popped.minusLast();
+				Assertions.assertEquals(size - i, popped.size());
+				if (!popped.isEmpty())
+					Assertions.assertEquals(size - i - 1, popped.get(size - i - 1));
+			}
+			for (int i = 0; i < 40; ++i)
+				popped = popped.plus(-i);
+			for (int i = 0; i < 40; ++i)
+				Assertions.assertEquals(-i, popped.get(popped.size() - 40 + i));
+
+			Assertions.assertEquals(size, version.size());
+			Assertions.assertEquals(size - 1, version.get(size - 1));
+			Assertions.assertEquals(0, version.get(0));
+		}
+	}
+
+	@Test
+	void testSiblingVersionsAtFullRoot() {
+		List<Integer> reference = new ArrayList<>();
+		for (int i = 0; i < 1056; ++i)
+			reference.add(i);
+		PersistentVector<Integer> full = PersistentVector.from(reference);
+
+		PersistentVector<Integer> first = full.plus(-1);
+		PersistentVector<Integer> second = full.plus(-2).with(1023, -3).with(1024, -4);
+		PersistentVector<Integer> shrunk = first.minusLast().minusLast();
+
+		Assertions.assertEquals(reference, full);
+		Assertions.assertEquals(-1, first.get(1056));
+		Assertions.assertEquals(1023, first.get(1023));
+		Assertions.assertEquals(List.of(-3, -4, 1025), second.subList(1023, 1026));
+		Assertions.assertEquals(-2, second.get(1056));
+		Assertions.assertEquals(reference.subList(0, 1055), shrunk);
+	}
+
+	@Test
+	void testBuilder() {
+		List<Integer> reference = new ArrayList<>();
+		PersistentVector.Builder<Integer> builder = PersistentVector.builder();
+		for (int i = 0; i < 32801; ++i) {
+			reference.add(i);
+			builder.add(i);
+		}
+
+		for (int i = 0; i < 31_800; ++i) {
+			reference.remove(reference.size() - 1);
+			builder.removeLast();
+			if (i % 997 == 0)
+				Assertions.assertEquals(reference.get(reference.size() - 1), builder.get(builder.size() - 1));
+		}
+		for (int i = 0; i < 100; ++i) {
+			reference.add(-i);
+			builder.add(-i);
+		}
+		for (int index : new int[] { 0, 31, 32, 1023, 1024, 1055, 1056, 1100 }) {
+			reference.set(index, index * 2);
+			builder.set(index, index * 2);
+		}
+
+		Assertions.assertEquals(reference.size(), builder.size());
+		PersistentVector<Integer> vector = builder.build();
+		Assertions.assertEquals(reference, vector);
+		Assertions.assertThrows(IllegalStateException.class, () -> builder.add(1));
+	}
+
+	@Test
+	void testBuilderDoesNotChangeVector() {
+		List<Integer> reference = new ArrayList<>();
+		for (int i = 0; i < 5_000; ++i)
+			reference.add(i);
+		PersistentVector<Integer> vector = PersistentVector.from(reference);
+
+		PersistentVector.Builder<Integer> builder = vector.toBuilder();
+		for (int i = 0; i < 5_000; i += 7)
+			builder.set(i, -1);
+		for (int i = 0; i < 3_000; ++i)
+			builder.removeLast();
+		builder.add(-2);
+
+		PersistentVector<Integer> changed = builder.build();
+		Assertions.assertEquals(reference, vector);
+		Assertions.assertEquals(2_001, changed.size());
+		Assertions.assertEquals(-1, changed.get(7));
+		Assertions.assertEquals(8, changed.get(8));
+		Assertions.assertEquals(-2, changed.get(2_000));
+	}
+
+	@Test
+	void testCustomListConversion() {
+		CustomList<Integer> list = new CustomList<>();
+		for (int i = 0; i < 1_000; ++i)
+			list.add(i);
+
+		PersistentVector<Integer> vector = PersistentVector.from(list);
+		CustomList<Integer> copy = vector.toCustomList();
+		Assertions.assertEquals(list, copy);
+
+		copy.add(1_000);
+		Assertions.assertEquals(1_000, vector.size());
+		Assertions.assertEquals(List.of(10, 11, 12), vector.subList(10, 13));
+	}
+
+	@Test
+	void testUnsupportedOperations() {
+		PersistentVector<String> vector = PersistentVector.from(List.of("a"));
+
+		Assertions.assertThrows(UnsupportedOperationException.class, () -> vector.add("b"));
+		Assertions.assertThrows(UnsupportedOperationException.class, () -> vector.set(0, "b"));
+		Assertions.assertThrows(UnsupportedOperationException.class, () -> vector.remove(0));
+		Assertions.assertThrows(UnsupportedOperationException.class, vector::clear);
+	}
+
+}
@@ -0,0 +1,234 @@
+package com.github.lotashinski.collections;
+
+import org.junit.jupiter.api.Assertions;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.Test;
+
+class ReadMostlyListTest {
+
+	@Test
+	void testPositionalEdits() {
+		ReadMostlyList<Integer> list = new ReadMostlyList<>(List.of(1, 2, 3));
+
+		list.add(0, 0);
+		list.add(4, 4);
+		Assertions.assertEquals(2, list.set(2, -2));
+		Assertions.assertEquals(3, list.remove(3));
+		Assertions.assertTrue(list.addAll(1, List.of(7, 8)));
+		Assertions.assertEquals(List.of(0, 7, 8, 1, -2, 4), list);
+
+		Assertions.assertThrows(IndexOutOfBoundsException.class, () -> list.get(6));
+		Assertions.assertThrows(IndexOutOfBoundsException.class, () -> list.add(7, 0));
+		Assertions.assertThrows(IndexOutOfBoundsException.class, () -> list.remove(-1));
+	}
+
+	@Test
+	void testListFromCollectionWithTypedArray() {
+		List<Object> strings = new ArrayList<>(List.of("a", "b")) {
+
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			public Object[] toArray() {
+				return new String[] { "a", "b" };
+			}
+
+		};
+		ReadMostlyList<Object> list = new ReadMostlyList<>(strings);
+
+		Assertions.assertEquals("a", list.set(0, 1));
+		list.add(2);
+		Assertions.assertEquals(List.of(1, "b", 2), list);
+	}
+
+	@Test
+	void testSearchRetriesAfterConcurrentWrite() {
+		ReadMostlyList<Object> list = new ReadMostlyList<>(List.of(1, 2, 3));
+		AtomicBoolean written = new AtomicBoolean();
+
+		/*
+		 * The first comparison of the optimistic pass inserts the searched value at
+		 * the front, so that pass scans a stale array and has to be discarded.
+		 */
+		Object probe = new Object() {
+
+			@Override
+			public boolean equals(Object other) {
+				if (written.compareAndSet(false, true))
+					list.add(0, "probe");
+
+				return "probe".equals(other);
+			}
+
+			@Override
+			public int hashCode() {
+				return 0;
+			}
+
+		};
+
+		Assertions.assertEquals(0, list.indexOf(probe));
+		Assertions.assertEquals(List.of("probe", 1, 2, 3), list);
+
+		written.set(false);
+		Assertions.assertEquals(1, list.lastIndexOf(probe));
+		Assertions.assertEquals(List.of("probe", "probe", 1, 2, 3), list);
+
+		written.set(false);
+		list.removeIf("probe"::equals);
+		Assertions.assertTrue(list.contains(probe));
+		Assertions.assertEquals(List.of("probe", 1, 2, 3), list);
+	}
+
+	@Test
+	void testOptimisticReadsDuringGrowth() throws InterruptedException {
+		ReadMostlyList<Integer> list = new ReadMostlyList<>();
+		list.add(0);
+
+		AtomicBoolean running = new AtomicBoolean(true);
+		AtomicReference<Throwable> failure = new AtomicReference<>();
+
+		/*
+		 * Every insertion at the front shifts all elements and regularly replaces
+		 * the backing array, so an optimistic read may see the new size with the old
+		 * array or the other way round. The list is always [n - 1, ..., 1, 0].
+		 */
+		Thread writer = new Thread(() -> {
+			for (int i = 1; i < 20_000 && running.get(); ++i)
+				list.add(0, i);
+			running.set(false);
+		});
+
+		Thread reader = new Thread(() -> {
+			try {
+				int lastFirst = 0;
+				int lastIndexOfZero = 0;
+				while (running.get()) {
+					Object[] snapshot = list.toArray();
+					int length = snapshot.length;
+					Assertions.assertEquals(length - 1, snapshot[0]);
+					Assertions.assertEquals(length / 2, snapshot[length - 1 - length / 2]);
+					Assertions.assertEquals(0, snapshot[length - 1]);
+
+					int first = list.get(0);
+					Assertions.assertTrue(first >= lastFirst);
+					lastFirst = first;
+
+					int indexOfZero = list.indexOf(0);
+					Assertions.assertTrue(indexOfZero >= lastIndexOfZero);
+					lastIndexOfZero = indexOfZero;
+				}
+			} catch (Throwable e) {
+				failure.set(e);
+				running.set(false);
+			}
+		});
+
+		writer.start();
+		reader.start();
+		writer.join();
+		reader.join();
+
+		Assertions.assertNull(failure.get());
+		Assertions.assertEquals(19_999, list.get(0));
+		Assertions.assertEquals(19_999, list.indexOf(0));
+	}
+
+	@Test
+	void testBulkOperations() {
+		ReadMostlyList<Integer> list = new ReadMostlyList<>(List.of(5, 3, 1, 4, 2, 6));
+
+		list.sort(null);
+		Assertions.assertEquals(List.of(1, 2, 3, 4, 5, 6), list);
+
+		list.sort(Comparator.reverseOrder());
+		Assertions.assertEquals(List.of(6, 5, 4, 3, 2, 1), list);
+
+		Assertions.assertTrue(list.removeAll(List.of(6, 4)));
+		Assertions.assertTrue(list.retainAll(List.of(5, 3, 1)));
+		Assertions.assertEquals(List.of(5, 3, 1), list);
+
+		list.replaceAll(element -> element * 10);
+		Assertions.assertEquals(List.of(50, 30, 10), list);
+		Assertions.assertEquals(List.of(30, 10), list.subList(1, 3));
+
+		CustomList<Integer> copy = list.toCustomList();
+		list.clear();
+		Assertions.assertTrue(list.isEmpty());
+		Assertions.assertEquals(List.of(50, 30, 10), copy);
+	}
+
+	@Test
+	void testIteratorReadsSnapshot() {
+		ReadMostlyList<String> list = new ReadMostlyList<>(List.of("a", "b"));
+		Iterator<String> iterator = list.iterator();
+		list.add("c");
+		list.remove("a");
+
+		List<String> traversed = new ArrayList<>();
+		iterator.forEachRemaining(traversed::add);
+		Assertions.assertEquals(List.of("a", "b"), traversed);
+		Assertions.assertThrows(UnsupportedOperationException.class, iterator::remove);
+		Assertions.assertEquals(List.of("b", "c"), list);
+	}
+
+	@Test
+	void testReadersSeeOnlyCompleteBulkOperations() throws InterruptedException {
+		ReadMostlyList<Integer> list = new ReadMostlyList<>();
+		for (int i = 0; i < 1_000; ++i)
+			list.add(i);
+
+		AtomicBoolean running = new AtomicBoolean(true);
+		AtomicReference<Throwable> failure = new AtomicReference<>();
+
+		Thread writer = new Thread(() -> {
+			List<Integer> batch = new ArrayList<>();
+			for (int i = 1_000; i < 1_010; ++i)
+				batch.add(i);
+
+			for (int round = 0; round < 2_000; ++round) {
+				list.sort(round % 2 == 0 ? Comparator.reverseOrder() : Comparator.naturalOrder());
+				list.addAll(batch);
+				list.removeAll(batch);
+			}
+			running.set(false);
+		});
+
+		Thread reader = new Thread(() -> {
+			try {
+				while (running.get()) {
+					int size = list.size();
+					Assertions.assertTrue(size == 1_000 || size == 1_010);
+					Assertions.assertTrue(list.contains(500));
+
+					Object[] snapshot = list.toArray();
+					Assertions.assertTrue(snapshot.length == 1_000 || snapshot.length == 1_010);
+					int first = (Integer) snapshot[0];
+					Assertions.assertTrue(first == 0 || first == 999);
+
+					Integer element = list.get(999);
+					Assertions.assertTrue(element == 0 || element == 999);
+				}
+			} catch (Throwable e) {
+				failure.set(e);
+				running.set(false);
+			}
+		});
+
+		writer.start();
+		reader.start();
+		writer.join();
+		reader.join();
+
+		Assertions.assertNull(failure.get());
+		Assertions.assertEquals(1_000, list.size());
+	}
+
+}
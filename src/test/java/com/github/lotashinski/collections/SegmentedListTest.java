@@ -0,0 +1,182 @@
+package com.github.lotashinski.collections;
+
+import org.junit.jupiter.api.Assertions;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.ConcurrentModificationException;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+class SegmentedListTest {
+
+	@Test
+	void testShiftAcrossChunkBorders() {
+		List<Integer> initial = new ArrayList<>();
+		for (int i = 0; i < 24; ++i)
+			initial.add(i);
+
+		/*
+		 * Three full chunks of 8 elements. Shifts by less than, exactly and more than
+		 * a chunk, from every position, split the copies at different offsets of the
+		 * source and the target chunk.
+		 */
+		for (int count : new int[] { 1, 3, 8, 9, 17 }) {
+			List<Integer> added = new ArrayList<>();
+			for (int i = 0; i < count; ++i)
+				added.add(-1 - i);
+
+			for (int index = 0; index <= initial.size(); ++index) {
+				SegmentedList<Integer> list = new SegmentedList<>(8);
+				list.addAll(initial);
+				List<Integer> reference = new ArrayList<>(initial);
+
+				reference.addAll(index, added);
+				list.addAll(index, added);
+				Assertions.assertEquals(reference, list);
+				Assertions.assertArrayEquals(reference.toArray(), list.toArray());
+
+				Assertions.assertEquals(-1, list.remove(index));
+				list.subList(index, index + count - 1).clear();
+				Assertions.assertEquals(initial, list);
+
+				list.add(index, -1);
+				reference = new ArrayList<>(initial);
+				reference.add(index, -1);
+				Assertions.assertEquals(reference, list);
+			}
+		}
+	}
+
+	@Test
+	void testSizeAtChunkBorder() {
+		SegmentedList<Integer> list = new SegmentedList<>(4);
+		for (int i = 0; i < 8; ++i)
+			list.add(i);
+
+		list.add(4, -1);
+		Assertions.assertEquals(List.of(0, 1, 2, 3, -1, 4, 5, 6, 7), list);
+		Assertions.assertEquals(7, list.get(8));
+
+		Assertions.assertEquals(-1, list.remove(4));
+		Assertions.assertEquals(7, list.remove(7));
+		list.trimToSize();
+		Assertions.assertEquals(List.of(0, 1, 2, 3, 4, 5, 6), list);
+
+		list.add(7);
+		list.add(8);
+		Assertions.assertEquals(List.of(0, 1, 2, 3, 4, 5, 6, 7, 8), list);
+
+		list.subList(4, 8).clear();
+		list.trimToSize();
+		Assertions.assertEquals(List.of(0, 1, 2, 3, 8), list);
+		list.addAll(2, List.of(-1, -2, -3, -4));
+		Assertions.assertEquals(List.of(0, 1, -1, -2, -3, -4, 2, 3, 8), list);
+	}
+
+	@Test
+	void testRemoveIfAcrossChunkBorders() {
+		SegmentedList<Integer> list = new SegmentedList<>(4);
+		List<Integer> reference = new ArrayList<>();
+		for (int i = 0; i < 21; ++i) {
+			reference.add(i);
+			list.add(i);
+		}
+
+		Assertions.assertTrue(list.removeIf(i -> i % 3 == 0));
+		reference.removeIf(i -> i % 3 == 0);
+		Assertions.assertEquals(reference, list);
+		Assertions.assertArrayEquals(reference.toArray(new Integer[0]), list.toArray(new Integer[0]));
+
+		/*
+		 * A failing filter removes only the elements tested before the failure and
+		 * keeps the rest, across the chunk the failure happened in.
+		 */
+		Assertions.assertThrows(IllegalStateException.class, () -> list.removeIf(i -> {
+			if (i == 13)
+				throw new IllegalStateException();
+			return i % 2 == 0;
+		}));
+		reference.removeIf(i -> i < 13 && i % 2 == 0);
+		Assertions.assertEquals(reference, list);
+	}
+
+	@Test
+	void testSort() {
+		Random random = new Random(7);
+		for (int size : new int[] { 0, 1, 15, 16, 17, 100, 1_000, 4_097 }) {
+			List<Integer> reference = new ArrayList<>();
+			for (int i = 0; i < size; ++i)
+				reference.add(random.nextInt(size + 1));
+
+			SegmentedList<Integer> list = new SegmentedList<>(16);
+			list.addAll(reference);
+			list.sort(null);
+			reference.sort(null);
+			Assertions.assertEquals(reference, list);
+
+			list.sort(Comparator.reverseOrder());
+			reference.sort(Comparator.reverseOrder());
+			Assertions.assertEquals(reference, list);
+		}
+	}
+
+	@Test
+	void testSortIsStable() {
+		Random random = new Random(13);
+		List<int[]> reference = new ArrayList<>();
+		SegmentedList<int[]> list = new SegmentedList<>(4);
+		for (int i = 0; i < 1_000; ++i) {
+			int[] element = { random.nextInt(10), i };
+			reference.add(element);
+			list.add(element);
+		}
+
+		Comparator<int[]> byKey = Comparator.comparingInt(element -> element[0]);
+		reference.sort(byKey);
+		list.sort(byKey);
+		for (int i = 0; i < reference.size(); ++i)
+			Assertions.assertSame(reference.get(i), list.get(i));
+	}
+
+	@Test
+	void testRemoveIfAndSubList() {
+		SegmentedList<Integer> list = new SegmentedList<>(4);
+		for (int i = 0; i < 100; ++i)
+			list.add(i);
+
+		List<Integer> view = list.subList(10, 30);
+		Assertions.assertTrue(view.removeIf(element -> element % 2 == 0));
+		Assertions.assertEquals(10, view.size());
+		Assertions.assertEquals(11, view.get(0));
+		Assertions.assertEquals(90, list.size());
+
+		Assertions.assertTrue(list.removeAll(List.of(0, 1, 99)));
+		Assertions.assertEquals(2, list.get(0));
+		Assertions.assertEquals(98, list.get(list.size() - 1));
+		Assertions.assertThrows(ConcurrentModificationException.class, view::size);
+
+		list.clear();
+		Assertions.assertTrue(list.isEmpty());
+		list.trimToSize();
+		list.add(1);
+		Assertions.assertEquals(List.of(1), list);
+	}
+
+	@Test
+	void testForEachAndIterator() {
+		SegmentedList<Integer> list = new SegmentedList<>(2);
+		for (int i = 0; i < 9; ++i)
+			list.add(i);
+
+		List<Integer> traversed = new ArrayList<>();
+		list.forEach(traversed::add);
+		Assertions.assertEquals(list, traversed);
+
+		Assertions.assertThrows(ConcurrentModificationException.class, () -> list.forEach(list::add));
+		Assertions.assertThrows(IllegalArgumentException.class, () -> new SegmentedList<>(3));
+	}
+
+}
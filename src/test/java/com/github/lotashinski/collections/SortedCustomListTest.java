@@ -0,0 +1,118 @@
+package com.github.lotashinski.collections;
+
+import org.junit.jupiter.api.Assertions;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+class SortedCustomListTest {
+
+	@Test
+	void testAddKeepsOrder() {
+		Random random = new Random(29);
+		List<Integer> reference = new ArrayList<>();
+		SortedCustomList<Integer> list = new SortedCustomList<>();
+
+		for (int i = 0; i < 2_000; ++i) {
+			int value = random.nextInt(500);
+			reference.add(value);
+			list.add(value);
+
+			if (i % 10 == 0) {
+				List<Integer> batch = new ArrayList<>();
+				for (int j = 0; j < random.nextInt(30); ++j)
+					batch.add(random.nextInt(500));
+				reference.addAll(batch);
+				list.addAll(batch);
+			}
+		}
+
+		reference.sort(null);
+		Assertions.assertEquals(reference, list);
+
+		for (int value = -1; value <= 500; ++value) {
+			Assertions.assertEquals(reference.indexOf(value), list.indexOf(value));
+			Assertions.assertEquals(reference.lastIndexOf(value), list.lastIndexOf(value));
+		}
+	}
+
+	@Test
+	void testEqualElementsKeepInsertionOrder() {
+		SortedCustomList<int[]> list = new SortedCustomList<>(Comparator.comparingInt(element -> element[0]));
+		int[] first = { 1, 0 };
+		int[] second = { 1, 1 };
+		int[] third = { 1, 2 };
+		int[] fourth = { 1, 3 };
+
+		list.add(first);
+		list.add(new int[] { 2, 0 });
+		list.add(second);
+		list.addAll(List.of(third, new int[] { 0, 0 }, fourth));
+
+		Assertions.assertEquals(6, list.size());
+		Assertions.assertSame(first, list.get(1));
+		Assertions.assertSame(second, list.get(2));
+		Assertions.assertSame(third, list.get(3));
+		Assertions.assertSame(fourth, list.get(4));
+	}
+
+	@Test
+	void testSearches() {
+		SortedCustomList<Integer> list = new SortedCustomList<>(List.of(50, 10, 30, 30, 20, 40));
+
+		Assertions.assertEquals(List.of(10, 20, 30, 30, 40, 50), list);
+		Assertions.assertEquals(2, list.binarySearch(30));
+		Assertions.assertEquals(-3, list.binarySearch(25));
+		Assertions.assertEquals(-7, list.binarySearch(60));
+		Assertions.assertEquals(2, list.lowerBound(30));
+		Assertions.assertEquals(4, list.upperBound(30));
+		Assertions.assertTrue(list.contains(40));
+		Assertions.assertFalse(list.contains(45));
+
+		List<Integer> range = list.rangeView(20, 40);
+		Assertions.assertEquals(List.of(20, 30, 30), range);
+		Assertions.assertTrue(range.removeIf(element -> element == 30));
+		Assertions.assertEquals(List.of(20), range);
+		Assertions.assertEquals(List.of(10, 20, 40, 50), list);
+		Assertions.assertThrows(IllegalArgumentException.class, () -> list.rangeView(40, 20));
+	}
+
+	@Test
+	void testRemoveIfWithThrowingFilter() {
+		SortedCustomList<Integer> list = new SortedCustomList<>(List.of(1, 2, 3, 4));
+
+		/*
+		 * The elements tested before the failure are removed, the rest are kept.
+		 */
+		Assertions.assertThrows(IllegalStateException.class, () -> list.removeIf(i -> {
+			if (i == 3)
+				throw new IllegalStateException();
+			return i == 1;
+		}));
+		Assertions.assertEquals(List.of(2, 3, 4), list);
+		Assertions.assertEquals(0, list.binarySearch(2));
+
+		list.add(1);
+		Assertions.assertEquals(List.of(1, 2, 3, 4), list);
+	}
+
+	@Test
+	void testComparatorAndUnsupportedOperations() {
+		SortedCustomList<String> list = new SortedCustomList<>(List.of("b", "a", "c"), Comparator.reverseOrder());
+
+		Assertions.assertEquals(List.of("c", "b", "a"), list);
+		Assertions.assertTrue(list.remove("b"));
+		Assertions.assertEquals(List.of("c", "a"), list);
+
+		list.sort(Comparator.reverseOrder());
+		Assertions.assertThrows(UnsupportedOperationException.class, () -> list.sort(Comparator.naturalOrder()));
+		Assertions.assertThrows(UnsupportedOperationException.class, () -> list.set(0, "z"));
+		Assertions.assertThrows(UnsupportedOperationException.class, () -> list.add(0, "z"));
+		Assertions.assertThrows(UnsupportedOperationException.class, () -> list.subList(0, 1).add("z"));
+	}
+
+}
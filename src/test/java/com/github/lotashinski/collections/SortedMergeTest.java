@@ -0,0 +1,108 @@
+package com.github.lotashinski.collections;
+
+import org.junit.jupiter.api.Assertions;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+class SortedMergeTest {
+
+	@Test
+	void testMergeLists() {
+		Random random = new Random(31);
+		for (int k = 0; k <= 9; ++k) {
+			List<List<Integer>> sources = new ArrayList<>();
+			List<Integer> reference = new ArrayList<>();
+			for (int s = 0; s < k; ++s) {
+				CustomList<Integer> source = new CustomList<>();
+				for (int i = random.nextInt(50); i > 0; --i)
+					source.add(random.nextInt(100));
+				source.sort();
+				reference.addAll(source);
+				sources.add(s % 2 == 0 ? source : source.subList(0, source.size()));
+			}
+			reference.sort(null);
+
+			CustomList<Integer> merged = SortedMerge.merge(sources, null);
+			Assertions.assertEquals(reference, merged);
+			merged.add(-1);
+			Assertions.assertEquals(reference.size() + 1, merged.size());
+		}
+	}
+
+	@Test
+	void testMergeIsStable() {
+		Comparator<int[]> byKey = Comparator.comparingInt(element -> element[0]);
+		List<int[]> first = List.of(new int[] { 1, 0 }, new int[] { 2, 0 }, new int[] { 2, 1 });
+		List<int[]> second = List.of(new int[] { 0, 1 }, new int[] { 2, 2 });
+		List<int[]> third = List.of(new int[] { 1, 3 }, new int[] { 2, 3 }, new int[] { 3, 3 });
+
+		CustomList<int[]> merged = SortedMerge.merge(List.of(first, second, third), byKey);
+
+		Assertions.assertEquals(8, merged.size());
+		Assertions.assertSame(second.get(0), merged.get(0));
+		Assertions.assertSame(first.get(0), merged.get(1));
+		Assertions.assertSame(third.get(0), merged.get(2));
+		Assertions.assertSame(first.get(1), merged.get(3));
+		Assertions.assertSame(first.get(2), merged.get(4));
+		Assertions.assertSame(second.get(1), merged.get(5));
+		Assertions.assertSame(third.get(1), merged.get(6));
+		Assertions.assertSame(third.get(2), merged.get(7));
+	}
+
+	@Test
+	void testMergeIterators() {
+		List<Iterator<String>> sources = List.of(List.of("c", "a").iterator(), List.<String>of().iterator(),
+				List.of("d", "b", "b").iterator());
+
+		CustomList<String> merged = SortedMerge.mergeIterators(sources, Comparator.reverseOrder());
+
+		Assertions.assertEquals(List.of("d", "c", "b", "b", "a"), merged);
+		Assertions.assertTrue(SortedMerge.mergeIterators(List.<Iterator<String>>of(), null).isEmpty());
+	}
+
+	@Test
+	void testLazyIterator() {
+		List<Integer> evens = new ArrayList<>();
+		List<Integer> odds = new ArrayList<>();
+		for (int i = 0; i < 1_000; ++i)
+			(i % 2 == 0 ? evens : odds).add(i);
+
+		int[] taken = new int[1];
+		Iterator<Integer> odd = odds.iterator();
+		Iterator<Integer> counting = new Iterator<>() {
+
+			@Override
+			public boolean hasNext() {
+				return odd.hasNext();
+			}
+
+			@Override
+			public Integer next() {
+				taken[0]++;
+				return odd.next();
+			}
+
+		};
+		Iterator<Integer> merged = SortedMerge.iterator(List.of(evens.iterator(), counting), null);
+
+		Assertions.assertEquals(0, taken[0]);
+		for (int i = 0; i < 10; ++i)
+			Assertions.assertEquals(i, merged.next());
+		Assertions.assertEquals(6, taken[0]);
+
+		List<Integer> rest = new ArrayList<>();
+		merged.forEachRemaining(rest::add);
+		Assertions.assertEquals(990, rest.size());
+		Assertions.assertEquals(999, rest.get(989));
+		Assertions.assertFalse(merged.hasNext());
+		Assertions.assertThrows(NoSuchElementException.class, merged::next);
+	}
+
+}